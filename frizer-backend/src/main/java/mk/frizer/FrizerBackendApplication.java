@@ -2,9 +2,6 @@ package mk.frizer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 @SpringBootApplication
 public class FrizerBackendApplication {
@@ -12,8 +9,4 @@ public class FrizerBackendApplication {
     public static void main(String[] args) {
         SpringApplication.run(FrizerBackendApplication.class, args);
     }
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
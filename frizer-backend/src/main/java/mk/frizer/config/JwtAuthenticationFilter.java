@@ -0,0 +1,53 @@
+package mk.frizer.config;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import mk.frizer.domain.enums.Role;
+import mk.frizer.service.JwtService;
+import mk.frizer.service.impl.JwtServiceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests that carry a {@code Bearer} token. Only the token signature is verified
+ * (through the claims cache in {@link JwtService}), so no session or database lookup happens per request.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+
+    public JwtAuthenticationFilter(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            jwtService.getClaims(header.substring(BEARER_PREFIX.length()))
+                    .ifPresent(this::authenticate);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(Claims claims) {
+        List<?> roles = claims.get(JwtServiceImpl.ROLES_CLAIM, List.class);
+        List<Role> authorities = roles == null ? List.of() : roles.stream()
+                .map(role -> Role.valueOf(role.toString()))
+                .toList();
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(claims.getSubject(), null, authorities));
+        SecurityContextHolder.setContext(context);
+    }
+}
@@ -0,0 +1,102 @@
+package mk.frizer.config;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Application metrics on top of the ones Boot binds (HTTP requests, Spring Data repository invocations,
+ * Hibernate statistics, HikariCP pools): a timer around every public method of the {@code mk.frizer.service}
+ * beans and the number of SQL statements per request, tagged by endpoint and checked against its {@link SqlBudget}.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+    private static final String SERVICE_PACKAGE = "mk.frizer.service";
+
+    private final SqlBudgetMode sqlBudgetMode;
+    private final int defaultMaxStatements;
+    private final int defaultMaxRepeatedSelects;
+
+    public MetricsConfig(@Value("${frizer.sql.budget.mode:log}") SqlBudgetMode sqlBudgetMode,
+                         @Value("${frizer.sql.budget.default-max-statements:50}") int defaultMaxStatements,
+                         @Value("${frizer.sql.budget.max-repeated-selects:10}") int defaultMaxRepeatedSelects) {
+        this.sqlBudgetMode = sqlBudgetMode;
+        this.defaultMaxStatements = defaultMaxStatements;
+        this.defaultMaxRepeatedSelects = defaultMaxRepeatedSelects;
+    }
+
+    /**
+     * Static and infrastructure role so the advisor is created before, and applied by, the auto-proxy creator.
+     * It is ordered first, so the timer also covers the transaction commit.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor serviceMetricsAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new ServicePointcut(), (MethodInterceptor) MetricsConfig::timeServiceCall);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    private static Object timeServiceCall(MethodInvocation invocation) throws Throwable {
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        String exception = "none";
+        try {
+            return invocation.proceed();
+        } catch (Throwable throwable) {
+            exception = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            sample.stop(Timer.builder("frizer.service.calls")
+                    .description("Calls of the service beans")
+                    .tag("class", ClassUtils.getUserClass(invocation.getThis()).getSimpleName())
+                    .tag("method", invocation.getMethod().getName())
+                    .tag("exception", exception)
+                    .register(Metrics.globalRegistry));
+        }
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatementCounter() {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new RequestStatementCounter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlStatementInterceptor(sqlBudgetMode, defaultMaxStatements, defaultMaxRepeatedSelects))
+                .addPathPatterns("/api/**");
+    }
+
+    private static class ServicePointcut extends StaticMethodMatcherPointcut {
+        @Override
+        public ClassFilter getClassFilter() {
+            return clazz -> clazz.getPackageName().startsWith(SERVICE_PACKAGE)
+                    && AnnotatedElementUtils.hasAnnotation(clazz, Service.class);
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+        }
+    }
+}
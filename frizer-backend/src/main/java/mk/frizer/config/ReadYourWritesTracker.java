@@ -0,0 +1,46 @@
+package mk.frizer.config;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users committed a write recently. Replicas lag behind the primary, so for a short window after
+ * their own write a user's read-only transactions keep going to the primary and they always see what they just saved.
+ */
+public class ReadYourWritesTracker {
+    private final long windowNanos;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String user) {
+        long now = System.nanoTime();
+        pinnedUntil.put(user, now + windowNanos);
+        if (pinnedUntil.size() > 1024) {
+            pinnedUntil.values().removeIf(until -> until - now <= 0);
+        }
+    }
+
+    public boolean recentlyWrote(String user) {
+        Long until = pinnedUntil.get(user);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    /**
+     * The authenticated user of the current request, or {@code null} for anonymous requests, which are never pinned.
+     */
+    public static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,33 @@
+package mk.frizer.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that records the SQL statements prepared on the current thread between
+ * {@link #start} and {@link #stop()}. Outside a recording it only passes the statement through.
+ */
+public class RequestStatementCounter implements StatementInspector {
+    private static final ThreadLocal<StatementRecording> RECORDING = new ThreadLocal<>();
+
+    public static void start(StatementRecording recording) {
+        RECORDING.set(recording);
+    }
+
+    /**
+     * Stops recording on the current thread and returns the recording, or {@code null} if none was started.
+     */
+    public static StatementRecording stop() {
+        StatementRecording recording = RECORDING.get();
+        RECORDING.remove();
+        return recording;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        StatementRecording recording = RECORDING.get();
+        if (recording != null) {
+            recording.record(sql);
+        }
+        return sql;
+    }
+}
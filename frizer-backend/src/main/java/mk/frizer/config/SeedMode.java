@@ -0,0 +1,20 @@
+package mk.frizer.config;
+
+/**
+ * What {@link DataInitializer} loads into the database on startup.
+ */
+public enum SeedMode {
+    /**
+     * Nothing, the database is used as it is.
+     */
+    NONE,
+    /**
+     * The small fixed demo dataset of {@link DataInitializer#seed()}.
+     */
+    DEMO,
+    /**
+     * A generated dataset at production scale, sized by the {@code frizer.seed.synthetic.*} properties,
+     * see {@link SyntheticDataGenerator}.
+     */
+    SYNTHETIC
+}
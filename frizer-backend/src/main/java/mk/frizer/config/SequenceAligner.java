@@ -0,0 +1,62 @@
+package mk.frizer.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentityGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rows created while the ids were IDENTITY columns are unknown to the pooled sequences of the performance profile,
+ * which start at 1. On startup every sequence that is behind the largest id of its table is restarted above it, and
+ * an entity that orm-pooled-sequences.xml does not cover is logged.
+ */
+@Component
+@Profile("performance")
+public class SequenceAligner {
+    private static final Logger log = LoggerFactory.getLogger(SequenceAligner.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceAligner(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister instanceof AbstractEntityPersister entityPersister
+                    && entityPersister.getIdentifierGenerator() instanceof SequenceStyleGenerator generator) {
+                String sequence = generator.getDatabaseStructure().getPhysicalName().render();
+                int increment = generator.getDatabaseStructure().getIncrementSize();
+                Long maxId = jdbcTemplate.queryForObject("select max(" + entityPersister.getIdentifierColumnNames()[0] + ") from " + entityPersister.getTableName(), Long.class);
+                if (maxId == null) {
+                    return;
+                }
+                Long next = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+                // The pooled optimizer hands out (value - increment, value], so the value itself must clear max(id) by one increment
+                if (next != null && next - increment < maxId) {
+                    long restart = maxId + increment + 1;
+                    jdbcTemplate.execute("alter sequence " + sequence + " restart with " + restart);
+                    log.info("Restarted sequence {} at {} above existing id {}", sequence, restart, maxId);
+                }
+            } else if (persister.getIdentifierGenerator() instanceof IdentityGenerator) {
+                // An entity left out of the mapping still works, but every insert of it is a round trip of its own
+                log.warn("{} still has database generated ids, add it to orm-pooled-sequences.xml to batch its inserts",
+                        persister.getEntityName());
+            }
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package mk.frizer.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares how many SQL statements a request to the annotated endpoint, or to every endpoint of the annotated
+ * controller, may send. Endpoints without it get {@code frizer.sql.budget.default-max-statements}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+    /**
+     * The most statements one request may send.
+     */
+    int value();
+
+    /**
+     * How often the same select may run in one request before it is reported as an N+1, or -1 for
+     * {@code frizer.sql.budget.max-repeated-selects}.
+     */
+    int maxRepeatedSelects() default -1;
+}
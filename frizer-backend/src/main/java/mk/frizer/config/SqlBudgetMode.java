@@ -0,0 +1,20 @@
+package mk.frizer.config;
+
+/**
+ * What {@link SqlStatementInterceptor} does when a request exceeds its {@link SqlBudget} or repeats a select.
+ */
+public enum SqlBudgetMode {
+    /**
+     * Only the per request statement metrics are recorded.
+     */
+    OFF,
+    /**
+     * The violation is logged and counted once the request completes.
+     */
+    LOG,
+    /**
+     * The offending statement throws {@link mk.frizer.domain.exceptions.SqlBudgetExceededException} instead of
+     * running, failing the request. Meant for development and tests.
+     */
+    FAIL
+}
@@ -0,0 +1,108 @@
+package mk.frizer.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Records the SQL statements of each request. Their number is published as the {@code frizer.http.sql.statements}
+ * summary, tagged with the HTTP method and the endpoint's URI pattern like {@code http.server.requests}; the count
+ * includes the lazy loads of open-session-in-view while the response body is written.
+ * <p>
+ * Unless the mode is {@link SqlBudgetMode#OFF}, a request that sends more statements than the endpoint's
+ * {@link SqlBudget}, or runs the same select more than {@code maxRepeatedSelects} times, is logged and counted as
+ * {@code frizer.http.sql.budget.violations}; in {@link SqlBudgetMode#FAIL} the offending statement fails the
+ * request. The recording is left in the {@link #RECORDING_ATTRIBUTE} request attribute.
+ */
+public class SqlStatementInterceptor implements AsyncHandlerInterceptor {
+    public static final String RECORDING_ATTRIBUTE = SqlStatementInterceptor.class.getName() + ".recording";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementInterceptor.class);
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlBudgetMode mode;
+    private final int defaultMaxStatements;
+    private final int defaultMaxRepeatedSelects;
+
+    public SqlStatementInterceptor(SqlBudgetMode mode, int defaultMaxStatements, int defaultMaxRepeatedSelects) {
+        this.mode = mode;
+        this.defaultMaxStatements = defaultMaxStatements;
+        this.defaultMaxRepeatedSelects = defaultMaxRepeatedSelects;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlBudget budget = handler instanceof HandlerMethod handlerMethod ? findBudget(handlerMethod) : null;
+        StatementRecording recording = new StatementRecording(
+                budget == null ? defaultMaxStatements : budget.value(),
+                budget == null || budget.maxRepeatedSelects() < 0 ? defaultMaxRepeatedSelects : budget.maxRepeatedSelects(),
+                mode == SqlBudgetMode.FAIL);
+        RequestStatementCounter.start(recording);
+        request.setAttribute(RECORDING_ATTRIBUTE, recording);
+        return true;
+    }
+
+    private static SqlBudget findBudget(HandlerMethod handlerMethod) {
+        SqlBudget budget = handlerMethod.getMethodAnnotation(SqlBudget.class);
+        return budget != null ? budget : AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), SqlBudget.class);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The request thread is released, the async dispatch records its own statements
+        RequestStatementCounter.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        StatementRecording recording = RequestStatementCounter.stop();
+        if (recording == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+        DistributionSummary.builder("frizer.http.sql.statements")
+                .description("SQL statements sent per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+                .register(Metrics.globalRegistry)
+                .record(recording.getCount());
+        if (mode != SqlBudgetMode.OFF) {
+            checkBudget(request.getMethod(), uri, recording);
+        }
+    }
+
+    private static void checkBudget(String method, String uri, StatementRecording recording) {
+        if (recording.isOverBudget()) {
+            violation(method, uri, "statements");
+            log.warn("{} {} sent {} SQL statements, its budget is {}", method, uri, recording.getCount(), recording.getMaxStatements());
+        }
+        Map<String, Integer> repeatedSelects = recording.getRepeatedSelects();
+        if (!repeatedSelects.isEmpty()) {
+            violation(method, uri, "repeated-select");
+            repeatedSelects.forEach((sql, repeats) ->
+                    log.warn("{} {} ran the same select {} times, likely an N+1: {}", method, uri, repeats, sql));
+        }
+    }
+
+    private static void violation(String method, String uri, String reason) {
+        Counter.builder("frizer.http.sql.budget.violations")
+                .description("Requests that exceeded their SQL statement budget or repeated a select")
+                .tag("method", method)
+                .tag("uri", uri)
+                .tag("reason", reason)
+                .register(Metrics.globalRegistry)
+                .increment();
+    }
+}
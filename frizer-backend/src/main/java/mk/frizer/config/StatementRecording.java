@@ -0,0 +1,77 @@
+package mk.frizer.config;
+
+import mk.frizer.domain.exceptions.SqlBudgetExceededException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The SQL statements sent while recording, keyed by their text. Hibernate binds every value as a parameter, so
+ * the same text run again is the same statement shape, and a select repeated many times in one request is the
+ * telltale of an N+1.
+ */
+public class StatementRecording {
+    private final int maxStatements;
+    private final int maxRepeatedSelects;
+    private final boolean failFast;
+    private final Map<String, Integer> executions = new LinkedHashMap<>();
+    private int count;
+
+    /**
+     * @param failFast throw {@link SqlBudgetExceededException} from the statement that exceeds a limit, instead of
+     *                 only reporting it afterwards
+     */
+    public StatementRecording(int maxStatements, int maxRepeatedSelects, boolean failFast) {
+        this.maxStatements = maxStatements;
+        this.maxRepeatedSelects = maxRepeatedSelects;
+        this.failFast = failFast;
+    }
+
+    void record(String sql) {
+        count++;
+        int repeats = executions.merge(sql, 1, Integer::sum);
+        if (!failFast) {
+            return;
+        }
+        if (count > maxStatements) {
+            throw new SqlBudgetExceededException("Statement " + count + " exceeds the budget of " + maxStatements + ": " + sql);
+        }
+        if (repeats > maxRepeatedSelects && isSelect(sql)) {
+            throw new SqlBudgetExceededException("Select repeated " + repeats + " times, likely an N+1: " + sql);
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public boolean isOverBudget() {
+        return count > maxStatements;
+    }
+
+    /**
+     * How often each distinct statement ran, in the order they first ran.
+     */
+    public Map<String, Integer> getExecutions() {
+        return Collections.unmodifiableMap(executions);
+    }
+
+    /**
+     * The selects that ran more than {@code maxRepeatedSelects} times, with how often they ran.
+     */
+    public Map<String, Integer> getRepeatedSelects() {
+        return executions.entrySet().stream()
+                .filter(entry -> entry.getValue() > maxRepeatedSelects && isSelect(entry.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (first, second) -> first, LinkedHashMap::new));
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+}
@@ -0,0 +1,351 @@
+package mk.frizer.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import mk.frizer.domain.*;
+import mk.frizer.domain.enums.Role;
+import mk.frizer.repository.CityRepository;
+import mk.frizer.repository.SalonRepository;
+import mk.frizer.repository.TagRepository;
+import mk.frizer.service.PasswordHashingService;
+import mk.frizer.service.SalonSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Generates a dataset at production scale: salons spread over the cities with tags, treatments and employees,
+ * a pool of customers, and appointments and reviews over the past months and the coming days.
+ * <p>
+ * Rows are written through the entity manager in short transactions, one per salon and one per thousand customers,
+ * so the persistence context never holds more than that and, with the JDBC batching and pooled sequences of the
+ * {@code performance} profile, the inserts go out 50 per round trip. Every user shares one password hash, so
+ * seeding is not dominated by BCrypt. Salon ratings are computed from the generated reviews, and appointments are
+ * linked as active or history the same way the application links them.
+ * <p>
+ * Users are {@code customer<n>@synthetic.frizer.mk}, {@code employee<salon>-<n>@synthetic.frizer.mk} and
+ * {@code owner<n>@synthetic.frizer.mk}, all with the password {@value #PASSWORD}.
+ */
+@Component
+public class SyntheticDataGenerator {
+    public static final String PASSWORD = "password";
+    public static final String EMAIL_DOMAIN = "@synthetic.frizer.mk";
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+    private static final int CUSTOMERS_PER_TRANSACTION = 1000;
+    private static final int SALONS_PER_OWNER = 10;
+    private static final int SLOT_MINUTES = 20;
+    private static final LocalTime OPEN = LocalTime.of(8, 0);
+    private static final int SLOTS_PER_DAY = 36;
+
+    // Ordered by population, salons are skewed towards the front
+    private static final String[] CITIES = {
+            "Скопје", "Куманово", "Битола", "Тетово", "Прилеп", "Охрид", "Велес", "Штип", "Гостивар", "Струмица",
+            "Кавадарци", "Кочани", "Кичево", "Струга", "Радовиш", "Гевгелија", "Дебар", "Крива Паланка", "Свети Николе",
+            "Неготино", "Делчево", "Виница", "Ресен", "Пробиштип", "Берово", "Кратово", "Крушево", "Македонска Каменица",
+            "Валандово", "Демир Хисар", "Богданци", "Демир Капија", "Македонски Брод", "Пехчево"};
+    private static final float[][] CITY_COORDINATES = {
+            {41.9981f, 21.4254f}, {42.1322f, 21.7141f}, {41.0328f, 21.3403f}, {42.0097f, 20.9716f}, {41.3455f, 21.5550f},
+            {41.1172f, 20.8016f}, {41.7272f, 21.7750f}, {41.7420f, 22.1990f}, {41.8000f, 20.9062f}, {41.4414f, 22.6420f},
+            {41.4326f, 21.9983f}, {41.9180f, 22.4189f}, {41.5146f, 20.9574f}, {41.1783f, 20.6787f}, {41.6383f, 22.4641f},
+            {41.1393f, 22.5049f}, {41.5245f, 20.5297f}, {42.2019f, 22.3318f}, {41.8650f, 21.9425f}, {41.4839f, 22.0892f},
+            {41.9661f, 22.7747f}, {41.8820f, 22.5075f}, {41.0883f, 21.0122f}, {42.0019f, 22.1786f}, {41.7066f, 22.8576f},
+            {42.0783f, 22.1806f}, {41.3689f, 21.2483f}, {42.0208f, 22.5881f}, {41.3169f, 22.5611f}, {41.2208f, 21.2031f},
+            {41.2031f, 22.5756f}, {41.4114f, 22.2422f}, {41.5133f, 21.2153f}, {41.7622f, 22.8883f}};
+    private static final String[] TAGS = {"Фризура", "Шишање", "Маникир", "Педикир", "Боење на коса"};
+    private static final String[] SALON_KINDS = {"Фризерски салон", "Салон за убавина", "Фризерско студио", "Студио за убавина", "Барбершоп"};
+    private static final String[] SALON_NAMES = {"Стил", "Елит", "Гламур", "Естетика", "Оаза", "Мистик", "Лукс", "Бисера",
+            "Елеганција", "Перфекција", "Шарм", "Визија", "Тренд", "Аура", "Сјај", "Корона"};
+    private static final String[] FIRST_NAMES = {"Александар", "Елена", "Игор", "Марија", "Виктор", "Ана", "Стефан", "Ивана",
+            "Бојан", "Симона", "Дарко", "Катерина", "Филип", "Јована", "Никола", "Теодора"};
+    private static final String[] LAST_NAMES = {"Јовановски", "Петрова", "Николоски", "Георгиева", "Стојановски", "Трајковска",
+            "Илиевски", "Димитрова", "Ангеловски", "Костова"};
+    private static final String[] TREATMENTS = {"Шишање", "Миење коса", "Боење коса", "Фризура", "Маникир", "Педикир", "Бричење"};
+    private static final double[] TREATMENT_PRICES = {300, 150, 900, 600, 500, 600, 250};
+    private static final int[] TREATMENT_DURATIONS = {1, 1, 3, 2, 2, 2, 1};
+    private static final String[] COMMENTS = {"Одлична услуга!", "Многу задоволна.", "Професионално и брзо.",
+            "Ќе дојдам повторно.", "Добро, но чекав подолго.", "Не сум задоволен."};
+
+    private final CityRepository cityRepository;
+    private final TagRepository tagRepository;
+    private final SalonRepository salonRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+    private final int cities;
+    private final int salons;
+    private final int employeesPerSalon;
+    private final int customers;
+    private final int months;
+    private final int daysAhead;
+    private final double appointmentsPerDay;
+    private final double reviewShare;
+    private final long randomSeed;
+    private final SalonSearchService salonSearchService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SyntheticDataGenerator(CityRepository cityRepository, TagRepository tagRepository, SalonRepository salonRepository,
+                                  PasswordHashingService passwordHashingService, PlatformTransactionManager transactionManager,
+                                  @Value("${frizer.seed.synthetic.cities:34}") int cities,
+                                  @Value("${frizer.seed.synthetic.salons:200}") int salons,
+                                  @Value("${frizer.seed.synthetic.employees-per-salon:3}") int employeesPerSalon,
+                                  @Value("${frizer.seed.synthetic.customers:5000}") int customers,
+                                  @Value("${frizer.seed.synthetic.months:6}") int months,
+                                  @Value("${frizer.seed.synthetic.days-ahead:14}") int daysAhead,
+                                  @Value("${frizer.seed.synthetic.appointments-per-day:6}") double appointmentsPerDay,
+                                  @Value("${frizer.seed.synthetic.review-share:0.2}") double reviewShare,
+                                  @Value("${frizer.seed.synthetic.random-seed:42}") long randomSeed,
+                                  SalonSearchService salonSearchService) {
+        this.cityRepository = cityRepository;
+        this.tagRepository = tagRepository;
+        this.salonRepository = salonRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cities = cities;
+        this.salons = salons;
+        this.employeesPerSalon = employeesPerSalon;
+        this.customers = customers;
+        this.months = months;
+        this.daysAhead = daysAhead;
+        this.appointmentsPerDay = appointmentsPerDay;
+        this.reviewShare = reviewShare;
+        this.randomSeed = randomSeed;
+        this.salonSearchService = salonSearchService;
+    }
+
+    /**
+     * The number of rows generated per table.
+     */
+    public record Summary(int cities, int salons, int employees, int customers, long appointments, long reviews, long millis) {
+    }
+
+    /**
+     * Generates the dataset, unless the database already has salons.
+     */
+    public Optional<Summary> generate() {
+        if (salonRepository.count() > 0) {
+            log.info("Skipping the synthetic dataset, the database already has salons");
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        String passwordHash = passwordHashingService.encode(PASSWORD);
+        UserFactory users = new UserFactory(passwordHash);
+
+        List<String> salonCities = createCities();
+        List<Long> tagIds = createTags();
+        long[] customerIds = new long[customers];
+        long[] customerUserIds = new long[customers];
+        for (int from = 0; from < customers; from += CUSTOMERS_PER_TRANSACTION) {
+            int to = Math.min(customers, from + CUSTOMERS_PER_TRANSACTION);
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = first; i < to; i++) {
+                    BaseUser user = users.create("customer" + i, random, Role.ROLE_USER);
+                    Customer customer = new Customer(user);
+                    entityManager.persist(user);
+                    entityManager.persist(customer);
+                    customerIds[i] = customer.getId();
+                    customerUserIds[i] = user.getId();
+                }
+            });
+        }
+
+        long[] counts = new long[2];
+        Long ownerId = null;
+        for (int s = 0; s < salons; s++) {
+            int salonIndex = s;
+            boolean newOwner = s % SALONS_PER_OWNER == 0;
+            Long currentOwnerId = ownerId;
+            ownerId = transactionTemplate.execute(status -> {
+                BusinessOwner owner = newOwner ? createOwner(users, salonIndex / SALONS_PER_OWNER, random)
+                        : entityManager.getReference(BusinessOwner.class, currentOwnerId);
+                String city = salonCities.get((int) (salonCities.size() * Math.pow(random.nextDouble(), 2)));
+                createSalon(salonIndex, city, owner, users, tagIds, customerIds, customerUserIds, random, counts);
+                return owner.getId();
+            });
+        }
+
+        Summary summary = new Summary(salonCities.size(), salons, salons * employeesPerSalon, customers, counts[0], counts[1],
+                (System.nanoTime() - start) / 1_000_000);
+        log.info("Generated synthetic dataset: {}", summary);
+        // The salons were inserted without their created events
+        salonSearchService.reindex();
+        return Optional.of(summary);
+    }
+
+    private List<String> createCities() {
+        return transactionTemplate.execute(status -> {
+            Set<String> existing = new HashSet<>();
+            cityRepository.findAll().forEach(city -> existing.add(city.getName()));
+            List<String> result = new ArrayList<>();
+            for (int i = 0; i < cities; i++) {
+                String name = i < CITIES.length ? CITIES[i] : "Населено место " + i;
+                if (!existing.contains(name)) {
+                    entityManager.persist(new City(name));
+                }
+                result.add(name);
+            }
+            return result;
+        });
+    }
+
+    private List<Long> createTags() {
+        return transactionTemplate.execute(status -> {
+            Map<String, Tag> existing = new HashMap<>();
+            tagRepository.findAll().forEach(tag -> existing.putIfAbsent(tag.getName(), tag));
+            List<Long> result = new ArrayList<>();
+            for (String name : TAGS) {
+                Tag tag = existing.get(name);
+                if (tag == null) {
+                    tag = new Tag(name);
+                    entityManager.persist(tag);
+                }
+                result.add(tag.getId());
+            }
+            return result;
+        });
+    }
+
+    private BusinessOwner createOwner(UserFactory users, int index, SplittableRandom random) {
+        BaseUser user = users.create("owner" + index, random, Role.ROLE_USER, Role.ROLE_OWNER);
+        BusinessOwner owner = new BusinessOwner(user);
+        entityManager.persist(user);
+        entityManager.persist(new Customer(user));
+        entityManager.persist(owner);
+        return owner;
+    }
+
+    private void createSalon(int index, String city, BusinessOwner owner, UserFactory users, List<Long> tagIds,
+                             long[] customerIds, long[] customerUserIds, SplittableRandom random, long[] counts) {
+        float[] center = cityCenter(city, random);
+        Salon salon = new Salon(
+                SALON_KINDS[random.nextInt(SALON_KINDS.length)] + " " + SALON_NAMES[random.nextInt(SALON_NAMES.length)] + " " + index,
+                "Салон за убавина", "Улица " + (1 + random.nextInt(200)), entityManager.getReference(City.class, city), String.format("07%07d", index), owner,
+                center[0] + (float) random.nextDouble(-0.03, 0.03), center[1] + (float) random.nextDouble(-0.03, 0.03));
+        entityManager.persist(salon);
+
+        List<Treatment> treatments = new ArrayList<>();
+        int treatmentCount = 2 + random.nextInt(4);
+        int firstTreatment = random.nextInt(TREATMENTS.length);
+        for (int t = 0; t < treatmentCount; t++) {
+            int kind = (firstTreatment + t) % TREATMENTS.length;
+            double price = Math.round(TREATMENT_PRICES[kind] * random.nextDouble(0.8, 1.2) / 10) * 10.0;
+            Treatment treatment = new Treatment(TREATMENTS[kind], salon, price, TREATMENT_DURATIONS[kind]);
+            entityManager.persist(treatment);
+            treatments.add(treatment);
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        for (int e = 0; e < employeesPerSalon; e++) {
+            BaseUser user = users.create("employee" + index + "-" + e, random, Role.ROLE_USER, Role.ROLE_EMPLOYEE);
+            Employee employee = new Employee(user, salon);
+            entityManager.persist(user);
+            entityManager.persist(new Customer(user));
+            entityManager.persist(employee);
+            if (customerIds.length == 0) {
+                continue;
+            }
+
+            for (LocalDate day = today.minusMonths(months); !day.isAfter(today.plusDays(daysAhead)); day = day.plusDays(1)) {
+                if (day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                    continue;
+                }
+                int slot = 0;
+                while (slot < SLOTS_PER_DAY) {
+                    Treatment treatment = treatments.get(random.nextInt(treatments.size()));
+                    int duration = treatment.getDurationMultiplier();
+                    if (slot + duration > SLOTS_PER_DAY || random.nextDouble() >= appointmentsPerDay / SLOTS_PER_DAY) {
+                        slot++;
+                        continue;
+                    }
+                    LocalDateTime from = LocalDateTime.of(day, OPEN).plusMinutes((long) SLOT_MINUTES * slot);
+                    LocalDateTime to = from.plusMinutes((long) SLOT_MINUTES * duration);
+                    int customer = random.nextInt(customers);
+                    Appointment appointment = new Appointment(from, to, treatment, salon, employee,
+                            entityManager.getReference(Customer.class, customerIds[customer]));
+                    boolean past = to.isBefore(now);
+                    appointment.setAttended(past && random.nextDouble() < 0.9);
+                    entityManager.persist(appointment);
+                    counts[0]++;
+
+                    if (appointment.isAttended() && random.nextDouble() < reviewShare) {
+                        double grade = reviewGrade(random);
+                        Review review = new Review(entityManager.getReference(BaseUser.class, customerUserIds[customer]), employee,
+                                grade, COMMENTS[grade >= 4 ? random.nextInt(4) : grade >= 3 ? 4 : 5]);
+                        review.setDate(to.plusHours(1 + random.nextInt(48)));
+                        entityManager.persist(review);
+                        salon.addReview(grade);
+                        counts[1]++;
+                    }
+                    slot += duration;
+                }
+            }
+        }
+
+        // Written directly, adding the tags to the salon would load each of them with all of its salons
+        entityManager.flush();
+        int tagCount = 1 + random.nextInt(3);
+        int firstTag = random.nextInt(tagIds.size());
+        for (int t = 0; t < tagCount && t < tagIds.size(); t++) {
+            entityManager.createNativeQuery("insert into salon_tags (salons_with_tag_id, tags_id) values (:salonId, :tagId)")
+                    .setParameter("salonId", salon.getId()).setParameter("tagId", tagIds.get((firstTag + t) % tagIds.size()))
+                    .executeUpdate();
+        }
+
+        // Appointments that already ended are in the history of their employee and customer, the rest are active
+        entityManager.createNativeQuery("update appointment set appointment_employee_history_id = employee_id, " +
+                        "appointment_customer_history_id = customer_id where salon_id = :salonId and date_to < :now")
+                .setParameter("salonId", salon.getId()).setParameter("now", now).executeUpdate();
+        entityManager.createNativeQuery("update appointment set appointment_employee_active_id = employee_id, " +
+                        "appointment_customer_active_id = customer_id where salon_id = :salonId and date_to >= :now")
+                .setParameter("salonId", salon.getId()).setParameter("now", now).executeUpdate();
+    }
+
+    private static float[] cityCenter(String city, SplittableRandom random) {
+        for (int i = 0; i < CITIES.length; i++) {
+            if (CITIES[i].equals(city)) {
+                return CITY_COORDINATES[i];
+            }
+        }
+        return new float[]{(float) random.nextDouble(40.9, 42.3), (float) random.nextDouble(20.5, 22.9)};
+    }
+
+    /**
+     * Mostly fours and fives, like real reviews.
+     */
+    private static double reviewGrade(SplittableRandom random) {
+        double roll = random.nextDouble();
+        return roll < 0.5 ? 5.0 : roll < 0.8 ? 4.0 : roll < 0.9 ? 3.0 : roll < 0.95 ? 2.0 : 1.0;
+    }
+
+    /**
+     * Creates users with unique emails and phone numbers and the shared password hash.
+     */
+    private static final class UserFactory {
+        private final String passwordHash;
+        private int created;
+
+        private UserFactory(String passwordHash) {
+            this.passwordHash = passwordHash;
+        }
+
+        BaseUser create(String login, SplittableRandom random, Role... roles) {
+            BaseUser user = new BaseUser(login + EMAIL_DOMAIN, passwordHash, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)], String.format("+3897%08d", created++));
+            user.setRoles(new HashSet<>(Arrays.asList(roles)));
+            return user;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package mk.frizer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.time.Duration;
+
+/**
+ * Active when {@code spring.threads.virtual.enabled=true} (see the {@code virtual-threads} profile). Boot then runs
+ * Tomcat requests and the {@code applicationTaskExecutor} used by {@code @Async} on virtual threads; this class adds
+ * the guards that keep the blocking JPA code safe on them.
+ * Application events stay synchronous on purpose: the listeners write inside the publisher's transaction.
+ */
+@Configuration
+@EnableAsync
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConnectionPoolConcurrencyFilter> connectionPoolConcurrencyFilter(
+            @Value("${frizer.virtual-threads.max-concurrent-requests:${spring.datasource.hikari.maximumPoolSize:10}}") int maxConcurrentRequests,
+            @Value("${frizer.virtual-threads.acquire-timeout:5s}") Duration acquireTimeout) {
+        FilterRegistrationBean<ConnectionPoolConcurrencyFilter> registration =
+                new FilterRegistrationBean<>(new ConnectionPoolConcurrencyFilter(maxConcurrentRequests, acquireTimeout));
+        registration.addUrlPatterns("/api/*");
+        // Authentication does not touch the database, so the permit is only taken once the request is let through
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${frizer.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+}
@@ -1,28 +1,56 @@
 package mk.frizer.config;
 
+import mk.frizer.service.JwtService;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class WebConfig {
+    private final JwtService jwtService;
+
+    public WebConfig(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 
         http
                 .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
-//                        .requestMatchers("/api/**")
-//                        .permitAll()
-                .anyRequest().permitAll()
-        );
+                        // Only served on management.server.port, which is not exposed publicly
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
+                        .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/users/add", "/api/user/add").permitAll()
+                        // Catalogue reads a visitor needs to browse salons and book; users, customers, owners,
+                        // employees and appointment lists still need a token
+                        .requestMatchers(HttpMethod.GET,
+                                "/api/salons/**", "/api/salon/**",
+                                "/api/treatments/**", "/api/treatment/**",
+                                "/api/tags/**", "/api/tag/**",
+                                "/api/reviews/**", "/api/review/**",
+                                "/api/schedules/**", "/api/schedule/**",
+                                "/api/appointments/available-slots", "/api/appointment/available-slots").permitAll()
+                        .anyRequest().authenticated()
+                )
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                // The filter is created here rather than as a bean, so Boot does not register it a second time on the servlet chain
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -3,7 +3,8 @@ package mk.frizer.domain;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.NoArgsConstructor;
 import mk.frizer.domain.dto.simple.AppointmentSimpleDTO;
 import org.hibernate.annotations.OnDelete;
@@ -12,8 +13,12 @@ import org.hibernate.annotations.OnDeleteAction;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
-@Data
+@Getter
+@Setter
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_appointment_salon_date", columnList = "salon_id, date_from"),
+        @Index(name = "idx_appointment_employee_date", columnList = "employee_id, date_from")})
 @NoArgsConstructor
 public class Appointment {
     @Id
@@ -86,4 +91,16 @@ public class Appointment {
                 .attended(this.attended)
                 .build();
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Appointment other)) return false;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Appointment.class.hashCode();
+    }
+}
@@ -2,7 +2,8 @@ package mk.frizer.domain;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.NoArgsConstructor;
 import mk.frizer.domain.dto.simple.BaseUserSimpleDTO;
 import mk.frizer.domain.enums.Role;
@@ -10,7 +11,8 @@ import mk.frizer.domain.enums.Role;
 import java.util.*;
 
 
-@Data
+@Getter
+@Setter
 @Entity
 @NoArgsConstructor
 public class BaseUser{
@@ -57,4 +59,16 @@ public class BaseUser{
                 .roles(roles.stream().map(Enum::name).toList())
                 .build();
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BaseUser other)) return false;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return BaseUser.class.hashCode();
+    }
 }
@@ -2,16 +2,19 @@ package mk.frizer.domain;
 
 import jakarta.persistence.*;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.NoArgsConstructor;
 import mk.frizer.domain.dto.simple.BusinessOwnerSimpleDTO;
+import mk.frizer.domain.dto.simple.IdList;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 import java.util.ArrayList;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
 @Entity
 @NoArgsConstructor
 public class BusinessOwner {
@@ -37,7 +40,7 @@ public class BusinessOwner {
     public BusinessOwnerSimpleDTO toDto(){
         return BusinessOwnerSimpleDTO.builder()
                 .id(this.id)
-                .salonListIds(salonList.stream().map(Salon::getId).toList())
+                .salonListIds(IdList.of(salonList, Salon::getId))
                 .baseUserId(this.baseUser.getId())
                 .email(this.baseUser.getEmail())
                 .firstName(this.baseUser.getFirstName())
@@ -46,4 +49,16 @@ public class BusinessOwner {
                 .roles(this.baseUser.getRoles().stream().map(Enum::name).toList())
                 .build();
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BusinessOwner other)) return false;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return BusinessOwner.class.hashCode();
+    }
 }
@@ -4,13 +4,17 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import mk.frizer.domain.dto.simple.CitySimpleDTO;
+import mk.frizer.domain.dto.simple.IdList;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
-@Data
+@Getter
+@Setter
 @AllArgsConstructor
 @Entity
 public class City{
@@ -35,8 +39,19 @@ public class City{
     public CitySimpleDTO toDto(){
         return CitySimpleDTO.builder()
                 .name(this.name)
-                .salonsIdsInCity(salonsInCity.stream().map(Salon::getId).toList())
+                .salonsIdsInCity(IdList.of(salonsInCity, Salon::getId))
                 .build();
     }
-}
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof City other)) return false;
+        return name != null && name.equals(other.getName());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(name);
+    }
+}
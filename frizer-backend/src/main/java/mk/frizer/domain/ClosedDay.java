@@ -0,0 +1,64 @@
+package mk.frizer.domain;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import mk.frizer.domain.dto.simple.ClosedDaySimpleDTO;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * A date a salon is closed, e.g. a holiday, or an employee is off when set.
+ */
+@Getter
+@Setter
+@Entity
+@Table(indexes = @Index(name = "idx_closed_day_salon_date", columnList = "salon_id, date"))
+@NoArgsConstructor
+public class ClosedDay {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Salon salon;
+
+    @ManyToOne
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @Nullable
+    private Employee employee;
+
+    private LocalDate date;
+
+    public ClosedDay(Salon salon, Employee employee, LocalDate date) {
+        this.salon = salon;
+        this.employee = employee;
+        this.date = date;
+    }
+
+    public ClosedDaySimpleDTO toDto() {
+        return ClosedDaySimpleDTO.builder()
+                .id(this.id)
+                .salonId(this.salon.getId())
+                .employeeId(this.employee == null ? null : this.employee.getId())
+                .date(this.date)
+                .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ClosedDay other)) return false;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return ClosedDay.class.hashCode();
+    }
+}
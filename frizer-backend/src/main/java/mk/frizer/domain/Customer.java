@@ -1,16 +1,19 @@
 package mk.frizer.domain;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.NoArgsConstructor;
 import mk.frizer.domain.dto.simple.CustomerSimpleDTO;
+import mk.frizer.domain.dto.simple.IdList;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 import java.util.ArrayList;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
 @Entity
 @NoArgsConstructor
 public class Customer {
@@ -43,8 +46,8 @@ public class Customer {
     public CustomerSimpleDTO toDto(){
         return CustomerSimpleDTO.builder()
                 .id(this.id)
-                .appointmentsActiveIds(appointmentsActive.stream().map(Appointment::getId).toList())
-                .appointmentsHistoryIds(appointmentsHistory.stream().map(Appointment::getId).toList())
+                .appointmentsActiveIds(IdList.of(appointmentsActive, Appointment::getId))
+                .appointmentsHistoryIds(IdList.of(appointmentsHistory, Appointment::getId))
                 .baseUserId(this.baseUser.getId())
                 .email(this.baseUser.getEmail())
                 .firstName(this.baseUser.getFirstName())
@@ -53,4 +56,16 @@ public class Customer {
                 .roles(this.baseUser.getRoles().stream().map(Enum::name).toList())
                 .build();
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Customer other)) return false;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Customer.class.hashCode();
+    }
+}
@@ -1,17 +1,21 @@
 package mk.frizer.domain;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.NoArgsConstructor;
 import mk.frizer.domain.dto.simple.EmployeeSimpleDTO;
+import mk.frizer.domain.dto.simple.IdList;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 import java.util.ArrayList;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
 @Entity
+@Table(indexes = @Index(name = "idx_employee_salon", columnList = "salon_id"))
 @NoArgsConstructor
 public class Employee {
     @Id
@@ -49,8 +53,8 @@ public class Employee {
     public EmployeeSimpleDTO toDto(){
         return EmployeeSimpleDTO.builder()
                 .id(this.id)
-                .appointmentsActiveIds(appointmentsActive.stream().map(Appointment::getId).toList())
-                .appointmentsHistoryIds(appointmentsHistory.stream().map(Appointment::getId).toList())
+                .appointmentsActiveIds(IdList.of(appointmentsActive, Appointment::getId))
+                .appointmentsHistoryIds(IdList.of(appointmentsHistory, Appointment::getId))
                 .salonId(this.salon.getId())
                 .baseUserId(this.baseUser.getId())
                 .email(this.baseUser.getEmail())
@@ -60,4 +64,16 @@ public class Employee {
                 .roles(this.baseUser.getRoles().stream().map(Enum::name).toList())
                 .build();
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Employee other)) return false;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Employee.class.hashCode();
+    }
+}
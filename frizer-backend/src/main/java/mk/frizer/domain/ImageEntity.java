@@ -2,11 +2,13 @@ package mk.frizer.domain;
 
 import jakarta.persistence.*;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Data
+@Getter
+@Setter
 @NoArgsConstructor
 public class ImageEntity {
     @Id
@@ -31,7 +33,16 @@ public class ImageEntity {
         this.salonId = salonId;
         this.isBackgroundImage = false;
     }
-}
-
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ImageEntity other)) return false;
+        return id != null && id.equals(other.getId());
+    }
 
+    @Override
+    public int hashCode() {
+        return ImageEntity.class.hashCode();
+    }
+}
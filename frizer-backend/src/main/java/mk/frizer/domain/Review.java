@@ -3,7 +3,8 @@ package mk.frizer.domain;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.NoArgsConstructor;
 import mk.frizer.domain.dto.simple.ReviewSimpleDTO;
 import org.hibernate.annotations.OnDelete;
@@ -12,8 +13,10 @@ import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
 
-@Data
+@Getter
+@Setter
 @Entity
+@Table(indexes = @Index(name = "idx_review_employee_date", columnList = "employee_id, date"))
 @NoArgsConstructor
 public class Review {
     @Id
@@ -49,4 +52,16 @@ public class Review {
                 .date(this.date)
                 .build();
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Review other)) return false;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Review.class.hashCode();
+    }
 }
@@ -4,8 +4,10 @@ import jakarta.annotation.Nullable;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.NoArgsConstructor;
+import mk.frizer.domain.dto.simple.IdList;
 import mk.frizer.domain.dto.simple.SalonSimpleDTO;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
@@ -13,8 +15,10 @@ import org.hibernate.annotations.OnDeleteAction;
 import java.util.ArrayList;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
 @Entity
+@Table(indexes = @Index(name = "idx_salon_lat_lon", columnList = "latitude, longitude"))
 @AllArgsConstructor
 @NoArgsConstructor
 public class Salon {
@@ -36,6 +40,9 @@ public class Salon {
     private List<Treatment> salonTreatments;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @JoinTable(name = "salon_tags", indexes = {
+            @Index(name = "idx_salon_tags_salon", columnList = "salons_with_tag_id"),
+            @Index(name = "idx_salon_tags_tag", columnList = "tags_id")})
     private List<Tag> tags;
 
     @ManyToOne
@@ -55,6 +62,12 @@ public class Salon {
     private Float latitude;
     private Float longitude;
 
+    // Minutes between the starts of appointments and how many days ahead they can be booked; null for the defaults
+    @Nullable
+    private Integer slotMinutes;
+    @Nullable
+    private Integer bookingDays;
+
     public Salon(String name, String description, String location, City city, String phoneNumber,
                  BusinessOwner owner, Float latitude, Float longitude) {
         this.name = name;
@@ -82,9 +95,9 @@ public class Salon {
                 .location(this.location)
                 .city(this.city.getName())
                 .phoneNumber(this.phoneNumber)
-                .employeesIds(employees.stream().map(Employee::getId).toList())
-                .salonTreatmentsIds(salonTreatments.stream().map(Treatment::getId).toList())
-                .tagsIds(tags.stream().map(Tag::getId).toList())
+                .employeesIds(IdList.of(employees, Employee::getId))
+                .salonTreatmentsIds(IdList.of(salonTreatments, Treatment::getId))
+                .tagsIds(IdList.of(tags, Tag::getId))
                 .ownerId(owner != null ? owner.getId() : -1)
                 .backgroundImage(this.backgroundImage)
                 .images(this.images)
@@ -108,4 +121,16 @@ public class Salon {
     public void updateReview(Double newGrade, Double oldGrade){
         this.rating = (this.rating * this.numberOfReviews - oldGrade + newGrade) / (this.numberOfReviews);
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Salon other)) return false;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Salon.class.hashCode();
+    }
+}
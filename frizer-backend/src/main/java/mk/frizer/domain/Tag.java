@@ -1,8 +1,10 @@
 package mk.frizer.domain;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.NoArgsConstructor;
+import mk.frizer.domain.dto.simple.IdList;
 import mk.frizer.domain.dto.simple.TagSimpleDTO;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
@@ -10,7 +12,8 @@ import org.hibernate.annotations.OnDeleteAction;
 import java.util.ArrayList;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
 @Entity
 @NoArgsConstructor
 public class Tag {
@@ -32,7 +35,19 @@ public class Tag {
         return TagSimpleDTO.builder()
                 .id(this.id)
                 .name(this.name)
-                .salonsWithTagIds(salonsWithTag.stream().map(Salon::getId).toList())
+                .salonsWithTagIds(IdList.of(salonsWithTag, Salon::getId))
                 .build();
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Tag other)) return false;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Tag.class.hashCode();
+    }
 }
@@ -1,14 +1,17 @@
 package mk.frizer.domain;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.NoArgsConstructor;
 import mk.frizer.domain.dto.simple.TreatmentSimpleDTO;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
-@Data
+@Getter
+@Setter
 @Entity
+@Table(indexes = @Index(name = "idx_treatment_salon", columnList = "salon_id"))
 @NoArgsConstructor
 public class Treatment {
     @Id
@@ -38,5 +41,16 @@ public class Treatment {
                 .price(this.price)
                 .build();
     }
-}
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Treatment other)) return false;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Treatment.class.hashCode();
+    }
+}
@@ -0,0 +1,72 @@
+package mk.frizer.domain;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import mk.frizer.domain.dto.simple.WorkingHoursSimpleDTO;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * One stretch of a weekday a salon is open, or an employee works when set. A day with a break is two stretches.
+ */
+@Getter
+@Setter
+@Entity
+@Table(indexes = @Index(name = "idx_working_hours_salon", columnList = "salon_id"))
+@NoArgsConstructor
+public class WorkingHours {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Salon salon;
+
+    @ManyToOne
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @Nullable
+    private Employee employee;
+
+    @Enumerated(EnumType.STRING)
+    private DayOfWeek dayOfWeek;
+    private LocalTime opens;
+    private LocalTime closes;
+
+    public WorkingHours(Salon salon, Employee employee, DayOfWeek dayOfWeek, LocalTime opens, LocalTime closes) {
+        this.salon = salon;
+        this.employee = employee;
+        this.dayOfWeek = dayOfWeek;
+        this.opens = opens;
+        this.closes = closes;
+    }
+
+    public WorkingHoursSimpleDTO toDto() {
+        return WorkingHoursSimpleDTO.builder()
+                .id(this.id)
+                .salonId(this.salon.getId())
+                .employeeId(this.employee == null ? null : this.employee.getId())
+                .dayOfWeek(this.dayOfWeek)
+                .opens(this.opens)
+                .closes(this.closes)
+                .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WorkingHours other)) return false;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return WorkingHours.class.hashCode();
+    }
+}
@@ -0,0 +1,17 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AppointmentBookingDTO {
+    private LocalDateTime dateFrom;
+    private List<Long> treatmentIds;
+    private Long salonId;
+    private Long employeeId;
+    private Long customerId;
+}
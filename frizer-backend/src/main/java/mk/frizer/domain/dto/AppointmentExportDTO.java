@@ -0,0 +1,32 @@
+package mk.frizer.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AppointmentExportDTO implements ExportRow {
+    public static final List<String> CSV_COLUMNS = List.of("id", "dateFrom", "dateTo", "treatmentId", "treatmentName",
+            "price", "employeeId", "customerId", "attended");
+
+    private Long id;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime dateFrom;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime dateTo;
+    private Long treatmentId;
+    private String treatmentName;
+    private Double price;
+    private Long employeeId;
+    private Long customerId;
+    private boolean attended;
+
+    @Override
+    public Object[] csvValues() {
+        return new Object[]{id, dateFrom, dateTo, treatmentId, treatmentName, price, employeeId, customerId, attended};
+    }
+}
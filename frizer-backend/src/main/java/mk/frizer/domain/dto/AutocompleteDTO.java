@@ -0,0 +1,14 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AutocompleteDTO {
+    private List<SalonNameDTO> salons;
+    private List<String> treatments;
+    private List<String> cities;
+}
@@ -0,0 +1,13 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ChainImportDTO {
+    private Long businessOwnerId;
+    private List<SalonImportDTO> salons;
+}
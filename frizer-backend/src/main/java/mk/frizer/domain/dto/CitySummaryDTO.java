@@ -0,0 +1,16 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CitySummaryDTO {
+    private String city;
+    private int salons;
+    private long numberOfReviews;
+    private double averageRating;
+    private List<SalonNameDTO> topRated;
+}
@@ -0,0 +1,15 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class ClosedDayAddDTO {
+    private Long salonId;
+    // Null when the whole salon is closed
+    private Long employeeId;
+    private LocalDate date;
+}
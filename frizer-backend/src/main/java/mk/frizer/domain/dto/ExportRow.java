@@ -0,0 +1,8 @@
+package mk.frizer.domain.dto;
+
+/**
+ * A row of an export. NDJSON writes the row as a JSON object, CSV writes {@link #csvValues()} in column order.
+ */
+public interface ExportRow {
+    Object[] csvValues();
+}
@@ -0,0 +1,12 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportErrorDTO {
+    // Position of the rejected row in the payload, for example salons[2].treatments[0]
+    private String row;
+    private String message;
+}
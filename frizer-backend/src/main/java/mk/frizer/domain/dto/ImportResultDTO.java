@@ -0,0 +1,15 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ImportResultDTO {
+    private int salonsCreated;
+    private int employeesAssigned;
+    private int treatmentsCreated;
+    private List<ImportErrorDTO> errors;
+}
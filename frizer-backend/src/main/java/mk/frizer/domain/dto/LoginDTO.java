@@ -0,0 +1,11 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LoginDTO {
+    private String email;
+    private String password;
+}
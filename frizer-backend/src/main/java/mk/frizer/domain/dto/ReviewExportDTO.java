@@ -0,0 +1,27 @@
+package mk.frizer.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReviewExportDTO implements ExportRow {
+    public static final List<String> CSV_COLUMNS = List.of("id", "date", "rating", "comment", "authorId", "employeeId");
+
+    private Long id;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm")
+    private LocalDateTime date;
+    private Double rating;
+    private String comment;
+    private Long authorId;
+    private Long employeeId;
+
+    @Override
+    public Object[] csvValues() {
+        return new Object[]{id, date, rating, comment, authorId, employeeId};
+    }
+}
@@ -0,0 +1,14 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SalonDirectoryDTO {
+    private Long id;
+    private String name;
+    private String city;
+    private Double rating;
+    private Integer numberOfReviews;
+}
@@ -0,0 +1,20 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SalonImportDTO {
+    private String name;
+    private String description;
+    private String location;
+    private String city;
+    private String phoneNumber;
+    private Float latitude;
+    private Float longitude;
+    private List<Long> employeeUserIds;
+    private List<TreatmentImportDTO> treatments;
+}
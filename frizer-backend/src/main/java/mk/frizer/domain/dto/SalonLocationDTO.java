@@ -0,0 +1,12 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SalonLocationDTO {
+    private Long id;
+    private Float latitude;
+    private Float longitude;
+}
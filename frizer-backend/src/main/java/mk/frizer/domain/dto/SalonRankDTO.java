@@ -0,0 +1,15 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SalonRankDTO {
+    private Long id;
+    private String city;
+    private Double rating;
+    private Integer numberOfReviews;
+    private Float latitude;
+    private Float longitude;
+}
@@ -0,0 +1,13 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ScheduleSettingsDTO {
+    // Minutes between the possible starts of an appointment; null for the default
+    private Integer slotMinutes;
+    // How many days ahead, today included, appointments can be booked; null for the default
+    private Integer bookingDays;
+}
@@ -0,0 +1,12 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TreatmentImportDTO {
+    private String name;
+    private Double price;
+    private Integer duration;
+}
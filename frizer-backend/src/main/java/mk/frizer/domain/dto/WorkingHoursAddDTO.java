@@ -0,0 +1,18 @@
+package mk.frizer.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+public class WorkingHoursAddDTO {
+    private Long salonId;
+    // Null for the hours of the whole salon
+    private Long employeeId;
+    private DayOfWeek dayOfWeek;
+    private LocalTime opens;
+    private LocalTime closes;
+}
@@ -0,0 +1,15 @@
+package mk.frizer.domain.dto.simple;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class ClosedDaySimpleDTO {
+    private Long id;
+    private Long salonId;
+    private Long employeeId;
+    private LocalDate date;
+}
@@ -0,0 +1,69 @@
+package mk.frizer.domain.dto.simple;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read-only view of the ids of an entity collection, used by the simple DTOs instead of copying the ids into a new list.
+ * The entities already hold their ids as {@link Long}, so nothing is boxed or copied; {@link Serializer} writes the
+ * numbers straight from the entities when the DTO is serialized.
+ * <p>
+ * The view follows the entity collection, so a DTO has to be serialized before its entity is modified again,
+ * as the controllers do.
+ */
+@JsonSerialize(using = IdList.Serializer.class)
+public final class IdList<T> extends AbstractList<Long> {
+    private final List<T> entities;
+    private final Function<? super T, Long> id;
+
+    private IdList(List<T> entities, Function<? super T, Long> id) {
+        this.entities = entities;
+        this.id = id;
+    }
+
+    public static <T> IdList<T> of(List<T> entities, Function<? super T, Long> id) {
+        return new IdList<>(entities != null ? entities : List.of(), id);
+    }
+
+    @Override
+    public Long get(int index) {
+        return id.apply(entities.get(index));
+    }
+
+    @Override
+    public int size() {
+        return entities.size();
+    }
+
+    private void writeIds(JsonGenerator generator) throws IOException {
+        for (T entity : entities) {
+            Long value = id.apply(entity);
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value.longValue());
+            }
+        }
+    }
+
+    public static class Serializer extends StdSerializer<IdList<?>> {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Serializer() {
+            super((Class) IdList.class);
+        }
+
+        @Override
+        public void serialize(IdList<?> value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartArray(value, value.size());
+            value.writeIds(generator);
+            generator.writeEndArray();
+        }
+    }
+}
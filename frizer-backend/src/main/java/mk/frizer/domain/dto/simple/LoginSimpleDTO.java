@@ -0,0 +1,11 @@
+package mk.frizer.domain.dto.simple;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class LoginSimpleDTO {
+    private String token;
+    private BaseUserSimpleDTO user;
+}
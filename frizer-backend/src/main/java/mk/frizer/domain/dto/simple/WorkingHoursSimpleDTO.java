@@ -0,0 +1,21 @@
+package mk.frizer.domain.dto.simple;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Data
+@Builder
+public class WorkingHoursSimpleDTO {
+    private Long id;
+    private Long salonId;
+    private Long employeeId;
+    private DayOfWeek dayOfWeek;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    private LocalTime opens;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+    private LocalTime closes;
+}
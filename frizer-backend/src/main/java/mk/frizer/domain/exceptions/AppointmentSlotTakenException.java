@@ -0,0 +1,11 @@
+package mk.frizer.domain.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class AppointmentSlotTakenException extends RuntimeException {
+    public AppointmentSlotTakenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,4 @@
+package mk.frizer.domain.exceptions;
+
+public class ClosedDayNotFoundException extends RuntimeException {
+}
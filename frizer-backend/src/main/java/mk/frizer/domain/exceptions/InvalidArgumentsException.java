@@ -1,4 +1,14 @@
 package mk.frizer.domain.exceptions;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
 public class InvalidArgumentsException extends RuntimeException {
+    public InvalidArgumentsException() {
+    }
+
+    public InvalidArgumentsException(String message) {
+        super(message);
+    }
 }
@@ -0,0 +1,7 @@
+package mk.frizer.domain.exceptions;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException() {
+        super("Password hashing is at capacity, try again later");
+    }
+}
@@ -0,0 +1,4 @@
+package mk.frizer.domain.exceptions;
+
+public class WorkingHoursNotFoundException extends RuntimeException {
+}
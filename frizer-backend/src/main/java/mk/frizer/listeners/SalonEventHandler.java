@@ -2,16 +2,22 @@ package mk.frizer.listeners;
 
 import mk.frizer.domain.Salon;
 import mk.frizer.domain.events.SalonCreatedEvent;
+import mk.frizer.domain.events.SalonUpdatedEvent;
 import mk.frizer.service.BusinessOwnerService;
+import mk.frizer.service.SalonSearchService;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Component
 public class SalonEventHandler {
     private final BusinessOwnerService businessOwnerService;
+    private final SalonSearchService salonSearchService;
 
-    public SalonEventHandler(BusinessOwnerService businessOwnerService) {
+    public SalonEventHandler(BusinessOwnerService businessOwnerService, SalonSearchService salonSearchService) {
         this.businessOwnerService = businessOwnerService;
+        this.salonSearchService = salonSearchService;
     }
 
     @EventListener
@@ -20,10 +26,19 @@ public class SalonEventHandler {
         businessOwnerService.addSalonToBusinessOwner(salon.getOwner().getId(), salon);
     }
     @EventListener
-    public void onSalonUpdated(SalonCreatedEvent event) {
+    public void onSalonUpdated(SalonUpdatedEvent event) {
         Salon salon = (Salon)event.getSource();
         businessOwnerService.editSalonForBusinessOwner(salon);
     }
 
+    // The search indexes only see committed salons, a rolled back create or rename leaves them alone
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void indexCreatedSalon(SalonCreatedEvent event) {
+        salonSearchService.indexSalon((Salon) event.getSource());
+    }
 
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void indexUpdatedSalon(SalonUpdatedEvent event) {
+        salonSearchService.indexSalon((Salon) event.getSource());
+    }
 }
@@ -3,16 +3,21 @@ package mk.frizer.listeners;
 import mk.frizer.domain.Treatment;
 import mk.frizer.domain.events.TreatmentCreatedEvent;
 import mk.frizer.domain.events.TreatmentUpdatedEvent;
+import mk.frizer.service.SalonSearchService;
 import mk.frizer.service.SalonService;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Component
 public class TreatmentEventHandler {
     private final SalonService salonService;
+    private final SalonSearchService salonSearchService;
 
-    public TreatmentEventHandler(SalonService salonService) {
+    public TreatmentEventHandler(SalonService salonService, SalonSearchService salonSearchService) {
         this.salonService = salonService;
+        this.salonSearchService = salonSearchService;
     }
 
     @EventListener
@@ -26,4 +31,14 @@ public class TreatmentEventHandler {
         Treatment treatment = (Treatment)event.getSource();
         salonService.editTreatmentForSalon(treatment);
     }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void indexCreatedTreatment(TreatmentCreatedEvent event) {
+        salonSearchService.indexTreatment((Treatment) event.getSource());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void indexUpdatedTreatment(TreatmentUpdatedEvent event) {
+        salonSearchService.indexTreatment((Treatment) event.getSource());
+    }
 }
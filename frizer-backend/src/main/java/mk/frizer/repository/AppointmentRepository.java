@@ -1,7 +1,40 @@
 package mk.frizer.repository;
 
+import jakarta.persistence.QueryHint;
 import mk.frizer.domain.Appointment;
+import mk.frizer.domain.dto.AppointmentExportDTO;
+import mk.frizer.domain.dto.simple.AppointmentSimpleDTO;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+    // The ids of the associations straight from the row, without loading them and their eager associations per appointment
+    @Query("select new mk.frizer.domain.dto.simple.AppointmentSimpleDTO(a.id, a.dateFrom, a.dateTo, t.id, s.id, e.id, c.id, a.attended) " +
+            "from Appointment a left join a.treatment t left join a.salon s left join a.employee e left join a.customer c " +
+            "order by a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<AppointmentSimpleDTO> streamAll();
+
+    @Query("select new mk.frizer.domain.dto.AppointmentExportDTO(a.id, a.dateFrom, a.dateTo, t.id, t.name, t.price, e.id, c.id, a.attended) " +
+            "from Appointment a left join a.treatment t left join a.employee e left join a.customer c " +
+            "where a.salon.id = :salonId and a.dateFrom >= :from and a.dateFrom < :to order by a.dateFrom, a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<AppointmentExportDTO> streamExportBySalonId(@Param("salonId") Long salonId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+
+    List<Appointment> findAllBySalonIdAndEmployeeIdAndDateToAfter(Long salonId, Long employeeId, LocalDateTime after);
+
+    @Query("select count(a) > 0 from Appointment a " +
+            "where a.employee.id = :employeeId and a.dateFrom < :to and a.dateTo > :from")
+    boolean existsOverlapping(@Param("employeeId") Long employeeId,
+                              @Param("from") LocalDateTime from,
+                              @Param("to") LocalDateTime to);
 }
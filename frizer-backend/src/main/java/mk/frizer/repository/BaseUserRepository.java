@@ -1,11 +1,29 @@
 package mk.frizer.repository;
 
+import jakarta.persistence.QueryHint;
 import mk.frizer.domain.BaseUser;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BaseUserRepository extends JpaRepository<BaseUser, Long> {
     Optional<BaseUser> findByEmail(String username);
-    Optional<BaseUser> findByEmailAndPassword(String username, String password);
+    @EntityGraph(attributePaths = "roles")
+    List<BaseUser> findAllWithRolesByIdIn(Collection<Long> ids);
+    @Query("select u from BaseUser u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<BaseUser> streamAll();
+    @Transactional
+    @Modifying
+    @Query("update BaseUser u set u.password = :password where u.id = :id")
+    int updatePassword(Long id, String password);
 }
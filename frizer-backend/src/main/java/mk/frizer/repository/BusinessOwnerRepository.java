@@ -7,4 +7,5 @@ import java.util.Optional;
 
 public interface BusinessOwnerRepository extends JpaRepository<BusinessOwner, Long> {
     Optional<BusinessOwner> findByBaseUserId(Long baseUserId);
+    boolean existsByIdAndBaseUserEmail(Long id, String email);
 }
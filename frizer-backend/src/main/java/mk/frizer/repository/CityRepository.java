@@ -2,6 +2,7 @@ package mk.frizer.repository;
 
 import mk.frizer.domain.City;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,4 +10,7 @@ import java.util.Optional;
 public interface CityRepository extends JpaRepository<City, String> {
     Optional<City> findByName(String name);
     Optional<City> findByNameEqualsIgnoreCase(String name);
+
+    @Query("select c.name from City c")
+    List<String> findAllNames();
 }
@@ -0,0 +1,11 @@
+package mk.frizer.repository;
+
+import mk.frizer.domain.ClosedDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ClosedDayRepository extends JpaRepository<ClosedDay, Long> {
+    List<ClosedDay> findAllBySalonIdAndDateGreaterThanEqualOrderByDate(Long salonId, LocalDate from);
+}
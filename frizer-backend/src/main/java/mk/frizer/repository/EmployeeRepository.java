@@ -1,10 +1,23 @@
 package mk.frizer.repository;
 
+import jakarta.persistence.LockModeType;
 import mk.frizer.domain.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByBaseUserId(Long id);
+    List<Employee> findAllBySalonId(Long salonId);
+    List<Employee> findAllByBaseUserIdIn(Collection<Long> userIds);
+
+    // Held until the booking transaction ends, so two bookings for one employee check for overlaps one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id from Employee e where e.id = :id")
+    Optional<Long> lockById(@Param("id") Long id);
 }
@@ -1,7 +1,23 @@
 package mk.frizer.repository;
 
+import jakarta.persistence.QueryHint;
 import mk.frizer.domain.Review;
+import mk.frizer.domain.dto.ReviewExportDTO;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+    @Query("select new mk.frizer.domain.dto.ReviewExportDTO(r.id, r.date, r.rating, r.comment, u.id, e.id) " +
+            "from Review r join r.employee e left join r.author u " +
+            "where e.salon.id = :salonId and r.date >= :from and r.date < :to order by r.date, r.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ReviewExportDTO> streamExportBySalonId(@Param("salonId") Long salonId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
 }
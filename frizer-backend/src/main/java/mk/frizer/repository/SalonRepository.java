@@ -1,7 +1,13 @@
 package mk.frizer.repository;
 
 import mk.frizer.domain.Salon;
+import mk.frizer.domain.dto.SalonDirectoryDTO;
+import mk.frizer.domain.dto.SalonLocationDTO;
+import mk.frizer.domain.dto.SalonNameDTO;
+import mk.frizer.domain.dto.SalonRankDTO;
+import mk.frizer.domain.dto.SalonTagDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -9,4 +15,36 @@ public interface SalonRepository extends JpaRepository<Salon, Long> {
         List<Salon> findAllByNameContaining(String name);
         List<Salon> findAllByRatingGreaterThanEqual(Float rating);
         List<Salon> findAllByLocationContaining(String location);
+
+        // Only the coordinates, so the range scan over idx_salon_lat_lon loads none of the salon's eager associations
+        @Query("select new mk.frizer.domain.dto.SalonLocationDTO(s.id, s.latitude, s.longitude) from Salon s " +
+                "where s.latitude between :minLatitude and :maxLatitude " +
+                "and s.longitude between :minLongitude and :maxLongitude")
+        List<SalonLocationDTO> findLocationsInBoundingBox(Float minLatitude, Float maxLatitude,
+                                                          Float minLongitude, Float maxLongitude);
+
+        @Query("select new mk.frizer.domain.dto.SalonLocationDTO(s.id, s.latitude, s.longitude) from Salon s")
+        List<SalonLocationDTO> findAllLocations();
+
+        @Query("select new mk.frizer.domain.dto.SalonNameDTO(s.id, s.name) from Salon s")
+        List<SalonNameDTO> findAllNames();
+
+        @Query("select new mk.frizer.domain.dto.SalonTagDTO(s.id, t.id) from Salon s join s.tags t")
+        List<SalonTagDTO> findAllTagIds();
+
+        @Query("select new mk.frizer.domain.dto.SalonDirectoryDTO(s.id, s.name, c.name, s.rating, s.numberOfReviews) " +
+                "from Salon s left join s.city c")
+        List<SalonDirectoryDTO> findAllDirectoryEntries();
+
+        // What ranking needs of every salon rated at least as given, without the eager associations
+        @Query("select new mk.frizer.domain.dto.SalonRankDTO(s.id, c.name, s.rating, s.numberOfReviews, s.latitude, s.longitude) " +
+                "from Salon s left join s.city c where s.rating >= :rating")
+        List<SalonRankDTO> findRankCandidates(Double rating);
+
+        @Query("select new mk.frizer.domain.dto.SalonRankDTO(s.id, c.name, s.rating, s.numberOfReviews, s.latitude, s.longitude) " +
+                "from Salon s left join s.city c where s.rating >= :rating " +
+                "and s.latitude between :minLatitude and :maxLatitude " +
+                "and s.longitude between :minLongitude and :maxLongitude")
+        List<SalonRankDTO> findRankCandidatesInBoundingBox(Double rating, Float minLatitude, Float maxLatitude,
+                                                           Float minLongitude, Float maxLongitude);
 }
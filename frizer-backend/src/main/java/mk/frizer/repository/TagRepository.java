@@ -3,5 +3,8 @@ package mk.frizer.repository;
 import mk.frizer.domain.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface TagRepository extends JpaRepository<Tag, Long> {
+    List<Tag> findAllBySalonsWithTagId(Long salonId);
 }
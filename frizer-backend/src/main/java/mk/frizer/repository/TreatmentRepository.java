@@ -1,7 +1,15 @@
 package mk.frizer.repository;
 
 import mk.frizer.domain.Treatment;
+import mk.frizer.domain.dto.TreatmentNameDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface TreatmentRepository extends JpaRepository<Treatment, Long> {
+    List<Treatment> findAllBySalonId(Long salonId);
+
+    @Query("select new mk.frizer.domain.dto.TreatmentNameDTO(t.id, t.name) from Treatment t")
+    List<TreatmentNameDTO> findAllNames();
 }
@@ -0,0 +1,10 @@
+package mk.frizer.repository;
+
+import mk.frizer.domain.WorkingHours;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface WorkingHoursRepository extends JpaRepository<WorkingHours, Long> {
+    List<WorkingHours> findAllBySalonId(Long salonId);
+}
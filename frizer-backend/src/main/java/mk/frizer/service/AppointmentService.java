@@ -2,16 +2,32 @@ package mk.frizer.service;
 
 import mk.frizer.domain.*;
 import mk.frizer.domain.dto.AppointmentAddDTO;
+import mk.frizer.domain.dto.AppointmentBookingDTO;
+import mk.frizer.domain.dto.AppointmentExportDTO;
+import mk.frizer.domain.dto.simple.AppointmentSimpleDTO;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface AppointmentService {
     List<Appointment> getAppointments();
+    long forEachAppointment(Consumer<AppointmentSimpleDTO> action);
+    long exportAppointments(Long salonId, LocalDateTime from, LocalDateTime to, Consumer<AppointmentExportDTO> action);
     Optional<Appointment> getAppointmentById(Long id);
     Optional<Appointment> createAppointment(AppointmentAddDTO appointmentAddDTO);
+
+    /**
+     * Books the treatments back to back with one employee from {@code dateFrom} on, all or none of them.
+     *
+     * @throws mk.frizer.domain.exceptions.AppointmentSlotTakenException when the employee has an appointment in
+     *                                                                   that time or does not work all of it
+     */
+    List<Appointment> bookAppointments(AppointmentBookingDTO appointmentBookingDTO);
     Optional<Appointment> updateAppointment(Long id, LocalDateTime from, LocalDateTime to, Long treatment, Long salon, Long employee, Long customer);
     Optional<Appointment> deleteAppointmentById(Long id);
     Optional<Appointment> changeUserAttendanceAppointment(Long id);
+    List<List<AppointmentTimeSlot>> getAvailableTimeSlots(Long salonId, Long employeeId, Integer durationMultiplier);
+    List<List<AppointmentTimeSlot>> getAvailableTimeSlots(Long salonId, Long employeeId, List<Long> treatmentIds);
 }
@@ -6,12 +6,16 @@ import mk.frizer.domain.dto.BaseUserUpdateDTO;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BaseUserService {
     List<BaseUser> getBaseUsers();
+    long forEachBaseUser(Consumer<BaseUser> action);
     Optional<BaseUser> getBaseUserById(Long id);
     Optional<BaseUser> createBaseUser(BaseUserAddDTO baseUserAddDTO);
+    List<BaseUser> createBaseUsers(List<BaseUserAddDTO> baseUserAddDTOs);
     Optional<BaseUser> updateBaseUser(Long id, BaseUserUpdateDTO baseUserUpdateDTO);
     Optional<BaseUser> changeBaseUserPassword(Long id, String password);
     Optional<BaseUser> deleteBaseUserById(Long id);
+    Optional<BaseUser> login(String email, String password);
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ public interface BusinessOwnerService {
     List<BusinessOwner> getBusinessOwners();
     Optional<BusinessOwner> getBusinessOwnerById(Long id);
     Optional<BusinessOwner> getBusinessOwnerByBaseUserId(Long id);
+    boolean isUserBusinessOwner(Long id, String email);
     Optional<BusinessOwner> createBusinessOwner(Long baseUserId);
     Optional<BusinessOwner> deleteBusinessOwnerById(Long id);
     Optional<BusinessOwner> addSalonToBusinessOwner(Long businessOwnerId, Salon salon);
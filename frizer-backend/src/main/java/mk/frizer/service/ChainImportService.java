@@ -0,0 +1,8 @@
+package mk.frizer.service;
+
+import mk.frizer.domain.dto.ChainImportDTO;
+import mk.frizer.domain.dto.ImportResultDTO;
+
+public interface ChainImportService {
+    ImportResultDTO importChain(ChainImportDTO chainImportDTO);
+}
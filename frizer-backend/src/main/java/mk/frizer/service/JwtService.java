@@ -0,0 +1,11 @@
+package mk.frizer.service;
+
+import io.jsonwebtoken.Claims;
+import mk.frizer.domain.BaseUser;
+
+import java.util.Optional;
+
+public interface JwtService {
+    String generateToken(BaseUser user);
+    Optional<Claims> getClaims(String token);
+}
@@ -0,0 +1,12 @@
+package mk.frizer.service;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface PasswordHashingService extends PasswordEncoder {
+    CompletableFuture<String> encodeAsync(CharSequence rawPassword);
+    List<String> encodeAll(List<? extends CharSequence> rawPasswords);
+    int getStrength();
+}
@@ -2,15 +2,20 @@ package mk.frizer.service;
 
 import mk.frizer.domain.*;
 import mk.frizer.domain.dto.ReviewAddDTO;
+import mk.frizer.domain.dto.ReviewExportDTO;
 import mk.frizer.domain.dto.ReviewUpdateDTO;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ReviewService {
     List<Review> getReviews();
 
+    long exportReviews(Long salonId, LocalDateTime from, LocalDateTime to, Consumer<ReviewExportDTO> action);
+
     Optional<Review> getReviewById(Long id);
 
     Optional<Review> createReviewForEmployee(ReviewAddDTO reviewAddDTO);
@@ -0,0 +1,58 @@
+package mk.frizer.service;
+
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.Treatment;
+import mk.frizer.domain.dto.AutocompleteDTO;
+import mk.frizer.domain.dto.CitySummaryDTO;
+import mk.frizer.utilities.GeoPoint;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface SalonSearchService {
+    List<Long> searchSalonIds(String query, int limit);
+
+    AutocompleteDTO autocomplete(String query, int limit);
+
+    void indexSalon(Salon salon);
+
+    void removeSalon(Salon salon);
+
+    void indexTreatment(Treatment treatment);
+
+    void removeTreatment(Long id);
+
+    BitSet salonsWithTags(Collection<Long> tagIds, boolean matchAll);
+
+    Map<Long, Integer> countTags(Collection<Long> salonIds);
+
+    /**
+     * The salons at most {@code radiusKm} from {@code center}, a bit per salon id.
+     */
+    BitSet salonsWithin(GeoPoint center, double radiusKm);
+
+    void indexSalonTag(Long salonId, Long tagId);
+
+    void removeTag(Long tagId);
+
+    List<Long> getSalonIdsInCity(String city);
+
+    /**
+     * The salons of a city, or of every city when {@code city} is null, rated at least {@code minRating}, a bit per
+     * salon id.
+     */
+    BitSet salonsRated(String city, double minRating);
+
+    CitySummaryDTO getCitySummary(String city);
+
+    List<CitySummaryDTO> getCitySummaries();
+
+    /**
+     * Updates what the city directory knows of a salon's rating, after a review is added, changed or deleted.
+     */
+    void indexSalonRating(Salon salon);
+
+    void reindex();
+}
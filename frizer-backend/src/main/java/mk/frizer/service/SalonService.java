@@ -33,7 +33,26 @@ public interface SalonService {
     Optional<Salon> deleteReview(Review review);
     Optional<Salon> updateReview(Review review, Double oldReview);
 
-    List<Salon> filterSalons(String name, String city, Float distance, Float rating, String userLocation);
+    /**
+     * Salons matching every given filter; with tags, only those having all of them when {@code matchAllTags},
+     * otherwise any of them.
+     */
+    List<Salon> filterSalons(String name, String city, Float distance, Float rating, String userLocation,
+                             List<Long> tags, boolean matchAllTags);
+
+    /**
+     * The ids of the salons {@link #filterSalons} returns, in the same order, answered by the search indexes
+     * without reading the salon table.
+     */
+    List<Long> filterSalonIds(String name, String city, Float distance, Float rating, String userLocation,
+                              List<Long> tags, boolean matchAllTags);
+
+    /**
+     * A page of the salons matching the filters, best first by distance, rating and how many of the tags they have;
+     * see {@link mk.frizer.utilities.SalonRanker}.
+     */
+    List<Salon> rankSalons(String name, String city, Float distance, Float rating, String userLocation,
+                           List<Long> tags, int page, int size);
 
     List<String> getSalonsAsString(List<Salon> salons);
 
@@ -0,0 +1,35 @@
+package mk.frizer.service;
+
+import mk.frizer.domain.ClosedDay;
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.WorkingHours;
+import mk.frizer.domain.dto.ClosedDayAddDTO;
+import mk.frizer.domain.dto.ScheduleSettingsDTO;
+import mk.frizer.domain.dto.WorkingHoursAddDTO;
+import mk.frizer.utilities.WeeklySchedule;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ScheduleService {
+    List<WorkingHours> getWorkingHours(Long salonId);
+    Optional<WorkingHours> getWorkingHoursById(Long id);
+    Optional<WorkingHours> addWorkingHours(WorkingHoursAddDTO workingHoursAddDTO);
+    Optional<WorkingHours> deleteWorkingHoursById(Long id);
+    List<ClosedDay> getClosedDays(Long salonId);
+    Optional<ClosedDay> getClosedDayById(Long id);
+    Optional<ClosedDay> addClosedDay(ClosedDayAddDTO closedDayAddDTO);
+    Optional<ClosedDay> deleteClosedDayById(Long id);
+    Optional<Salon> updateSettings(Long salonId, ScheduleSettingsDTO scheduleSettingsDTO);
+
+    /**
+     * The compiled schedule of an employee of a salon, or of the salon itself when {@code employeeId} is null.
+     */
+    WeeklySchedule getSchedule(Long salonId, Long employeeId);
+
+    /**
+     * Drops the cached schedules of an employee, now and once the current transaction commits, e.g. when they move
+     * to another salon.
+     */
+    void evictEmployee(Long employeeId);
+}
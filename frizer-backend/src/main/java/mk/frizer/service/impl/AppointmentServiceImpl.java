@@ -1,18 +1,31 @@
 package mk.frizer.service.impl;
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import mk.frizer.domain.*;
 import mk.frizer.domain.dto.AppointmentAddDTO;
+import mk.frizer.domain.dto.AppointmentBookingDTO;
+import mk.frizer.domain.dto.AppointmentExportDTO;
+import mk.frizer.domain.dto.simple.AppointmentSimpleDTO;
 import mk.frizer.domain.events.AppointmentCreatedEvent;
 import mk.frizer.domain.exceptions.*;
 import mk.frizer.repository.*;
 import mk.frizer.service.AppointmentService;
+import mk.frizer.service.ScheduleService;
+import mk.frizer.utilities.EntityStreamer;
+import mk.frizer.utilities.TimeSlotGenerator;
+import mk.frizer.utilities.WeeklySchedule;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class AppointmentServiceImpl implements AppointmentService {
@@ -22,19 +35,25 @@ public class AppointmentServiceImpl implements AppointmentService {
     private final SalonRepository salonRepository;
     private final EmployeeRepository employeeRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final TimeSlotGenerator timeSlotGenerator;
+    private final EntityStreamer entityStreamer;
+    private final ScheduleService scheduleService;
 
-    public AppointmentServiceImpl(AppointmentRepository appointmentRepository, TreatmentRepository treatmentRepository, CustomerRepository customerRepository, SalonRepository salonRepository, EmployeeRepository employeeRepository, ApplicationEventPublisher applicationEventPublisher) {
+    public AppointmentServiceImpl(AppointmentRepository appointmentRepository, TreatmentRepository treatmentRepository, CustomerRepository customerRepository, SalonRepository salonRepository, EmployeeRepository employeeRepository, ApplicationEventPublisher applicationEventPublisher, TimeSlotGenerator timeSlotGenerator, EntityStreamer entityStreamer, ScheduleService scheduleService) {
         this.appointmentRepository = appointmentRepository;
         this.treatmentRepository = treatmentRepository;
         this.customerRepository = customerRepository;
         this.salonRepository = salonRepository;
         this.employeeRepository = employeeRepository;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.timeSlotGenerator = timeSlotGenerator;
+        this.entityStreamer = entityStreamer;
+        this.scheduleService = scheduleService;
     }
 
-    private boolean isDivisibleBy20Minutes(LocalDateTime dateTime) {
-        int minutes = dateTime.getMinute();
-        return minutes % 20 == 0;
+    private static AppointmentNotDivisibleBy20Minutes notOnGrid(WeeklySchedule schedule) {
+        return new AppointmentNotDivisibleBy20Minutes(
+                "Appointments must start on the " + schedule.getSlotMinutes() + " minute slots of the salon.");
     }
 
     @Override
@@ -42,6 +61,18 @@ public class AppointmentServiceImpl implements AppointmentService {
         return appointmentRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachAppointment(Consumer<AppointmentSimpleDTO> action) {
+        return entityStreamer.forEach(appointmentRepository.streamAll(), action);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAppointments(Long salonId, LocalDateTime from, LocalDateTime to, Consumer<AppointmentExportDTO> action) {
+        return entityStreamer.forEach(appointmentRepository.streamExportBySalonId(salonId, from, to), action);
+    }
+
     @Override
     public Optional<Appointment> getAppointmentById(Long id) {
         Appointment appointment = appointmentRepository.findById(id)
@@ -52,6 +83,10 @@ public class AppointmentServiceImpl implements AppointmentService {
     @Override
     @Transactional
     public Optional<Appointment> createAppointment(AppointmentAddDTO appointmentAddDTO) {
+        if (appointmentAddDTO.getDateFrom() == null || appointmentAddDTO.getDateTo() == null
+                || !appointmentAddDTO.getDateFrom().isBefore(appointmentAddDTO.getDateTo())) {
+            throw new InvalidArgumentsException();
+        }
         Customer customer = customerRepository.findById(appointmentAddDTO.getCustomerId())
                 .orElseThrow(CustomerNotFoundException::new);
         Salon salon = salonRepository.findById(appointmentAddDTO.getSalonId())
@@ -65,17 +100,98 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .findFirst()
                 .orElseThrow(TreatmentNotFoundException::new);
 
-        // CHECK IF THE TIMES ARE DIVISIBLE BY 20 MINUTES, BECAUSE VALID APPOINTMENT MUST BE DIVISIBLE BY 20 MINUTES
-        if (!isDivisibleBy20Minutes(appointmentAddDTO.getDateFrom()) || !isDivisibleBy20Minutes(appointmentAddDTO.getDateTo())) {
-            throw new AppointmentNotDivisibleBy20Minutes("Appointment times must be divisible by 20 minutes.");
+        // A valid appointment starts on a slot of the salon and lasts a whole number of treatment durations
+        WeeklySchedule schedule = scheduleService.getSchedule(salon.getId(), employee.getId());
+        if (!schedule.isOnGrid(appointmentAddDTO.getDateFrom())) {
+            throw notOnGrid(schedule);
+        }
+        if (Duration.between(appointmentAddDTO.getDateFrom(), appointmentAddDTO.getDateTo()).toMinutes()
+                % TimeSlotGenerator.TREATMENT_DURATION_MINUTES != 0) {
+            throw new AppointmentNotDivisibleBy20Minutes("Appointments must last a multiple of "
+                    + TimeSlotGenerator.TREATMENT_DURATION_MINUTES + " minutes.");
         }
 
         Appointment appointment = new Appointment(appointmentAddDTO.getDateFrom(), appointmentAddDTO.getDateTo(), treatment, salon, employee, customer);
-        appointmentRepository.save(appointment);
+        save(schedule, employee, List.of(appointment));
+        return Optional.of(appointment);
+    }
 
-        applicationEventPublisher.publishEvent(new AppointmentCreatedEvent(appointment));
+    @Override
+    @Transactional
+    public List<Appointment> bookAppointments(AppointmentBookingDTO appointmentBookingDTO) {
+        if (appointmentBookingDTO.getTreatmentIds() == null || appointmentBookingDTO.getTreatmentIds().isEmpty()
+                || appointmentBookingDTO.getDateFrom() == null) {
+            throw new InvalidArgumentsException();
+        }
+        Customer customer = customerRepository.findById(appointmentBookingDTO.getCustomerId())
+                .orElseThrow(CustomerNotFoundException::new);
+        Salon salon = salonRepository.findById(appointmentBookingDTO.getSalonId())
+                .orElseThrow(SalonNotFoundException::new);
+        Employee employee = salon.getEmployees().stream()
+                .filter(e -> e.getId().equals(appointmentBookingDTO.getEmployeeId()))
+                .findFirst()
+                .orElseThrow(EmployeeNotFoundException::new);
+        List<Treatment> treatments = getSalonTreatments(salon, appointmentBookingDTO.getTreatmentIds());
+        WeeklySchedule schedule = scheduleService.getSchedule(salon.getId(), employee.getId());
+        if (!schedule.isOnGrid(appointmentBookingDTO.getDateFrom())) {
+            throw notOnGrid(schedule);
+        }
 
-        return Optional.of(appointment);
+        // One slot after the other, in the order the treatments were given
+        LocalDateTime from = appointmentBookingDTO.getDateFrom();
+        List<Appointment> appointments = new ArrayList<>(treatments.size());
+        for (Treatment treatment : treatments) {
+            LocalDateTime to = from.plusMinutes((long) TimeSlotGenerator.TREATMENT_DURATION_MINUTES * treatment.getDurationMultiplier());
+            appointments.add(new Appointment(from, to, treatment, salon, employee, customer));
+            from = to;
+        }
+
+        save(schedule, employee, appointments);
+        return appointments;
+    }
+
+    /**
+     * Saves appointments of one employee that follow each other without a gap, once they are within the salon's
+     * booking days and the employee's hours. The employee's row stays locked until the transaction ends, so of two
+     * bookings racing for the same time only the first passes the overlap check.
+     */
+    private void save(WeeklySchedule schedule, Employee employee, List<Appointment> appointments) {
+        LocalDateTime from = appointments.get(0).getDateFrom();
+        LocalDateTime to = appointments.get(appointments.size() - 1).getDateTo();
+        // Like the available slots, from now until the last day the salon takes bookings for
+        LocalDateTime now = LocalDateTime.now();
+        if (from.isBefore(now) || !from.toLocalDate().isBefore(now.toLocalDate().plusDays(schedule.getBookingDays()))) {
+            throw new InvalidArgumentsException("Appointments can only be booked for the next "
+                    + schedule.getBookingDays() + " days.");
+        }
+        if (!schedule.isOpen(from, to)) {
+            throw new InvalidArgumentsException("The employee does not work in that time.");
+        }
+
+        employeeRepository.lockById(employee.getId()).orElseThrow(EmployeeNotFoundException::new);
+        if (appointmentRepository.existsOverlapping(employee.getId(), from, to)) {
+            throw new AppointmentSlotTakenException("The employee already has an appointment in that time.");
+        }
+        appointmentRepository.saveAll(appointments);
+
+        appointments.forEach(appointment -> applicationEventPublisher.publishEvent(new AppointmentCreatedEvent(appointment)));
+    }
+
+    /**
+     * The treatments of a salon with the given ids, in the order of the ids; the same id may come twice.
+     */
+    private List<Treatment> getSalonTreatments(Salon salon, List<Long> treatmentIds) {
+        Map<Long, Treatment> treatmentsById = salon.getSalonTreatments().stream()
+                .collect(Collectors.toMap(Treatment::getId, Function.identity()));
+        List<Treatment> treatments = new ArrayList<>(treatmentIds.size());
+        for (Long id : treatmentIds) {
+            Treatment treatment = treatmentsById.get(id);
+            if (treatment == null) {
+                throw new TreatmentNotFoundException();
+            }
+            treatments.add(treatment);
+        }
+        return treatments;
     }
 
     @Override
@@ -120,4 +236,22 @@ public class AppointmentServiceImpl implements AppointmentService {
         appointmentRepository.save(appointment);
         return Optional.of(appointment);
     }
+
+    @Override
+    public List<List<AppointmentTimeSlot>> getAvailableTimeSlots(Long salonId, Long employeeId, Integer durationMultiplier) {
+        return timeSlotGenerator.generateAvailableTimeSlots(salonId, employeeId, durationMultiplier,
+                scheduleService.getSchedule(salonId, employeeId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<List<AppointmentTimeSlot>> getAvailableTimeSlots(Long salonId, Long employeeId, List<Long> treatmentIds) {
+        Salon salon = salonRepository.findById(salonId)
+                .orElseThrow(SalonNotFoundException::new);
+        int durationMultiplier = getSalonTreatments(salon, treatmentIds).stream()
+                .mapToInt(Treatment::getDurationMultiplier)
+                .sum();
+        return timeSlotGenerator.generateAvailableTimeSlots(salonId, employeeId, durationMultiplier,
+                scheduleService.getSchedule(salonId, employeeId));
+    }
 }
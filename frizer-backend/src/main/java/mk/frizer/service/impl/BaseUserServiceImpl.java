@@ -1,20 +1,26 @@
 package mk.frizer.service.impl;
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import mk.frizer.domain.BaseUser;
 import mk.frizer.domain.Customer;
 import mk.frizer.domain.dto.BaseUserAddDTO;
 import mk.frizer.domain.dto.BaseUserUpdateDTO;
+import mk.frizer.domain.exceptions.InvalidUsernameOrPasswordException;
 import mk.frizer.domain.exceptions.UserNotFoundException;
 import mk.frizer.repository.BaseUserRepository;
 import mk.frizer.repository.CustomerRepository;
 import mk.frizer.service.BaseUserService;
+import mk.frizer.service.PasswordHashingService;
+import mk.frizer.utilities.EntityStreamer;
 import mk.frizer.utilities.FormValidator;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class BaseUserServiceImpl implements BaseUserService {
@@ -28,12 +34,17 @@ public class BaseUserServiceImpl implements BaseUserService {
 
     private final BaseUserRepository baseUserRepository;
     private final CustomerRepository customerRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordEncoder;
+    private final EntityStreamer entityStreamer;
+    // For the writes after a password is hashed, so the hashing runs before the transaction takes a connection
+    private final TransactionTemplate transactionTemplate;
 
-    public BaseUserServiceImpl(BaseUserRepository baseUserRepository, CustomerRepository customerRepository, PasswordEncoder passwordEncoder) {
+    public BaseUserServiceImpl(BaseUserRepository baseUserRepository, CustomerRepository customerRepository, PasswordHashingService passwordEncoder, EntityStreamer entityStreamer, PlatformTransactionManager transactionManager) {
         this.baseUserRepository = baseUserRepository;
         this.customerRepository = customerRepository;
         this.passwordEncoder = passwordEncoder;
+        this.entityStreamer = entityStreamer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -41,6 +52,12 @@ public class BaseUserServiceImpl implements BaseUserService {
         return baseUserRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachBaseUser(Consumer<BaseUser> action) {
+        return entityStreamer.forEach(baseUserRepository.streamAll(), action);
+    }
+
     @Override
     public Optional<BaseUser> getBaseUserById(Long id) {
         BaseUser user = baseUserRepository.findById(id)
@@ -49,11 +66,28 @@ public class BaseUserServiceImpl implements BaseUserService {
     }
 
     @Override
-    @Transactional
     public Optional<BaseUser> createBaseUser(BaseUserAddDTO baseUserAddDTO) {
-        BaseUser user = baseUserRepository.save(new BaseUser(baseUserAddDTO.getEmail(), passwordEncoder.encode(baseUserAddDTO.getPassword()), baseUserAddDTO.getFirstName(), baseUserAddDTO.getLastName(), baseUserAddDTO.getPhoneNumber()));
-        Customer customer = customerRepository.save(new Customer(user));
-        return Optional.of(user);
+        String password = passwordEncoder.encode(baseUserAddDTO.getPassword());
+        return transactionTemplate.execute(status -> {
+            BaseUser user = baseUserRepository.save(new BaseUser(baseUserAddDTO.getEmail(), password, baseUserAddDTO.getFirstName(), baseUserAddDTO.getLastName(), baseUserAddDTO.getPhoneNumber()));
+            customerRepository.save(new Customer(user));
+            return Optional.of(user);
+        });
+    }
+
+    @Override
+    public List<BaseUser> createBaseUsers(List<BaseUserAddDTO> baseUserAddDTOs) {
+        List<String> passwords = passwordEncoder.encodeAll(baseUserAddDTOs.stream().map(BaseUserAddDTO::getPassword).toList());
+        return transactionTemplate.execute(status -> {
+            List<BaseUser> users = new ArrayList<>(baseUserAddDTOs.size());
+            for (int i = 0; i < baseUserAddDTOs.size(); i++) {
+                BaseUserAddDTO baseUserAddDTO = baseUserAddDTOs.get(i);
+                BaseUser user = baseUserRepository.save(new BaseUser(baseUserAddDTO.getEmail(), passwords.get(i), baseUserAddDTO.getFirstName(), baseUserAddDTO.getLastName(), baseUserAddDTO.getPhoneNumber()));
+                customerRepository.save(new Customer(user));
+                users.add(user);
+            }
+            return users;
+        });
     }
 
     @Override
@@ -79,11 +113,13 @@ public class BaseUserServiceImpl implements BaseUserService {
     }
 
     @Override
-    @Transactional
     public Optional<BaseUser> changeBaseUserPassword(Long id, String password) {
-        BaseUser user = getBaseUserById(id).get();
-        user.setPassword(passwordEncoder.encode(password));
-        return Optional.of(baseUserRepository.save(user));
+        String encoded = passwordEncoder.encode(password);
+        return transactionTemplate.execute(status -> {
+            BaseUser user = getBaseUserById(id).get();
+            user.setPassword(encoded);
+            return Optional.of(baseUserRepository.save(user));
+        });
     }
 
     @Override
@@ -93,4 +129,22 @@ public class BaseUserServiceImpl implements BaseUserService {
         baseUserRepository.deleteById(id);
         return Optional.of(user);
     }
+
+    // Not transactional: the lookup and the rehash each run in their own short repository transaction,
+    // so no pooled connection is held while BCrypt works
+    @Override
+    public Optional<BaseUser> login(String email, String password) {
+        BaseUser user = baseUserRepository.findByEmail(email)
+                .orElseThrow(InvalidUsernameOrPasswordException::new);
+        if (!passwordEncoder.matches(password, user.getPassword())) {
+            throw new InvalidUsernameOrPasswordException();
+        }
+        // Hashes created with a lower cost are upgraded while the raw password is at hand
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            String upgraded = passwordEncoder.encode(password);
+            baseUserRepository.updatePassword(user.getId(), upgraded);
+            user.setPassword(upgraded);
+        }
+        return Optional.of(user);
+    }
 }
@@ -14,7 +14,6 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class BusinessOwnerServiceImpl implements BusinessOwnerService {
@@ -68,12 +67,23 @@ public class BusinessOwnerServiceImpl implements BusinessOwnerService {
         return Optional.of(user);
     }
 
+    @Override
+    public boolean isUserBusinessOwner(Long id, String email) {
+        if (!businessOwnerRepository.existsById(id)) {
+            throw new UserNotFoundException();
+        }
+        return businessOwnerRepository.existsByIdAndBaseUserEmail(id, email);
+    }
+
     @Override
     @Transactional
     public Optional<BusinessOwner> addSalonToBusinessOwner(Long businessOwnerId, Salon salon) {
+        // salonList is mapped by Salon.owner, so the salon's own insert stores the relation. Only the loaded list is
+        // kept in step; the owner comes from the persistence context and saving it again would write nothing.
         BusinessOwner businessOwner = getBusinessOwnerById(businessOwnerId).get();
-        businessOwner.getSalonList().add(salon);
-        businessOwnerRepository.save(businessOwner);
+        if (!businessOwner.getSalonList().contains(salon)) {
+            businessOwner.getSalonList().add(salon);
+        }
         return Optional.of(businessOwner);
     }
 
@@ -81,13 +91,14 @@ public class BusinessOwnerServiceImpl implements BusinessOwnerService {
     @Transactional
     public Optional<BusinessOwner> editSalonForBusinessOwner(Salon salon) {
         BusinessOwner owner = getBusinessOwnerById(salon.getOwner().getId()).get();
-        owner.setSalonList(owner.getSalonList()
-                .stream().map(s -> {
-                    if(s.getId().equals(salon.getId()))
-                        return salon;
-                    return s;
-                }).collect(Collectors.toList()));
-        businessOwnerRepository.save(owner);
+        // Replacing the list instance would make Hibernate treat the whole collection as recreated, so a stale
+        // element is swapped in place; within one persistence context the list already holds this salon
+        List<Salon> salons = owner.getSalonList();
+        for (int i = 0; i < salons.size(); i++) {
+            if (salons.get(i) != salon && salons.get(i).getId().equals(salon.getId())) {
+                salons.set(i, salon);
+            }
+        }
         return Optional.of(owner);
     }
 }
@@ -0,0 +1,180 @@
+package mk.frizer.service.impl;
+
+import mk.frizer.domain.*;
+import mk.frizer.domain.dto.*;
+import mk.frizer.domain.enums.Role;
+import mk.frizer.domain.exceptions.UserNotFoundException;
+import mk.frizer.repository.*;
+import mk.frizer.service.ChainImportService;
+import mk.frizer.service.SalonSearchService;
+import mk.frizer.service.ScheduleService;
+import mk.frizer.utilities.AfterCommit;
+import mk.frizer.utilities.FormValidator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports a whole salon chain in one transaction. Cities, users and existing employees are loaded with one query
+ * each and the new rows are saved together, so Hibernate can batch the inserts when JDBC batching is enabled.
+ * The created events are not published: the owner's salon list is the inverse side of {@code Salon.owner} and is
+ * not loaded at all, and the collections of the new salons are filled in memory.
+ * <p>
+ * Invalid rows are skipped and reported; a rejected salon skips its employees and treatments as well. An existing
+ * employee is only moved from a salon of the importing owner, an employee of anyone else's salon is reported.
+ */
+@Service
+public class ChainImportServiceImpl implements ChainImportService {
+    private final BusinessOwnerRepository businessOwnerRepository;
+    private final CityRepository cityRepository;
+    private final BaseUserRepository baseUserRepository;
+    private final SalonRepository salonRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TreatmentRepository treatmentRepository;
+    private final SalonSearchService salonSearchService;
+    private final ScheduleService scheduleService;
+
+    public ChainImportServiceImpl(BusinessOwnerRepository businessOwnerRepository, CityRepository cityRepository, BaseUserRepository baseUserRepository, SalonRepository salonRepository, EmployeeRepository employeeRepository, TreatmentRepository treatmentRepository, SalonSearchService salonSearchService, ScheduleService scheduleService) {
+        this.businessOwnerRepository = businessOwnerRepository;
+        this.cityRepository = cityRepository;
+        this.baseUserRepository = baseUserRepository;
+        this.salonRepository = salonRepository;
+        this.employeeRepository = employeeRepository;
+        this.treatmentRepository = treatmentRepository;
+        this.salonSearchService = salonSearchService;
+        this.scheduleService = scheduleService;
+    }
+
+    @Override
+    @Transactional
+    public ImportResultDTO importChain(ChainImportDTO chainImportDTO) {
+        if (!businessOwnerRepository.existsById(chainImportDTO.getBusinessOwnerId())) {
+            throw new UserNotFoundException();
+        }
+        BusinessOwner owner = businessOwnerRepository.getReferenceById(chainImportDTO.getBusinessOwnerId());
+        List<SalonImportDTO> salonRows = Optional.ofNullable(chainImportDTO.getSalons()).orElse(List.of());
+
+        Set<String> cityNames = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (SalonImportDTO salonRow : salonRows) {
+            if (salonRow.getCity() != null) {
+                cityNames.add(salonRow.getCity());
+            }
+            for (Long userId : listOrEmpty(salonRow.getEmployeeUserIds())) {
+                if (userId != null) {
+                    userIds.add(userId);
+                }
+            }
+        }
+        Map<String, City> cities = cityRepository.findAllById(cityNames).stream()
+                .collect(Collectors.toMap(City::getName, Function.identity()));
+        Map<Long, BaseUser> users = userIds.isEmpty() ? Map.of() : baseUserRepository.findAllWithRolesByIdIn(userIds).stream()
+                .collect(Collectors.toMap(BaseUser::getId, Function.identity()));
+        Map<Long, Employee> employeesByUser = userIds.isEmpty() ? Map.of() : employeeRepository.findAllByBaseUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(employee -> employee.getBaseUser().getId(), Function.identity(), (first, second) -> first));
+
+        List<ImportErrorDTO> errors = new ArrayList<>();
+        List<Salon> salons = new ArrayList<>();
+        List<Treatment> treatments = new ArrayList<>();
+        List<Employee> employees = new ArrayList<>();
+        Set<Long> assignedUsers = new HashSet<>();
+
+        for (int i = 0; i < salonRows.size(); i++) {
+            SalonImportDTO salonRow = salonRows.get(i);
+            String salonPath = "salons[" + i + "]";
+            City city = salonRow.getCity() == null ? null : cities.get(salonRow.getCity());
+            if (!FormValidator.isNameValid(salonRow.getName())) {
+                errors.add(new ImportErrorDTO(salonPath, "Salon name is required"));
+                continue;
+            }
+            if (city == null) {
+                errors.add(new ImportErrorDTO(salonPath, "Unknown city: " + salonRow.getCity()));
+                continue;
+            }
+
+            Salon salon = new Salon(salonRow.getName(), salonRow.getDescription(), salonRow.getLocation(), city,
+                    salonRow.getPhoneNumber(), owner, salonRow.getLatitude(), salonRow.getLongitude());
+            salons.add(salon);
+
+            List<TreatmentImportDTO> treatmentRows = listOrEmpty(salonRow.getTreatments());
+            for (int j = 0; j < treatmentRows.size(); j++) {
+                TreatmentImportDTO treatmentRow = treatmentRows.get(j);
+                String error = validateTreatment(treatmentRow);
+                if (error != null) {
+                    errors.add(new ImportErrorDTO(salonPath + ".treatments[" + j + "]", error));
+                    continue;
+                }
+                Treatment treatment = new Treatment(treatmentRow.getName(), salon, treatmentRow.getPrice(), treatmentRow.getDuration());
+                salon.getSalonTreatments().add(treatment);
+                treatments.add(treatment);
+            }
+
+            List<Long> employeeRows = listOrEmpty(salonRow.getEmployeeUserIds());
+            for (int j = 0; j < employeeRows.size(); j++) {
+                Long userId = employeeRows.get(j);
+                String employeePath = salonPath + ".employeeUserIds[" + j + "]";
+                BaseUser user = userId == null ? null : users.get(userId);
+                if (user == null) {
+                    errors.add(new ImportErrorDTO(employeePath, "Unknown user: " + userId));
+                    continue;
+                }
+                // Like createEmployee, an existing employee moves to the new salon, but only from a salon of the same owner
+                Employee employee = employeesByUser.get(userId);
+                if (employee != null && !isOwnedBy(employee.getSalon(), owner)) {
+                    errors.add(new ImportErrorDTO(employeePath, "User " + userId + " is an employee of another owner's salon"));
+                    continue;
+                }
+                if (!assignedUsers.add(userId)) {
+                    errors.add(new ImportErrorDTO(employeePath, "User " + userId + " is already assigned to another salon in this import"));
+                    continue;
+                }
+                if (employee == null) {
+                    employee = new Employee(user, salon);
+                    user.getRoles().add(Role.ROLE_EMPLOYEE);
+                } else {
+                    if (employee.getSalon() != null) {
+                        employee.getSalon().getEmployees().remove(employee);
+                    }
+                    employee.setSalon(salon);
+                    scheduleService.evictEmployee(employee.getId());
+                }
+                salon.getEmployees().add(employee);
+                employees.add(employee);
+            }
+        }
+
+        salonRepository.saveAll(salons);
+        treatmentRepository.saveAll(treatments);
+        employeeRepository.saveAll(employees);
+        AfterCommit.run(() -> {
+            salons.forEach(salonSearchService::indexSalon);
+            treatments.forEach(salonSearchService::indexTreatment);
+        });
+
+        return new ImportResultDTO(salons.size(), employees.size(), treatments.size(), errors);
+    }
+
+    private static boolean isOwnedBy(Salon salon, BusinessOwner owner) {
+        return salon == null || (salon.getOwner() != null && owner.getId().equals(salon.getOwner().getId()));
+    }
+
+    private static String validateTreatment(TreatmentImportDTO treatmentRow) {
+        if (!FormValidator.isNameValid(treatmentRow.getName())) {
+            return "Treatment name is required";
+        }
+        if (treatmentRow.getPrice() == null || treatmentRow.getPrice() < 0) {
+            return "Treatment price must not be negative";
+        }
+        if (treatmentRow.getDuration() == null || treatmentRow.getDuration() < 1) {
+            return "Treatment duration must be at least 1";
+        }
+        return null;
+    }
+
+    private static <T> List<T> listOrEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+}
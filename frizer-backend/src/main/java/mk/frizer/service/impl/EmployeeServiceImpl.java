@@ -7,21 +7,23 @@ import mk.frizer.domain.enums.Role;
 import mk.frizer.domain.exceptions.*;
 import mk.frizer.repository.*;
 import mk.frizer.service.EmployeeService;
+import mk.frizer.service.ScheduleService;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final BaseUserRepository baseUserRepository;
     private final SalonRepository salonRepository;
+    private final ScheduleService scheduleService;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository, BaseUserRepository baseUserRepository, SalonRepository salonRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, BaseUserRepository baseUserRepository, SalonRepository salonRepository, ScheduleService scheduleService) {
         this.employeeRepository = employeeRepository;
         this.baseUserRepository = baseUserRepository;
         this.salonRepository = salonRepository;
+        this.scheduleService = scheduleService;
     }
 
     @Override
@@ -48,11 +50,10 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     @Override
     public List<Employee> getEmployeesForSalon(Long id) {
-        Salon salon = salonRepository.findById(id)
-                .orElseThrow(SalonNotFoundException::new);
-
-        return employeeRepository.findAll().stream().filter(e -> e.getSalon().equals(salon))
-                .collect(Collectors.toList());
+        if (!salonRepository.existsById(id)) {
+            throw new SalonNotFoundException();
+        }
+        return employeeRepository.findAllBySalonId(id);
     }
 
     @Override
@@ -70,6 +71,9 @@ public class EmployeeServiceImpl implements EmployeeService {
             employee = new Employee(baseUser, salon);
             baseUser.getRoles().add(Role.ROLE_EMPLOYEE);
             baseUserRepository.save(baseUser);
+        } else {
+            // The schedules cached for the old salon no longer apply
+            scheduleService.evictEmployee(employee.getId());
         }
         employee.setSalon(salon);
         return Optional.of(employeeRepository.save(employee));
@@ -82,6 +86,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (employee.isEmpty())
             throw new EmployeeNotFoundException();
         employeeRepository.deleteById(id);
+        scheduleService.evictEmployee(id);
         return employee;
     }
 
@@ -0,0 +1,91 @@
+package mk.frizer.service.impl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import mk.frizer.domain.BaseUser;
+import mk.frizer.service.JwtService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+public class JwtServiceImpl implements JwtService {
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+
+    // The key and the parser are immutable and thread safe, so they are built once instead of per request.
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final Duration expiration;
+    private final int claimsCacheSize;
+    private final ConcurrentMap<String, CachedClaims> claimsCache = new ConcurrentHashMap<>();
+
+    public JwtServiceImpl(@Value("${frizer.jwt.secret}") String secret,
+                          @Value("${frizer.jwt.expiration:60m}") Duration expiration,
+                          @Value("${frizer.jwt.claims-cache-size:10000}") int claimsCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
+        this.expiration = expiration;
+        this.claimsCacheSize = claimsCacheSize;
+    }
+
+    @Override
+    public String generateToken(BaseUser user) {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, user.getRoles().stream().map(Enum::name).toList())
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + expiration.toMillis()))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    @Override
+    public Optional<Claims> getClaims(String token) {
+        CachedClaims cached = claimsCache.get(token);
+        if (cached != null) {
+            if (cached.expiresAt() > System.currentTimeMillis()) {
+                return Optional.of(cached.claims());
+            }
+            claimsCache.remove(token);
+            return Optional.empty();
+        }
+
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            cacheClaims(token, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private void cacheClaims(String token, Claims claims) {
+        if (claimsCacheSize <= 0 || claims.getExpiration() == null) {
+            return;
+        }
+        if (claimsCache.size() >= claimsCacheSize) {
+            long now = System.currentTimeMillis();
+            claimsCache.values().removeIf(c -> c.expiresAt() <= now);
+            if (claimsCache.size() >= claimsCacheSize) {
+                claimsCache.clear();
+            }
+        }
+        claimsCache.put(token, new CachedClaims(claims, claims.getExpiration().getTime()));
+    }
+
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+}
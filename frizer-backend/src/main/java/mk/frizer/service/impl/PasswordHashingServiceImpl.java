@@ -0,0 +1,135 @@
+package mk.frizer.service.impl;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import mk.frizer.domain.exceptions.PasswordHashingUnavailableException;
+import mk.frizer.service.PasswordHashingService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt hashing on a dedicated, bounded pool so that signup spikes queue up here instead of
+ * pinning every Tomcat thread on CPU. When no strength is configured, the cost is calibrated at
+ * startup to the largest value whose hash still fits into {@code frizer.password.target-hash-millis}.
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService, DisposableBean {
+    private static final int MIN_CALIBRATED_STRENGTH = 10;
+    private static final int MAX_CALIBRATED_STRENGTH = 16;
+    private static final int CALIBRATION_STRENGTH = 8;
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final int strength;
+    private final int threads;
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer hashTimer;
+    private final Timer matchTimer;
+
+    public PasswordHashingServiceImpl(@Value("${frizer.password.bcrypt-strength:0}") int strength,
+                                      @Value("${frizer.password.target-hash-millis:250}") long targetHashMillis,
+                                      @Value("${frizer.password.hashing-threads:0}") int threads,
+                                      @Value("${frizer.password.hashing-queue-capacity:256}") int queueCapacity) {
+        this.strength = strength > 0 ? strength : calibrateStrength(targetHashMillis);
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.encoder = new BCryptPasswordEncoder(this.strength);
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.hashTimer = Timer.builder("frizer.password.hash")
+                .description("Time spent computing BCrypt password hashes")
+                .tag("strength", String.valueOf(this.strength))
+                .register(Metrics.globalRegistry);
+        this.matchTimer = Timer.builder("frizer.password.match")
+                .description("Time spent verifying passwords against BCrypt hashes")
+                .tag("strength", String.valueOf(this.strength))
+                .register(Metrics.globalRegistry);
+    }
+
+    static int calibrateStrength(long targetHashMillis) {
+        BCryptPasswordEncoder calibrationEncoder = new BCryptPasswordEncoder(CALIBRATION_STRENGTH);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            calibrationEncoder.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        // Every extra BCrypt round doubles the work
+        double budget = (double) TimeUnit.MILLISECONDS.toNanos(targetHashMillis) / Math.max(best, 1);
+        int extraRounds = budget >= 1 ? (int) Math.floor(Math.log(budget) / Math.log(2)) : 0;
+        return Math.max(MIN_CALIBRATED_STRENGTH, Math.min(MAX_CALIBRATED_STRENGTH, CALIBRATION_STRENGTH + extraRounds));
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(encodeAsync(rawPassword));
+    }
+
+    @Override
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        return submit(() -> hashTimer.record(() -> encoder.encode(rawPassword)));
+    }
+
+    @Override
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        // Submit in waves so a large batch never overflows the queue shared with request threads
+        int wave = threads * 2;
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        for (int from = 0; from < rawPasswords.size(); from += wave) {
+            List<CompletableFuture<String>> futures = rawPasswords.subList(from, Math.min(from + wave, rawPasswords.size()))
+                    .stream().map(this::encodeAsync).toList();
+            futures.forEach(future -> hashes.add(await(future)));
+        }
+        return hashes;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(submit(() -> matchTimer.record(() -> encoder.matches(rawPassword, encodedPassword))));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public int getStrength() {
+        return strength;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException exception) {
+            throw new PasswordHashingUnavailableException();
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
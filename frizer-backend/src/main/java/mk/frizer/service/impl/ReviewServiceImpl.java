@@ -1,8 +1,9 @@
 package mk.frizer.service.impl;
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import mk.frizer.domain.*;
 import mk.frizer.domain.dto.ReviewAddDTO;
+import mk.frizer.domain.dto.ReviewExportDTO;
 import mk.frizer.domain.dto.ReviewUpdateDTO;
 import mk.frizer.domain.events.ReviewCreatedEvent;
 import mk.frizer.domain.events.ReviewDeletedEvent;
@@ -13,12 +14,14 @@ import mk.frizer.repository.CustomerRepository;
 import mk.frizer.repository.EmployeeRepository;
 import mk.frizer.repository.ReviewRepository;
 import mk.frizer.service.ReviewService;
+import mk.frizer.utilities.EntityStreamer;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class ReviewServiceImpl implements ReviewService {
@@ -26,19 +29,28 @@ public class ReviewServiceImpl implements ReviewService {
     private final EmployeeRepository employeeRepository;
     private final CustomerRepository customerRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final EntityStreamer entityStreamer;
 
-    public ReviewServiceImpl(ReviewRepository reviewRepository, EmployeeRepository employeeRepository, CustomerRepository customerRepository, ApplicationEventPublisher applicationEventPublisher) {
+    public ReviewServiceImpl(ReviewRepository reviewRepository, EmployeeRepository employeeRepository, CustomerRepository customerRepository, ApplicationEventPublisher applicationEventPublisher, EntityStreamer entityStreamer) {
         this.reviewRepository = reviewRepository;
         this.employeeRepository = employeeRepository;
         this.customerRepository = customerRepository;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.entityStreamer = entityStreamer;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Review> getReviews() {
         return reviewRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long exportReviews(Long salonId, LocalDateTime from, LocalDateTime to, Consumer<ReviewExportDTO> action) {
+        return entityStreamer.forEach(reviewRepository.streamExportBySalonId(salonId, from, to), action);
+    }
+
     @Override
     public Optional<Review> getReviewById(Long id) {
         Review user = reviewRepository.findById(id)
@@ -0,0 +1,282 @@
+package mk.frizer.service.impl;
+
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.Treatment;
+import mk.frizer.domain.dto.AutocompleteDTO;
+import mk.frizer.domain.dto.CitySummaryDTO;
+import mk.frizer.domain.dto.SalonDirectoryDTO;
+import mk.frizer.domain.dto.SalonLocationDTO;
+import mk.frizer.domain.dto.SalonNameDTO;
+import mk.frizer.domain.dto.SalonTagDTO;
+import mk.frizer.domain.dto.TreatmentNameDTO;
+import mk.frizer.repository.CityRepository;
+import mk.frizer.repository.SalonRepository;
+import mk.frizer.repository.TreatmentRepository;
+import mk.frizer.service.SalonSearchService;
+import mk.frizer.utilities.CityDirectory;
+import mk.frizer.utilities.GeoIndex;
+import mk.frizer.utilities.GeoPoint;
+import mk.frizer.utilities.PrefixIndex;
+import mk.frizer.utilities.SalonNameIndex;
+import mk.frizer.utilities.TagBitmapIndex;
+import org.springframework.stereotype.Service;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Salon name search over a {@link SalonNameIndex}, suggestions of salon, treatment and city names over
+ * {@link PrefixIndex}es, tag filters and counts over a {@link TagBitmapIndex}, the salons of every city in a
+ * {@link CityDirectory} and the salons within a radius over a {@link GeoIndex}, all held by this instance. The indexes are built from the database on the first search,
+ * and kept current by the services' creates, updates, reviews, deletes and imports once their transaction commits,
+ * so a rolled back change never reaches them; writes made behind the services' back, like the synthetic seeding,
+ * call {@link #reindex()}. Ids of salons deleted elsewhere may still come back, so callers load the salons they need
+ * by id and drop the missing ones.
+ * <p>
+ * Treatments are suggested by name, once however many salons offer them.
+ */
+@Service
+public class SalonSearchServiceImpl implements SalonSearchService {
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private final SalonRepository salonRepository;
+    private final TreatmentRepository treatmentRepository;
+    private final CityRepository cityRepository;
+    private final SalonNameIndex index = new SalonNameIndex();
+    private final PrefixIndex<SalonNameDTO> salonSuggestions = new PrefixIndex<>();
+    private final PrefixIndex<String> treatmentSuggestions = new PrefixIndex<>();
+    private final PrefixIndex<String> citySuggestions = new PrefixIndex<>();
+    private final TagBitmapIndex tags = new TagBitmapIndex();
+    private final CityDirectory cities = new CityDirectory();
+    private final GeoIndex locations = new GeoIndex(0);
+    // The suggestion each treatment counts towards, to move it when the treatment is renamed or deleted
+    private final ConcurrentMap<Long, String> treatmentNames = new ConcurrentHashMap<>();
+    // Held by the build and by every write, so a build that read the database before a write committed cannot wipe
+    // that write. A lock rather than synchronized, so a virtual thread building the index does not pin its carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile boolean built;
+
+    public SalonSearchServiceImpl(SalonRepository salonRepository, TreatmentRepository treatmentRepository,
+                                  CityRepository cityRepository) {
+        this.salonRepository = salonRepository;
+        this.treatmentRepository = treatmentRepository;
+        this.cityRepository = cityRepository;
+    }
+
+    @Override
+    public List<Long> searchSalonIds(String query, int limit) {
+        if (!built) {
+            build();
+        }
+        return index.search(query, limit);
+    }
+
+    @Override
+    public AutocompleteDTO autocomplete(String query, int limit) {
+        if (!built) {
+            build();
+        }
+        int suggestions = Math.min(limit, MAX_SUGGESTIONS);
+        return new AutocompleteDTO(salonSuggestions.suggest(query, suggestions),
+                treatmentSuggestions.suggest(query, suggestions),
+                citySuggestions.suggest(query, suggestions));
+    }
+
+    @Override
+    public void indexSalon(Salon salon) {
+        write(() -> {
+            index.put(salon.getId(), salon.getName());
+            String identity = salon.getId().toString();
+            salonSuggestions.remove(identity);
+            salonSuggestions.add(identity, salon.getName(), new SalonNameDTO(salon.getId(), salon.getName()));
+            if (salon.getTags() != null) {
+                salon.getTags().forEach(tag -> tags.add(tag.getId(), salon.getId()));
+            }
+            if (salon.getLatitude() != null && salon.getLongitude() != null) {
+                locations.add(salon.getId(), salon.getLatitude(), salon.getLongitude());
+            } else {
+                locations.remove(salon.getId());
+            }
+            indexSalonRating(salon);
+        });
+    }
+
+    @Override
+    public void removeSalon(Salon salon) {
+        write(() -> {
+            index.remove(salon.getId());
+            salonSuggestions.remove(salon.getId().toString());
+            tags.removeSalon(salon.getId());
+            cities.remove(salon.getId());
+            locations.remove(salon.getId());
+            // Its treatments are deleted with it
+            if (salon.getSalonTreatments() != null) {
+                salon.getSalonTreatments().forEach(treatment -> removeTreatment(treatment.getId()));
+            }
+        });
+    }
+
+    @Override
+    public void indexTreatment(Treatment treatment) {
+        write(() -> treatmentNames.compute(treatment.getId(), (id, previous) -> {
+            if (previous != null) {
+                treatmentSuggestions.remove(previous);
+            }
+            return addTreatmentSuggestion(treatment.getName());
+        }));
+    }
+
+    @Override
+    public void removeTreatment(Long id) {
+        write(() -> treatmentNames.computeIfPresent(id, (treatmentId, previous) -> {
+            treatmentSuggestions.remove(previous);
+            return null;
+        }));
+    }
+
+    @Override
+    public BitSet salonsWithTags(Collection<Long> tagIds, boolean matchAll) {
+        if (!built) {
+            build();
+        }
+        return tags.salonsWithTags(tagIds, matchAll);
+    }
+
+    @Override
+    public Map<Long, Integer> countTags(Collection<Long> salonIds) {
+        if (!built) {
+            build();
+        }
+        BitSet salons = new BitSet();
+        salonIds.forEach(id -> salons.set(TagBitmapIndex.bit(id)));
+        return tags.countTags(salons);
+    }
+
+    @Override
+    public BitSet salonsWithin(GeoPoint center, double radiusKm) {
+        if (!built) {
+            build();
+        }
+        return locations.salonsWithin(center, radiusKm);
+    }
+
+    @Override
+    public void indexSalonTag(Long salonId, Long tagId) {
+        write(() -> tags.add(tagId, salonId));
+    }
+
+    @Override
+    public void removeTag(Long tagId) {
+        write(() -> tags.removeTag(tagId));
+    }
+
+    @Override
+    public List<Long> getSalonIdsInCity(String city) {
+        if (!built) {
+            build();
+        }
+        return cities.salonIds(city);
+    }
+
+    @Override
+    public BitSet salonsRated(String city, double minRating) {
+        if (!built) {
+            build();
+        }
+        return cities.salonsRated(city, minRating);
+    }
+
+    @Override
+    public CitySummaryDTO getCitySummary(String city) {
+        if (!built) {
+            build();
+        }
+        return cities.summary(city);
+    }
+
+    @Override
+    public List<CitySummaryDTO> getCitySummaries() {
+        if (!built) {
+            build();
+        }
+        return cities.summaries();
+    }
+
+    @Override
+    public void indexSalonRating(Salon salon) {
+        write(() -> cities.put(new SalonDirectoryDTO(salon.getId(), salon.getName(),
+                salon.getCity() == null ? null : salon.getCity().getName(), salon.getRating(), salon.getNumberOfReviews())));
+    }
+
+    @Override
+    public void reindex() {
+        built = false;
+    }
+
+    private String addTreatmentSuggestion(String name) {
+        String identity = SalonNameIndex.normalize(name);
+        treatmentSuggestions.add(identity, name, name);
+        return identity;
+    }
+
+    private void write(Runnable action) {
+        writeLock.lock();
+        try {
+            action.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void build() {
+        writeLock.lock();
+        try {
+            if (built) {
+                return;
+            }
+            List<SalonNameDTO> salons = salonRepository.findAllNames();
+            Map<Long, String> namesById = new HashMap<>(salons.size() * 2);
+            salonSuggestions.clear();
+            for (SalonNameDTO salon : salons) {
+                namesById.put(salon.getId(), salon.getName());
+                salonSuggestions.add(salon.getId().toString(), salon.getName(), salon);
+            }
+            index.rebuild(namesById);
+
+            treatmentSuggestions.clear();
+            treatmentNames.clear();
+            for (TreatmentNameDTO treatment : treatmentRepository.findAllNames()) {
+                treatmentNames.put(treatment.getId(), addTreatmentSuggestion(treatment.getName()));
+            }
+
+            tags.clear();
+            for (SalonTagDTO salonTag : salonRepository.findAllTagIds()) {
+                tags.add(salonTag.getTagId(), salonTag.getSalonId());
+            }
+
+            cities.clear();
+            salonRepository.findAllDirectoryEntries().forEach(cities::put);
+
+            locations.clear();
+            for (SalonLocationDTO location : salonRepository.findAllLocations()) {
+                if (location.getLatitude() != null && location.getLongitude() != null) {
+                    locations.add(location.getId(), location.getLatitude(), location.getLongitude());
+                }
+            }
+
+            citySuggestions.clear();
+            for (String city : cityRepository.findAllNames()) {
+                citySuggestions.add(city, city, city);
+            }
+            built = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package mk.frizer.service.impl;
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import mk.frizer.domain.*;
 import mk.frizer.domain.dto.*;
 import mk.frizer.domain.enums.Role;
@@ -11,45 +11,61 @@ import mk.frizer.domain.exceptions.SalonNotFoundException;
 import mk.frizer.domain.exceptions.TagNotFoundException;
 import mk.frizer.domain.exceptions.UserNotFoundException;
 import mk.frizer.repository.*;
+import mk.frizer.service.SalonSearchService;
 import mk.frizer.service.SalonService;
+import mk.frizer.utilities.AfterCommit;
+import mk.frizer.utilities.BoundingBox;
 import mk.frizer.utilities.DistanceCalculator;
+import mk.frizer.utilities.GeoPoint;
 import mk.frizer.utilities.SalonAdapter;
+import mk.frizer.utilities.SalonRanker;
+import mk.frizer.utilities.TagBitmapIndex;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class SalonServiceImpl implements SalonService {
+    public static final String ALL_CITIES = "Цела Македонија";
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final SalonRepository salonRepository;
     private final BusinessOwnerRepository businessOwnerRepository;
     private final EmployeeRepository employeeRepository;
     private final TagRepository tagRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
-    private final DistanceCalculator distanceCalculator;
     private final CityRepository cityRepository;
     private final BaseUserRepository userRepository;
+    private final SalonSearchService salonSearchService;
 
-    public SalonServiceImpl(SalonRepository salonRepository, BusinessOwnerRepository businessOwnerRepository, EmployeeRepository employeeRepository, TagRepository tagRepository, ApplicationEventPublisher applicationEventPublisher, DistanceCalculator distanceCalculator, CityRepository cityRepository, BaseUserRepository userRepository) {
+    public SalonServiceImpl(SalonRepository salonRepository, BusinessOwnerRepository businessOwnerRepository, EmployeeRepository employeeRepository, TagRepository tagRepository, ApplicationEventPublisher applicationEventPublisher, CityRepository cityRepository, BaseUserRepository userRepository, SalonSearchService salonSearchService) {
         this.salonRepository = salonRepository;
         this.businessOwnerRepository = businessOwnerRepository;
         this.employeeRepository = employeeRepository;
         this.tagRepository = tagRepository;
         this.applicationEventPublisher = applicationEventPublisher;
-        this.distanceCalculator = distanceCalculator;
         this.cityRepository = cityRepository;
         this.userRepository = userRepository;
+        this.salonSearchService = salonSearchService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Salon> getSalons() {
         return salonRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Salon> getSalonById(Long id) throws SalonNotFoundException {
         Salon salon = salonRepository.findById(id).orElseThrow(SalonNotFoundException::new);
         return Optional.of(salon);
@@ -93,6 +109,7 @@ public class SalonServiceImpl implements SalonService {
     public Optional<Salon> deleteSalonById(Long id) {
         Salon salon = getSalonById(id).orElseThrow(SalonNotFoundException::new);
         salonRepository.deleteById(id);
+        AfterCommit.run(() -> salonSearchService.removeSalon(salon));
         return Optional.of(salon);
     }
 
@@ -102,15 +119,20 @@ public class SalonServiceImpl implements SalonService {
         Salon salon = getSalonById(tagAddDTO.getSalonId()).get();
         Tag tag = tagRepository.findById(tagAddDTO.getTagId()).orElseThrow(TagNotFoundException::new);
         salon.getTags().add(tag);
-        return Optional.of(salonRepository.save(salon));
+        Salon saved = salonRepository.save(salon);
+        AfterCommit.run(() -> salonSearchService.indexSalonTag(saved.getId(), tag.getId()));
+        return Optional.of(saved);
     }
 
     @Override
     @Transactional
     public Optional<Salon> addTreatmentToSalon(Treatment treatment) {
+        // salonTreatments is mapped by Treatment.salon, so the treatment's insert is the only write; the loaded
+        // list of the cached salon is just kept in step
         Salon salon = getSalonById(treatment.getSalon().getId()).get();
-        salon.getSalonTreatments().add(treatment);
-        salonRepository.save(salon);
+        if (!salon.getSalonTreatments().contains(treatment)) {
+            salon.getSalonTreatments().add(treatment);
+        }
         return Optional.of(salon);
     }
 
@@ -119,63 +141,136 @@ public class SalonServiceImpl implements SalonService {
     public Optional<Salon> editTreatmentForSalon(Treatment treatment) {
         Salon salon = getSalonById(treatment.getSalon().getId()).get();
 
-        salon.setSalonTreatments(salon.getSalonTreatments().stream().map(item -> {
-            if (item.getId().equals(treatment.getId())) {
-                return treatment;
+        List<Treatment> treatments = salon.getSalonTreatments();
+        for (int i = 0; i < treatments.size(); i++) {
+            if (treatments.get(i) != treatment && treatments.get(i).getId().equals(treatment.getId())) {
+                treatments.set(i, treatment);
             }
-            return item;
-        }).collect(Collectors.toList()));
-        salonRepository.save(salon);
-        return Optional.empty();
+        }
+        return Optional.of(salon);
     }
 
     @Override
     public Optional<Salon> addReview(Review review) {
         Salon salon = review.getEmployee().getSalon();
         salon.addReview(review.getRating());
-        return Optional.of(salonRepository.save(salon));
+        Salon saved = salonRepository.save(salon);
+        AfterCommit.run(() -> salonSearchService.indexSalonRating(saved));
+        return Optional.of(saved);
     }
 
     @Override
     public Optional<Salon> deleteReview(Review review) {
         Salon salon = review.getEmployee().getSalon();
         salon.deleteReview(review.getRating());
-        return Optional.of(salonRepository.save(salon));
+        Salon saved = salonRepository.save(salon);
+        AfterCommit.run(() -> salonSearchService.indexSalonRating(saved));
+        return Optional.of(saved);
     }
 
     @Override
     public Optional<Salon> updateReview(Review review, Double oldRating) {
         Salon salon = review.getEmployee().getSalon();
         salon.updateReview(review.getRating(), oldRating);
-        return Optional.of(salonRepository.save(salon));
+        Salon saved = salonRepository.save(salon);
+        AfterCommit.run(() -> salonSearchService.indexSalonRating(saved));
+        return Optional.of(saved);
     }
 
     @Override
-    public List<Salon> filterSalons(String name, String city, Float distance, Float rating, String userLocation) {
-        List<Salon> salonByName = salonRepository.findAll()
-                .stream().filter(salon -> salon.getName().toLowerCase().contains(name.toLowerCase()))
+    public List<Salon> filterSalons(String name, String city, Float distance, Float rating, String userLocation,
+                                    List<Long> tags, boolean matchAllTags) {
+        // Only the salons passing every filter are loaded
+        return getSalonsInOrder(filterSalonIds(name, city, distance, rating, userLocation, tags, matchAllTags));
+    }
+
+    @Override
+    public List<Long> filterSalonIds(String name, String city, Float distance, Float rating, String userLocation,
+                                     List<Long> tags, boolean matchAllTags) {
+        // Without a location every salon is at distance 0
+        if (userLocation == null && distance < 0) {
+            return List.of();
+        }
+        // The city directory, the geo index and the tag bitmaps each answer with a bitmap of salon ids
+        BitSet matching = salonSearchService.salonsRated(city.equals(ALL_CITIES) ? null : city, rating);
+        if (userLocation != null) {
+            matching.and(salonSearchService.salonsWithin(GeoPoint.parse(userLocation), distance));
+        }
+        if (tags != null && !tags.isEmpty()) {
+            matching.and(salonSearchService.salonsWithTags(tags, matchAllTags));
+        }
+        if (name.isBlank()) {
+            return matching.stream().mapToObj(Long::valueOf).toList();
+        }
+        // Best matches first
+        return salonSearchService.searchSalonIds(name, Integer.MAX_VALUE).stream()
+                .filter(id -> matching.get(TagBitmapIndex.bit(id)))
                 .toList();
-        List<Salon> salonsByRating = salonRepository.findAllByRatingGreaterThanEqual(rating);
-        List<Salon> salonsByLocation = new ArrayList<>();
-        if (!city.equals("Цела Македонија")) {
-            Optional<City> city1 = cityRepository.findByNameEqualsIgnoreCase(city);
-            if (city1.isPresent()) {
-                salonsByLocation = city1.get().getSalonsInCity();
-            }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Salon> rankSalons(String name, String city, Float distance, Float rating, String userLocation,
+                                  List<Long> tags, int page, int size) {
+        if (page < 0 || size <= 0) {
+            return List.of();
+        }
+        GeoPoint user = userLocation == null ? null : GeoPoint.parse(userLocation);
+        // Without a location every salon is at distance 0
+        List<SalonRankDTO> candidates;
+        if (user == null) {
+            candidates = distance >= 0 ? salonRepository.findRankCandidates(rating.doubleValue()) : List.of();
         } else {
-            salonsByLocation = this.getSalons();
+            BitSet nearby = salonSearchService.salonsWithin(user, distance);
+            candidates = findInBoundingBox(user, distance, (minLatitude, maxLatitude, minLongitude, maxLongitude) ->
+                            salonRepository.findRankCandidatesInBoundingBox(rating.doubleValue(),
+                                    minLatitude, maxLatitude, minLongitude, maxLongitude))
+                    .stream()
+                    .filter(salon -> nearby.get(TagBitmapIndex.bit(salon.getId())))
+                    .toList();
         }
-        List<Salon> salonsByDistance = this
-                .getSalons()
-                .stream()
-                .filter(salon -> distance >= distanceCalculator.getDistance(userLocation, salon.getLatitude(), salon.getLongitude()))
+        Set<Long> named = name.isBlank() ? null
+                : new HashSet<>(salonSearchService.searchSalonIds(name, Integer.MAX_VALUE));
+        candidates = candidates.stream()
+                .filter(salon -> named == null || named.contains(salon.getId()))
+                .filter(salon -> city.equals(ALL_CITIES) || city.equalsIgnoreCase(salon.getCity()))
                 .toList();
+        List<BitSet> tagged = tags == null ? List.of()
+                : tags.stream().map(tag -> salonSearchService.salonsWithTags(List.of(tag), true)).toList();
+
+        // Only the salons up to the end of the page are ranked, and only the page is loaded
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        long start = (long) page * pageSize;
+        if (start >= candidates.size()) {
+            return List.of();
+        }
+        int end = (int) Math.min(start + pageSize, candidates.size());
+        List<Long> ids = new SalonRanker(user, tagged).top(candidates, end);
+        return getSalonsInOrder(ids.subList((int) start, ids.size()));
+    }
+
+    private List<Salon> getSalonsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Salon> salonsById = salonRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Salon::getId, Function.identity()));
+        return ids.stream().map(salonsById::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Runs a query for the salons in the bounding box of a radius; they still need the exact distance check.
+     */
+    private static <T> List<T> findInBoundingBox(GeoPoint center, double radiusKm, BoundingBoxQuery<T> query) {
+        BoundingBox box = DistanceCalculator.boundingBox(center, radiusKm);
+        // The columns are floats, so the box is widened to the next float outwards rather than rounded
+        return query.find(Math.nextDown((float) box.minLatitude()), Math.nextUp((float) box.maxLatitude()),
+                Math.nextDown((float) box.minLongitude()), Math.nextUp((float) box.maxLongitude()));
+    }
 
-        List<Salon> interceptSalons = new ArrayList<>(salonByName);
-        interceptSalons.retainAll(salonsByRating);
-        interceptSalons.retainAll(salonsByLocation);
-        interceptSalons.retainAll(salonsByDistance);
-        return interceptSalons;
+    @FunctionalInterface
+    private interface BoundingBoxQuery<T> {
+        List<T> find(Float minLatitude, Float maxLatitude, Float minLongitude, Float maxLongitude);
     }
 
     @Override
@@ -213,7 +308,8 @@ public class SalonServiceImpl implements SalonService {
         Salon salon = salonRepository.findById(id).orElseThrow(SalonNotFoundException::new);
         BaseUser user = userRepository.findByEmail(email).orElseThrow(UserNotFoundException::new);
 
-        if (user.getRoles().contains(Role.ROLE_OWNER) && salon.getOwner().getBaseUser().getEmail().equals(email)) {
+        if (user.getRoles().contains(Role.ROLE_OWNER) && salon.getOwner() != null
+                && salon.getOwner().getBaseUser().getEmail().equals(email)) {
             return true;
         }
         return false;
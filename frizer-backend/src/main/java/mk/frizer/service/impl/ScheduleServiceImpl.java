@@ -0,0 +1,201 @@
+package mk.frizer.service.impl;
+
+import mk.frizer.domain.ClosedDay;
+import mk.frizer.domain.Employee;
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.WorkingHours;
+import mk.frizer.domain.dto.ClosedDayAddDTO;
+import mk.frizer.domain.dto.ScheduleSettingsDTO;
+import mk.frizer.domain.dto.WorkingHoursAddDTO;
+import mk.frizer.domain.exceptions.ClosedDayNotFoundException;
+import mk.frizer.domain.exceptions.EmployeeNotFoundException;
+import mk.frizer.domain.exceptions.InvalidArgumentsException;
+import mk.frizer.domain.exceptions.SalonNotFoundException;
+import mk.frizer.domain.exceptions.WorkingHoursNotFoundException;
+import mk.frizer.repository.ClosedDayRepository;
+import mk.frizer.repository.EmployeeRepository;
+import mk.frizer.repository.SalonRepository;
+import mk.frizer.repository.WorkingHoursRepository;
+import mk.frizer.service.ScheduleService;
+import mk.frizer.utilities.AfterCommit;
+import mk.frizer.utilities.WeeklySchedule;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * Working hours, closed days and slot settings of salons, compiled into a {@link WeeklySchedule} per employee the
+ * first time their availability is asked for and kept by this instance until the salon's schedule changes, or the
+ * employee moves to another salon. A change drops the affected schedules right away and once more after it commits,
+ * so a schedule compiled in between from what was not yet committed does not outlive it.
+ */
+@Service
+public class ScheduleServiceImpl implements ScheduleService {
+    public static final int MAX_BOOKING_DAYS = 90;
+
+    private final WorkingHoursRepository workingHoursRepository;
+    private final ClosedDayRepository closedDayRepository;
+    private final SalonRepository salonRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ConcurrentMap<ScheduleKey, WeeklySchedule> schedules = new ConcurrentHashMap<>();
+
+    public ScheduleServiceImpl(WorkingHoursRepository workingHoursRepository, ClosedDayRepository closedDayRepository,
+                               SalonRepository salonRepository, EmployeeRepository employeeRepository) {
+        this.workingHoursRepository = workingHoursRepository;
+        this.closedDayRepository = closedDayRepository;
+        this.salonRepository = salonRepository;
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Override
+    public List<WorkingHours> getWorkingHours(Long salonId) {
+        return workingHoursRepository.findAllBySalonId(salonId);
+    }
+
+    @Override
+    public Optional<WorkingHours> getWorkingHoursById(Long id) {
+        WorkingHours workingHours = workingHoursRepository.findById(id)
+                .orElseThrow(WorkingHoursNotFoundException::new);
+        return Optional.of(workingHours);
+    }
+
+    @Override
+    @Transactional
+    public Optional<WorkingHours> addWorkingHours(WorkingHoursAddDTO workingHoursAddDTO) {
+        LocalTime opens = workingHoursAddDTO.getOpens();
+        LocalTime closes = workingHoursAddDTO.getCloses();
+        if (workingHoursAddDTO.getDayOfWeek() == null || opens == null || closes == null
+                || !(opens.isBefore(closes) || closes.equals(LocalTime.MIDNIGHT))) {
+            throw new InvalidArgumentsException();
+        }
+        Salon salon = salonRepository.findById(workingHoursAddDTO.getSalonId())
+                .orElseThrow(SalonNotFoundException::new);
+        Employee employee = getSalonEmployee(salon, workingHoursAddDTO.getEmployeeId());
+
+        WorkingHours workingHours = workingHoursRepository.save(
+                new WorkingHours(salon, employee, workingHoursAddDTO.getDayOfWeek(), opens, closes));
+        evict(salon.getId());
+        return Optional.of(workingHours);
+    }
+
+    @Override
+    @Transactional
+    public Optional<WorkingHours> deleteWorkingHoursById(Long id) {
+        WorkingHours workingHours = workingHoursRepository.findById(id)
+                .orElseThrow(WorkingHoursNotFoundException::new);
+        workingHoursRepository.delete(workingHours);
+        evict(workingHours.getSalon().getId());
+        return Optional.of(workingHours);
+    }
+
+    @Override
+    public List<ClosedDay> getClosedDays(Long salonId) {
+        return closedDayRepository.findAllBySalonIdAndDateGreaterThanEqualOrderByDate(salonId, LocalDate.now());
+    }
+
+    @Override
+    public Optional<ClosedDay> getClosedDayById(Long id) {
+        ClosedDay closedDay = closedDayRepository.findById(id)
+                .orElseThrow(ClosedDayNotFoundException::new);
+        return Optional.of(closedDay);
+    }
+
+    @Override
+    @Transactional
+    public Optional<ClosedDay> addClosedDay(ClosedDayAddDTO closedDayAddDTO) {
+        if (closedDayAddDTO.getDate() == null) {
+            throw new InvalidArgumentsException();
+        }
+        Salon salon = salonRepository.findById(closedDayAddDTO.getSalonId())
+                .orElseThrow(SalonNotFoundException::new);
+        Employee employee = getSalonEmployee(salon, closedDayAddDTO.getEmployeeId());
+
+        ClosedDay closedDay = closedDayRepository.save(new ClosedDay(salon, employee, closedDayAddDTO.getDate()));
+        evict(salon.getId());
+        return Optional.of(closedDay);
+    }
+
+    @Override
+    @Transactional
+    public Optional<ClosedDay> deleteClosedDayById(Long id) {
+        ClosedDay closedDay = closedDayRepository.findById(id)
+                .orElseThrow(ClosedDayNotFoundException::new);
+        closedDayRepository.delete(closedDay);
+        evict(closedDay.getSalon().getId());
+        return Optional.of(closedDay);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Salon> updateSettings(Long salonId, ScheduleSettingsDTO scheduleSettingsDTO) {
+        Integer slotMinutes = scheduleSettingsDTO.getSlotMinutes();
+        Integer bookingDays = scheduleSettingsDTO.getBookingDays();
+        // Slots that divide an hour keep every hour on the grid
+        if ((slotMinutes != null && (slotMinutes <= 0 || 60 % slotMinutes != 0))
+                || (bookingDays != null && (bookingDays <= 0 || bookingDays > MAX_BOOKING_DAYS))) {
+            throw new InvalidArgumentsException();
+        }
+        Salon salon = salonRepository.findById(salonId)
+                .orElseThrow(SalonNotFoundException::new);
+        salon.setSlotMinutes(slotMinutes);
+        salon.setBookingDays(bookingDays);
+        salonRepository.save(salon);
+        evict(salonId);
+        return Optional.of(salon);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WeeklySchedule getSchedule(Long salonId, Long employeeId) {
+        ScheduleKey key = new ScheduleKey(salonId, employeeId);
+        WeeklySchedule schedule = schedules.get(key);
+        if (schedule != null) {
+            return schedule;
+        }
+        // Anyone can ask for the available slots, so only an employee of the salon gets a schedule cached
+        Salon salon = salonRepository.findById(salonId)
+                .orElseThrow(SalonNotFoundException::new);
+        getSalonEmployee(salon, employeeId);
+        schedule = WeeklySchedule.compile(workingHoursRepository.findAllBySalonId(salonId), employeeId,
+                closedDayRepository.findAllBySalonIdAndDateGreaterThanEqualOrderByDate(salonId, LocalDate.now()),
+                salon.getSlotMinutes(), salon.getBookingDays());
+        schedules.put(key, schedule);
+        return schedule;
+    }
+
+    private Employee getSalonEmployee(Salon salon, Long employeeId) {
+        if (employeeId == null) {
+            return null;
+        }
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(EmployeeNotFoundException::new);
+        if (employee.getSalon() == null || !employee.getSalon().getId().equals(salon.getId())) {
+            throw new EmployeeNotFoundException();
+        }
+        return employee;
+    }
+
+    @Override
+    public void evictEmployee(Long employeeId) {
+        evict(key -> employeeId.equals(key.employeeId()));
+    }
+
+    private void evict(Long salonId) {
+        evict(key -> key.salonId().equals(salonId));
+    }
+
+    private void evict(Predicate<ScheduleKey> stale) {
+        schedules.keySet().removeIf(stale);
+        AfterCommit.run(() -> schedules.keySet().removeIf(stale));
+    }
+
+    private record ScheduleKey(Long salonId, Long employeeId) {
+    }
+}
@@ -1,27 +1,30 @@
 package mk.frizer.service.impl;
 
-import mk.frizer.domain.Salon;
 import jakarta.transaction.Transactional;
 import mk.frizer.domain.Tag;
 import mk.frizer.domain.exceptions.SalonNotFoundException;
 import mk.frizer.domain.exceptions.TagNotFoundException;
 import mk.frizer.repository.SalonRepository;
 import mk.frizer.repository.TagRepository;
+import mk.frizer.service.SalonSearchService;
 import mk.frizer.service.TagService;
+import mk.frizer.utilities.AfterCommit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class TagServiceImpl implements TagService {
     private final TagRepository tagRepository;
     private final SalonRepository salonRepository;
+    private final SalonSearchService salonSearchService;
 
-    public TagServiceImpl(TagRepository tagRepository, SalonRepository salonRepository) {
+    public TagServiceImpl(TagRepository tagRepository, SalonRepository salonRepository,
+                          SalonSearchService salonSearchService) {
         this.tagRepository = tagRepository;
         this.salonRepository = salonRepository;
+        this.salonSearchService = salonSearchService;
     }
 
     @Override
@@ -44,11 +47,10 @@ public class TagServiceImpl implements TagService {
 
     @Override
     public List<Tag> getTagsForSalon(Long id) {
-        Salon salon = salonRepository.findById(id)
-                .orElseThrow(SalonNotFoundException::new);
-         List<Tag> tagsForSalon = tagRepository.findAll().stream()
-                .filter(t->t.getSalonsWithTag().contains(salon)).collect(Collectors.toList());
-        return  tagsForSalon;
+        if (!salonRepository.existsById(id)) {
+            throw new SalonNotFoundException();
+        }
+        return tagRepository.findAllBySalonsWithTagId(id);
     }
 
     @Override
@@ -56,6 +58,7 @@ public class TagServiceImpl implements TagService {
     public Optional<Tag> deleteTagById(Long id) {
         Tag tag = getTagById(id).get();
         tagRepository.deleteById(id);
+        AfterCommit.run(() -> salonSearchService.removeTag(id));
         return Optional.of(tag);
     }
 }
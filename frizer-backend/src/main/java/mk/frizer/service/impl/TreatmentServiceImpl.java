@@ -1,6 +1,6 @@
 package mk.frizer.service.impl;
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import mk.frizer.domain.Employee;
 import mk.frizer.domain.Salon;
 import mk.frizer.domain.Treatment;
@@ -12,24 +12,27 @@ import mk.frizer.domain.exceptions.SalonNotFoundException;
 import mk.frizer.domain.exceptions.TreatmentNotFoundException;
 import mk.frizer.repository.SalonRepository;
 import mk.frizer.repository.TreatmentRepository;
+import mk.frizer.service.SalonSearchService;
 import mk.frizer.service.TreatmentService;
+import mk.frizer.utilities.AfterCommit;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class TreatmentServiceImpl implements TreatmentService {
     private final TreatmentRepository treatmentRepository;
     private final SalonRepository salonRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final SalonSearchService salonSearchService;
 
-    public TreatmentServiceImpl(TreatmentRepository treatmentRepository, SalonRepository salonRepository, ApplicationEventPublisher applicationEventPublisher) {
+    public TreatmentServiceImpl(TreatmentRepository treatmentRepository, SalonRepository salonRepository, ApplicationEventPublisher applicationEventPublisher, SalonSearchService salonSearchService) {
         this.treatmentRepository = treatmentRepository;
         this.salonRepository = salonRepository;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.salonSearchService = salonSearchService;
     }
 
     @Override
@@ -38,10 +41,9 @@ public class TreatmentServiceImpl implements TreatmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Treatment> getTreatmentsForSalon(Long id) {
-        return treatmentRepository.findAll().stream()
-                .filter(t->t.getSalon().getId().equals(id))
-                .collect(Collectors.toList());
+        return treatmentRepository.findAllBySalonId(id);
     }
 
     @Override
@@ -82,6 +84,7 @@ public class TreatmentServiceImpl implements TreatmentService {
     public Optional<Treatment> deleteTreatmentById(Long id) {
         Treatment treatment = getTreatmentById(id).get();
         treatmentRepository.deleteById(id);
+        AfterCommit.run(() -> salonSearchService.removeTreatment(id));
         return Optional.of(treatment);
     }
     @Override
@@ -0,0 +1,8 @@
+package mk.frizer.utilities;
+
+/**
+ * A latitude/longitude range in degrees containing every point within a radius of a center, see
+ * {@link DistanceCalculator#boundingBox}. Points inside it still need the exact distance check.
+ */
+public record BoundingBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+}
@@ -0,0 +1,201 @@
+package mk.frizer.utilities;
+
+import mk.frizer.domain.dto.CitySummaryDTO;
+import mk.frizer.domain.dto.SalonDirectoryDTO;
+import mk.frizer.domain.dto.SalonNameDTO;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The salons of every city with what a city page shows about them: how many there are, their reviews and average
+ * rating, and the best rated ones. Kept per city as salons are added, changed and removed, so none of it reads the
+ * salon table. City names are matched ignoring case, as the city filter of the search does. Salons without a city
+ * are in no city's listing but still found when searching every city.
+ * <p>
+ * Safe for concurrent use; lookups return copies, never the listings themselves.
+ */
+public final class CityDirectory {
+    public static final int TOP_RATED = 5;
+
+    // Best rating first, then the most reviewed, then the oldest salon
+    private static final Comparator<SalonDirectoryDTO> BEST_RATED = Comparator
+            .comparingDouble(SalonDirectoryDTO::getRating).reversed()
+            .thenComparing(Comparator.comparingInt(SalonDirectoryDTO::getNumberOfReviews).reversed())
+            .thenComparingLong(SalonDirectoryDTO::getId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Listing> cities = new HashMap<>();
+    private final Map<Long, SalonDirectoryDTO> salons = new HashMap<>();
+
+    /**
+     * Adds a salon, or moves it to its new name, city and rating.
+     */
+    public void put(SalonDirectoryDTO salon) {
+        SalonDirectoryDTO entry = new SalonDirectoryDTO(salon.getId(), salon.getName(), salon.getCity(),
+                salon.getRating() == null ? 0 : salon.getRating(),
+                salon.getNumberOfReviews() == null ? 0 : salon.getNumberOfReviews());
+        lock.writeLock().lock();
+        try {
+            removeEntry(entry.getId());
+            salons.put(entry.getId(), entry);
+            if (entry.getCity() == null) {
+                return;
+            }
+            cities.computeIfAbsent(key(entry.getCity()), key -> new Listing(entry.getCity())).add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long salonId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(salonId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            cities.clear();
+            salons.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The ids of the salons in a city, in id order.
+     */
+    public List<Long> salonIds(String city) {
+        lock.readLock().lock();
+        try {
+            Listing listing = cities.get(key(city));
+            return listing == null ? List.of() : List.copyOf(listing.salons.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The salons of a city, or of every city when {@code city} is null, rated at least {@code minRating}, a bit per
+     * salon id as in {@link TagBitmapIndex}.
+     */
+    public BitSet salonsRated(String city, double minRating) {
+        lock.readLock().lock();
+        try {
+            Collection<SalonDirectoryDTO> candidates;
+            if (city == null) {
+                candidates = salons.values();
+            } else {
+                Listing listing = cities.get(key(city));
+                candidates = listing == null ? List.of() : listing.salons.values();
+            }
+            BitSet rated = new BitSet();
+            for (SalonDirectoryDTO salon : candidates) {
+                if (salon.getRating() >= minRating) {
+                    rated.set(TagBitmapIndex.bit(salon.getId()));
+                }
+            }
+            return rated;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The summary of a city, empty when it has no salons.
+     */
+    public CitySummaryDTO summary(String city) {
+        lock.readLock().lock();
+        try {
+            Listing listing = cities.get(key(city));
+            return listing == null ? new CitySummaryDTO(city, 0, 0, 0, List.of()) : listing.summary();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The summaries of every city with salons, by name.
+     */
+    public List<CitySummaryDTO> summaries() {
+        lock.readLock().lock();
+        try {
+            return cities.values().stream()
+                    .map(Listing::summary)
+                    .sorted(Comparator.comparing(CitySummaryDTO::getCity))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeEntry(long salonId) {
+        SalonDirectoryDTO previous = salons.remove(salonId);
+        if (previous == null || previous.getCity() == null) {
+            return;
+        }
+        String key = key(previous.getCity());
+        Listing listing = cities.get(key);
+        listing.remove(previous);
+        if (listing.salons.isEmpty()) {
+            cities.remove(key);
+        }
+    }
+
+    private static String key(String city) {
+        return city.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Listing {
+        private final String city;
+        private final TreeMap<Long, SalonDirectoryDTO> salons = new TreeMap<>();
+        private final TreeSet<SalonDirectoryDTO> bestRated = new TreeSet<>(BEST_RATED);
+        private long reviews;
+        // The sum of every review's grade, kept as rating times reviews of each salon
+        private double grades;
+
+        private Listing(String city) {
+            this.city = city;
+        }
+
+        private void add(SalonDirectoryDTO salon) {
+            salons.put(salon.getId(), salon);
+            bestRated.add(salon);
+            reviews += salon.getNumberOfReviews();
+            grades += salon.getRating() * salon.getNumberOfReviews();
+        }
+
+        private void remove(SalonDirectoryDTO salon) {
+            salons.remove(salon.getId());
+            bestRated.remove(salon);
+            reviews -= salon.getNumberOfReviews();
+            grades -= salon.getRating() * salon.getNumberOfReviews();
+        }
+
+        private CitySummaryDTO summary() {
+            List<SalonNameDTO> top = new ArrayList<>(TOP_RATED);
+            for (SalonDirectoryDTO salon : bestRated) {
+                if (top.size() == TOP_RATED) {
+                    break;
+                }
+                top.add(new SalonNameDTO(salon.getId(), salon.getName()));
+            }
+            return new CitySummaryDTO(city, salons.size(), reviews, reviews == 0 ? 0 : grades / reviews, top);
+        }
+    }
+}
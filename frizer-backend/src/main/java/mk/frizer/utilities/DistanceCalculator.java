@@ -2,27 +2,108 @@ package mk.frizer.utilities;
 
 import org.springframework.stereotype.Component;
 
+/**
+ * Great-circle distances in kilometers. For radius checks over many salons, parse the user location once with
+ * {@link GeoPoint#parse} and use {@link #isWithin}, which allocates nothing and rejects or accepts most salons with
+ * an equirectangular estimate before falling back to the exact haversine.
+ */
 @Component
 public class DistanceCalculator {
     public DistanceCalculator() {}
 
     private static final double EARTH_RADIUS_KM = 6371;
 
+    // Below 70 degrees of latitude and within 600 km the equirectangular estimate is within 0.4% of the haversine,
+    // so it decides on its own outside a 1% band around the radius
+    private static final double ESTIMATE_MAX_RADIUS_KM = 600;
+    private static final double ESTIMATE_MIN_COS_LATITUDE = Math.cos(Math.toRadians(70));
+    private static final double ESTIMATE_REJECT = 1.01 * 1.01;
+    private static final double ESTIMATE_ACCEPT = 0.99 * 0.99;
+
     public double getDistance(String userLocation, double wineryLat, double wineryLon) {
         if (userLocation == null) return 0;
+        return getDistance(GeoPoint.parse(userLocation), wineryLat, wineryLon);
+    }
 
-        double userLat = Double.parseDouble(userLocation.split(",")[0]);
-        double userLon = Double.parseDouble(userLocation.split(",")[1]);
+    public double getDistance(GeoPoint from, double latitude, double longitude) {
+        double latitudeRadians = Math.toRadians(latitude);
+        return haversine(from, latitudeRadians, Math.toRadians(longitude), Math.cos(latitudeRadians));
+    }
 
-        double dLat = Math.toRadians(wineryLat - userLat);
-        double dLon = Math.toRadians(wineryLon - userLon);
+    public boolean isWithin(GeoPoint from, double latitude, double longitude, double radiusKm) {
+        double latitudeRadians = Math.toRadians(latitude);
+        return isWithin(from, latitudeRadians, Math.toRadians(longitude), Math.cos(latitudeRadians), radiusKm);
+    }
 
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                Math.cos(Math.toRadians(userLat)) * Math.cos(Math.toRadians(wineryLat)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+    /**
+     * The smallest latitude/longitude box around every point at most {@code radiusKm} from {@code center}, for
+     * narrowing a query down before {@link #isWithin}. A circle reaching a pole or the antimeridian gets the whole
+     * longitude range.
+     */
+    public static BoundingBox boundingBox(GeoPoint center, double radiusKm) {
+        double angularRadius = radiusKm / EARTH_RADIUS_KM;
+        double minLatitude = center.latitudeRadians() - angularRadius;
+        double maxLatitude = center.latitudeRadians() + angularRadius;
+        if (minLatitude <= -Math.PI / 2 || maxLatitude >= Math.PI / 2) {
+            return new BoundingBox(Math.max(-90, Math.toDegrees(minLatitude)), Math.min(90, Math.toDegrees(maxLatitude)), -180, 180);
+        }
+        // The meridians touching the circle, further apart than the radius away from the equator
+        double longitudeRadius = Math.asin(Math.sin(angularRadius) / center.cosLatitude());
+        double minLongitude = center.longitudeRadians() - longitudeRadius;
+        double maxLongitude = center.longitudeRadians() + longitudeRadius;
+        if (minLongitude < -Math.PI || maxLongitude > Math.PI) {
+            return new BoundingBox(Math.toDegrees(minLatitude), Math.toDegrees(maxLatitude), -180, 180);
+        }
+        return new BoundingBox(Math.toDegrees(minLatitude), Math.toDegrees(maxLatitude),
+                Math.toDegrees(minLongitude), Math.toDegrees(maxLongitude));
+    }
+
+    /**
+     * Whether a point given in radians, with the cosine of its latitude precomputed, is at most {@code radiusKm}
+     * from {@code from}.
+     */
+    public static boolean isWithin(GeoPoint from, double latitudeRadians, double longitudeRadians, double cosLatitude,
+                                   double radiusKm) {
+        double dLat = latitudeRadians - from.latitudeRadians();
+        // The great-circle distance is never shorter than the latitude difference
+        if (Math.abs(dLat) * EARTH_RADIUS_KM > radiusKm) {
+            return false;
+        }
+        if (radiusKm <= ESTIMATE_MAX_RADIUS_KM && cosLatitude >= ESTIMATE_MIN_COS_LATITUDE
+                && from.cosLatitude() >= ESTIMATE_MIN_COS_LATITUDE) {
+            double x = longitudeDifference(from, longitudeRadians) * (cosLatitude + from.cosLatitude()) / 2;
+            double estimate = (x * x + dLat * dLat) * EARTH_RADIUS_KM * EARTH_RADIUS_KM;
+            double radiusSquared = radiusKm * radiusKm;
+            if (estimate > radiusSquared * ESTIMATE_REJECT) {
+                return false;
+            }
+            if (estimate < radiusSquared * ESTIMATE_ACCEPT) {
+                return true;
+            }
+        }
+        return haversine(from, latitudeRadians, longitudeRadians, cosLatitude) <= radiusKm;
+    }
+
+    /**
+     * The exact distance to a point given in radians, with the cosine of its latitude precomputed.
+     */
+    public static double haversine(GeoPoint from, double latitudeRadians, double longitudeRadians, double cosLatitude) {
+        double sinLat = Math.sin((latitudeRadians - from.latitudeRadians()) / 2);
+        double sinLon = Math.sin(longitudeDifference(from, longitudeRadians) / 2);
+
+        double a = sinLat * sinLat + from.cosLatitude() * cosLatitude * sinLon * sinLon;
 
         double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
 
         // Distance in kilometers
         return EARTH_RADIUS_KM * c;
     }
-}
\ No newline at end of file
+
+    private static double longitudeDifference(GeoPoint from, double longitudeRadians) {
+        double dLon = longitudeRadians - from.longitudeRadians();
+        if (dLon > Math.PI) {
+            return dLon - 2 * Math.PI;
+        }
+        return dLon < -Math.PI ? dLon + 2 * Math.PI : dLon;
+    }
+}
@@ -0,0 +1,43 @@
+package mk.frizer.utilities;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Walks a query result row by row without keeping it in the persistence context. Every {@code clearInterval}
+ * entities the persistence context is cleared, so at most that many entities (plus their EAGER associations) are
+ * managed at once, however many rows the query returns.
+ * <p>
+ * The stream must be consumed inside a transaction, which keeps the JDBC cursor open; the action must be done
+ * with an entity when it returns.
+ */
+@Component
+public class EntityStreamer {
+    private final EntityManager entityManager;
+    private final int clearInterval;
+
+    public EntityStreamer(EntityManager entityManager,
+                          @Value("${frizer.streaming.clear-interval:500}") int clearInterval) {
+        this.entityManager = entityManager;
+        this.clearInterval = clearInterval;
+    }
+
+    public <T> long forEach(Stream<T> entities, Consumer<? super T> action) {
+        long count = 0;
+        try (entities) {
+            Iterator<T> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++count % clearInterval == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,143 @@
+package mk.frizer.utilities;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import mk.frizer.domain.dto.ExportRow;
+import mk.frizer.domain.enums.ExportFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes export rows as newline-delimited JSON or CSV while they are produced, gzip compressed when the client accepts
+ * it. Only the current row and fixed size buffers are held, so memory does not depend on the number of rows.
+ */
+@Component
+public class ExportWriter {
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public ExportWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Sends the rows as an attachment named {@code fileName} with the extension of the format.
+     *
+     * @param rows called once, it hands every row to the given consumer in order
+     */
+    public void write(HttpServletRequest request, HttpServletResponse response, ExportFormat format, String fileName,
+                      List<String> columns, Consumer<Consumer<ExportRow>> rows) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "." + format.getExtension() + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptsGzip(request);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        try (OutputStream out = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), BUFFER_SIZE)
+                : response.getOutputStream()) {
+            write(out, format, columns, rows);
+        }
+    }
+
+    /**
+     * Writes the rows to {@code out} and returns how many there were. The stream is flushed but not closed.
+     */
+    public long write(OutputStream out, ExportFormat format, List<String> columns, Consumer<Consumer<ExportRow>> rows) throws IOException {
+        long[] count = new long[1];
+        try {
+            if (format == ExportFormat.NDJSON) {
+                JsonGenerator generator = objectMapper.createGenerator(out);
+                generator.setRootValueSeparator(null);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                rows.accept(row -> {
+                    try {
+                        rowWriter.writeValue(generator, row);
+                        generator.writeRaw('\n');
+                        count[0]++;
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+                generator.close();
+            } else {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+                writeCsvLine(writer, columns.toArray());
+                rows.accept(row -> {
+                    try {
+                        writeCsvLine(writer, row.csvValues());
+                        count[0]++;
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+                writer.flush();
+            }
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+        return count[0];
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof LocalDateTime dateTime ? DATE_TIME_FORMAT.format(dateTime) : value.toString();
+        // Spreadsheets run text starting with these as a formula, so free text like a review comment is kept as text
+        if (value instanceof CharSequence && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
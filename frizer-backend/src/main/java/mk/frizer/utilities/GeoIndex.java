@@ -0,0 +1,151 @@
+package mk.frizer.utilities;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * The coordinates of many salons, converted to radians with the cosine of the latitude precomputed when a salon is
+ * added. A radius query walks primitive arrays and calls {@link DistanceCalculator#isWithin}, so it does no
+ * trigonometry for the salon side and allocates nothing per salon whatever the number of salons.
+ * <p>
+ * Removing a salon moves the last one into its place. Safe for concurrent use.
+ */
+public final class GeoIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> positionsById = new HashMap<>();
+    private long[] ids;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] cosLatitudes;
+    private int size;
+
+    public GeoIndex(int expectedSize) {
+        int capacity = Math.max(expectedSize, 16);
+        ids = new long[capacity];
+        latitudes = new double[capacity];
+        longitudes = new double[capacity];
+        cosLatitudes = new double[capacity];
+    }
+
+    /**
+     * Adds a salon, or moves it to its new coordinates.
+     */
+    public GeoIndex add(long id, double latitude, double longitude) {
+        double latitudeRadians = Math.toRadians(latitude);
+        double longitudeRadians = Math.toRadians(longitude);
+        double cosLatitude = Math.cos(latitudeRadians);
+        lock.writeLock().lock();
+        try {
+            Integer position = positionsById.get(id);
+            int i;
+            if (position != null) {
+                i = position;
+            } else {
+                if (size == ids.length) {
+                    int capacity = size + (size >> 1);
+                    ids = Arrays.copyOf(ids, capacity);
+                    latitudes = Arrays.copyOf(latitudes, capacity);
+                    longitudes = Arrays.copyOf(longitudes, capacity);
+                    cosLatitudes = Arrays.copyOf(cosLatitudes, capacity);
+                }
+                i = size++;
+                positionsById.put(id, i);
+            }
+            ids[i] = id;
+            latitudes[i] = latitudeRadians;
+            longitudes[i] = longitudeRadians;
+            cosLatitudes[i] = cosLatitude;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return this;
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer position = positionsById.remove(id);
+            if (position == null) {
+                return;
+            }
+            int last = --size;
+            if (position != last) {
+                ids[position] = ids[last];
+                latitudes[position] = latitudes[last];
+                longitudes[position] = longitudes[last];
+                cosLatitudes[position] = cosLatitudes[last];
+                positionsById.put(ids[position], position);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            positionsById.clear();
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calls {@code action} with the id of every salon at most {@code radiusKm} from {@code center}, in the order
+     * they were added as long as none was removed.
+     */
+    public void forEachWithin(GeoPoint center, double radiusKm, LongConsumer action) {
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (DistanceCalculator.isWithin(center, latitudes[i], longitudes[i], cosLatitudes[i], radiusKm)) {
+                    action.accept(ids[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The salons at most {@code radiusKm} from {@code center}, a bit per salon id as in {@link TagBitmapIndex}.
+     */
+    public BitSet salonsWithin(GeoPoint center, double radiusKm) {
+        BitSet salons = new BitSet();
+        forEachWithin(center, radiusKm, id -> salons.set(TagBitmapIndex.bit(id)));
+        return salons;
+    }
+
+    /**
+     * The number of salons at most {@code radiusKm} from {@code center}.
+     */
+    public int countWithin(GeoPoint center, double radiusKm) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (DistanceCalculator.isWithin(center, latitudes[i], longitudes[i], cosLatitudes[i], radiusKm)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
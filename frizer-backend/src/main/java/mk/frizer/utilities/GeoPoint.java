@@ -0,0 +1,30 @@
+package mk.frizer.utilities;
+
+/**
+ * A location parsed once, with the radians and the cosine of the latitude the distance formulas need,
+ * so measuring from it to many salons does no parsing or trigonometry for this side.
+ */
+public record GeoPoint(double latitude, double longitude, double latitudeRadians, double longitudeRadians,
+                       double cosLatitude) {
+
+    public static GeoPoint of(double latitude, double longitude) {
+        double latitudeRadians = Math.toRadians(latitude);
+        return new GeoPoint(latitude, longitude, latitudeRadians, Math.toRadians(longitude), Math.cos(latitudeRadians));
+    }
+
+    /**
+     * Parses the {@code "lat,lon"} user location of the search endpoints.
+     *
+     * @throws NumberFormatException when it is not two comma separated numbers
+     */
+    public static GeoPoint parse(String location) {
+        int comma = location.indexOf(',');
+        if (comma < 0) {
+            throw new NumberFormatException("Expected \"lat,lon\": " + location);
+        }
+        // Anything after a second comma is ignored, as it always was
+        int end = location.indexOf(',', comma + 1);
+        return of(Double.parseDouble(location.substring(0, comma)),
+                Double.parseDouble(location.substring(comma + 1, end < 0 ? location.length() : end)));
+    }
+}
@@ -0,0 +1,54 @@
+package mk.frizer.utilities;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes a JSON array to the response one element at a time. Jackson flushes its buffer to the response whenever it
+ * fills up, so the body is sent in chunks while it is being produced and never exists as a whole in memory.
+ * <p>
+ * Once the first chunk is sent the status can no longer change: a failure halfway through aborts the response,
+ * which the client sees as truncated JSON.
+ */
+@Component
+public class JsonArrayWriter {
+    private final ObjectMapper objectMapper;
+    // Flushing after every element would send each one to the client as a chunk of its own
+    private final ObjectWriter elementWriter;
+
+    public JsonArrayWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.elementWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * @param body called once, it hands every element of the array to the given consumer in order
+     */
+    public void write(HttpServletResponse response, Consumer<Consumer<Object>> body) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            try {
+                body.accept(element -> {
+                    try {
+                        elementWriter.writeValue(generator, element);
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package mk.frizer.utilities;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A sorted index of names for completing what the user is typing. Every word of a name, with the rest of the name
+ * after it, is a key normalized like {@link SalonNameIndex#normalize}, so "стил" and "sti" both complete
+ * "Фризерски салон Стил". A suggestion is a range scan from the query to the end of its prefix range, which stops as
+ * soon as {@code limit} distinct values are found, so its cost does not grow with the number of names.
+ * <p>
+ * Entries are reference counted by identity: adding the same identity again, e.g. a treatment name many salons
+ * offer, keeps one entry until it has been removed as often. Suggestions read the skip list without locking; writes
+ * are serialized.
+ */
+public final class PrefixIndex<V> {
+    // Normalized text never contains it, so it sorts a key's identity before any longer continuation
+    private static final char SEPARATOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, V> entries = new ConcurrentSkipListMap<>();
+    private final Map<String, Entry> entriesByIdentity = new HashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public void add(String identity, String name, V value) {
+        writeLock.lock();
+        try {
+            Entry entry = entriesByIdentity.get(identity);
+            if (entry != null) {
+                entry.references++;
+                return;
+            }
+            String normalized = SalonNameIndex.normalize(name);
+            entriesByIdentity.put(identity, new Entry(normalized));
+            for (String key : keys(normalized, identity)) {
+                entries.put(key, value);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(String identity) {
+        writeLock.lock();
+        try {
+            Entry entry = entriesByIdentity.get(identity);
+            if (entry == null || --entry.references > 0) {
+                return;
+            }
+            entriesByIdentity.remove(identity);
+            for (String key : keys(entry.normalized, identity)) {
+                entries.remove(key);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void clear() {
+        writeLock.lock();
+        try {
+            entries.clear();
+            entriesByIdentity.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * The number of distinct identities.
+     */
+    public int size() {
+        writeLock.lock();
+        try {
+            return entriesByIdentity.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * At most {@code limit} distinct values with a word starting with the query, in the order of the text from that
+     * word on.
+     */
+    public List<V> suggest(String query, int limit) {
+        String prefix = SalonNameIndex.normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<V> suggestions = new LinkedHashSet<>();
+        for (V value : entries.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            if (suggestions.add(value) && suggestions.size() == limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(suggestions);
+    }
+
+    private static List<String> keys(String normalized, String identity) {
+        List<String> keys = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        int start = 0;
+        while (true) {
+            keys.add(normalized.substring(start) + SEPARATOR + identity);
+            int space = normalized.indexOf(' ', start);
+            if (space < 0) {
+                return keys;
+            }
+            start = space + 1;
+        }
+    }
+
+    private static final class Entry {
+        private final String normalized;
+        private int references = 1;
+
+        private Entry(String normalized) {
+            this.normalized = normalized;
+        }
+    }
+}
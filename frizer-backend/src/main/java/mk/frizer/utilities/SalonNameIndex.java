@@ -0,0 +1,302 @@
+package mk.frizer.utilities;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory trigram index over salon names for search as you type. Names and queries are lowercased,
+ * transliterated from Macedonian Cyrillic to Latin and stripped of accents, so "Фризерски салон", "frizerski salon"
+ * and "frizerski salón" are the same name. Every word is padded with two spaces in front, so a query matches the
+ * beginnings of words from its first letter on.
+ * <p>
+ * A name matches when it contains the query, or shares at least {@link #MIN_SIMILARITY} of the query's trigrams and
+ * at least three of them, which lets a typo or two through in words of four letters and more. Names starting with
+ * the query rank first, then names where it starts a word, then names containing it, then the rest by the share of
+ * trigrams found; shorter names first among equals. One and two letter queries only match the beginnings of words.
+ * <p>
+ * Removing or renaming a salon takes its old name out of the postings and frees its slot for the next name added,
+ * so the index never holds more slots than salons it has held at once. Safe for concurrent use.
+ */
+public final class SalonNameIndex {
+    public static final double MIN_SIMILARITY = 0.5;
+    // Below three, the shared trigrams are only the first letters of a word
+    private static final int MIN_SHARED_TRIGRAMS = 3;
+
+    private static final Map<Character, String> TRANSLITERATION = transliteration();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, SlotList> postings = new HashMap<>();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private long[] ids = new long[16];
+    private String[] names = new String[16];
+    private int slots;
+    private SlotList freeSlots = new SlotList();
+
+    /**
+     * Replaces the whole content of the index, e.g. with every salon read at startup.
+     */
+    public void rebuild(Map<Long, String> namesById) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slotsById.clear();
+            ids = new long[Math.max(namesById.size(), 16)];
+            names = new String[ids.length];
+            slots = 0;
+            freeSlots = new SlotList();
+            namesById.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a salon or replaces the name it was indexed with.
+     */
+    public void put(long id, String name) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(id);
+            add(id, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The ids of at most {@code limit} salons matching the query, best first. A query with nothing to search for
+     * matches nothing.
+     */
+    public List<Long> search(String query, int limit) {
+        String normalized = normalize(query);
+        Set<String> queryTrigrams = trigrams(normalized);
+        if (queryTrigrams.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // How many of the query trigrams every slot shares, and the slots sharing any
+            int[] counts = new int[slots];
+            SlotList candidates = new SlotList();
+            for (String trigram : queryTrigrams) {
+                SlotList list = postings.get(trigram);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    if (counts[slot]++ == 0) {
+                        candidates.add(slot);
+                    }
+                }
+            }
+            // With fewer candidates than the limit every match is kept and sorted once; otherwise only the best so
+            // far, the worst of them on top
+            boolean keepAll = limit >= candidates.size;
+            List<Match> all = keepAll ? new ArrayList<>(candidates.size) : null;
+            PriorityQueue<Match> best = keepAll ? null : new PriorityQueue<>(Math.min(limit, 1024), Comparator.reverseOrder());
+            for (int i = 0; i < candidates.size; i++) {
+                int slot = candidates.slots[i];
+                String name = names[slot];
+                double similarity = (double) counts[slot] / queryTrigrams.size();
+                int position = name.indexOf(normalized);
+                if (position < 0 && (similarity < MIN_SIMILARITY || counts[slot] < MIN_SHARED_TRIGRAMS)) {
+                    continue;
+                }
+                double score = similarity;
+                if (position >= 0) {
+                    score += position == 0 ? 3 : name.charAt(position - 1) == ' ' ? 2 : 1;
+                }
+                Match match = new Match(ids[slot], name.length(), score);
+                if (keepAll) {
+                    all.add(match);
+                } else if (best.size() < limit) {
+                    best.add(match);
+                } else if (match.compareTo(best.peek()) < 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+            Match[] ranked = keepAll ? all.toArray(Match[]::new) : best.toArray(Match[]::new);
+            Arrays.sort(ranked);
+            List<Long> result = new ArrayList<>(ranked.length);
+            for (Match match : ranked) {
+                result.add(match.id());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lowercase Latin letters and digits separated by single spaces, with Macedonian Cyrillic transliterated
+     * ("ш" to "sh", "ќ" to "kj") and accents removed. Latin letters with a háček are written like their Cyrillic
+     * counterparts, so "š" is also "sh".
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder transliterated = new StringBuilder(text.length() + 8);
+        for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            String latin = TRANSLITERATION.get(c);
+            if (latin != null) {
+                transliterated.append(latin);
+            } else {
+                transliterated.append(c);
+            }
+        }
+        String decomposed = Normalizer.normalize(transliterated, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                normalized.append(c);
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK
+                    && !normalized.isEmpty() && normalized.charAt(normalized.length() - 1) != ' ') {
+                normalized.append(' ');
+            }
+        }
+        int end = normalized.length();
+        return end > 0 && normalized.charAt(end - 1) == ' ' ? normalized.substring(0, end - 1) : normalized.toString();
+    }
+
+    /**
+     * The trigrams of every word of a normalized text, each word starting with two spaces so its first letters
+     * are trigrams of their own.
+     */
+    static Set<String> trigrams(String normalized) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word;
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private void add(long id, String name) {
+        String normalized = normalize(name);
+        int slot;
+        if (freeSlots.size > 0) {
+            slot = freeSlots.slots[--freeSlots.size];
+        } else {
+            if (slots == ids.length) {
+                int capacity = slots + (slots >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                names = Arrays.copyOf(names, capacity);
+            }
+            slot = slots++;
+        }
+        ids[slot] = id;
+        names[slot] = normalized;
+        slotsById.put(id, slot);
+        for (String trigram : trigrams(normalized)) {
+            postings.computeIfAbsent(trigram, t -> new SlotList()).add(slot);
+        }
+    }
+
+    private void removeSlot(long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (String trigram : trigrams(names[slot])) {
+            SlotList list = postings.get(trigram);
+            list.remove(slot);
+            if (list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+        names[slot] = null;
+        freeSlots.add(slot);
+    }
+
+    private static Map<Character, String> transliteration() {
+        Map<Character, String> table = new HashMap<>();
+        String[] pairs = {
+                "а", "a", "б", "b", "в", "v", "г", "g", "д", "d", "ѓ", "gj", "е", "e", "ж", "zh", "з", "z", "ѕ", "dz",
+                "и", "i", "ј", "j", "к", "k", "л", "l", "љ", "lj", "м", "m", "н", "n", "њ", "nj", "о", "o", "п", "p",
+                "р", "r", "с", "s", "т", "t", "ќ", "kj", "у", "u", "ф", "f", "х", "h", "ц", "c", "ч", "ch", "џ", "dzh",
+                "ш", "sh", "ђ", "gj", "ћ", "kj", "й", "j", "ы", "y", "э", "e", "ю", "ju", "я", "ja",
+                "č", "ch", "š", "sh", "ž", "zh", "ǵ", "gj", "ḱ", "kj", "ć", "kj", "đ", "gj"};
+        for (int i = 0; i < pairs.length; i += 2) {
+            table.put(pairs[i].charAt(0), pairs[i + 1]);
+        }
+        return Map.copyOf(table);
+    }
+
+    /**
+     * Orders the better match first: the higher score, then the shorter name, then the lower id.
+     */
+    private record Match(long id, int length, double score) implements Comparable<Match> {
+        @Override
+        public int compareTo(Match other) {
+            if (score != other.score) {
+                return score > other.score ? -1 : 1;
+            }
+            if (length != other.length) {
+                return Integer.compare(length, other.length);
+            }
+            return Long.compare(id, other.id);
+        }
+    }
+
+    private static final class SlotList {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        /**
+         * Removes a slot by moving the last one into its place; the order of a posting list does not matter.
+         */
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
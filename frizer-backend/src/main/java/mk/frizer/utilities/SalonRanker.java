@@ -0,0 +1,127 @@
+package mk.frizer.utilities;
+
+import mk.frizer.domain.dto.SalonRankDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Scores salons for "best salon near me" and keeps the best ones. A score adds up, each between 0 and 1:
+ * <ul>
+ *     <li>the distance, decaying by half every {@link #DISTANCE_HALF_LIFE_KM} from the user, when there is a
+ *     location;</li>
+ *     <li>the rating shrunk towards the mean of all the ranked salons as if {@link #PRIOR_REVIEWS} reviews had given
+ *     that mean, so a single five does not outrank a hundred reviews averaging 4.8;</li>
+ *     <li>the share of the wanted tags the salon has.</li>
+ * </ul>
+ * Only the best {@code limit} salons are kept while scoring, in a heap with the worst of them on top, so ranking a
+ * page never sorts all the candidates.
+ */
+public final class SalonRanker {
+    public static final double DISTANCE_HALF_LIFE_KM = 3;
+    public static final int PRIOR_REVIEWS = 5;
+    public static final double DISTANCE_WEIGHT = 0.4;
+    public static final double RATING_WEIGHT = 0.4;
+    public static final double TAG_WEIGHT = 0.2;
+
+    private static final double MAX_RATING = 5;
+    private static final double DISTANCE_DECAY = Math.log(2) / DISTANCE_HALF_LIFE_KM;
+
+    private final GeoPoint user;
+    private final List<BitSet> tags;
+
+    /**
+     * @param user  where distances are measured from, or null to leave distance out
+     * @param tags  for every wanted tag, the salons having it
+     */
+    public SalonRanker(GeoPoint user, List<BitSet> tags) {
+        this.user = user;
+        this.tags = tags;
+    }
+
+    /**
+     * The ids of the best {@code limit} salons, best first; equal scores go to the lower id.
+     */
+    public List<Long> top(List<SalonRankDTO> salons, int limit) {
+        if (limit <= 0 || salons.isEmpty()) {
+            return List.of();
+        }
+        double priorRating = meanRating(salons);
+        PriorityQueue<Ranked> best = new PriorityQueue<>(Math.min(limit, salons.size()), Comparator.reverseOrder());
+        for (SalonRankDTO salon : salons) {
+            Ranked ranked = new Ranked(salon.getId(), score(salon, priorRating));
+            if (best.size() < limit) {
+                best.add(ranked);
+            } else if (ranked.compareTo(best.peek()) < 0) {
+                best.poll();
+                best.add(ranked);
+            }
+        }
+        Ranked[] sorted = best.toArray(Ranked[]::new);
+        Arrays.sort(sorted);
+        List<Long> ids = new ArrayList<>(sorted.length);
+        for (Ranked ranked : sorted) {
+            ids.add(ranked.id());
+        }
+        return ids;
+    }
+
+    public double score(SalonRankDTO salon, double priorRating) {
+        double score = RATING_WEIGHT * bayesianRating(salon, priorRating) / MAX_RATING;
+        if (user != null && salon.getLatitude() != null && salon.getLongitude() != null) {
+            double distance = DistanceCalculator.haversine(user, Math.toRadians(salon.getLatitude()),
+                    Math.toRadians(salon.getLongitude()), Math.cos(Math.toRadians(salon.getLatitude())));
+            score += DISTANCE_WEIGHT * Math.exp(-DISTANCE_DECAY * distance);
+        }
+        if (!tags.isEmpty()) {
+            int bit = TagBitmapIndex.bit(salon.getId());
+            int matched = 0;
+            for (BitSet salons : tags) {
+                if (salons.get(bit)) {
+                    matched++;
+                }
+            }
+            score += TAG_WEIGHT * matched / tags.size();
+        }
+        return score;
+    }
+
+    public static double bayesianRating(SalonRankDTO salon, double priorRating) {
+        int reviews = reviews(salon);
+        double rating = reviews == 0 ? 0 : salon.getRating();
+        return (PRIOR_REVIEWS * priorRating + reviews * rating) / (PRIOR_REVIEWS + reviews);
+    }
+
+    /**
+     * The mean of every review of the given salons.
+     */
+    public static double meanRating(List<SalonRankDTO> salons) {
+        double sum = 0;
+        long reviews = 0;
+        for (SalonRankDTO salon : salons) {
+            int count = reviews(salon);
+            if (count > 0) {
+                sum += salon.getRating() * count;
+                reviews += count;
+            }
+        }
+        return reviews == 0 ? 0 : sum / reviews;
+    }
+
+    private static int reviews(SalonRankDTO salon) {
+        return salon.getNumberOfReviews() == null || salon.getRating() == null ? 0 : salon.getNumberOfReviews();
+    }
+
+    // Natural order is best first
+    private record Ranked(long id, double score) implements Comparable<Ranked> {
+        @Override
+        public int compareTo(Ranked other) {
+            int byScore = Double.compare(other.score, score);
+            return byScore != 0 ? byScore : Long.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package mk.frizer.utilities;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The salons of every tag as a bitmap with a bit per salon id, so filtering by several tags is an AND or an OR of
+ * bitmaps and counting the salons per tag within a result is a cardinality of their intersection. Salon ids are
+ * generated in sequence, so the bitmaps stay dense: 1M salons take 125 KB per tag.
+ * <p>
+ * Safe for concurrent use; a filter returns its own bitmap, never one of the index's.
+ */
+public final class TagBitmapIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, BitSet> salonsByTag = new HashMap<>();
+
+    public void add(long tagId, long salonId) {
+        lock.writeLock().lock();
+        try {
+            salonsByTag.computeIfAbsent(tagId, id -> new BitSet()).set(bit(salonId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeTag(long tagId) {
+        lock.writeLock().lock();
+        try {
+            salonsByTag.remove(tagId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeSalon(long salonId) {
+        lock.writeLock().lock();
+        try {
+            salonsByTag.values().forEach(salons -> salons.clear(bit(salonId)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            salonsByTag.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The salons with every one of the tags when {@code matchAll}, otherwise with any of them. A tag no salon has
+     * matches nothing.
+     */
+    public BitSet salonsWithTags(Collection<Long> tagIds, boolean matchAll) {
+        lock.readLock().lock();
+        try {
+            BitSet result = null;
+            for (Long tagId : tagIds) {
+                BitSet salons = salonsByTag.get(tagId);
+                if (salons == null) {
+                    if (matchAll) {
+                        return new BitSet();
+                    }
+                    continue;
+                }
+                if (result == null) {
+                    result = (BitSet) salons.clone();
+                } else if (matchAll) {
+                    result.and(salons);
+                } else {
+                    result.or(salons);
+                }
+            }
+            return result == null ? new BitSet() : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * For every tag at least one of the given salons has, how many of them have it, in tag id order.
+     */
+    public Map<Long, Integer> countTags(BitSet salons) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> counts = new LinkedHashMap<>();
+            BitSet tagged = new BitSet(salons.length());
+            salonsByTag.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> {
+                        tagged.clear();
+                        tagged.or(salons);
+                        tagged.and(entry.getValue());
+                        int count = tagged.cardinality();
+                        if (count > 0) {
+                            counts.put(entry.getKey(), count);
+                        }
+                    });
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The bit of a salon id; ids beyond the range of a bit index are not expected from an identity column.
+     */
+    public static int bit(long salonId) {
+        return Math.toIntExact(salonId);
+    }
+}
@@ -4,75 +4,104 @@ import mk.frizer.domain.Appointment;
 import mk.frizer.domain.AppointmentTimeSlot;
 import mk.frizer.repository.AppointmentRepository;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Component
 public class TimeSlotGenerator {
+    // A treatment takes its duration multiplier times this many minutes
+    public static final int TREATMENT_DURATION_MINUTES = 20;
+
     private final AppointmentRepository appointmentRepository;
-    private static final int SLOT_DURATION_MINUTES = 20;
-    private static final LocalTime START_SHIFT_TIME = LocalTime.of(8, 0);
-    private static final LocalTime END_SHIFT_TIME = LocalTime.of(20, 0);
 
     public TimeSlotGenerator(AppointmentRepository appointmentRepository) {
         this.appointmentRepository = appointmentRepository;
     }
 
+    /**
+     * The slots of a day an appointment of {@code durationMinutes} fits in: the schedule's open minutes with the
+     * taken ones and those already past cleared, tried at every start on the schedule's grid. A start that does not
+     * fit skips to the next free minute, so the cost follows the free stretches of the day rather than its slots.
+     */
+    public static List<AppointmentTimeSlot> getAvailableSlots(WeeklySchedule schedule, LocalDate day, LocalDateTime now,
+                                                              List<Appointment> takenAppointments, int durationMinutes) {
+        List<AppointmentTimeSlot> availableSlots = new ArrayList<>();
+        if (day.isBefore(now.toLocalDate())) {
+            return availableSlots;
+        }
+        BitSet free = schedule.openMinutes(day);
+        if (day.equals(now.toLocalDate())) {
+            boolean partMinute = now.getSecond() > 0 || now.getNano() > 0;
+            free.clear(0, WeeklySchedule.minuteOfDay(now.toLocalTime()) + (partMinute ? 1 : 0));
+        }
+        LocalDateTime midnight = day.atStartOfDay();
+        for (Appointment taken : takenAppointments) {
+            long from = ChronoUnit.MINUTES.between(midnight, taken.getDateFrom());
+            long to = ChronoUnit.MINUTES.between(midnight, taken.getDateTo());
+            if (to > 0 && from < WeeklySchedule.MINUTES_PER_DAY) {
+                free.clear((int) Math.max(0, from), (int) Math.min(WeeklySchedule.MINUTES_PER_DAY, to));
+            }
+        }
 
-    public static List<AppointmentTimeSlot> getAvailableSlots(LocalTime openTime, LocalTime closeTime, LocalDateTime date, List<Appointment> takenAppointments, Integer durationMultiplier) {
-        List<AppointmentTimeSlot> allSlots = generateAllSlots(openTime, closeTime, date, durationMultiplier);
-        List<AppointmentTimeSlot> availableSlots = allSlots.stream()
-                .filter(slot -> isSlotAvailable(slot, takenAppointments))
-                .collect(Collectors.toList());
+        int slotMinutes = schedule.getSlotMinutes();
+        int start = free.nextSetBit(0);
+        while (start >= 0) {
+            start = (start + slotMinutes - 1) / slotMinutes * slotMinutes;
+            if (start + durationMinutes > WeeklySchedule.MINUTES_PER_DAY) {
+                break;
+            }
+            int freeUntil = free.nextClearBit(start);
+            if (freeUntil >= start + durationMinutes) {
+                availableSlots.add(new AppointmentTimeSlot(midnight.plusMinutes(start),
+                        midnight.plusMinutes(start + durationMinutes)));
+                start += slotMinutes;
+            } else {
+                start = free.nextSetBit(freeUntil);
+            }
+        }
         return availableSlots;
     }
 
-    private static List<AppointmentTimeSlot> generateAllSlots(LocalTime openTime, LocalTime closeTime, LocalDateTime date, Integer durationMultiplier) {
-        List<AppointmentTimeSlot> allSlots = new ArrayList<>();
-        LocalDateTime currentSlot = date.toLocalTime().isAfter(openTime) ?
-                date.plusHours(1).truncatedTo(ChronoUnit.HOURS) :
-                date.withHour(openTime.getHour()).withMinute(openTime.getMinute());
-
-        LocalDateTime endOfDay = date.withHour(closeTime.getHour()).withMinute(closeTime.getMinute());
-
-        while (currentSlot.plusMinutes((long) SLOT_DURATION_MINUTES * durationMultiplier).isBefore(endOfDay) ||
-                currentSlot.plusMinutes((long) SLOT_DURATION_MINUTES * durationMultiplier).equals(endOfDay)) {
-            LocalDateTime slotEnd = currentSlot.plusMinutes((long) SLOT_DURATION_MINUTES * durationMultiplier);
-            allSlots.add(new AppointmentTimeSlot(currentSlot, slotEnd));
-            currentSlot = currentSlot.plusMinutes(SLOT_DURATION_MINUTES);
-        }
-
-        return allSlots;
+    /**
+     * The available slots of every day the schedule can be booked, from today on.
+     */
+    @Transactional(readOnly = true)
+    public List<List<AppointmentTimeSlot>> generateAvailableTimeSlots(Long salonId, Long employeeId, Integer durationMultiplier,
+                                                                      WeeklySchedule schedule) {
+        LocalDateTime now = LocalDateTime.now();
+        // Only what is still ahead can take a slot
+        List<Appointment> reservedAppointments = appointmentRepository
+                .findAllBySalonIdAndEmployeeIdAndDateToAfter(salonId, employeeId, now);
+        return getAvailableSlots(schedule, now, reservedAppointments, TREATMENT_DURATION_MINUTES * durationMultiplier);
     }
 
-    private static boolean isSlotAvailable(AppointmentTimeSlot slot, List<Appointment> takenAppointments) {
-        for (Appointment taken : takenAppointments) {
-            if(slot.getFrom().isBefore(taken.getDateTo()) && slot.getTo().isAfter(taken.getDateFrom()))
-                return false;
+    /**
+     * The available slots of every day the schedule can be booked from {@code now} on, each day checked only
+     * against the appointments on it.
+     */
+    public static List<List<AppointmentTimeSlot>> getAvailableSlots(WeeklySchedule schedule, LocalDateTime now,
+                                                                    List<Appointment> reservedAppointments, int durationMinutes) {
+        Map<LocalDate, List<Appointment>> reservedByDay = new HashMap<>();
+        for (Appointment appointment : reservedAppointments) {
+            LocalDate last = appointment.getDateTo().minusNanos(1).toLocalDate();
+            for (LocalDate day = appointment.getDateFrom().toLocalDate(); !day.isAfter(last); day = day.plusDays(1)) {
+                reservedByDay.computeIfAbsent(day, d -> new ArrayList<>()).add(appointment);
+            }
         }
-        return true;
-    }
 
-
-    public List<List<AppointmentTimeSlot>> generateAvailableTimeSlots(Long salonId, Long employeeId, Integer durationMultiplier) {
-        List<Appointment> reservedAppointments = appointmentRepository.findAll()
-                .stream().filter(a -> a.getSalon().getId().equals(salonId)
-                        && a.getEmployee().getId().equals(employeeId)).toList();
-        List<List<AppointmentTimeSlot>> slots = new ArrayList<>();
-        List<AppointmentTimeSlot> availableAppointmentTimeSlots = getAvailableSlots(START_SHIFT_TIME, END_SHIFT_TIME, LocalDateTime.now(), reservedAppointments, durationMultiplier);
-        slots.add(availableAppointmentTimeSlots);
-
-        for(int i=1; i< 10; i++){
-            List<AppointmentTimeSlot> newSlots = getAvailableSlots(START_SHIFT_TIME, END_SHIFT_TIME, LocalDateTime.of(LocalDate.now().plusDays(i), START_SHIFT_TIME), reservedAppointments, durationMultiplier);
-            slots.add(newSlots);
+        List<List<AppointmentTimeSlot>> slots = new ArrayList<>(schedule.getBookingDays());
+        for (int i = 0; i < schedule.getBookingDays(); i++) {
+            LocalDate day = now.toLocalDate().plusDays(i);
+            slots.add(getAvailableSlots(schedule, day, now, reservedByDay.getOrDefault(day, List.of()), durationMinutes));
         }
-
         return slots;
     }
 }
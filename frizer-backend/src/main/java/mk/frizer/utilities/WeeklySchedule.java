@@ -0,0 +1,139 @@
+package mk.frizer.utilities;
+
+import mk.frizer.domain.ClosedDay;
+import mk.frizer.domain.WorkingHours;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * When an employee of a salon can take appointments, compiled once from the salon's and the employee's working
+ * hours and closed days into a bitmap per weekday with a bit per minute, so a day's free minutes are a copy of its
+ * bitmap with the booked ones cleared, however many breaks and exceptions the schedule has.
+ * <p>
+ * A salon without working hours is open {@link #DEFAULT_OPENS} to {@link #DEFAULT_CLOSES} every day. An employee
+ * with working hours of their own works only then, within the salon's hours; a weekday without any is their day off.
+ * Appointments start on a grid of {@link #getSlotMinutes()} from midnight.
+ * <p>
+ * Immutable, so compiled schedules are shared between requests.
+ */
+public final class WeeklySchedule {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int DEFAULT_SLOT_MINUTES = 20;
+    public static final int DEFAULT_BOOKING_DAYS = 10;
+    public static final LocalTime DEFAULT_OPENS = LocalTime.of(8, 0);
+    public static final LocalTime DEFAULT_CLOSES = LocalTime.of(20, 0);
+    public static final WeeklySchedule DEFAULT = compile(List.of(), null, List.of(), null, null);
+
+    // Indexed by DayOfWeek.ordinal()
+    private final BitSet[] openMinutes;
+    private final Set<LocalDate> closedDays;
+    private final int slotMinutes;
+    private final int bookingDays;
+
+    private WeeklySchedule(BitSet[] openMinutes, Set<LocalDate> closedDays, int slotMinutes, int bookingDays) {
+        this.openMinutes = openMinutes;
+        this.closedDays = closedDays;
+        this.slotMinutes = slotMinutes;
+        this.bookingDays = bookingDays;
+    }
+
+    /**
+     * The schedule of an employee, or of the salon itself when {@code employeeId} is null, out of all the salon's
+     * working hours and closed days.
+     */
+    public static WeeklySchedule compile(Collection<WorkingHours> salonHours, Long employeeId,
+                                         Collection<ClosedDay> salonClosedDays, Integer slotMinutes, Integer bookingDays) {
+        BitSet[] open = new BitSet[DayOfWeek.values().length];
+        BitSet[] worked = new BitSet[open.length];
+        for (int day = 0; day < open.length; day++) {
+            open[day] = new BitSet(MINUTES_PER_DAY);
+            worked[day] = new BitSet(MINUTES_PER_DAY);
+        }
+        boolean salonHasHours = false;
+        boolean employeeHasHours = false;
+        for (WorkingHours hours : salonHours) {
+            if (hours.getEmployee() == null) {
+                salonHasHours = true;
+                set(open[hours.getDayOfWeek().ordinal()], hours.getOpens(), hours.getCloses());
+            } else if (hours.getEmployee().getId().equals(employeeId)) {
+                employeeHasHours = true;
+                set(worked[hours.getDayOfWeek().ordinal()], hours.getOpens(), hours.getCloses());
+            }
+        }
+        for (int day = 0; day < open.length; day++) {
+            if (!salonHasHours) {
+                set(open[day], DEFAULT_OPENS, DEFAULT_CLOSES);
+            }
+            if (employeeHasHours) {
+                open[day].and(worked[day]);
+            }
+        }
+
+        Set<LocalDate> closed = new HashSet<>();
+        for (ClosedDay day : salonClosedDays) {
+            if (day.getEmployee() == null || day.getEmployee().getId().equals(employeeId)) {
+                closed.add(day.getDate());
+            }
+        }
+        return new WeeklySchedule(open, closed, Objects.requireNonNullElse(slotMinutes, DEFAULT_SLOT_MINUTES),
+                Objects.requireNonNullElse(bookingDays, DEFAULT_BOOKING_DAYS));
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public int getBookingDays() {
+        return bookingDays;
+    }
+
+    /**
+     * The minutes of the day, from midnight, the schedule is open; a copy the caller may change.
+     */
+    public BitSet openMinutes(LocalDate date) {
+        if (closedDays.contains(date)) {
+            return new BitSet(MINUTES_PER_DAY);
+        }
+        return (BitSet) openMinutes[date.getDayOfWeek().ordinal()].clone();
+    }
+
+    /**
+     * Whether the schedule is open all the time from {@code from} to {@code to}, within one day.
+     */
+    public boolean isOpen(LocalDateTime from, LocalDateTime to) {
+        LocalDate date = from.toLocalDate();
+        int start = minuteOfDay(from.toLocalTime());
+        int end = to.toLocalDate().equals(date) ? minuteOfDay(to.toLocalTime())
+                : to.equals(date.plusDays(1).atStartOfDay()) ? MINUTES_PER_DAY : -1;
+        if (end <= start || closedDays.contains(date)) {
+            return false;
+        }
+        return openMinutes[date.getDayOfWeek().ordinal()].nextClearBit(start) >= end;
+    }
+
+    /**
+     * Whether an appointment can start at the time, on the grid of the slots.
+     */
+    public boolean isOnGrid(LocalDateTime time) {
+        return time.getSecond() == 0 && time.getNano() == 0 && minuteOfDay(time.toLocalTime()) % slotMinutes == 0;
+    }
+
+    public static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    // Closing at midnight closes at the end of the day
+    private static void set(BitSet minutes, LocalTime opens, LocalTime closes) {
+        int end = closes.equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : minuteOfDay(closes);
+        minutes.set(minuteOfDay(opens), Math.max(minuteOfDay(opens), end));
+    }
+}
@@ -1,12 +1,16 @@
 package mk.frizer.web.rest;
 
 import mk.frizer.domain.Appointment;
+import mk.frizer.domain.AppointmentTimeSlot;
 import mk.frizer.domain.dto.simple.AppointmentSimpleDTO;
+import jakarta.servlet.http.HttpServletResponse;
 import mk.frizer.service.AppointmentService;
+import mk.frizer.utilities.JsonArrayWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import mk.frizer.domain.dto.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -14,9 +18,11 @@ import java.util.List;
 @CrossOrigin(origins = {"localhost:3000","localhost:3001", "localhost:8080"})
 public class AppointmentRestController {
     private final AppointmentService appointmentService;
+    private final JsonArrayWriter jsonArrayWriter;
 
-    public AppointmentRestController(AppointmentService appointmentService) {
+    public AppointmentRestController(AppointmentService appointmentService, JsonArrayWriter jsonArrayWriter) {
         this.appointmentService = appointmentService;
+        this.jsonArrayWriter = jsonArrayWriter;
     }
 
     @GetMapping()
@@ -24,6 +30,24 @@ public class AppointmentRestController {
         return appointmentService.getAppointments().stream().map(Appointment::toDto).toList();
     }
 
+    @GetMapping(params = "stream=true")
+    public void streamAllAppointments(HttpServletResponse response) throws IOException {
+        jsonArrayWriter.write(response, element ->
+                appointmentService.forEachAppointment(element::accept));
+    }
+
+    @GetMapping("/available-slots")
+    public List<List<AppointmentTimeSlot>> getAvailableTimeSlots(@RequestParam Long salonId,
+                                                                 @RequestParam Long employeeId,
+                                                                 @RequestParam(defaultValue = "1") Integer durationMultiplier,
+                                                                 @RequestParam(required = false) List<Long> treatmentIds) {
+        // The treatments booked together need as many slots in a row as they take together
+        if (treatmentIds != null && !treatmentIds.isEmpty()) {
+            return appointmentService.getAvailableTimeSlots(salonId, employeeId, treatmentIds);
+        }
+        return appointmentService.getAvailableTimeSlots(salonId, employeeId, durationMultiplier);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AppointmentSimpleDTO> getAppointmentById(@PathVariable Long id) {
         return this.appointmentService.getAppointmentById(id)
@@ -38,6 +62,14 @@ public class AppointmentRestController {
                 .orElseGet(() -> ResponseEntity.badRequest().build());
     }
 
+    /**
+     * Books several treatments back to back with one employee, e.g. a cut and a wash, all or none of them.
+     */
+    @PostMapping("/book")
+    public List<AppointmentSimpleDTO> bookAppointments(@RequestBody AppointmentBookingDTO appointmentBookingDTO) {
+        return appointmentService.bookAppointments(appointmentBookingDTO).stream().map(Appointment::toDto).toList();
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<AppointmentSimpleDTO> deleteAppointmentById(@PathVariable Long id) {
         return this.appointmentService.deleteAppointmentById(id)
@@ -0,0 +1,38 @@
+package mk.frizer.web.rest;
+
+import mk.frizer.domain.dto.LoginDTO;
+import mk.frizer.domain.dto.simple.LoginSimpleDTO;
+import mk.frizer.domain.exceptions.InvalidUsernameOrPasswordException;
+import mk.frizer.service.BaseUserService;
+import mk.frizer.service.JwtService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping({"/api/auth"})
+@CrossOrigin(origins = {"localhost:3000","localhost:3001", "localhost:8080"})
+public class AuthRestController {
+    private final BaseUserService baseUserService;
+    private final JwtService jwtService;
+
+    public AuthRestController(BaseUserService baseUserService, JwtService jwtService) {
+        this.baseUserService = baseUserService;
+        this.jwtService = jwtService;
+    }
+
+    @PostMapping("/login")
+    public ResponseEntity<LoginSimpleDTO> login(@RequestBody LoginDTO loginDTO) {
+        try {
+            return this.baseUserService.login(loginDTO.getEmail(), loginDTO.getPassword())
+                    .map(user -> ResponseEntity.ok().body(LoginSimpleDTO.builder()
+                            .token(jwtService.generateToken(user))
+                            .user(user.toDto())
+                            .build()))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        catch (InvalidUsernameOrPasswordException exception) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package mk.frizer.web.rest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import mk.frizer.config.SqlBudget;
+import mk.frizer.domain.dto.AppointmentExportDTO;
+import mk.frizer.domain.dto.ReviewExportDTO;
+import mk.frizer.domain.enums.ExportFormat;
+import mk.frizer.domain.exceptions.SalonNotFoundException;
+import mk.frizer.domain.exceptions.UserNotFoundException;
+import mk.frizer.service.AppointmentService;
+import mk.frizer.service.ReviewService;
+import mk.frizer.service.SalonService;
+import mk.frizer.utilities.ExportWriter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Exports of a salon's history for its owner. The date range is inclusive on both ends and the rows are streamed
+ * from a database cursor, so an export of any size is sent with constant memory and one query. Most of the budget
+ * is the owner check, which loads the salon's eager graph.
+ */
+@RestController
+@SqlBudget(25)
+@RequestMapping("/api/export")
+@CrossOrigin(origins = {"localhost:3000","localhost:3001", "localhost:8080"})
+public class ExportRestController {
+    private final AppointmentService appointmentService;
+    private final ReviewService reviewService;
+    private final SalonService salonService;
+    private final ExportWriter exportWriter;
+
+    public ExportRestController(AppointmentService appointmentService, ReviewService reviewService, SalonService salonService, ExportWriter exportWriter) {
+        this.appointmentService = appointmentService;
+        this.reviewService = reviewService;
+        this.salonService = salonService;
+        this.exportWriter = exportWriter;
+    }
+
+    @GetMapping("/salons/{salonId}/appointments")
+    public void exportAppointments(@PathVariable Long salonId,
+                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                   @RequestParam(defaultValue = "ndjson") String format,
+                                   Principal principal,
+                                   HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        Optional<ExportFormat> exportFormat = checkExport(salonId, format, principal, response);
+        if (exportFormat.isPresent()) {
+            exportWriter.write(request, response, exportFormat.get(), "appointments-" + salonId,
+                    AppointmentExportDTO.CSV_COLUMNS, row -> appointmentService.exportAppointments(
+                            salonId, from.atStartOfDay(), to.plusDays(1).atStartOfDay(), row::accept));
+        }
+    }
+
+    @GetMapping("/salons/{salonId}/reviews")
+    public void exportReviews(@PathVariable Long salonId,
+                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                              @RequestParam(defaultValue = "ndjson") String format,
+                              Principal principal,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        Optional<ExportFormat> exportFormat = checkExport(salonId, format, principal, response);
+        if (exportFormat.isPresent()) {
+            exportWriter.write(request, response, exportFormat.get(), "reviews-" + salonId,
+                    ReviewExportDTO.CSV_COLUMNS, row -> reviewService.exportReviews(
+                            salonId, from.atStartOfDay(), to.plusDays(1).atStartOfDay(), row::accept));
+        }
+    }
+
+    /**
+     * Returns the requested format, or sends the error status and returns empty when the format is unknown or the
+     * caller does not own the salon.
+     */
+    private Optional<ExportFormat> checkExport(Long salonId, String format, Principal principal,
+                                               HttpServletResponse response) throws IOException {
+        Optional<ExportFormat> exportFormat = ExportFormat.fromExtension(format);
+        if (exportFormat.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return Optional.empty();
+        }
+        if (principal == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return Optional.empty();
+        }
+        try {
+            if (!salonService.isUserAuthorizedToAddSalon(salonId, principal.getName())) {
+                response.sendError(HttpServletResponse.SC_FORBIDDEN);
+                return Optional.empty();
+            }
+        } catch (SalonNotFoundException | UserNotFoundException exception) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return Optional.empty();
+        }
+        return exportFormat;
+    }
+}
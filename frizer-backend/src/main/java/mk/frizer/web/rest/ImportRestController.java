@@ -0,0 +1,40 @@
+package mk.frizer.web.rest;
+
+import mk.frizer.domain.dto.ChainImportDTO;
+import mk.frizer.domain.dto.ImportResultDTO;
+import mk.frizer.domain.exceptions.UserNotFoundException;
+import mk.frizer.service.BusinessOwnerService;
+import mk.frizer.service.ChainImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/import")
+@CrossOrigin(origins = {"localhost:3000","localhost:3001", "localhost:8080"})
+public class ImportRestController {
+    private final ChainImportService chainImportService;
+    private final BusinessOwnerService businessOwnerService;
+
+    public ImportRestController(ChainImportService chainImportService, BusinessOwnerService businessOwnerService) {
+        this.chainImportService = chainImportService;
+        this.businessOwnerService = businessOwnerService;
+    }
+
+    @PostMapping("/chain")
+    public ResponseEntity<ImportResultDTO> importChain(@RequestBody ChainImportDTO chainImportDTO, Principal principal) {
+        if (chainImportDTO.getBusinessOwnerId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            if (principal == null || !businessOwnerService.isUserBusinessOwner(chainImportDTO.getBusinessOwnerId(), principal.getName())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            return ResponseEntity.ok(chainImportService.importChain(chainImportDTO));
+        } catch (UserNotFoundException exception) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -2,12 +2,15 @@ package mk.frizer.web.rest;
 
 import mk.frizer.domain.ImageEntity;
 import mk.frizer.domain.Salon;
+import mk.frizer.domain.dto.AutocompleteDTO;
+import mk.frizer.domain.dto.CitySummaryDTO;
 import mk.frizer.domain.dto.SalonAddDTO;
 import mk.frizer.domain.dto.SalonUpdateDTO;
 import mk.frizer.domain.dto.TagAddDTO;
 import mk.frizer.domain.dto.simple.SalonSimpleDTO;
 import mk.frizer.domain.exceptions.SalonNotFoundException;
 import mk.frizer.service.ImageService;
+import mk.frizer.service.SalonSearchService;
 import mk.frizer.service.SalonService;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +19,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -24,10 +28,12 @@ import java.util.Optional;
 public class SalonRestController {
     private final SalonService salonService;
     private final ImageService imageService;
+    private final SalonSearchService salonSearchService;
 
-    public SalonRestController(SalonService salonService, ImageService imageService) {
+    public SalonRestController(SalonService salonService, ImageService imageService, SalonSearchService salonSearchService) {
         this.salonService = salonService;
         this.imageService = imageService;
+        this.salonSearchService = salonSearchService;
     }
 
     @GetMapping()
@@ -35,6 +41,72 @@ public class SalonRestController {
         return salonService.getSalons().stream().map(Salon::toDto).toList();
     }
 
+    @GetMapping("/search")
+    public List<SalonSimpleDTO> searchSalons(@RequestParam(defaultValue = "") String name,
+                                             @RequestParam(defaultValue = "Цела Македонија") String city,
+                                             @RequestParam(defaultValue = "1000") Float distance,
+                                             @RequestParam(defaultValue = "0") Float rating,
+                                             @RequestParam(required = false) String userLocation,
+                                             @RequestParam(required = false) List<Long> tags,
+                                             @RequestParam(defaultValue = "true") boolean matchAllTags) {
+        return salonService.filterSalons(name, city, distance, rating, userLocation, tags, matchAllTags).stream()
+                .map(Salon::toDto).toList();
+    }
+
+    /**
+     * A page of the salons the same search finds, best first by distance, rating and how many of the tags they have.
+     */
+    @GetMapping("/search/ranked")
+    public List<SalonSimpleDTO> rankSalons(@RequestParam(defaultValue = "") String name,
+                                           @RequestParam(defaultValue = "Цела Македонија") String city,
+                                           @RequestParam(defaultValue = "1000") Float distance,
+                                           @RequestParam(defaultValue = "0") Float rating,
+                                           @RequestParam(required = false) String userLocation,
+                                           @RequestParam(required = false) List<Long> tags,
+                                           @RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "20") int size) {
+        return salonService.rankSalons(name, city, distance, rating, userLocation, tags, page, size).stream()
+                .map(Salon::toDto).toList();
+    }
+
+    /**
+     * For every tag of the salons the same search finds, how many of them have it, by tag id. Only the search
+     * indexes are read, no salon is loaded.
+     */
+    @GetMapping("/search/tag-counts")
+    public Map<Long, Integer> countSearchTags(@RequestParam(defaultValue = "") String name,
+                                              @RequestParam(defaultValue = "Цела Македонија") String city,
+                                              @RequestParam(defaultValue = "1000") Float distance,
+                                              @RequestParam(defaultValue = "0") Float rating,
+                                              @RequestParam(required = false) String userLocation,
+                                              @RequestParam(required = false) List<Long> tags,
+                                              @RequestParam(defaultValue = "true") boolean matchAllTags) {
+        return salonSearchService.countTags(salonService.filterSalonIds(name, city, distance, rating, userLocation,
+                tags, matchAllTags));
+    }
+
+    /**
+     * Every city with salons, with their count, reviews, average rating and best rated salons.
+     */
+    @GetMapping("/cities")
+    public List<CitySummaryDTO> getCitySummaries() {
+        return salonSearchService.getCitySummaries();
+    }
+
+    @GetMapping("/cities/{city}")
+    public CitySummaryDTO getCitySummary(@PathVariable String city) {
+        return salonSearchService.getCitySummary(city);
+    }
+
+    /**
+     * Salon, treatment and city names with a word starting with what the user has typed so far.
+     */
+    @GetMapping("/autocomplete")
+    public AutocompleteDTO autocomplete(@RequestParam(defaultValue = "") String query,
+                                        @RequestParam(defaultValue = "5") int limit) {
+        return salonSearchService.autocomplete(query, limit);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<SalonSimpleDTO> getSalon(@PathVariable Long id){
         return this.salonService.getSalonById(id)
@@ -0,0 +1,144 @@
+package mk.frizer.web.rest;
+
+import mk.frizer.domain.ClosedDay;
+import mk.frizer.domain.WorkingHours;
+import mk.frizer.domain.dto.ClosedDayAddDTO;
+import mk.frizer.domain.dto.ScheduleSettingsDTO;
+import mk.frizer.domain.dto.WorkingHoursAddDTO;
+import mk.frizer.domain.dto.simple.ClosedDaySimpleDTO;
+import mk.frizer.domain.dto.simple.WorkingHoursSimpleDTO;
+import mk.frizer.domain.exceptions.ClosedDayNotFoundException;
+import mk.frizer.domain.exceptions.SalonNotFoundException;
+import mk.frizer.domain.exceptions.UserNotFoundException;
+import mk.frizer.domain.exceptions.WorkingHoursNotFoundException;
+import mk.frizer.service.SalonService;
+import mk.frizer.service.ScheduleService;
+import mk.frizer.utilities.WeeklySchedule;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping({"/api/schedules", "/api/schedule"})
+@CrossOrigin(origins = {"localhost:3000","localhost:3001", "localhost:8080"})
+public class ScheduleRestController {
+    private final ScheduleService scheduleService;
+    private final SalonService salonService;
+
+    public ScheduleRestController(ScheduleService scheduleService, SalonService salonService) {
+        this.scheduleService = scheduleService;
+        this.salonService = salonService;
+    }
+
+    @GetMapping("/{salonId}/working-hours")
+    public List<WorkingHoursSimpleDTO> getWorkingHours(@PathVariable Long salonId) {
+        return scheduleService.getWorkingHours(salonId).stream().map(WorkingHours::toDto).toList();
+    }
+
+    @PostMapping("/working-hours/add")
+    public ResponseEntity<WorkingHoursSimpleDTO> addWorkingHours(@RequestBody WorkingHoursAddDTO workingHoursAddDTO,
+                                                                 Principal principal) {
+        Optional<HttpStatus> refused = checkOwner(workingHoursAddDTO.getSalonId(), principal);
+        if (refused.isPresent()) {
+            return ResponseEntity.status(refused.get()).build();
+        }
+        return this.scheduleService.addWorkingHours(workingHoursAddDTO)
+                .map(workingHours -> ResponseEntity.ok().body(workingHours.toDto()))
+                .orElseGet(() -> ResponseEntity.badRequest().build());
+    }
+
+    @DeleteMapping("/working-hours/delete/{id}")
+    public ResponseEntity<WorkingHoursSimpleDTO> deleteWorkingHoursById(@PathVariable Long id, Principal principal) {
+        Long salonId;
+        try {
+            salonId = scheduleService.getWorkingHoursById(id).get().getSalon().getId();
+        } catch (WorkingHoursNotFoundException exception) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<HttpStatus> refused = checkOwner(salonId, principal);
+        if (refused.isPresent()) {
+            return ResponseEntity.status(refused.get()).build();
+        }
+        return this.scheduleService.deleteWorkingHoursById(id)
+                .map(workingHours -> ResponseEntity.ok().body(workingHours.toDto()))
+                .orElseGet(() -> ResponseEntity.badRequest().build());
+    }
+
+    @GetMapping("/{salonId}/closed-days")
+    public List<ClosedDaySimpleDTO> getClosedDays(@PathVariable Long salonId) {
+        return scheduleService.getClosedDays(salonId).stream().map(ClosedDay::toDto).toList();
+    }
+
+    @PostMapping("/closed-days/add")
+    public ResponseEntity<ClosedDaySimpleDTO> addClosedDay(@RequestBody ClosedDayAddDTO closedDayAddDTO,
+                                                           Principal principal) {
+        Optional<HttpStatus> refused = checkOwner(closedDayAddDTO.getSalonId(), principal);
+        if (refused.isPresent()) {
+            return ResponseEntity.status(refused.get()).build();
+        }
+        return this.scheduleService.addClosedDay(closedDayAddDTO)
+                .map(closedDay -> ResponseEntity.ok().body(closedDay.toDto()))
+                .orElseGet(() -> ResponseEntity.badRequest().build());
+    }
+
+    @DeleteMapping("/closed-days/delete/{id}")
+    public ResponseEntity<ClosedDaySimpleDTO> deleteClosedDayById(@PathVariable Long id, Principal principal) {
+        Long salonId;
+        try {
+            salonId = scheduleService.getClosedDayById(id).get().getSalon().getId();
+        } catch (ClosedDayNotFoundException exception) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<HttpStatus> refused = checkOwner(salonId, principal);
+        if (refused.isPresent()) {
+            return ResponseEntity.status(refused.get()).build();
+        }
+        return this.scheduleService.deleteClosedDayById(id)
+                .map(closedDay -> ResponseEntity.ok().body(closedDay.toDto()))
+                .orElseGet(() -> ResponseEntity.badRequest().build());
+    }
+
+    // The settings in effect, defaults included
+    @GetMapping("/{salonId}/settings")
+    public ScheduleSettingsDTO getSettings(@PathVariable Long salonId) {
+        WeeklySchedule schedule = scheduleService.getSchedule(salonId, null);
+        return new ScheduleSettingsDTO(schedule.getSlotMinutes(), schedule.getBookingDays());
+    }
+
+    @PutMapping("/{salonId}/settings")
+    public ResponseEntity<ScheduleSettingsDTO> updateSettings(@PathVariable Long salonId,
+                                                              @RequestBody ScheduleSettingsDTO scheduleSettingsDTO,
+                                                              Principal principal) {
+        Optional<HttpStatus> refused = checkOwner(salonId, principal);
+        if (refused.isPresent()) {
+            return ResponseEntity.status(refused.get()).build();
+        }
+        return this.scheduleService.updateSettings(salonId, scheduleSettingsDTO)
+                .map(salon -> ResponseEntity.ok().body(new ScheduleSettingsDTO(salon.getSlotMinutes(), salon.getBookingDays())))
+                .orElseGet(() -> ResponseEntity.badRequest().build());
+    }
+
+    /**
+     * The status to answer with when the caller does not own the salon, or empty when they do.
+     */
+    private Optional<HttpStatus> checkOwner(Long salonId, Principal principal) {
+        if (salonId == null) {
+            return Optional.of(HttpStatus.BAD_REQUEST);
+        }
+        if (principal == null) {
+            return Optional.of(HttpStatus.UNAUTHORIZED);
+        }
+        try {
+            if (!salonService.isUserAuthorizedToAddSalon(salonId, principal.getName())) {
+                return Optional.of(HttpStatus.FORBIDDEN);
+            }
+        } catch (SalonNotFoundException | UserNotFoundException exception) {
+            return Optional.of(HttpStatus.NOT_FOUND);
+        }
+        return Optional.empty();
+    }
+}
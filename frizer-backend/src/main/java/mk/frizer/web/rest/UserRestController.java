@@ -1,14 +1,17 @@
 package mk.frizer.web.rest;
 
+import jakarta.servlet.http.HttpServletResponse;
 import mk.frizer.domain.BaseUser;
 import mk.frizer.domain.dto.BaseUserAddDTO;
 import mk.frizer.domain.dto.BaseUserUpdateDTO;
 import mk.frizer.domain.dto.simple.BaseUserSimpleDTO;
 import mk.frizer.domain.exceptions.UserNotFoundException;
 import mk.frizer.service.BaseUserService;
+import mk.frizer.utilities.JsonArrayWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,9 +20,11 @@ import java.util.Optional;
 @CrossOrigin(origins = {"localhost:3000","localhost:3001", "localhost:8080"})
 public class UserRestController {
     private final BaseUserService baseUserService;
+    private final JsonArrayWriter jsonArrayWriter;
 
-    public UserRestController(BaseUserService baseUserService) {
+    public UserRestController(BaseUserService baseUserService, JsonArrayWriter jsonArrayWriter) {
         this.baseUserService = baseUserService;
+        this.jsonArrayWriter = jsonArrayWriter;
     }
 
     @GetMapping()
@@ -27,6 +32,12 @@ public class UserRestController {
         return baseUserService.getBaseUsers().stream().map(BaseUser::toDto).toList();
     }
 
+    @GetMapping(params = "stream=true")
+    public void streamUsers(HttpServletResponse response) throws IOException {
+        jsonArrayWriter.write(response, element ->
+                baseUserService.forEachBaseUser(user -> element.accept(user.toDto())));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BaseUserSimpleDTO> getUser(@PathVariable Long id){
         return this.baseUserService.getBaseUserById(id)
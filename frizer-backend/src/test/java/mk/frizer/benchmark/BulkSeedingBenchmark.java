@@ -0,0 +1,58 @@
+package mk.frizer.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import mk.frizer.config.DataInitializer;
+import mk.frizer.domain.dto.BaseUserAddDTO;
+import mk.frizer.service.BaseUserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds a fresh database through {@link DataInitializer#seed()} and then bulk creates users, once with the default
+ * configuration and once with the {@code performance} profile (pooled sequences and JDBC batching).
+ * JDBC statements are the database round trips, so they show the gain even on the in-memory H2 stand-in.
+ * <p>
+ * Run with {@code -Dusers=2000}.
+ */
+public class BulkSeedingBenchmark {
+    private static final int USERS = Integer.getInteger("users", 2000);
+
+    public static void main(String[] args) {
+        List<String> rows = new ArrayList<>();
+        rows.add(run("default"));
+        rows.add(run("performance"));
+
+        System.out.printf("%n%-12s %16s %16s %16s %16s%n", "profile", "seed ms", "seed statements", "users ms", "users statements");
+        rows.forEach(System.out::println);
+    }
+
+    private static String run(String profile) {
+        try (ConfigurableApplicationContext context = H2Application.start("seed-" + profile,
+                "--spring.profiles.active=test" + ("default".equals(profile) ? "" : "," + profile),
+                "--spring.jpa.properties.hibernate.generate_statistics=true")) {
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+            statistics.clear();
+            long start = System.nanoTime();
+            context.getBean(DataInitializer.class).seed();
+            long seedMillis = (System.nanoTime() - start) / 1_000_000;
+            long seedStatements = statistics.getPrepareStatementCount();
+
+            List<BaseUserAddDTO> users = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                users.add(new BaseUserAddDTO("bulk" + i + "@email.com", "password", "Bulk", "User" + i, String.format("+389%08d", i)));
+            }
+            statistics.clear();
+            start = System.nanoTime();
+            context.getBean(BaseUserService.class).createBaseUsers(users);
+            long usersMillis = (System.nanoTime() - start) / 1_000_000;
+            long usersStatements = statistics.getPrepareStatementCount();
+
+            return String.format("%-12s %16d %16d %16d %16d", profile, seedMillis, seedStatements, usersMillis, usersStatements);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package mk.frizer.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import mk.frizer.config.DataInitializer;
+import mk.frizer.domain.BaseUser;
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.dto.*;
+import mk.frizer.service.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Onboards the same salon chain twice on a seeded database: once through the per-entity services behind
+ * {@code POST /api/salons/add}, {@code /api/treatments/add} and {@code /api/employees/add}, and once through
+ * {@link ChainImportService}. Both run with the default configuration and with the {@code performance} profile
+ * (pooled sequences and JDBC batching). JDBC statements are the database round trips.
+ * <p>
+ * Run with {@code -Dsalons=100 -Demployees=3 -Dtreatments=5}.
+ */
+public class ChainImportBenchmark {
+    private static final int SALONS = Integer.getInteger("salons", 100);
+    private static final int EMPLOYEES = Integer.getInteger("employees", 3);
+    private static final int TREATMENTS = Integer.getInteger("treatments", 5);
+
+    public static void main(String[] args) {
+        List<String> rows = new ArrayList<>();
+        rows.addAll(run("default"));
+        rows.addAll(run("performance"));
+
+        System.out.printf("%n%d salons, %d employees and %d treatments each%n", SALONS, EMPLOYEES, TREATMENTS);
+        System.out.printf("%-12s %-8s %10s %12s%n", "profile", "mode", "ms", "statements");
+        rows.forEach(System.out::println);
+    }
+
+    private static List<String> run(String profile) {
+        try (ConfigurableApplicationContext context = H2Application.start("import-" + profile,
+                "--spring.profiles.active=test" + ("default".equals(profile) ? "" : "," + profile),
+                "--spring.jpa.properties.hibernate.generate_statistics=true")) {
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            context.getBean(DataInitializer.class).seed();
+            Long ownerId = context.getBean(BusinessOwnerService.class).getBusinessOwners().get(0).getId();
+            List<Long> callUsers = createUsers(context, "calls", 0);
+            List<Long> importUsers = createUsers(context, "import", SALONS * EMPLOYEES);
+
+            SalonService salonService = context.getBean(SalonService.class);
+            TreatmentService treatmentService = context.getBean(TreatmentService.class);
+            EmployeeService employeeService = context.getBean(EmployeeService.class);
+            statistics.clear();
+            long start = System.nanoTime();
+            for (int i = 0; i < SALONS; i++) {
+                Salon salon = salonService.createSalon(new SalonAddDTO("Calls " + i, "Description", "Location", "Скопје",
+                        "071234567", ownerId, 42.0f, 21.4f)).get();
+                for (int j = 0; j < TREATMENTS; j++) {
+                    treatmentService.createTreatment(new TreatmentAddDTO("Treatment " + j, salon.getId(), 300.0, 1));
+                }
+                for (int j = 0; j < EMPLOYEES; j++) {
+                    employeeService.createEmployee(new EmployeeAddDTO(callUsers.get(i * EMPLOYEES + j), salon.getId()));
+                }
+            }
+            String calls = String.format("%-12s %-8s %10d %12d", profile, "calls",
+                    (System.nanoTime() - start) / 1_000_000, statistics.getPrepareStatementCount());
+
+            List<SalonImportDTO> salons = new ArrayList<>(SALONS);
+            for (int i = 0; i < SALONS; i++) {
+                List<TreatmentImportDTO> treatments = new ArrayList<>();
+                for (int j = 0; j < TREATMENTS; j++) {
+                    treatments.add(new TreatmentImportDTO("Treatment " + j, 300.0, 1));
+                }
+                salons.add(new SalonImportDTO("Import " + i, "Description", "Location", "Скопје", "071234567", 42.0f, 21.4f,
+                        importUsers.subList(i * EMPLOYEES, (i + 1) * EMPLOYEES), treatments));
+            }
+            statistics.clear();
+            start = System.nanoTime();
+            ImportResultDTO result = context.getBean(ChainImportService.class).importChain(new ChainImportDTO(ownerId, salons));
+            if (!result.getErrors().isEmpty()) {
+                throw new IllegalStateException("Import reported errors: " + result.getErrors());
+            }
+            String imported = String.format("%-12s %-8s %10d %12d", profile, "import",
+                    (System.nanoTime() - start) / 1_000_000, statistics.getPrepareStatementCount());
+            return List.of(calls, imported);
+        }
+    }
+
+    private static List<Long> createUsers(ConfigurableApplicationContext context, String prefix, int firstPhone) {
+        List<BaseUserAddDTO> users = new ArrayList<>();
+        for (int i = 0; i < SALONS * EMPLOYEES; i++) {
+            users.add(new BaseUserAddDTO(prefix + i + "@email.com", "password", "Bulk", "User" + i, String.format("+389%08d", firstPhone + i)));
+        }
+        return context.getBean(BaseUserService.class).createBaseUsers(users).stream().map(BaseUser::getId).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package mk.frizer.benchmark;
+
+import mk.frizer.utilities.DistanceCalculator;
+import mk.frizer.utilities.GeoIndex;
+import mk.frizer.utilities.GeoPoint;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the distance filter of the salon search over every salon: parsing the user's {@code "lat,lon"} location on
+ * every call, parsing it once and checking the radius with {@link DistanceCalculator#isWithin}, and the same over a
+ * {@link GeoIndex} with the salon side precomputed. {@link #main} runs with the GC profiler, whose
+ * {@code gc.alloc.rate.norm} shows the garbage per query; the index path allocates nothing per salon.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceCalculatorBenchmark {
+    @Param({"100", "10000", "100000"})
+    public int salons;
+
+    @Param({"10", "100"})
+    public double radiusKm;
+
+    private final DistanceCalculator distanceCalculator = new DistanceCalculator();
+    private final String userLocation = "41.9981,21.4254";
+    private double[] latitudes;
+    private double[] longitudes;
+    private GeoIndex index;
+
+    @Setup
+    public void setUp() {
+        // Spread over North Macedonia
+        SplittableRandom random = new SplittableRandom(42);
+        latitudes = new double[salons];
+        longitudes = new double[salons];
+        index = new GeoIndex(salons);
+        for (int i = 0; i < salons; i++) {
+            latitudes[i] = random.nextDouble(40.85, 42.37);
+            longitudes[i] = random.nextDouble(20.45, 23.03);
+            index.add(i, latitudes[i], longitudes[i]);
+        }
+    }
+
+    @Benchmark
+    public void parsePerSalon(Blackhole blackhole) {
+        for (int i = 0; i < salons; i++) {
+            blackhole.consume(radiusKm >= distanceCalculator.getDistance(userLocation, latitudes[i], longitudes[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseOnce(Blackhole blackhole) {
+        GeoPoint user = GeoPoint.parse(userLocation);
+        for (int i = 0; i < salons; i++) {
+            blackhole.consume(distanceCalculator.isWithin(user, latitudes[i], longitudes[i], radiusKm));
+        }
+    }
+
+    @Benchmark
+    public int index() {
+        return index.countWithin(GeoPoint.parse(userLocation), radiusKm);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DistanceCalculatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
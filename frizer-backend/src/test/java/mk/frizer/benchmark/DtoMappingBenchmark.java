@@ -0,0 +1,107 @@
+package mk.frizer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mk.frizer.domain.*;
+import mk.frizer.domain.enums.Role;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping entities with large collections to their simple DTOs and writing them as JSON, the work done per
+ * element by the list endpoints. {@link #main} runs with the GC profiler, whose {@code gc.alloc.rate.norm} is the
+ * number of bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+    @Param({"10", "1000"})
+    public int images;
+
+    @Param({"50", "5000"})
+    public int historyAppointments;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Salon salon;
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        salon = new Salon();
+        salon.setId(1L);
+        salon.setName("Salon");
+        salon.setCity(new City("Скопје"));
+        salon.setEmployees(new ArrayList<>());
+        salon.setSalonTreatments(new ArrayList<>());
+        salon.setTags(new ArrayList<>());
+        salon.setImages(new ArrayList<>());
+        for (long i = 0; i < images; i++) {
+            salon.getImages().add(1_000 + i);
+        }
+        for (long i = 0; i < 50; i++) {
+            Treatment treatment = new Treatment("Treatment " + i, salon, 500.0, 1);
+            treatment.setId(i);
+            salon.getSalonTreatments().add(treatment);
+            Tag tag = new Tag("Tag " + i);
+            tag.setId(i);
+            salon.getTags().add(tag);
+        }
+
+        BaseUser user = new BaseUser("employee@email.com", "password", "First", "Last", "070000000", Role.ROLE_EMPLOYEE);
+        user.setId(1L);
+        employee = new Employee(user, salon);
+        employee.setId(1L);
+        for (long i = 0; i < historyAppointments; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setId(i);
+            employee.getAppointmentsHistory().add(appointment);
+        }
+        for (long i = 0; i < 20; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setId(historyAppointments + i);
+            employee.getAppointmentsActive().add(appointment);
+        }
+        for (long i = 0; i < 200; i++) {
+            Employee other = new Employee(user, salon);
+            other.setId(i + 2);
+            salon.getEmployees().add(other);
+        }
+    }
+
+    @Benchmark
+    public Object salonToDto() {
+        return salon.toDto();
+    }
+
+    @Benchmark
+    public Object employeeToDto() {
+        return employee.toDto();
+    }
+
+    @Benchmark
+    public byte[] salonToJson() throws Exception {
+        return objectMapper.writeValueAsBytes(salon.toDto());
+    }
+
+    @Benchmark
+    public byte[] employeeToJson() throws Exception {
+        return objectMapper.writeValueAsBytes(employee.toDto());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DtoMappingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
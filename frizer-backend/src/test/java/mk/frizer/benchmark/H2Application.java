@@ -0,0 +1,34 @@
+package mk.frizer.benchmark;
+
+import mk.frizer.FrizerBackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the whole application for the load harnesses on an in-memory H2 database standing in for PostgreSQL,
+ * on a random port and with a cheap BCrypt cost so seeding is not dominated by hashing.
+ */
+final class H2Application {
+    private H2Application() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... args) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--frizer.password.bcrypt-strength=4",
+                "--server.port=0",
+                "--management.server.port=0"));
+        arguments.addAll(List.of(args));
+        return SpringApplication.run(FrizerBackendApplication.class, arguments.toArray(String[]::new));
+    }
+}
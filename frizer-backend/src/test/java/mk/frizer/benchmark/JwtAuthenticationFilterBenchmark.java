@@ -0,0 +1,64 @@
+package mk.frizer.benchmark;
+
+import mk.frizer.config.JwtAuthenticationFilter;
+import mk.frizer.domain.BaseUser;
+import mk.frizer.domain.enums.Role;
+import mk.frizer.service.impl.JwtServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link JwtAuthenticationFilter} for a request carrying a valid token,
+ * with the claims cache enabled ({@code cacheSize > 0}) and with every request re-verifying the signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class JwtAuthenticationFilterBenchmark {
+    private static final String SECRET = "ZnJpemVyLXNraXQtYmVuY2htYXJrLWp3dC1zaWduaW5nLWtleQ==";
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtServiceImpl jwtService = new JwtServiceImpl(SECRET, Duration.ofHours(1), cacheSize);
+        BaseUser user = new BaseUser("user@example.com", "password", "First", "Last", "070000000", Role.ROLE_USER);
+        user.setId(1L);
+        filter = new JwtAuthenticationFilter(jwtService);
+        authorizationHeader = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Object verify() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/salons");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorizationHeader);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,242 @@
+package mk.frizer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mk.frizer.config.SyntheticDataGenerator;
+import mk.frizer.domain.dto.AppointmentAddDTO;
+import mk.frizer.domain.dto.LoginDTO;
+import mk.frizer.utilities.WeeklySchedule;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * End-to-end load test: boots the whole application on an in-memory H2 stand-in, fills it with the
+ * {@link SyntheticDataGenerator} dataset and replays a mix of salon searches, availability lookups and bookings
+ * from concurrent clients, each logged in as its own customer. Reports throughput and p50/p99 latency per endpoint.
+ * <p>
+ * Run with {@code -Dclients=20 -Dseconds=30 -Dwarmup=10 -Dmix=60,30,10 -Dprofiles=test,performance}, the mix being the
+ * percentage of searches, availability lookups and bookings. The dataset is sized by the
+ * {@code frizer.seed.synthetic.*} properties, e.g. {@code -Dfrizer.seed.synthetic.salons=1000}; unless given, it is
+ * a quarter of the production defaults so a run fits in a few minutes.
+ */
+public class LoadTestDriver {
+    private static final int CLIENTS = Integer.getInteger("clients", 20);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("seconds", 30));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("warmup", 10));
+    private static final String PROFILES = System.getProperty("profiles", "test,performance");
+    private static final int[] MIX = Arrays.stream(System.getProperty("mix", "60,30,10").split(",")).mapToInt(Integer::parseInt).toArray();
+    private static final String[] ENDPOINTS = {"GET /api/salons/search", "GET .../available-slots", "POST /api/appointments/add"};
+    private static final String ALL_CITIES = "Цела Македонија";
+
+    public static void main(String[] args) throws Exception {
+        Properties properties = System.getProperties();
+        properties.putIfAbsent("frizer.seed.synthetic.salons", "50");
+        properties.putIfAbsent("frizer.seed.synthetic.customers", "1000");
+        properties.putIfAbsent("frizer.seed.synthetic.months", "1");
+        properties.putIfAbsent("frizer.seed.synthetic.appointments-per-day", "4");
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = H2Application.start("load-test",
+                "--spring.profiles.active=" + PROFILES,
+                "--frizer.seed.mode=synthetic",
+                // Logging every over-budget search would be measured as well, the statement metrics are still kept
+                "--frizer.sql.budget.mode=off")) {
+            System.out.printf("Started and seeded in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+            Dataset dataset = Dataset.load(context.getBean(JdbcTemplate.class));
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            Driver driver = new Driver("http://localhost:" + port, dataset, context.getBean(ObjectMapper.class));
+            List<long[]> samples = driver.run();
+            report(samples, driver.errors);
+        }
+    }
+
+    private static void report(List<long[]> samples, AtomicLongArray errors) {
+        System.out.printf("%n%-28s %10s %8s %10s %10s %10s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+        for (int endpoint = 0; endpoint < ENDPOINTS.length; endpoint++) {
+            int current = endpoint;
+            long[] latencies = samples.stream().filter(sample -> sample[0] == current).mapToLong(sample -> sample[1]).toArray();
+            Arrays.sort(latencies);
+            System.out.printf("%-28s %10d %8d %10.1f %10.2f %10.2f%n", ENDPOINTS[endpoint], latencies.length, errors.get(endpoint),
+                    latencies.length / (double) DURATION.toSeconds(),
+                    ThreadModeLoadComparison.percentile(latencies, 0.50) / 1e6,
+                    ThreadModeLoadComparison.percentile(latencies, 0.99) / 1e6);
+        }
+    }
+
+    /**
+     * What the clients pick their requests from, read back from the generated database.
+     */
+    private record Dataset(List<long[]> employees, Map<Long, List<long[]>> treatmentsBySalon, List<String> salonNames,
+                           List<String> cities, List<Object[]> customers) {
+        static Dataset load(JdbcTemplate jdbcTemplate) {
+            List<long[]> employees = jdbcTemplate.query("select salon_id, id from employee",
+                    (row, i) -> new long[]{row.getLong(1), row.getLong(2)});
+            Map<Long, List<long[]>> treatmentsBySalon = new HashMap<>();
+            jdbcTemplate.query("select salon_id, id, duration_multiplier from treatment", row -> {
+                treatmentsBySalon.computeIfAbsent(row.getLong(1), salon -> new ArrayList<>())
+                        .add(new long[]{row.getLong(2), row.getLong(3)});
+            });
+            List<String> salonNames = jdbcTemplate.queryForList("select name from salon", String.class);
+            List<String> cities = jdbcTemplate.queryForList("select distinct city_name from salon", String.class);
+            List<Object[]> customers = jdbcTemplate.query("select c.id, u.email from customer c join base_user u on u.id = c.base_user_id " +
+                            "where u.email like 'customer%' order by c.id limit " + CLIENTS,
+                    (row, i) -> new Object[]{row.getLong(1), row.getString(2)});
+            if (employees.isEmpty() || customers.size() < CLIENTS) {
+                throw new IllegalStateException("The dataset needs salons and at least " + CLIENTS + " customers");
+            }
+            return new Dataset(employees, treatmentsBySalon, salonNames, cities, customers);
+        }
+    }
+
+    private static final class Driver {
+        private final String baseUrl;
+        private final Dataset dataset;
+        private final ObjectMapper objectMapper;
+        private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        private final AtomicLongArray errors = new AtomicLongArray(ENDPOINTS.length);
+        private final int daysAhead = Integer.getInteger("frizer.seed.synthetic.days-ahead", 14);
+
+        private Driver(String baseUrl, Dataset dataset, ObjectMapper objectMapper) {
+            this.baseUrl = baseUrl;
+            this.dataset = dataset;
+            this.objectMapper = objectMapper;
+        }
+
+        /**
+         * Returns {@code [endpoint, nanos]} for every successful request after the warmup.
+         */
+        List<long[]> run() throws InterruptedException {
+            long measureFrom = System.nanoTime() + WARMUP.toNanos();
+            long deadline = measureFrom + DURATION.toNanos();
+            List<List<long[]>> perClient = Collections.synchronizedList(new ArrayList<>());
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    Object[] customer = dataset.customers().get(c);
+                    clients.submit(() -> {
+                        String token;
+                        try {
+                            token = login((String) customer[1]);
+                        } catch (Exception exception) {
+                            System.err.println(exception.getMessage());
+                            return null;
+                        }
+                        List<long[]> samples = new ArrayList<>();
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        while (System.nanoTime() < deadline) {
+                            int endpoint = pickEndpoint(random);
+                            HttpRequest request = switch (endpoint) {
+                                case 0 -> search(random);
+                                case 1 -> availability(random);
+                                default -> booking(random, (Long) customer[0], token);
+                            };
+                            long start = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                                // A slot someone else took first is an answer, not an error
+                                if (response.statusCode() / 100 != 2 && response.statusCode() != 409) {
+                                    errors.incrementAndGet(endpoint);
+                                } else if (start >= measureFrom) {
+                                    samples.add(new long[]{endpoint, System.nanoTime() - start});
+                                }
+                            } catch (Exception exception) {
+                                errors.incrementAndGet(endpoint);
+                            }
+                        }
+                        perClient.add(samples);
+                        return null;
+                    });
+                }
+            }
+            return perClient.stream().flatMap(List::stream).toList();
+        }
+
+        private static int pickEndpoint(ThreadLocalRandom random) {
+            int roll = random.nextInt(Arrays.stream(MIX).sum());
+            for (int endpoint = 0; endpoint < MIX.length; endpoint++) {
+                roll -= MIX[endpoint];
+                if (roll < 0) {
+                    return endpoint;
+                }
+            }
+            return 0;
+        }
+
+        private HttpRequest search(ThreadLocalRandom random) {
+            String[] words = dataset.salonNames().get(random.nextInt(dataset.salonNames().size())).split(" ");
+            String city = random.nextInt(3) == 0 ? ALL_CITIES : dataset.cities().get(random.nextInt(dataset.cities().size()));
+            String query = "name=" + encode(words[random.nextInt(words.length)].toLowerCase())
+                    + "&city=" + encode(city)
+                    + "&distance=" + (5 + random.nextInt(100))
+                    + "&rating=" + random.nextInt(5)
+                    + "&userLocation=" + encode(String.format(Locale.ROOT, "%.4f,%.4f",
+                    random.nextDouble(40.9, 42.3), random.nextDouble(20.5, 22.9)));
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/salons/search?" + query)).build();
+        }
+
+        private HttpRequest availability(ThreadLocalRandom random) {
+            long[] employee = dataset.employees().get(random.nextInt(dataset.employees().size()));
+            List<long[]> treatments = dataset.treatmentsBySalon().get(employee[0]);
+            long durationMultiplier = treatments.get(random.nextInt(treatments.size()))[1];
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/appointments/available-slots?salonId=" + employee[0]
+                    + "&employeeId=" + employee[1] + "&durationMultiplier=" + durationMultiplier)).build();
+        }
+
+        private HttpRequest booking(ThreadLocalRandom random, Long customerId, String token) {
+            long[] employee = dataset.employees().get(random.nextInt(dataset.employees().size()));
+            List<long[]> treatments = dataset.treatmentsBySalon().get(employee[0]);
+            long[] treatment = treatments.get(random.nextInt(treatments.size()));
+            // Within the days the salons take bookings for
+            int days = Math.min(daysAhead, WeeklySchedule.DEFAULT_BOOKING_DAYS - 1);
+            LocalDateTime from = LocalDateTime.of(LocalDate.now().plusDays(1 + random.nextInt(days)), LocalTime.of(8, 0))
+                    .plusMinutes(20L * random.nextInt(36 - (int) treatment[1] + 1));
+            AppointmentAddDTO appointment = new AppointmentAddDTO(from, from.plusMinutes(20 * treatment[1]), treatment[0],
+                    employee[0], employee[1], customerId);
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/appointments/add"))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + token)
+                    .POST(HttpRequest.BodyPublishers.ofString(json(appointment)))
+                    .build();
+        }
+
+        private String login(String email) throws Exception {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(json(new LoginDTO(email, SyntheticDataGenerator.PASSWORD))))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login of " + email + " failed with " + response.statusCode());
+            }
+            return objectMapper.readTree(response.body()).get("token").asText();
+        }
+
+        private String json(Object value) {
+            try {
+                return objectMapper.writeValueAsString(value);
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+
+        private static String encode(String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package mk.frizer.benchmark;
+
+import mk.frizer.domain.dto.SalonLocationDTO;
+import mk.frizer.repository.SalonRepository;
+import mk.frizer.utilities.BoundingBox;
+import mk.frizer.utilities.DistanceCalculator;
+import mk.frizer.utilities.GeoPoint;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Latency of a radius search through the bounding box query and the exact check on the salons it returns, with
+ * idx_salon_lat_lon and again after dropping it, so the second run scans the whole table for every search.
+ * <p>
+ * Salons are spread uniformly over an area the size of the Balkans. Run with
+ * {@code -Dsalons=1000000 -Dsearches=200 -Dradii=5,25,100}.
+ */
+public class SalonBoundingBoxBenchmark {
+    private static final int SALONS = Integer.getInteger("salons", 1_000_000);
+    private static final int SEARCHES = Integer.getInteger("searches", 200);
+    private static final double[] RADII = Arrays.stream(System.getProperty("radii", "5,25,100").split(","))
+            .mapToDouble(Double::parseDouble).toArray();
+    private static final int BATCH_SIZE = 10_000;
+    private static final double MIN_LATITUDE = 38;
+    private static final double MAX_LATITUDE = 46;
+    private static final double MIN_LONGITUDE = 16;
+    private static final double MAX_LONGITUDE = 28;
+
+    public static void main(String[] args) {
+        List<String> rows = new ArrayList<>();
+        try (ConfigurableApplicationContext context = H2Application.start("bounding-box")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            SalonRepository salonRepository = context.getBean(SalonRepository.class);
+            DistanceCalculator distanceCalculator = context.getBean(DistanceCalculator.class);
+
+            long start = System.nanoTime();
+            insertSalons(jdbcTemplate);
+            System.out.printf("Inserted %d salons in %d ms%n", SALONS, (System.nanoTime() - start) / 1_000_000);
+
+            for (double radius : RADII) {
+                rows.add(row("indexed", radius, salonRepository, distanceCalculator));
+            }
+            jdbcTemplate.execute("drop index idx_salon_lat_lon");
+            for (double radius : RADII) {
+                rows.add(row("table scan", radius, salonRepository, distanceCalculator));
+            }
+        }
+
+        System.out.printf("%n%10s %-12s %8s %12s %10s %10s %10s%n",
+                "salons", "plan", "radius", "candidates", "results", "p50 ms", "p99 ms");
+        rows.forEach(System.out::println);
+    }
+
+    private static void insertSalons(JdbcTemplate jdbcTemplate) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < SALONS; i++) {
+            batch.add(new Object[]{"Salon " + i, (float) random.nextDouble(MIN_LATITUDE, MAX_LATITUDE),
+                    (float) random.nextDouble(MIN_LONGITUDE, MAX_LONGITUDE)});
+            if (batch.size() == BATCH_SIZE || i == SALONS - 1) {
+                jdbcTemplate.batchUpdate("insert into salon (name, latitude, longitude, rating, number_of_reviews) values (?, ?, ?, 0, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Runs the searches around the same random centers for every plan, after a warmup of a tenth as many.
+     */
+    private static String row(String plan, double radius, SalonRepository salonRepository, DistanceCalculator distanceCalculator) {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < SEARCHES / 10; i++) {
+            search(randomCenter(random), radius, salonRepository, distanceCalculator, new long[2]);
+        }
+        long[] latencies = new long[SEARCHES];
+        long[] counts = new long[2];
+        for (int i = 0; i < SEARCHES; i++) {
+            GeoPoint center = randomCenter(random);
+            long start = System.nanoTime();
+            search(center, radius, salonRepository, distanceCalculator, counts);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return String.format("%10d %-12s %8.0f %12d %10d %10.3f %10.3f", SALONS, plan, radius,
+                counts[0] / SEARCHES, counts[1] / SEARCHES,
+                ThreadModeLoadComparison.percentile(latencies, 0.5) / 1e6,
+                ThreadModeLoadComparison.percentile(latencies, 0.99) / 1e6);
+    }
+
+    private static GeoPoint randomCenter(SplittableRandom random) {
+        return GeoPoint.of(random.nextDouble(MIN_LATITUDE, MAX_LATITUDE), random.nextDouble(MIN_LONGITUDE, MAX_LONGITUDE));
+    }
+
+    /**
+     * The distance filter of the salon search without loading the salons themselves; adds the number of candidates
+     * from the box and of salons within the radius to {@code counts}.
+     */
+    private static void search(GeoPoint center, double radius, SalonRepository salonRepository,
+                               DistanceCalculator distanceCalculator, long[] counts) {
+        BoundingBox box = DistanceCalculator.boundingBox(center, radius);
+        List<SalonLocationDTO> candidates = salonRepository.findLocationsInBoundingBox(
+                Math.nextDown((float) box.minLatitude()), Math.nextUp((float) box.maxLatitude()),
+                Math.nextDown((float) box.minLongitude()), Math.nextUp((float) box.maxLongitude()));
+        counts[0] += candidates.size();
+        for (SalonLocationDTO candidate : candidates) {
+            if (distanceCalculator.isWithin(center, candidate.getLatitude(), candidate.getLongitude(), radius)) {
+                counts[1]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package mk.frizer.benchmark;
+
+import mk.frizer.domain.City;
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.dto.SalonDirectoryDTO;
+import mk.frizer.domain.dto.SalonLocationDTO;
+import mk.frizer.domain.dto.SalonNameDTO;
+import mk.frizer.repository.CityRepository;
+import mk.frizer.repository.SalonRepository;
+import mk.frizer.repository.TreatmentRepository;
+import mk.frizer.service.impl.SalonSearchServiceImpl;
+import mk.frizer.service.impl.SalonServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cost of the in-memory part of {@link SalonServiceImpl#filterSalons}: the name search and the intersection of the
+ * city, rating and distance bitmaps of the search indexes. The repositories are stubs returning prebuilt lists, so
+ * neither the index build nor loading the matching salons by id is included; how many statements a search sends
+ * is checked by SalonSearchIT instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SalonFilterBenchmark {
+    private static final String USER_LOCATION = "41.9981,21.4254";
+    private static final float RADIUS_KM = 100;
+    private static final String[] CITIES = {"Скопје", "Битола", "Охрид", "Куманово", "Прилеп", "Тетово", "Велес", "Штип"};
+
+    @Param({"100", "10000"})
+    public int salons;
+
+    @Param({"Цела Македонија", "Скопје"})
+    public String city;
+
+    private SalonServiceImpl salonService;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<City> cities = new ArrayList<>();
+        for (String name : CITIES) {
+            cities.add(new City(name));
+        }
+        List<Salon> allSalons = new ArrayList<>();
+        for (long i = 0; i < salons; i++) {
+            City salonCity = cities.get((int) (i % cities.size()));
+            Salon salon = new Salon((i % 2 == 0 ? "Фризерски салон " : "Салон за убавина ") + i, "Description", "Location",
+                    salonCity, "070000000", null, (float) random.nextDouble(40.85, 42.37), (float) random.nextDouble(20.45, 23.03));
+            salon.setId(i);
+            salon.setRating((double) random.nextInt(0, 6));
+            salonCity.getSalonsInCity().add(salon);
+            allSalons.add(salon);
+        }
+        List<SalonNameDTO> names = allSalons.stream().map(salon -> new SalonNameDTO(salon.getId(), salon.getName())).toList();
+
+        SalonRepository salonRepository = stub(SalonRepository.class, Map.of(
+                "findAllLocations", allSalons.stream()
+                        .map(salon -> new SalonLocationDTO(salon.getId(), salon.getLatitude(), salon.getLongitude()))
+                        .toList(),
+                "findAllNames", names,
+                "findAllTagIds", List.of(),
+                "findAllDirectoryEntries", allSalons.stream().map(salon -> new SalonDirectoryDTO(salon.getId(),
+                        salon.getName(), salon.getCity().getName(), salon.getRating(), salon.getNumberOfReviews())).toList(),
+                "findAllById", (Function<Object[], Object>) args -> {
+                    List<Salon> found = new ArrayList<>();
+                    ((Iterable<?>) args[0]).forEach(id -> found.add(allSalons.get(((Long) id).intValue())));
+                    return found;
+                }));
+        CityRepository cityRepository = stub(CityRepository.class, Map.of(
+                "findByNameEqualsIgnoreCase", Optional.of(cities.get(0)),
+                "findAllNames", List.of(CITIES)));
+        TreatmentRepository treatmentRepository = stub(TreatmentRepository.class, Map.of("findAllNames", List.of()));
+        salonService = new SalonServiceImpl(salonRepository, null, null, null, null, cityRepository, null,
+                new SalonSearchServiceImpl(salonRepository, treatmentRepository, cityRepository));
+    }
+
+    /**
+     * A repository answering by method name, cheaper and more predictable per call than a Mockito mock. A result
+     * that is a function is called with the arguments.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> repository, Map<String, Object> results) {
+        return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository},
+                (proxy, method, args) -> results.get(method.getName()) instanceof Function<?, ?> function
+                        ? ((Function<Object[], Object>) function).apply(args)
+                        : results.get(method.getName())));
+    }
+
+    @Benchmark
+    public List<Salon> filterSalons() {
+        return salonService.filterSalons("салон", city, RADIUS_KM, 3.0f, USER_LOCATION, List.of(), true);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SalonFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
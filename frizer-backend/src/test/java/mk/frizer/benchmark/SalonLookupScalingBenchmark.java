@@ -0,0 +1,110 @@
+package mk.frizer.benchmark;
+
+import mk.frizer.domain.Salon;
+import mk.frizer.repository.EmployeeRepository;
+import mk.frizer.repository.SalonRepository;
+import mk.frizer.repository.TagRepository;
+import mk.frizer.repository.TreatmentRepository;
+import mk.frizer.service.EmployeeService;
+import mk.frizer.service.TagService;
+import mk.frizer.service.TreatmentService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Regression check for the per-salon lookups: the latency of {@code getTreatmentsForSalon}, {@code getEmployeesForSalon}
+ * and {@code getTagsForSalon} for one salon must stay flat while the rest of the tables grow. The former
+ * {@code findAll()}-and-filter implementation is measured next to them for comparison.
+ * <p>
+ * The measured salon always has 10 treatments, 10 employees and 3 tags; every step adds salons with 10 of each until
+ * the tables hold the requested number of rows. Run with {@code -Dsizes=1000,5000,20000 -Diterations=200}.
+ */
+public class SalonLookupScalingBenchmark {
+    private static final long SALON_ID = 1L;
+    private static final int PER_SALON = 10;
+    private static final int[] SIZES = Arrays.stream(System.getProperty("sizes", "1000,5000,20000").split(","))
+            .mapToInt(Integer::parseInt).toArray();
+    private static final int ITERATIONS = Integer.getInteger("iterations", 200);
+    private static final int SCAN_ITERATIONS = 3;
+
+    public static void main(String[] args) {
+        List<String> rows = new ArrayList<>();
+        try (ConfigurableApplicationContext context = H2Application.start("lookup")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            TreatmentService treatmentService = context.getBean(TreatmentService.class);
+            EmployeeService employeeService = context.getBean(EmployeeService.class);
+            TagService tagService = context.getBean(TagService.class);
+            TreatmentRepository treatmentRepository = context.getBean(TreatmentRepository.class);
+            EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+            TagRepository tagRepository = context.getBean(TagRepository.class);
+            SalonRepository salonRepository = context.getBean(SalonRepository.class);
+
+            insertSalon(jdbcTemplate, SALON_ID, 3);
+            long salons = 1;
+            for (int size : SIZES) {
+                while (salons * PER_SALON < size) {
+                    insertSalon(jdbcTemplate, ++salons, PER_SALON);
+                }
+                rows.add(row(size, "treatments indexed", ITERATIONS, () -> treatmentService.getTreatmentsForSalon(SALON_ID)));
+                rows.add(row(size, "treatments scan", SCAN_ITERATIONS, () -> treatmentRepository.findAll().stream()
+                        .filter(t -> t.getSalon().getId().equals(SALON_ID)).toList()));
+                rows.add(row(size, "employees indexed", ITERATIONS, () -> employeeService.getEmployeesForSalon(SALON_ID)));
+                rows.add(row(size, "employees scan", SCAN_ITERATIONS, () -> {
+                    Salon salon = salonRepository.findById(SALON_ID).orElseThrow();
+                    return employeeRepository.findAll().stream().filter(e -> e.getSalon().equals(salon)).toList();
+                }));
+                rows.add(row(size, "tags indexed", ITERATIONS, () -> tagService.getTagsForSalon(SALON_ID)));
+                rows.add(row(size, "tags scan", SCAN_ITERATIONS, () -> {
+                    Salon salon = salonRepository.findById(SALON_ID).orElseThrow();
+                    return tagRepository.findAll().stream().filter(t -> t.getSalonsWithTag().contains(salon)).toList();
+                }));
+            }
+        }
+
+        System.out.printf("%n%10s %-20s %8s %12s%n", "rows", "lookup", "results", "p50 ms");
+        rows.forEach(System.out::println);
+    }
+
+    /**
+     * Inserts a salon with its own treatments, employees and tags straight through JDBC, which keeps growing the
+     * tables cheap compared to the lookups being measured.
+     */
+    private static void insertSalon(JdbcTemplate jdbcTemplate, long salonId, int tags) {
+        jdbcTemplate.update("insert into salon (id, name, rating, number_of_reviews) values (?, ?, 0, 0)", salonId, "Salon " + salonId);
+        List<Object[]> treatments = new ArrayList<>();
+        List<Object[]> employees = new ArrayList<>();
+        List<Object[]> tagRows = new ArrayList<>();
+        List<Object[]> salonTags = new ArrayList<>();
+        for (int i = 0; i < PER_SALON; i++) {
+            long id = salonId * PER_SALON + i;
+            treatments.add(new Object[]{id, "Treatment " + id, 1, 500.0, salonId});
+            employees.add(new Object[]{id, salonId});
+        }
+        for (int i = 0; i < tags; i++) {
+            long id = salonId * PER_SALON + i;
+            tagRows.add(new Object[]{id, "Tag " + id});
+            salonTags.add(new Object[]{salonId, id});
+        }
+        jdbcTemplate.batchUpdate("insert into treatment (id, name, duration_multiplier, price, salon_id) values (?, ?, ?, ?, ?)", treatments);
+        jdbcTemplate.batchUpdate("insert into employee (id, salon_id) values (?, ?)", employees);
+        jdbcTemplate.batchUpdate("insert into tag (id, name) values (?, ?)", tagRows);
+        jdbcTemplate.batchUpdate("insert into salon_tags (salons_with_tag_id, tags_id) values (?, ?)", salonTags);
+    }
+
+    private static String row(int size, String lookup, int iterations, Supplier<List<?>> call) {
+        int results = call.get().size();
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            call.get();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return String.format("%10d %-20s %8d %12.3f", size, lookup, results, latencies[iterations / 2] / 1e6);
+    }
+}
@@ -0,0 +1,81 @@
+package mk.frizer.benchmark;
+
+import mk.frizer.utilities.SalonNameIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Salon name search over a {@link SalonNameIndex} against the former scan of every name with
+ * {@code toLowerCase().contains()}, over names built like the synthetic dataset's. The queries are a word most names
+ * share, a name a sixteenth of them have, the same in Latin letters, which the scan cannot match, and a typo.
+ * {@code top20} is what a search box needs, {@code all} is every match ranked, as the salon filter asks for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class SalonNameSearchBenchmark {
+    private static final String[] KINDS = {"Фризерски салон", "Салон за убавина", "Фризерско студио", "Студио за убавина", "Барбершоп"};
+    private static final String[] NAMES = {"Стил", "Елит", "Гламур", "Естетика", "Оаза", "Мистик", "Лукс", "Бисера",
+            "Елеганција", "Перфекција", "Шарм", "Визија", "Тренд", "Аура", "Сјај", "Корона"};
+
+    @Param({"10000", "1000000"})
+    public int salons;
+
+    @Param({"салон", "Гламур", "glamur", "естетка"})
+    public String query;
+
+    private String[] names;
+    private SalonNameIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        names = new String[salons];
+        Map<Long, String> namesById = new HashMap<>(salons * 2);
+        for (int i = 0; i < salons; i++) {
+            names[i] = KINDS[random.nextInt(KINDS.length)] + " " + NAMES[random.nextInt(NAMES.length)] + " " + i;
+            namesById.put((long) i, names[i]);
+        }
+        index = new SalonNameIndex();
+        index.rebuild(namesById);
+    }
+
+    @Benchmark
+    public int scan() {
+        String lowerCaseQuery = query.toLowerCase();
+        int matches = 0;
+        for (String name : names) {
+            if (name.toLowerCase().contains(lowerCaseQuery)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public List<Long> top20() {
+        return index.search(query, 20);
+    }
+
+    @Benchmark
+    public List<Long> all() {
+        return index.search(query, Integer.MAX_VALUE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SalonNameSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
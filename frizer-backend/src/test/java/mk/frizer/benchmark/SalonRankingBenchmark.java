@@ -0,0 +1,77 @@
+package mk.frizer.benchmark;
+
+import mk.frizer.domain.dto.SalonRankDTO;
+import mk.frizer.utilities.GeoPoint;
+import mk.frizer.utilities.SalonRanker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of ranking the salons of a search for the first page of 20, keeping the best in a bounded heap with
+ * {@link SalonRanker#top} against scoring every candidate once and sorting them all. Salons are spread over Macedonia with the
+ * synthetic dataset's review counts, and one wanted tag is held by a tenth of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class SalonRankingBenchmark {
+    private static final int PAGE = 20;
+
+    @Param({"100000", "1000000"})
+    public int salons;
+
+    private List<SalonRankDTO> candidates;
+    private SalonRanker ranker;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        candidates = new ArrayList<>(salons);
+        BitSet tagged = new BitSet(salons);
+        for (long id = 1; id <= salons; id++) {
+            int reviews = random.nextInt(200);
+            candidates.add(new SalonRankDTO(id, "Скопје", reviews == 0 ? 0.0 : 1 + random.nextDouble() * 4, reviews,
+                    (float) random.nextDouble(40.85, 42.37), (float) random.nextDouble(20.45, 23.04)));
+            if (random.nextInt(10) == 0) {
+                tagged.set((int) id);
+            }
+        }
+        ranker = new SalonRanker(GeoPoint.of(41.9981, 21.4254), List.of(tagged));
+    }
+
+    @Benchmark
+    public List<Long> top() {
+        return ranker.top(candidates, PAGE);
+    }
+
+    @Benchmark
+    public List<Long> fullSort() {
+        double mean = SalonRanker.meanRating(candidates);
+        record Scored(long id, double score) {
+        }
+        List<Scored> scored = new ArrayList<>(candidates.size());
+        for (SalonRankDTO salon : candidates) {
+            scored.add(new Scored(salon.getId(), ranker.score(salon, mean)));
+        }
+        scored.sort(Comparator.comparingDouble((Scored salon) -> -salon.score()).thenComparingLong(Scored::id));
+        return scored.subList(0, PAGE).stream().map(Scored::id).toList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SalonRankingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
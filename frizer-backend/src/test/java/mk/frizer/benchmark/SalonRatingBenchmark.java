@@ -0,0 +1,63 @@
+package mk.frizer.benchmark;
+
+import mk.frizer.domain.Salon;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of keeping a salon's average rating up to date as its reviews are added, edited and removed, through the
+ * running average of {@link Salon#addReview}, {@link Salon#updateReview} and {@link Salon#deleteReview}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SalonRatingBenchmark {
+    @Param({"50", "5000"})
+    public int reviews;
+
+    private double[] grades;
+    private double[] editedGrades;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        grades = new double[reviews];
+        editedGrades = new double[reviews];
+        for (int i = 0; i < reviews; i++) {
+            grades[i] = random.nextInt(1, 6);
+            editedGrades[i] = random.nextInt(1, 6);
+        }
+    }
+
+    @Benchmark
+    public double addEditAndRemoveReviews() {
+        Salon salon = new Salon();
+        salon.setRating(0.0);
+        salon.setNumberOfReviews(0);
+        for (double grade : grades) {
+            salon.addReview(grade);
+        }
+        for (int i = 0; i < reviews; i++) {
+            salon.updateReview(editedGrades[i], grades[i]);
+        }
+        // The last review is kept, removing it divides by zero reviews
+        for (int i = 0; i < reviews - 1; i++) {
+            salon.deleteReview(editedGrades[i]);
+        }
+        return salon.getRating();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SalonRatingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package mk.frizer.benchmark;
+
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Peak heap while {@code GET /api/users} is answered as a buffered list and with {@code ?stream=true}, for growing
+ * numbers of users. The buffered response grows with the table, the streamed one should stay flat.
+ * <p>
+ * Run with a small heap to make the difference visible, e.g. {@code -Xmx512m -Dsizes=10000,50000,100000}.
+ */
+public class StreamingResponseComparison {
+    private static final int[] SIZES = Arrays.stream(System.getProperty("sizes", "10000,50000,100000").split(","))
+            .mapToInt(Integer::parseInt).toArray();
+
+    public static void main(String[] args) throws Exception {
+        List<String> rows = new ArrayList<>();
+        try (ConfigurableApplicationContext context = H2Application.start("streaming")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            String base = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newHttpClient();
+
+            int users = 0;
+            for (int size : SIZES) {
+                List<Object[]> rowsToInsert = new ArrayList<>();
+                for (; users < size; users++) {
+                    rowsToInsert.add(new Object[]{users + 1, "user" + users + "@email.com", "hash", "First", "Last " + users, String.format("+389%08d", users)});
+                }
+                jdbcTemplate.batchUpdate("insert into base_user (id, email, password, first_name, last_name, phone_number) values (?, ?, ?, ?, ?, ?)", rowsToInsert);
+                jdbcTemplate.update("insert into base_user_roles (base_user_id, roles) select id, 'ROLE_USER' from base_user where id > ?", size - rowsToInsert.size());
+
+                // Streamed first: a buffered response that runs out of heap must not hide the streamed result
+                rows.add(measure(client, base + "/api/users?stream=true", size, "stream"));
+                System.out.println(rows.get(rows.size() - 1));
+                rows.add(measure(client, base + "/api/users", size, "list"));
+                System.out.println(rows.get(rows.size() - 1));
+            }
+        }
+
+        System.out.printf("%n%10s %-8s %12s %14s %10s%n", "users", "mode", "body MB", "peak heap MB", "seconds");
+        rows.forEach(System.out::println);
+    }
+
+    private static String measure(HttpClient client, String url, int size, String mode) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        long bytes = 0;
+        HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            byte[] buffer = new byte[64 * 1024];
+            for (int read; (read = body.read(buffer)) != -1; ) {
+                bytes += read;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        sampler.interrupt();
+        sampler.join();
+
+        return String.format("%10d %-8s %12.1f %14.1f %10.2f", size, mode, bytes / 1e6, (peak.get() - baseline) / 1e6, seconds);
+    }
+}
@@ -0,0 +1,92 @@
+package mk.frizer.benchmark;
+
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.Tag;
+import mk.frizer.utilities.TagBitmapIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of filtering salons by two tags and counting the salons per tag within the result, over a
+ * {@link TagBitmapIndex} against walking the tags of every loaded salon. Salons have one to four of 40 tags, the
+ * lower tag ids being the more common ones, as popular tags like haircut are.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class TagFacetBenchmark {
+    private static final int TAGS = 40;
+    private static final List<Long> FILTER = List.of(1L, 3L);
+
+    @Param({"100000", "1000000"})
+    public int salons;
+
+    private List<Salon> allSalons;
+    private List<Tag> tags;
+    private TagBitmapIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        tags = new ArrayList<>();
+        for (long id = 1; id <= TAGS; id++) {
+            Tag tag = new Tag("Tag " + id);
+            tag.setId(id);
+            tags.add(tag);
+        }
+        allSalons = new ArrayList<>(salons);
+        index = new TagBitmapIndex();
+        for (long id = 1; id <= salons; id++) {
+            Salon salon = new Salon();
+            salon.setId(id);
+            salon.setTags(new ArrayList<>());
+            int count = 1 + random.nextInt(4);
+            for (int i = 0; i < count; i++) {
+                // The square skews the draw towards the first tags
+                double draw = random.nextDouble();
+                Tag tag = tags.get((int) (draw * draw * TAGS));
+                if (!salon.getTags().contains(tag)) {
+                    salon.getTags().add(tag);
+                    index.add(tag.getId(), id);
+                }
+            }
+            allSalons.add(salon);
+        }
+    }
+
+    @Benchmark
+    public Map<Long, Integer> bitmap() {
+        return index.countTags(index.salonsWithTags(FILTER, true));
+    }
+
+    @Benchmark
+    public Map<Long, Integer> scan() {
+        Map<Long, Integer> counts = new TreeMap<>();
+        for (Salon salon : allSalons) {
+            List<Long> salonTags = salon.getTags().stream().map(Tag::getId).toList();
+            if (salonTags.containsAll(FILTER)) {
+                salonTags.forEach(tag -> counts.merge(tag, 1, Integer::sum));
+            }
+        }
+        return counts;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TagFacetBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
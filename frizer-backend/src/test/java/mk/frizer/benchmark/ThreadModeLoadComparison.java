@@ -0,0 +1,154 @@
+package mk.frizer.benchmark;
+
+import mk.frizer.domain.*;
+import mk.frizer.domain.dto.*;
+import mk.frizer.repository.CityRepository;
+import mk.frizer.service.*;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares the platform-thread and the virtual-thread request mode on the salon search and availability endpoints.
+ * Each mode boots the whole application on an in-memory H2 stand-in with the production pool size, seeds the same
+ * data and is hit by the same number of concurrent clients.
+ * <p>
+ * Run with {@code -Dclients=200 -Dseconds=20 -Dwarmup=10 -Dsalons=50}; requests sent during the warmup are not recorded.
+ */
+public class ThreadModeLoadComparison {
+    private static final int CLIENTS = Integer.getInteger("clients", 200);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("seconds", 20));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("warmup", 10));
+    private static final int SALONS = Integer.getInteger("salons", 50);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Map<String, long[]>> results = new LinkedHashMap<>();
+        results.put("platform", run(false));
+        results.put("virtual", run(true));
+
+        System.out.printf("%n%-10s %-28s %10s %10s %10s %10s%n", "mode", "endpoint", "requests", "req/s", "p50 ms", "p99 ms");
+        results.forEach((mode, endpoints) -> endpoints.forEach((endpoint, latencies) -> {
+            Arrays.sort(latencies);
+            System.out.printf("%-10s %-28s %10d %10.1f %10.2f %10.2f%n", mode, endpoint, latencies.length,
+                    latencies.length / (double) DURATION.toSeconds(),
+                    percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6);
+        }));
+    }
+
+    private static Map<String, long[]> run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = H2Application.start("load-" + virtualThreads,
+                "--spring.datasource.hikari.maximumPoolSize=5",
+                "--spring.threads.virtual.enabled=" + virtualThreads)) {
+            List<long[]> targets = seed(context);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            return drive("http://localhost:" + port, targets);
+        }
+    }
+
+    /**
+     * Seeds {@code SALONS} salons with two employees, a treatment and a few booked days each,
+     * returning {@code [salonId, employeeId]} pairs to query.
+     */
+    private static List<long[]> seed(ConfigurableApplicationContext context) {
+        CityRepository cityRepository = context.getBean(CityRepository.class);
+        BaseUserService baseUserService = context.getBean(BaseUserService.class);
+        BusinessOwnerService businessOwnerService = context.getBean(BusinessOwnerService.class);
+        SalonService salonService = context.getBean(SalonService.class);
+        TreatmentService treatmentService = context.getBean(TreatmentService.class);
+        EmployeeService employeeService = context.getBean(EmployeeService.class);
+        CustomerService customerService = context.getBean(CustomerService.class);
+        AppointmentService appointmentService = context.getBean(AppointmentService.class);
+
+        cityRepository.save(new City("Скопје"));
+        List<BaseUserAddDTO> users = new ArrayList<>();
+        for (int i = 0; i < SALONS * 2 + 1; i++) {
+            users.add(new BaseUserAddDTO("load" + i + "@email.com", "password", "Load", "User" + i, String.format("07%07d", i)));
+        }
+        List<BaseUser> baseUsers = baseUserService.createBaseUsers(users);
+        BusinessOwner owner = businessOwnerService.createBusinessOwner(baseUsers.get(0).getId()).get();
+        Customer customer = customerService.getCustomerByBaseUserId(baseUsers.get(0).getId()).get();
+
+        List<long[]> targets = new ArrayList<>();
+        LocalDateTime firstDay = LocalDateTime.of(LocalDate.now().plusDays(1), LocalTime.of(8, 0));
+        for (int i = 0; i < SALONS; i++) {
+            Salon salon = salonService.createSalon(new SalonAddDTO("Фризерски салон " + i, "Салон за убавина", "Улица " + i, "Скопје",
+                    "070000000", owner.getId(), 41.99f + i * 0.001f, 21.42f + i * 0.001f)).get();
+            Treatment treatment = treatmentService.createTreatment(new TreatmentAddDTO("Шишање", salon.getId(), 300.0, 1)).get();
+            for (int e = 1; e <= 2; e++) {
+                Employee employee = employeeService.createEmployee(new EmployeeAddDTO(baseUsers.get(i * 2 + e).getId(), salon.getId())).get();
+                for (int day = 0; day < 3; day++) {
+                    LocalDateTime from = firstDay.plusDays(day).plusHours(e);
+                    appointmentService.createAppointment(new AppointmentAddDTO(from, from.plusMinutes(20), treatment.getId(), salon.getId(), employee.getId(), customer.getId()));
+                }
+                targets.add(new long[]{salon.getId(), employee.getId()});
+            }
+        }
+        return targets;
+    }
+
+    private static Map<String, long[]> drive(String baseUrl, List<long[]> targets) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long deadline = measureFrom + DURATION.toNanos();
+        List<List<long[]>> perClient = Collections.synchronizedList(new ArrayList<>());
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    List<long[]> samples = new ArrayList<>();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        boolean search = random.nextBoolean();
+                        long[] target = targets.get(random.nextInt(targets.size()));
+                        String path = search
+                                ? "/api/salons/search?name=" + random.nextInt(10) + "&rating=0&distance=50&userLocation=41.99,21.42"
+                                : "/api/appointments/available-slots?salonId=" + target[0] + "&employeeId=" + target[1];
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200 && start >= measureFrom) {
+                                samples.add(new long[]{search ? 0 : 1, System.nanoTime() - start});
+                            }
+                        } catch (Exception ignored) {
+                            // failed requests are not counted
+                        }
+                    }
+                    perClient.add(samples);
+                    return null;
+                });
+            }
+        }
+
+        Map<String, long[]> latencies = new LinkedHashMap<>();
+        latencies.put("GET /api/salons/search", collect(perClient, 0));
+        latencies.put("GET .../available-slots", collect(perClient, 1));
+        return latencies;
+    }
+
+    private static long[] collect(List<List<long[]>> perClient, int endpoint) {
+        return perClient.stream().flatMap(List::stream)
+                .filter(sample -> sample[0] == endpoint)
+                .mapToLong(sample -> sample[1])
+                .toArray();
+    }
+
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,136 @@
+package mk.frizer.benchmark;
+
+import mk.frizer.domain.Appointment;
+import mk.frizer.domain.AppointmentTimeSlot;
+import mk.frizer.domain.ClosedDay;
+import mk.frizer.domain.Employee;
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.WorkingHours;
+import mk.frizer.utilities.TimeSlotGenerator;
+import mk.frizer.utilities.WeeklySchedule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the ten days of slots the availability endpoint returns for an employee, once the appointments are
+ * loaded. {@code fixedShift} is how they were found before salons had schedules: every 20 minute slot of an 08:00
+ * to 20:00 day checked against all the employee's appointments. {@code defaultSchedule} is the same day through
+ * {@link TimeSlotGenerator#getAvailableSlots(WeeklySchedule, LocalDateTime, List, int)}, and {@code richSchedule}
+ * a week with lunch breaks, the employee's own hours, 15 minute slots and closed days, which should cost no more.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeSlotBenchmark {
+    private static final int SLOT_DURATION_MINUTES = 20;
+    private static final int DAYS = 10;
+    private static final LocalTime OPEN = LocalTime.of(8, 0);
+    private static final LocalTime CLOSE = LocalTime.of(20, 0);
+
+    @Param({"20", "2000"})
+    public int takenAppointments;
+
+    @Param({"1", "3"})
+    public int durationMultiplier;
+
+    // A Monday, before the salon opens
+    private final LocalDateTime now = LocalDateTime.of(LocalDate.of(2024, 6, 3), LocalTime.of(7, 0));
+    private List<Appointment> taken;
+    private WeeklySchedule richSchedule;
+
+    @Setup
+    public void setUp() {
+        taken = new ArrayList<>();
+        LocalDateTime day = now.with(OPEN);
+        for (int i = 0; i < takenAppointments; i++) {
+            // 36 slots a day over ten days, wrapping around when there are more appointments than slots
+            LocalDateTime from = day.plusDays(i % DAYS).plusMinutes(20L * ((i / DAYS) % 36));
+            taken.add(new Appointment(from, from.plusMinutes(20), null, null, null, null));
+        }
+
+        Salon salon = new Salon();
+        Employee employee = new Employee();
+        employee.setId(1L);
+        List<WorkingHours> hours = new ArrayList<>();
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            if (dayOfWeek != DayOfWeek.SUNDAY) {
+                hours.add(new WorkingHours(salon, null, dayOfWeek, LocalTime.of(8, 0), LocalTime.of(13, 0)));
+                hours.add(new WorkingHours(salon, null, dayOfWeek, LocalTime.of(13, 30), LocalTime.of(20, 0)));
+                hours.add(new WorkingHours(salon, employee, dayOfWeek, LocalTime.of(8, 0), LocalTime.of(12, 0)));
+                hours.add(new WorkingHours(salon, employee, dayOfWeek, LocalTime.of(12, 30), LocalTime.of(20, 0)));
+            }
+        }
+        List<ClosedDay> closedDays = List.of(new ClosedDay(salon, null, now.toLocalDate().plusDays(2)),
+                new ClosedDay(salon, employee, now.toLocalDate().plusDays(4)));
+        richSchedule = WeeklySchedule.compile(hours, 1L, closedDays, 15, DAYS);
+    }
+
+    @Benchmark
+    public List<List<AppointmentTimeSlot>> fixedShift() {
+        List<List<AppointmentTimeSlot>> slots = new ArrayList<>(DAYS);
+        for (int i = 0; i < DAYS; i++) {
+            LocalDateTime date = i == 0 ? now : LocalDateTime.of(now.toLocalDate().plusDays(i), OPEN);
+            slots.add(getFixedShiftSlots(OPEN, CLOSE, date, taken, durationMultiplier));
+        }
+        return slots;
+    }
+
+    @Benchmark
+    public List<List<AppointmentTimeSlot>> defaultSchedule() {
+        return TimeSlotGenerator.getAvailableSlots(WeeklySchedule.DEFAULT, now, taken,
+                TimeSlotGenerator.TREATMENT_DURATION_MINUTES * durationMultiplier);
+    }
+
+    @Benchmark
+    public List<List<AppointmentTimeSlot>> richSchedule() {
+        return TimeSlotGenerator.getAvailableSlots(richSchedule, now, taken,
+                TimeSlotGenerator.TREATMENT_DURATION_MINUTES * durationMultiplier);
+    }
+
+    // The fixed shift generator as it was, for comparison
+    private static List<AppointmentTimeSlot> getFixedShiftSlots(LocalTime openTime, LocalTime closeTime, LocalDateTime date,
+                                                                List<Appointment> takenAppointments, int durationMultiplier) {
+        List<AppointmentTimeSlot> availableSlots = new ArrayList<>();
+        LocalDateTime currentSlot = date.toLocalTime().isAfter(openTime) ?
+                date.plusHours(1).truncatedTo(ChronoUnit.HOURS) :
+                date.withHour(openTime.getHour()).withMinute(openTime.getMinute());
+        LocalDateTime endOfDay = date.withHour(closeTime.getHour()).withMinute(closeTime.getMinute());
+
+        while (!currentSlot.plusMinutes((long) SLOT_DURATION_MINUTES * durationMultiplier).isAfter(endOfDay)) {
+            AppointmentTimeSlot slot = new AppointmentTimeSlot(currentSlot,
+                    currentSlot.plusMinutes((long) SLOT_DURATION_MINUTES * durationMultiplier));
+            boolean available = true;
+            for (Appointment appointment : takenAppointments) {
+                if (slot.getFrom().isBefore(appointment.getDateTo()) && slot.getTo().isAfter(appointment.getDateFrom())) {
+                    available = false;
+                    break;
+                }
+            }
+            if (available) {
+                availableSlots.add(slot);
+            }
+            currentSlot = currentSlot.plusMinutes(SLOT_DURATION_MINUTES);
+        }
+        return availableSlots;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TimeSlotBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
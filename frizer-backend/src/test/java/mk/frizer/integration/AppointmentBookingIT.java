@@ -0,0 +1,158 @@
+package mk.frizer.integration;
+
+import mk.frizer.domain.Appointment;
+import mk.frizer.domain.AppointmentTimeSlot;
+import mk.frizer.domain.dto.AppointmentBookingDTO;
+import mk.frizer.domain.dto.EmployeeAddDTO;
+import mk.frizer.domain.dto.TreatmentAddDTO;
+import mk.frizer.domain.exceptions.AppointmentSlotTakenException;
+import mk.frizer.domain.exceptions.TreatmentNotFoundException;
+import mk.frizer.repository.AppointmentRepository;
+import mk.frizer.service.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Books several treatments at once against H2, checking that they land back to back, that an overlapping booking
+ * saves nothing, and that two bookings racing for one employee's time cannot both succeed.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("it")
+@Import(IntegrationFixtures.class)
+public class AppointmentBookingIT {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private TreatmentService treatmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    private Long salonId;
+    private Long employeeId;
+    private Long customerId;
+    private Long cut;
+    private Long wash;
+
+    @BeforeEach
+    void setUp() {
+        salonId = fixtures.createSalon(fixtures.createBusinessOwner()).getId();
+        employeeId = employeeService.createEmployee(new EmployeeAddDTO(fixtures.createUser().getId(), salonId)).get().getId();
+        customerId = customerService.createCustomer(fixtures.createUser().getId()).get().getId();
+        cut = treatmentService.createTreatment(new TreatmentAddDTO("Шишање", salonId, 300.0, 1)).get().getId();
+        wash = treatmentService.createTreatment(new TreatmentAddDTO("Миење и фенирање", salonId, 400.0, 2)).get().getId();
+    }
+
+    private AppointmentBookingDTO booking(LocalDateTime from, Long... treatmentIds) {
+        return new AppointmentBookingDTO(from, List.of(treatmentIds), salonId, employeeId, customerId);
+    }
+
+    private long appointmentsOfEmployee() {
+        return appointmentRepository.findAll().stream().filter(a -> a.getEmployee().getId().equals(employeeId)).count();
+    }
+
+    /**
+     * Test that the treatments are booked one after the other, and that the free slots for them together leave out
+     * every start that would run into the booking.
+     */
+    @Test
+    void testBookingPlacesTreatmentsBackToBack() {
+        LocalDateTime ten = LocalDateTime.of(LocalDate.now().plusDays(2), LocalTime.of(10, 0));
+
+        List<Appointment> appointments = appointmentService.bookAppointments(booking(ten, cut, wash));
+
+        assertEquals(List.of(ten, ten.plusMinutes(20)), appointments.stream().map(Appointment::getDateFrom).toList());
+        assertEquals(List.of(ten.plusMinutes(20), ten.plusMinutes(60)), appointments.stream().map(Appointment::getDateTo).toList());
+        assertEquals(List.of(cut, wash), appointments.stream().map(a -> a.getTreatment().getId()).toList());
+
+        List<LocalDateTime> starts = appointmentService.getAvailableTimeSlots(salonId, employeeId, List.of(cut, wash))
+                .get(2).stream().map(AppointmentTimeSlot::getFrom).toList();
+        assertTrue(starts.contains(ten.minusMinutes(60)));
+        assertFalse(starts.contains(ten.minusMinutes(40)));
+        assertFalse(starts.contains(ten.plusMinutes(40)));
+        assertTrue(starts.contains(ten.plusMinutes(60)));
+    }
+
+    /**
+     * Test that a booking overlapping an appointment, or with a treatment of another salon, saves none of its
+     * appointments.
+     */
+    @Test
+    void testRejectedBookingSavesNothing() {
+        LocalDateTime ten = LocalDateTime.of(LocalDate.now().plusDays(3), LocalTime.of(10, 0));
+        appointmentService.bookAppointments(booking(ten, wash));
+        long booked = appointmentsOfEmployee();
+
+        assertThrows(AppointmentSlotTakenException.class,
+                () -> appointmentService.bookAppointments(booking(ten.minusMinutes(20), cut, cut)));
+        assertThrows(TreatmentNotFoundException.class,
+                () -> appointmentService.bookAppointments(booking(ten.plusHours(2), cut, -1L)));
+        assertEquals(booked, appointmentsOfEmployee());
+
+        assertEquals(2, appointmentService.bookAppointments(booking(ten.minusMinutes(40), cut, cut)).size());
+    }
+
+    /**
+     * Test that of two bookings racing for the same time of one employee, exactly one is saved.
+     */
+    @Test
+    void testConcurrentBookingsOfOneSlot() throws InterruptedException {
+        LocalDateTime ten = LocalDateTime.of(LocalDate.now().plusDays(4), LocalTime.of(10, 0));
+        long booked = appointmentsOfEmployee();
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<List<Appointment>> book = () -> {
+            start.await();
+            return appointmentService.bookAppointments(booking(ten, cut, wash));
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<List<Appointment>>> results = new ArrayList<>();
+        try {
+            results.add(executor.submit(book));
+            results.add(executor.submit(book));
+            start.countDown();
+            int succeeded = 0;
+            for (Future<List<Appointment>> result : results) {
+                try {
+                    result.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(AppointmentSlotTakenException.class, e.getCause());
+                }
+            }
+            assertEquals(1, succeeded);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(booked + 2, appointmentsOfEmployee());
+    }
+}
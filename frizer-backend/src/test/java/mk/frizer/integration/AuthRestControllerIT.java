@@ -0,0 +1,89 @@
+package mk.frizer.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mk.frizer.domain.BaseUser;
+import mk.frizer.domain.dto.LoginDTO;
+import mk.frizer.domain.exceptions.InvalidUsernameOrPasswordException;
+import mk.frizer.service.BaseUserService;
+import mk.frizer.service.JwtService;
+import mk.frizer.web.rest.AuthRestController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(AuthRestController.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class AuthRestControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BaseUserService baseUserService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private BaseUser user;
+
+    @BeforeEach
+    void setUp() {
+        user = new BaseUser("user@example.com", "encodedPassword", "First", "Last", "1234567890");
+        user.setId(1L);
+    }
+
+    @Test
+    void testLogin() throws Exception {
+        // Arrange
+        LoginDTO loginDTO = new LoginDTO("user@example.com", "password");
+
+        // When
+        when(baseUserService.login("user@example.com", "password")).thenReturn(Optional.of(user));
+        when(jwtService.generateToken(any(BaseUser.class))).thenReturn("token");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginDTO)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.token").value("token"))
+                .andExpect(jsonPath("$.user.id").value(user.getId()))
+                .andExpect(jsonPath("$.user.email").value(user.getEmail()));
+    }
+
+    @Test
+    void testLogin_InvalidCredentials() throws Exception {
+        // Arrange
+        LoginDTO loginDTO = new LoginDTO("user@example.com", "wrong");
+
+        // When
+        when(baseUserService.login(anyString(), anyString())).thenThrow(InvalidUsernameOrPasswordException.class);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginDTO)))
+                .andExpect(status().isUnauthorized());
+        verify(jwtService, never()).generateToken(any(BaseUser.class));
+    }
+}
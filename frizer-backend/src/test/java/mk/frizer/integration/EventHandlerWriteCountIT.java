@@ -0,0 +1,128 @@
+package mk.frizer.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import mk.frizer.config.StatementRecording;
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.Treatment;
+import mk.frizer.domain.dto.*;
+import mk.frizer.service.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the writes of the user actions whose events maintain the inverse side collections. The relations are
+ * stored by the owning side, so every action must be a single insert or update, both in the SQL sent and in the
+ * entity actions Hibernate has to dirty check and execute at flush, however the handlers react.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("it")
+@Import(IntegrationFixtures.class)
+public class EventHandlerWriteCountIT {
+
+    @Autowired
+    private SalonService salonService;
+
+    @Autowired
+    private TreatmentService treatmentService;
+
+    @Autowired
+    private BusinessOwnerService businessOwnerService;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = fixtures.createBusinessOwner();
+    }
+
+    /**
+     * Runs the action and asserts that it sent one SQL write, executed one entity insert or update and did not
+     * repeat any select.
+     */
+    private void assertWritesOnce(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        StatementRecording recording = SqlBudgetAssertions.record(action);
+
+        assertEquals(1, SqlBudgetAssertions.writeCount(recording), SqlBudgetAssertions.writes(recording).toString());
+        assertEquals(Map.of(), recording.getRepeatedSelects());
+        assertEquals(1, statistics.getEntityInsertCount() + statistics.getEntityUpdateCount(),
+                "inserts: " + statistics.getEntityInsertCount() + ", updates: " + statistics.getEntityUpdateCount());
+    }
+
+    private Salon createSalon() {
+        return fixtures.createSalon(ownerId);
+    }
+
+    /***
+     * Test Case for creating a salon
+     * SalonCreatedEvent only adds the salon to the owner's loaded list, the salon insert is the only write
+     * */
+    @Test
+    void testCreateSalonWritesOnce() {
+        assertWritesOnce(this::createSalon);
+
+        assertEquals(1, businessOwnerService.getBusinessOwnerById(ownerId).get().getSalonList().size());
+    }
+
+    /***
+     * Test Case for updating a salon
+     * SalonUpdatedEvent finds the salon already in the owner's list, the salon update is the only write
+     * */
+    @Test
+    void testUpdateSalonWritesOnce() {
+        Salon salon = createSalon();
+
+        assertWritesOnce(() -> salonService.updateSalon(salon.getId(),
+                new SalonUpdateDTO("Renamed", "Description", "Location", "071234567", 42.0f, 21.4f)));
+
+        assertEquals("Renamed", businessOwnerService.getBusinessOwnerById(ownerId).get().getSalonList().get(0).getName());
+    }
+
+    /***
+     * Test Case for creating a treatment
+     * TreatmentCreatedEvent only adds the treatment to the salon's loaded list, the treatment insert is the only write
+     * */
+    @Test
+    void testCreateTreatmentWritesOnce() {
+        Salon salon = createSalon();
+
+        assertWritesOnce(() -> treatmentService.createTreatment(new TreatmentAddDTO("Haircut", salon.getId(), 300.0, 1)));
+
+        assertEquals(List.of("Haircut"), salonService.getSalonById(salon.getId()).get().getSalonTreatments().stream()
+                .map(Treatment::getName).toList());
+    }
+
+    /***
+     * Test Case for updating a treatment
+     * TreatmentUpdatedEvent leaves the salon's list alone, the treatment update is the only write
+     * */
+    @Test
+    void testUpdateTreatmentWritesOnce() {
+        Salon salon = createSalon();
+        Treatment treatment = treatmentService.createTreatment(new TreatmentAddDTO("Haircut", salon.getId(), 300.0, 1)).get();
+
+        assertWritesOnce(() -> treatmentService.updateTreatment(treatment.getId(), new TreatmentUpdateDTO("Shave", 200.0, 2)));
+
+        assertEquals(List.of("Shave"), salonService.getSalonById(salon.getId()).get().getSalonTreatments().stream()
+                .map(Treatment::getName).toList());
+    }
+}
@@ -0,0 +1,158 @@
+package mk.frizer.integration;
+
+import mk.frizer.domain.dto.AppointmentExportDTO;
+import mk.frizer.domain.dto.ReviewExportDTO;
+import mk.frizer.domain.exceptions.SalonNotFoundException;
+import mk.frizer.service.AppointmentService;
+import mk.frizer.service.ReviewService;
+import mk.frizer.service.SalonService;
+import mk.frizer.utilities.ExportWriter;
+import mk.frizer.web.rest.ExportRestController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(ExportRestController.class)
+@Import(ExportWriter.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class ExportRestControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AppointmentService appointmentService;
+
+    @MockBean
+    private ReviewService reviewService;
+
+    @MockBean
+    private SalonService salonService;
+
+    private final Principal owner = new UsernamePasswordAuthenticationToken("owner@example.com", null);
+
+    private AppointmentExportDTO appointment;
+    private ReviewExportDTO review;
+
+    @BeforeEach
+    void setUp() {
+        appointment = new AppointmentExportDTO(1L, LocalDateTime.of(2024, 5, 1, 10, 0), LocalDateTime.of(2024, 5, 1, 10, 20),
+                2L, "Haircut", 500.0, 3L, 4L, true);
+        review = new ReviewExportDTO(5L, LocalDateTime.of(2024, 5, 2, 12, 0), 4.5, "Good, \"quick\" service", 6L, 3L);
+        when(salonService.isUserAuthorizedToAddSalon(1L, "owner@example.com")).thenReturn(true);
+    }
+
+    @Test
+    void testExportAppointmentsAsNdjson() throws Exception {
+        when(appointmentService.exportAppointments(eq(1L), any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<AppointmentExportDTO> action = invocation.getArgument(3);
+            action.accept(appointment);
+            action.accept(appointment);
+            return 2L;
+        });
+
+        String body = mockMvc.perform(get("/api/export/salons/{salonId}/appointments", 1L)
+                        .param("from", "2024-05-01").param("to", "2024-05-31").principal(owner))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"appointments-1.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        String line = "{\"id\":1,\"dateFrom\":\"2024-05-01 10:00\",\"dateTo\":\"2024-05-01 10:20\",\"treatmentId\":2," +
+                "\"treatmentName\":\"Haircut\",\"price\":500.0,\"employeeId\":3,\"customerId\":4,\"attended\":true}\n";
+        assertEquals(line + line, body);
+        verify(appointmentService).exportAppointments(eq(1L), eq(LocalDateTime.of(2024, 5, 1, 0, 0)),
+                eq(LocalDateTime.of(2024, 6, 1, 0, 0)), any());
+    }
+
+    @Test
+    void testExportReviewsAsCsv() throws Exception {
+        when(reviewService.exportReviews(eq(1L), any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<ReviewExportDTO> action = invocation.getArgument(3);
+            action.accept(review);
+            return 1L;
+        });
+
+        mockMvc.perform(get("/api/export/salons/{salonId}/reviews", 1L)
+                        .param("from", "2024-05-01").param("to", "2024-05-31").param("format", "csv").principal(owner))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string("id,date,rating,comment,authorId,employeeId\r\n" +
+                        "5,2024-05-02 12:00,4.5,\"Good, \"\"quick\"\" service\",6,3\r\n"));
+    }
+
+    @Test
+    void testExportIsCompressedWhenGzipIsAccepted() throws Exception {
+        when(reviewService.exportReviews(eq(1L), any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<ReviewExportDTO> action = invocation.getArgument(3);
+            action.accept(review);
+            return 1L;
+        });
+
+        byte[] body = mockMvc.perform(get("/api/export/salons/{salonId}/reviews", 1L)
+                        .param("from", "2024-05-01").param("to", "2024-05-31").param("format", "csv").principal(owner)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(List.of("id,date,rating,comment,authorId,employeeId",
+                    "5,2024-05-02 12:00,4.5,\"Good, \"\"quick\"\" service\",6,3"), csv.lines().toList());
+        }
+    }
+
+    @Test
+    void testExportForbiddenForOtherUsers() throws Exception {
+        Principal other = new UsernamePasswordAuthenticationToken("other@example.com", null);
+        when(salonService.isUserAuthorizedToAddSalon(1L, "other@example.com")).thenReturn(false);
+
+        mockMvc.perform(get("/api/export/salons/{salonId}/appointments", 1L)
+                        .param("from", "2024-05-01").param("to", "2024-05-31").principal(other))
+                .andExpect(status().isForbidden());
+        verify(appointmentService, never()).exportAppointments(any(), any(), any(), any());
+    }
+
+    @Test
+    void testExportOfUnknownSalon() throws Exception {
+        when(salonService.isUserAuthorizedToAddSalon(9L, "owner@example.com")).thenThrow(new SalonNotFoundException());
+
+        mockMvc.perform(get("/api/export/salons/{salonId}/reviews", 9L)
+                        .param("from", "2024-05-01").param("to", "2024-05-31").principal(owner))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testExportWithUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/export/salons/{salonId}/reviews", 1L)
+                        .param("from", "2024-05-01").param("to", "2024-05-31").param("format", "xml").principal(owner))
+                .andExpect(status().isBadRequest());
+    }
+}
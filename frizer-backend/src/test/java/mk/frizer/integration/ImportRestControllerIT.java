@@ -0,0 +1,109 @@
+package mk.frizer.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mk.frizer.domain.dto.*;
+import mk.frizer.domain.exceptions.UserNotFoundException;
+import mk.frizer.service.BusinessOwnerService;
+import mk.frizer.service.ChainImportService;
+import mk.frizer.web.rest.ImportRestController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Principal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(ImportRestController.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class ImportRestControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ChainImportService chainImportService;
+
+    @MockBean
+    private BusinessOwnerService businessOwnerService;
+
+    private final Principal owner = new UsernamePasswordAuthenticationToken("owner@example.com", null);
+
+    private ChainImportDTO chain;
+
+    @BeforeEach
+    void setUp() {
+        when(businessOwnerService.isUserBusinessOwner(1L, "owner@example.com")).thenReturn(true);
+
+        chain = new ChainImportDTO(1L, List.of(new SalonImportDTO("Salon A", "Description", "Location", "Скопје",
+                "071234567", 42.0f, 21.4f, List.of(10L), List.of(new TreatmentImportDTO("Haircut", 500.0, 1)))));
+    }
+
+    @Test
+    void testImportChain() throws Exception {
+        when(chainImportService.importChain(any())).thenReturn(new ImportResultDTO(1, 0, 1,
+                List.of(new ImportErrorDTO("salons[0].employeeUserIds[0]", "Unknown user: 10"))));
+
+        mockMvc.perform(post("/api/import/chain")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(chain))
+                        .principal(owner))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.salonsCreated").value(1))
+                .andExpect(jsonPath("$.employeesAssigned").value(0))
+                .andExpect(jsonPath("$.treatmentsCreated").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value("salons[0].employeeUserIds[0]"))
+                .andExpect(jsonPath("$.errors[0].message").value("Unknown user: 10"));
+    }
+
+    @Test
+    void testImportChainForAnotherOwner() throws Exception {
+        when(businessOwnerService.isUserBusinessOwner(1L, "other@example.com")).thenReturn(false);
+
+        mockMvc.perform(post("/api/import/chain")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(chain))
+                        .principal(new UsernamePasswordAuthenticationToken("other@example.com", null)))
+                .andExpect(status().isForbidden());
+        verify(chainImportService, never()).importChain(any());
+    }
+
+    @Test
+    void testImportChainForUnknownOwner() throws Exception {
+        chain.setBusinessOwnerId(2L);
+        when(businessOwnerService.isUserBusinessOwner(2L, "owner@example.com")).thenThrow(new UserNotFoundException());
+
+        mockMvc.perform(post("/api/import/chain")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(chain))
+                        .principal(owner))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testImportChainWithoutOwner() throws Exception {
+        chain.setBusinessOwnerId(null);
+
+        mockMvc.perform(post("/api/import/chain")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(chain))
+                        .principal(owner))
+                .andExpect(status().isBadRequest());
+    }
+}
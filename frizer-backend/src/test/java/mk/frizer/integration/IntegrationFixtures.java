@@ -0,0 +1,66 @@
+package mk.frizer.integration;
+
+import mk.frizer.domain.BaseUser;
+import mk.frizer.domain.City;
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.dto.BaseUserAddDTO;
+import mk.frizer.domain.dto.SalonAddDTO;
+import mk.frizer.repository.CityRepository;
+import mk.frizer.service.BaseUserService;
+import mk.frizer.service.BusinessOwnerService;
+import mk.frizer.service.SalonService;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Users, owners, cities and salons for the integration tests that run against the {@code it} profile's database.
+ * Every user gets a new email and phone number, so tests sharing a context do not collide.
+ */
+@TestComponent
+public class IntegrationFixtures {
+    public static final String CITY = "Скопје";
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final BaseUserService baseUserService;
+    private final BusinessOwnerService businessOwnerService;
+    private final SalonService salonService;
+    private final CityRepository cityRepository;
+
+    public IntegrationFixtures(BaseUserService baseUserService, BusinessOwnerService businessOwnerService,
+                               SalonService salonService, CityRepository cityRepository) {
+        this.baseUserService = baseUserService;
+        this.businessOwnerService = businessOwnerService;
+        this.salonService = salonService;
+        this.cityRepository = cityRepository;
+    }
+
+    public BaseUser createUser() {
+        long n = SEQUENCE.incrementAndGet();
+        return baseUserService.createBaseUser(new BaseUserAddDTO("user" + n + "@example.com", "password", "User", "User",
+                String.format("07%07d", n))).get();
+    }
+
+    /**
+     * The id of the business owner of a new user.
+     */
+    public Long createBusinessOwner() {
+        return businessOwnerService.createBusinessOwner(createUser().getId()).get().getId();
+    }
+
+    public void ensureCity(String name) {
+        if (!cityRepository.existsById(name)) {
+            cityRepository.save(new City(name));
+        }
+    }
+
+    /**
+     * A salon named "Salon" in {@link #CITY}, owned by the given owner.
+     */
+    public Salon createSalon(Long ownerId) {
+        ensureCity(CITY);
+        return salonService.createSalon(new SalonAddDTO("Salon", "Description", "Location", CITY, "071234567",
+                ownerId, 42.0f, 21.4f)).get();
+    }
+}
@@ -0,0 +1,113 @@
+package mk.frizer.integration;
+
+import mk.frizer.domain.Salon;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the whole application on H2 and scrapes the Prometheus endpoint of the management port.
+ */
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@ActiveProfiles("it")
+@Import(IntegrationFixtures.class)
+public class MetricsEndpointIT {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    private Salon salon;
+
+    @BeforeEach
+    void setUp() {
+        salon = fixtures.createSalon(fixtures.createBusinessOwner());
+    }
+
+    private String scrape() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getHeaders().getContentType().toString().startsWith("text/plain"));
+        return response.getBody();
+    }
+
+    private static double sample(String scrape, String name, String... labels) {
+        return Arrays.stream(scrape.split("\n"))
+                .filter(line -> line.startsWith(name + "{"))
+                .filter(line -> Arrays.stream(labels).allMatch(line::contains))
+                .mapToDouble(line -> Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1)))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(name + " " + List.of(labels) + " not scraped"));
+    }
+
+    /***
+     * Test Case for the per request SQL count
+     * The statements of a request are recorded under the endpoint's URI pattern, not the requested path
+     * */
+    @Test
+    void testSqlStatementsAreTaggedByEndpoint() {
+        restTemplate.getForObject("http://localhost:" + port + "/api/salons/" + salon.getId(), String.class);
+        restTemplate.getForObject("http://localhost:" + port + "/api/salons/" + salon.getId(), String.class);
+
+        String scrape = scrape();
+
+        assertEquals(2.0, sample(scrape, "frizer_http_sql_statements_count", "method=\"GET\"", "uri=\"/api/salons/{id}\""));
+        assertTrue(sample(scrape, "frizer_http_sql_statements_sum", "uri=\"/api/salons/{id}\"") >= 2.0);
+        assertFalse(scrape.contains("uri=\"/api/salons/" + salon.getId() + "\""));
+    }
+
+    /***
+     * Test Case for the service, repository, Hibernate and connection pool metrics
+     * */
+    @Test
+    void testServiceRepositoryHibernateAndPoolMetrics() {
+        restTemplate.getForObject("http://localhost:" + port + "/api/salons/" + salon.getId(), String.class);
+
+        String scrape = scrape();
+
+        assertTrue(sample(scrape, "frizer_service_calls_seconds_count", "class=\"SalonServiceImpl\"",
+                "method=\"getSalonById\"", "exception=\"none\"") >= 1.0);
+        assertTrue(sample(scrape, "spring_data_repository_invocations_seconds_count", "repository=\"SalonRepository\"",
+                "method=\"findById\"") >= 1.0);
+        assertTrue(sample(scrape, "hibernate_statements_total", "status=\"prepared\"") >= 1.0);
+        assertTrue(sample(scrape, "hibernate_entities_loads_total") >= 1.0);
+        // Per region second level cache requests appear once entities are cached, the factory wide cache counters always do
+        assertTrue(sample(scrape, "hibernate_cache_query_requests_total", "result=\"hit\"") >= 0.0);
+        assertTrue(sample(scrape, "hikaricp_connections_max") >= 1.0);
+    }
+
+    /***
+     * Test Case for the management port
+     * Actuator endpoints are not served on the application port
+     * */
+    @Test
+    void testActuatorIsNotOnTheApplicationPort() {
+        HttpClientErrorException exception = assertThrows(HttpClientErrorException.class,
+                () -> restTemplate.getForEntity("http://localhost:" + port + "/actuator/prometheus", String.class));
+        assertTrue(exception.getStatusCode().is4xxClientError());
+    }
+}
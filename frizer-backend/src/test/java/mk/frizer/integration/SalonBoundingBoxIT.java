@@ -0,0 +1,123 @@
+package mk.frizer.integration;
+
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.dto.SalonLocationDTO;
+import mk.frizer.repository.SalonRepository;
+import mk.frizer.service.SalonSearchService;
+import mk.frizer.service.SalonService;
+import mk.frizer.utilities.DistanceCalculator;
+import mk.frizer.utilities.GeoPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static mk.frizer.integration.SqlBudgetAssertions.record;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the bounding box query of the ranking reads only the salons inside the box, over the
+ * latitude/longitude index, and that the distance filter returns exactly the salons the haversine puts within the
+ * radius.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("it")
+@Import(IntegrationFixtures.class)
+public class SalonBoundingBoxIT {
+    private static final String SKOPJE = "41.9981,21.4254";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SalonRepository salonRepository;
+
+    @Autowired
+    private SalonService salonService;
+
+    @Autowired
+    private SalonSearchService salonSearchService;
+
+    private final DistanceCalculator distanceCalculator = new DistanceCalculator();
+
+    // The database is shared with the other tests of this context, so the scattered salons are added once next to
+    // whatever salons they left behind
+    @BeforeEach
+    void setUp() {
+        if (jdbcTemplate.queryForObject("select count(*) from salon where name like 'Точка %'", Integer.class) > 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            rows.add(new Object[]{"Точка " + i, (float) random.nextDouble(40.85, 42.37),
+                    (float) random.nextDouble(20.45, 23.03), 0.0, 0});
+        }
+        jdbcTemplate.batchUpdate("insert into salon (name, latitude, longitude, rating, number_of_reviews) values (?, ?, ?, ?, ?)", rows);
+        // Inserted behind the services' back, like the synthetic seeding
+        salonSearchService.reindex();
+    }
+
+    /**
+     * Test that the database plans the bounding box query as a range scan over idx_salon_lat_lon.
+     */
+    @Test
+    void testBoundingBoxQueryUsesIndex() {
+        String sql = record(() -> salonRepository.findLocationsInBoundingBox(41.5f, 42.5f, 21f, 22f))
+                .getExecutions().keySet().iterator().next();
+
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, 41.5f, 42.5f, 21f, 22f);
+
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains("idx_salon_lat_lon"), plan);
+    }
+
+    /**
+     * Test that the bounding box query returns only salons inside the box, including the ones on its edges.
+     */
+    @Test
+    void testBoundingBoxQueryReturnsSalonsInsideBox() {
+        List<SalonLocationDTO> locations = salonRepository.findLocationsInBoundingBox(41.5f, 42.5f, 21f, 22f);
+
+        long expected = salonRepository.findAll().stream()
+                .filter(salon -> salon.getLatitude() != null && salon.getLongitude() != null)
+                .filter(salon -> salon.getLatitude() >= 41.5f && salon.getLatitude() <= 42.5f
+                        && salon.getLongitude() >= 21f && salon.getLongitude() <= 22f)
+                .count();
+        assertEquals(expected, locations.size());
+        assertTrue(expected > 0);
+    }
+
+    /**
+     * Test that filtering by distance returns the same salons as the exact haversine over every salon, for small
+     * and large radii and without a location.
+     */
+    @Test
+    void testFilterByDistanceMatchesHaversine() {
+        List<Salon> salons = salonRepository.findAll();
+        GeoPoint user = GeoPoint.parse(SKOPJE);
+        for (float radius : new float[]{0.5f, 10, 50, 150, 1000}) {
+            Set<Long> expected = salons.stream()
+                    .filter(salon -> salon.getLatitude() != null && salon.getLongitude() != null)
+                    .filter(salon -> distanceCalculator.getDistance(user, salon.getLatitude(), salon.getLongitude()) <= radius)
+                    .map(Salon::getId)
+                    .collect(Collectors.toSet());
+
+            Set<Long> actual = salonService.filterSalons("", "Цела Македонија", radius, 0f, SKOPJE, List.of(), true).stream()
+                    .map(Salon::getId)
+                    .collect(Collectors.toSet());
+
+            assertEquals(expected, actual, "Within " + radius + " km");
+        }
+        assertEquals(salons.size(), salonService.filterSalons("", "Цела Македонија", 10f, 0f, null, List.of(), true).size());
+    }
+}
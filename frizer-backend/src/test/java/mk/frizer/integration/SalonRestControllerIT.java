@@ -3,12 +3,16 @@ package mk.frizer.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import mk.frizer.domain.City;
 import mk.frizer.domain.Salon;
+import mk.frizer.domain.dto.AutocompleteDTO;
+import mk.frizer.domain.dto.CitySummaryDTO;
 import mk.frizer.domain.dto.SalonAddDTO;
+import mk.frizer.domain.dto.SalonNameDTO;
 import mk.frizer.domain.dto.SalonUpdateDTO;
 import mk.frizer.domain.dto.TagAddDTO;
 import mk.frizer.domain.dto.simple.SalonSimpleDTO;
 import mk.frizer.domain.exceptions.SalonNotFoundException;
 import mk.frizer.service.ImageService;
+import mk.frizer.service.SalonSearchService;
 import mk.frizer.service.SalonService;
 import mk.frizer.web.rest.SalonRestController;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +29,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -47,6 +52,9 @@ public class SalonRestControllerIT {
     @MockBean
     private ImageService imageService;
 
+    @MockBean
+    private SalonSearchService salonSearchService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -327,4 +335,104 @@ public class SalonRestControllerIT {
                 .andExpect(content().contentType(MediaType.IMAGE_PNG))
                 .andExpect(content().bytes(imageBytes));
     }
+
+    @Test
+    void testSearchSalons() throws Exception {
+        // Arrange
+        salon.setId(1L);
+
+        // When
+        when(salonService.filterSalons("Bliss", "Skopje", 10f, 4f, "41.99,21.42", List.of(2L, 3L), false)).thenReturn(List.of(salon));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/salons/search")
+                        .param("name", "Bliss")
+                        .param("city", "Skopje")
+                        .param("distance", "10")
+                        .param("rating", "4")
+                        .param("userLocation", "41.99,21.42")
+                        .param("tags", "2", "3")
+                        .param("matchAllTags", "false"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void testSearchSalons_Defaults() throws Exception {
+        // When
+        when(salonService.filterSalons("", "Цела Македонија", 1000f, 0f, null, null, true)).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/salons/search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void testRankSalons() throws Exception {
+        // Arrange
+        salon.setId(1L);
+
+        // When
+        when(salonService.rankSalons("", "Цела Македонија", 5f, 0f, "41.99,21.42", List.of(2L), 1, 10)).thenReturn(List.of(salon));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/salons/search/ranked")
+                        .param("distance", "5")
+                        .param("userLocation", "41.99,21.42")
+                        .param("tags", "2")
+                        .param("page", "1")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void testCountSearchTags() throws Exception {
+        // When
+        when(salonService.filterSalonIds("", "Цела Македонија", 1000f, 0f, null, List.of(2L), true)).thenReturn(List.of(1L));
+        when(salonSearchService.countTags(List.of(1L))).thenReturn(Map.of(2L, 1, 5L, 1));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/salons/search/tag-counts").param("tags", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['2']").value(1))
+                .andExpect(jsonPath("$['5']").value(1));
+    }
+
+    @Test
+    void testGetCitySummaries() throws Exception {
+        // When
+        when(salonSearchService.getCitySummaries()).thenReturn(List.of(
+                new CitySummaryDTO("Skopje", 2, 12, 4.5, List.of(new SalonNameDTO(1L, "Beauty Bliss")))));
+        when(salonSearchService.getCitySummary("Skopje")).thenReturn(
+                new CitySummaryDTO("Skopje", 2, 12, 4.5, List.of(new SalonNameDTO(1L, "Beauty Bliss"))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/salons/cities"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].city").value("Skopje"))
+                .andExpect(jsonPath("$[0].salons").value(2))
+                .andExpect(jsonPath("$[0].topRated[0].id").value(1L));
+        mockMvc.perform(get("/api/salons/cities/{city}", "Skopje"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageRating").value(4.5))
+                .andExpect(jsonPath("$.numberOfReviews").value(12));
+    }
+
+    @Test
+    void testAutocomplete() throws Exception {
+        // When
+        when(salonSearchService.autocomplete("bli", 5)).thenReturn(new AutocompleteDTO(
+                List.of(new SalonNameDTO(1L, "Beauty Bliss")), List.of(), List.of()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/salons/autocomplete").param("query", "bli"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.salons[0].id").value(1L))
+                .andExpect(jsonPath("$.salons[0].name").value("Beauty Bliss"))
+                .andExpect(jsonPath("$.treatments").isEmpty())
+                .andExpect(jsonPath("$.cities").isEmpty());
+    }
 }
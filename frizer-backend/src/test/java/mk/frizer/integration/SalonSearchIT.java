@@ -0,0 +1,298 @@
+package mk.frizer.integration;
+
+import mk.frizer.config.StatementRecording;
+import mk.frizer.domain.Employee;
+import mk.frizer.domain.Review;
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.dto.CitySummaryDTO;
+import mk.frizer.domain.dto.SalonAddDTO;
+import mk.frizer.domain.dto.SalonNameDTO;
+import mk.frizer.domain.dto.SalonUpdateDTO;
+import mk.frizer.domain.dto.TagAddDTO;
+import mk.frizer.domain.dto.TreatmentAddDTO;
+import mk.frizer.domain.dto.TreatmentUpdateDTO;
+import mk.frizer.service.SalonSearchService;
+import mk.frizer.service.SalonService;
+import mk.frizer.service.TagService;
+import mk.frizer.service.TreatmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static mk.frizer.integration.SqlBudgetAssertions.record;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the salon name search, the suggestions, the tag filters and the city directory follow the salons,
+ * treatments and tags created, renamed and deleted through the services, and pick up rows written behind their back
+ * after a reindex.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("it")
+@Import(IntegrationFixtures.class)
+public class SalonSearchIT {
+
+    @Autowired
+    private SalonService salonService;
+
+    @Autowired
+    private SalonSearchService salonSearchService;
+
+    @Autowired
+    private TreatmentService treatmentService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.ensureCity(IntegrationFixtures.CITY);
+        ownerId = fixtures.createBusinessOwner();
+    }
+
+    private List<Long> filterByName(String name) {
+        return salonService.filterSalons(name, "Цела Македонија", 1000f, 0f, null, List.of(), true).stream().map(Salon::getId).toList();
+    }
+
+    /**
+     * Test that a salon is found by its Latin name as soon as it is created, by its new name only once renamed, and
+     * not at all once deleted.
+     */
+    @Test
+    void testSearchFollowsSalonChanges() {
+        Salon salon = salonService.createSalon(new SalonAddDTO("Фризерски салон Сјај", "Description", "Location", "Скопје",
+                "071234567", ownerId, 42.0f, 21.4f)).get();
+
+        assertEquals(List.of(salon.getId()), filterByName("frizerski sjaj"));
+
+        salonService.updateSalon(salon.getId(), new SalonUpdateDTO("Студио Корона", "Description", "Location",
+                "071234567", 42.0f, 21.4f));
+
+        assertEquals(List.of(salon.getId()), filterByName("korona"));
+        assertEquals(List.of(), filterByName("sjaj"));
+
+        salonService.deleteSalonById(salon.getId());
+
+        assertEquals(List.of(), filterByName("korona"));
+    }
+
+    /**
+     * Test that a rename and a delete that roll back leave the salon searchable by its committed name.
+     */
+    @Test
+    void testRolledBackChangesLeaveSearchAlone() {
+        Salon salon = salonService.createSalon(new SalonAddDTO("Салон Рубин", "Description", "Location", "Скопје",
+                "071234567", ownerId, 42.0f, 21.4f)).get();
+        assertEquals(List.of(salon.getId()), filterByName("rubin"));
+        TransactionTemplate rolledBack = new TransactionTemplate(transactionManager);
+
+        rolledBack.executeWithoutResult(status -> {
+            salonService.updateSalon(salon.getId(), new SalonUpdateDTO("Салон Смарагд", "Description", "Location",
+                    "071234567", 42.0f, 21.4f));
+            status.setRollbackOnly();
+        });
+        rolledBack.executeWithoutResult(status -> {
+            salonService.deleteSalonById(salon.getId());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of(salon.getId()), filterByName("rubin"));
+        assertEquals(List.of(), filterByName("smaragd"));
+        assertEquals(List.of(new SalonNameDTO(salon.getId(), "Салон Рубин")), salonSearchService.autocomplete("rubin", 5).getSalons());
+    }
+
+    /**
+     * Test that a treatment name is suggested once while any salon offers it, and a salon with its treatments is no
+     * longer suggested once deleted.
+     */
+    @Test
+    void testAutocompleteFollowsTreatments() {
+        Salon first = salonService.createSalon(new SalonAddDTO("Барбершоп Аура", "Description", "Location", "Скопје",
+                "071234567", ownerId, 42.0f, 21.4f)).get();
+        Salon second = salonService.createSalon(new SalonAddDTO("Студио Аура", "Description", "Location", "Скопје",
+                "071234567", ownerId, 42.0f, 21.4f)).get();
+        Long beard = treatmentService.createTreatment(new TreatmentAddDTO("Бричење брада", first.getId(), 300.0, 1)).get().getId();
+        treatmentService.createTreatment(new TreatmentAddDTO("Бричење брада", second.getId(), 300.0, 1));
+        Long massage = treatmentService.createTreatment(new TreatmentAddDTO("Масажа", second.getId(), 900.0, 2)).get().getId();
+
+        // Both continue with "aura", so their order only depends on the ids
+        assertEquals(Set.of(new SalonNameDTO(first.getId(), "Барбершоп Аура"), new SalonNameDTO(second.getId(), "Студио Аура")),
+                Set.copyOf(salonSearchService.autocomplete("aur", 5).getSalons()));
+        assertEquals(List.of("Бричење брада"), salonSearchService.autocomplete("brad", 5).getTreatments());
+        assertEquals(List.of("Скопје"), salonSearchService.autocomplete("sk", 5).getCities());
+
+        treatmentService.updateTreatment(massage, new TreatmentUpdateDTO("Масажа на глава", 900.0, 2));
+        treatmentService.deleteTreatmentById(beard);
+
+        assertEquals(List.of("Масажа на глава"), salonSearchService.autocomplete("glava", 5).getTreatments());
+        assertEquals(List.of("Бричење брада"), salonSearchService.autocomplete("brichenje", 5).getTreatments());
+
+        salonService.deleteSalonById(second.getId());
+
+        assertEquals(List.of(new SalonNameDTO(first.getId(), "Барбершоп Аура")), salonSearchService.autocomplete("aur", 5).getSalons());
+        assertEquals(List.of(), salonSearchService.autocomplete("brichenje", 5).getTreatments());
+        assertEquals(List.of(), salonSearchService.autocomplete("masazha", 5).getTreatments());
+    }
+
+    /**
+     * Test that salons are filtered by all or any of their tags and counted per tag within the search result, and
+     * that a deleted tag or salon drops out of both.
+     */
+    @Test
+    void testTagFiltersFollowTagChanges() {
+        Salon first = salonService.createSalon(new SalonAddDTO("Студио Визија", "Description", "Location", "Скопје",
+                "071234567", ownerId, 42.0f, 21.4f)).get();
+        Salon second = salonService.createSalon(new SalonAddDTO("Салон Визија", "Description", "Location", "Скопје",
+                "071234567", ownerId, 42.0f, 21.4f)).get();
+        Long coloring = tagService.createTag("Фарбање").get().getId();
+        Long kids = tagService.createTag("Детско шишање").get().getId();
+        salonService.addTagToSalon(new TagAddDTO(coloring, first.getId()));
+        salonService.addTagToSalon(new TagAddDTO(coloring, second.getId()));
+        salonService.addTagToSalon(new TagAddDTO(kids, second.getId()));
+
+        assertEquals(List.of(second.getId()), filterByTags(List.of(coloring, kids), true));
+        assertEquals(List.of(second.getId(), first.getId()), filterByTags(List.of(coloring, kids), false));
+        // Counting the tags of a search reads only the indexes
+        StatementRecording recording = record(() -> assertEquals(Map.of(coloring, 2, kids, 1), salonSearchService.countTags(
+                salonService.filterSalonIds("vizija", "Цела Македонија", 1000f, 0f, null, List.of(coloring), true))));
+        assertEquals(0, recording.getCount(), recording.getExecutions().keySet().toString());
+
+        salonService.deleteSalonById(second.getId());
+
+        assertEquals(List.of(), filterByTags(List.of(kids), true));
+        assertEquals(Map.of(coloring, 1), salonSearchService.countTags(List.of(first.getId(), second.getId())));
+
+        salonService.deleteSalonById(first.getId());
+        tagService.deleteTagById(coloring);
+
+        assertEquals(Map.of(), salonSearchService.countTags(List.of(first.getId())));
+    }
+
+    private List<Long> filterByTags(List<Long> tags, boolean matchAll) {
+        return salonService.filterSalons("vizija", "Цела Македонија", 1000f, 0f, null, tags, matchAll).stream()
+                .map(Salon::getId).toList();
+    }
+
+    /**
+     * Test that the ranked search puts a much better rated salon a kilometer away before a nearer one, and returns
+     * the salons a page at a time.
+     */
+    @Test
+    void testRankedSearchPages() {
+        Salon near = salonService.createSalon(new SalonAddDTO("Салон Оаза", "Description", "Location", "Скопје",
+                "071234567", ownerId, 42.0f, 21.4f)).get();
+        Salon farBest = salonService.createSalon(new SalonAddDTO("Студио Оаза", "Description", "Location", "Скопје",
+                "071234567", ownerId, 42.01f, 21.4f)).get();
+        Salon farWorst = salonService.createSalon(new SalonAddDTO("Барбершоп Оаза", "Description", "Location", "Скопје",
+                "071234567", ownerId, 42.01f, 21.4f)).get();
+        jdbcTemplate.update("update salon set rating = ?, number_of_reviews = ? where id = ?", 3.0, 10, near.getId());
+        jdbcTemplate.update("update salon set rating = ?, number_of_reviews = ? where id = ?", 4.9, 80, farBest.getId());
+        jdbcTemplate.update("update salon set rating = ?, number_of_reviews = ? where id = ?", 2.0, 30, farWorst.getId());
+
+        assertEquals(List.of(farBest.getId(), near.getId()), rank(0, 2));
+        assertEquals(List.of(farWorst.getId()), rank(1, 2));
+        assertEquals(List.of(), rank(2, 2));
+        assertEquals(List.of(farBest.getId()), salonService.rankSalons("oaza", "Скопје", 5f, 4.5f, "42.0,21.4",
+                null, 0, 10).stream().map(Salon::getId).toList());
+    }
+
+    private List<Long> rank(int page, int size) {
+        return salonService.rankSalons("oaza", "Цела Македонија", 5f, 0f, "42.0,21.4", List.of(), page, size)
+                .stream().map(Salon::getId).toList();
+    }
+
+    /**
+     * Test that the city directory follows salons created, reviewed and deleted, and filters the search by city.
+     */
+    @Test
+    void testCityDirectoryFollowsSalonChanges() {
+        fixtures.ensureCity("Дојран");
+        Salon first = salonService.createSalon(new SalonAddDTO("Салон Езеро", "Description", "Location", "Дојран",
+                "071234567", ownerId, 41.18f, 22.72f)).get();
+        Salon second = salonService.createSalon(new SalonAddDTO("Студио Езеро", "Description", "Location", "Дојран",
+                "071234567", ownerId, 41.18f, 22.72f)).get();
+        Employee employee = new Employee();
+        employee.setSalon(second);
+        Review review = new Review();
+        review.setEmployee(employee);
+        review.setRating(5.0);
+
+        salonService.addReview(review);
+
+        CitySummaryDTO summary = salonSearchService.getCitySummary("дојран");
+        assertEquals(2, summary.getSalons());
+        assertEquals(1, summary.getNumberOfReviews());
+        assertEquals(5.0, summary.getAverageRating());
+        assertEquals(new SalonNameDTO(second.getId(), "Студио Езеро"), summary.getTopRated().get(0));
+        assertEquals(List.of(first.getId(), second.getId()), salonService.filterSalons("", "дојран", 1000f, 0f, null,
+                List.of(), true).stream().map(Salon::getId).toList());
+        assertEquals(List.of(second.getId()), salonService.filterSalons("", "Дојран", 1000f, 4f, null,
+                List.of(), true).stream().map(Salon::getId).toList());
+
+        salonService.deleteSalonById(second.getId());
+
+        assertEquals(List.of(first.getId()), salonSearchService.getSalonIdsInCity("Дојран"));
+        assertEquals(0, salonSearchService.getCitySummary("Дојран").getNumberOfReviews());
+    }
+
+    /**
+     * Test that a search by city alone loads only the salons it returns, by id, and never selects the whole salon
+     * table.
+     */
+    @Test
+    void testCitySearchLoadsOnlyMatchingSalons() {
+        fixtures.ensureCity("Струга");
+        Salon salon = salonService.createSalon(new SalonAddDTO("Салон Брег", "Description", "Location", "Струга",
+                "071234567", ownerId, 41.18f, 20.68f)).get();
+        salonSearchService.searchSalonIds("warm up", 1);
+
+        StatementRecording recording = record(() -> assertEquals(List.of(salon.getId()),
+                salonService.filterSalons("", "струга", 1000f, 0f, null, List.of(), true).stream().map(Salon::getId).toList()));
+
+        List<String> salonSelects = recording.getExecutions().keySet().stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.contains(" from salon "))
+                .toList();
+        assertFalse(salonSelects.isEmpty());
+        assertTrue(salonSelects.stream().anyMatch(sql -> sql.contains(".id in ")), salonSelects.toString());
+        assertTrue(salonSelects.stream().allMatch(sql -> sql.contains(" where ")), salonSelects.toString());
+    }
+
+    /**
+     * Test that salons inserted without the services are found after a reindex.
+     */
+    @Test
+    void testReindexPicksUpDirectInserts() {
+        salonSearchService.searchSalonIds("warm up", 1);
+        jdbcTemplate.update("insert into salon (name, rating, number_of_reviews) values ('Барбершоп Тренд', 0, 0)");
+        Long id = jdbcTemplate.queryForObject("select id from salon where name = 'Барбершоп Тренд'", Long.class);
+
+        assertEquals(List.of(), salonSearchService.searchSalonIds("barbershop trend", 10));
+
+        salonSearchService.reindex();
+
+        assertEquals(List.of(id), salonSearchService.searchSalonIds("barbershop trend", 10));
+    }
+}
@@ -0,0 +1,171 @@
+package mk.frizer.integration;
+
+import mk.frizer.domain.AppointmentTimeSlot;
+import mk.frizer.domain.dto.AppointmentBookingDTO;
+import mk.frizer.domain.dto.ClosedDayAddDTO;
+import mk.frizer.domain.dto.EmployeeAddDTO;
+import mk.frizer.domain.dto.ScheduleSettingsDTO;
+import mk.frizer.domain.dto.TreatmentAddDTO;
+import mk.frizer.domain.dto.WorkingHoursAddDTO;
+import mk.frizer.domain.exceptions.AppointmentNotDivisibleBy20Minutes;
+import mk.frizer.domain.exceptions.EmployeeNotFoundException;
+import mk.frizer.domain.exceptions.InvalidArgumentsException;
+import mk.frizer.service.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gives a salon and one of its employees working hours, breaks, closed days and slot settings against H2, checking
+ * that the available slots and the bookings follow them, and follow them again as soon as they change.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("it")
+@Import(IntegrationFixtures.class)
+public class ScheduleIT {
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private TreatmentService treatmentService;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    private final LocalDate tomorrow = LocalDate.now().plusDays(1);
+    private Long salonId;
+    private Long employeeId;
+    private Long customerId;
+    private Long cut;
+
+    @BeforeEach
+    void setUp() {
+        salonId = fixtures.createSalon(fixtures.createBusinessOwner()).getId();
+        employeeId = employeeService.createEmployee(new EmployeeAddDTO(fixtures.createUser().getId(), salonId)).get().getId();
+        customerId = customerService.createCustomer(fixtures.createUser().getId()).get().getId();
+        cut = treatmentService.createTreatment(new TreatmentAddDTO("Шишање", salonId, 300.0, 1)).get().getId();
+    }
+
+    private List<LocalTime> starts(List<AppointmentTimeSlot> slots) {
+        return slots.stream().map(slot -> slot.getFrom().toLocalTime()).toList();
+    }
+
+    private AppointmentBookingDTO booking(LocalDateTime from) {
+        return new AppointmentBookingDTO(from, List.of(cut), salonId, employeeId, customerId);
+    }
+
+    /***
+     * Test Case for a salon with a lunch break and an employee who starts later
+     * Slots are on the salon's grid, within both their hours, and only on the days they work
+     * */
+    @Test
+    void testWorkingHoursShapeSlots() {
+        scheduleService.addWorkingHours(new WorkingHoursAddDTO(salonId, null, tomorrow.getDayOfWeek(),
+                LocalTime.of(9, 0), LocalTime.of(12, 0)));
+        scheduleService.addWorkingHours(new WorkingHoursAddDTO(salonId, null, tomorrow.getDayOfWeek(),
+                LocalTime.of(13, 0), LocalTime.of(15, 0)));
+        scheduleService.addWorkingHours(new WorkingHoursAddDTO(salonId, employeeId, tomorrow.getDayOfWeek(),
+                LocalTime.of(10, 0), LocalTime.of(15, 0)));
+        scheduleService.updateSettings(salonId, new ScheduleSettingsDTO(30, 5));
+
+        List<List<AppointmentTimeSlot>> slots = appointmentService.getAvailableTimeSlots(salonId, employeeId, 1);
+
+        assertEquals(5, slots.size());
+        assertEquals(List.of(LocalTime.of(10, 0), LocalTime.of(10, 30), LocalTime.of(11, 0), LocalTime.of(11, 30),
+                LocalTime.of(13, 0), LocalTime.of(13, 30), LocalTime.of(14, 0), LocalTime.of(14, 30)), starts(slots.get(1)));
+        assertTrue(slots.get(2).isEmpty());
+        assertEquals(3, scheduleService.getWorkingHours(salonId).size());
+
+        assertThrows(AppointmentNotDivisibleBy20Minutes.class,
+                () -> appointmentService.bookAppointments(booking(tomorrow.atTime(10, 20))));
+        assertThrows(InvalidArgumentsException.class,
+                () -> appointmentService.bookAppointments(booking(tomorrow.atTime(9, 30))));
+        assertThrows(InvalidArgumentsException.class,
+                () -> appointmentService.bookAppointments(booking(tomorrow.plusDays(4).atTime(10, 0))));
+        appointmentService.bookAppointments(booking(tomorrow.atTime(11, 30)));
+        assertFalse(starts(appointmentService.getAvailableTimeSlots(salonId, employeeId, 1).get(1))
+                .contains(LocalTime.of(11, 30)));
+    }
+
+    /***
+     * Test Case for a holiday of the salon
+     * The day has no slots and cannot be booked until the holiday is removed
+     * */
+    @Test
+    void testClosedDay() {
+        Long holiday = scheduleService.addClosedDay(new ClosedDayAddDTO(salonId, null, tomorrow)).get().getId();
+
+        assertTrue(appointmentService.getAvailableTimeSlots(salonId, employeeId, 1).get(1).isEmpty());
+        assertThrows(InvalidArgumentsException.class,
+                () -> appointmentService.bookAppointments(booking(tomorrow.atTime(10, 0))));
+
+        scheduleService.deleteClosedDayById(holiday);
+
+        assertEquals(36, appointmentService.getAvailableTimeSlots(salonId, employeeId, 1).get(1).size());
+        assertEquals(1, appointmentService.bookAppointments(booking(tomorrow.atTime(10, 0))).size());
+    }
+
+    /***
+     * Test Case for schedules that cannot be kept
+     * Hours that close before they open and slots that do not divide an hour are rejected
+     * */
+    @Test
+    void testInvalidSchedules() {
+        assertThrows(InvalidArgumentsException.class, () -> scheduleService.addWorkingHours(new WorkingHoursAddDTO(
+                salonId, null, tomorrow.getDayOfWeek(), LocalTime.of(12, 0), LocalTime.of(9, 0))));
+        assertThrows(InvalidArgumentsException.class,
+                () -> scheduleService.updateSettings(salonId, new ScheduleSettingsDTO(25, null)));
+        assertThrows(InvalidArgumentsException.class,
+                () -> scheduleService.updateSettings(salonId, new ScheduleSettingsDTO(null, 0)));
+        assertEquals(20, scheduleService.getSchedule(salonId, null).getSlotMinutes());
+    }
+
+    /***
+     * Test Case for asking for the schedule of an employee of another salon
+     * Neither that employee nor one that does not exist is found, and nothing is cached for them
+     * */
+    @Test
+    void testScheduleOfAnotherSalonsEmployee() {
+        Long otherSalonId = fixtures.createSalon(fixtures.createBusinessOwner()).getId();
+
+        assertThrows(EmployeeNotFoundException.class, () -> scheduleService.getSchedule(otherSalonId, employeeId));
+        assertThrows(EmployeeNotFoundException.class, () -> scheduleService.getSchedule(salonId, -1L));
+        assertEquals(20, scheduleService.getSchedule(salonId, employeeId).getSlotMinutes());
+    }
+
+    /***
+     * Test Case for an employee who moves to another salon
+     * The schedule cached for the old salon is dropped, so it no longer gives them slots there
+     * */
+    @Test
+    void testMovedEmployeeLeavesOldSchedule() {
+        assertEquals(20, scheduleService.getSchedule(salonId, employeeId).getSlotMinutes());
+        Long otherSalonId = fixtures.createSalon(fixtures.createBusinessOwner()).getId();
+        Long userId = employeeService.getEmployeeById(employeeId).get().getBaseUser().getId();
+
+        employeeService.createEmployee(new EmployeeAddDTO(userId, otherSalonId));
+
+        assertThrows(EmployeeNotFoundException.class, () -> scheduleService.getSchedule(salonId, employeeId));
+        assertEquals(20, scheduleService.getSchedule(otherSalonId, employeeId).getSlotMinutes());
+    }
+}
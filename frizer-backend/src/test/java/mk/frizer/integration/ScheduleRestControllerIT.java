@@ -0,0 +1,119 @@
+package mk.frizer.integration;
+
+import mk.frizer.domain.City;
+import mk.frizer.domain.ClosedDay;
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.WorkingHours;
+import mk.frizer.domain.exceptions.SalonNotFoundException;
+import mk.frizer.service.SalonService;
+import mk.frizer.service.ScheduleService;
+import mk.frizer.web.rest.ScheduleRestController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Principal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(ScheduleRestController.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class ScheduleRestControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ScheduleService scheduleService;
+
+    @MockBean
+    private SalonService salonService;
+
+    private final Principal owner = new UsernamePasswordAuthenticationToken("owner@example.com", null);
+    private final Principal other = new UsernamePasswordAuthenticationToken("other@example.com", null);
+
+    private Salon salon;
+
+    @BeforeEach
+    void setUp() {
+        salon = new Salon("Salon A", "Description", "Location", new City("Скопје"), "071234567", null, 42.0f, 21.4f);
+        salon.setId(1L);
+        when(salonService.isUserAuthorizedToAddSalon(1L, "owner@example.com")).thenReturn(true);
+        when(salonService.isUserAuthorizedToAddSalon(1L, "other@example.com")).thenReturn(false);
+    }
+
+    @Test
+    void testAddWorkingHours() throws Exception {
+        when(scheduleService.addWorkingHours(any())).thenReturn(Optional.of(
+                new WorkingHours(salon, null, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 0))));
+
+        mockMvc.perform(post("/api/schedules/working-hours/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salonId\":1,\"dayOfWeek\":\"MONDAY\",\"opens\":\"09:00\",\"closes\":\"17:00\"}")
+                        .principal(owner))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.salonId").value(1))
+                .andExpect(jsonPath("$.dayOfWeek").value("MONDAY"));
+    }
+
+    @Test
+    void testAddWorkingHoursToAnotherOwnersSalon() throws Exception {
+        mockMvc.perform(post("/api/schedules/working-hours/add")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salonId\":1,\"dayOfWeek\":\"MONDAY\",\"opens\":\"09:00\",\"closes\":\"17:00\"}")
+                        .principal(other))
+                .andExpect(status().isForbidden());
+
+        verify(scheduleService, never()).addWorkingHours(any());
+    }
+
+    @Test
+    void testDeleteClosedDayOfAnotherOwnersSalon() throws Exception {
+        when(scheduleService.getClosedDayById(5L)).thenReturn(Optional.of(new ClosedDay(salon, null, LocalDate.of(2024, 5, 1))));
+
+        mockMvc.perform(delete("/api/schedules/closed-days/delete/{id}", 5L).principal(other))
+                .andExpect(status().isForbidden());
+
+        verify(scheduleService, never()).deleteClosedDayById(anyLong());
+    }
+
+    @Test
+    void testUpdateSettingsWithoutLogin() throws Exception {
+        mockMvc.perform(put("/api/schedules/{salonId}/settings", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"slotMinutes\":30,\"bookingDays\":14}"))
+                .andExpect(status().isUnauthorized());
+
+        verify(scheduleService, never()).updateSettings(anyLong(), any());
+    }
+
+    @Test
+    void testUpdateSettingsOfUnknownSalon() throws Exception {
+        when(salonService.isUserAuthorizedToAddSalon(2L, "owner@example.com")).thenThrow(new SalonNotFoundException());
+
+        mockMvc.perform(put("/api/schedules/{salonId}/settings", 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"slotMinutes\":30,\"bookingDays\":14}")
+                        .principal(owner))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,88 @@
+package mk.frizer.integration;
+
+import mk.frizer.config.RequestStatementCounter;
+import mk.frizer.config.SqlStatementInterceptor;
+import mk.frizer.config.StatementRecording;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SQL statement budget assertions for the integration tests that run against a database. Requests made through
+ * {@code MockMvc} are checked against the endpoint's {@code @SqlBudget} with {@link #withinSqlBudget()}; code called
+ * directly is recorded with {@link #record(Runnable)}. Both use Hibernate's statement inspector, so they only see
+ * statements when it is the application's {@link RequestStatementCounter}.
+ */
+public final class SqlBudgetAssertions {
+    private SqlBudgetAssertions() {
+    }
+
+    /**
+     * Runs the action on the current thread and returns the statements it sent. Nothing fails while recording; the
+     * recording's repeated selects are the ones that ran more than once.
+     */
+    public static StatementRecording record(Runnable action) {
+        StatementRecording recording = new StatementRecording(Integer.MAX_VALUE, 1, false);
+        RequestStatementCounter.start(recording);
+        try {
+            action.run();
+        } finally {
+            RequestStatementCounter.stop();
+        }
+        return recording;
+    }
+
+    public static StatementRecording assertStatementsAtMost(int maxStatements, Runnable action) {
+        StatementRecording recording = record(action);
+        assertTrue(recording.getCount() <= maxStatements,
+                recording.getCount() + " statements, at most " + maxStatements + " expected: " + recording.getExecutions().keySet());
+        return recording;
+    }
+
+    /**
+     * The inserts, updates and deletes of the recording, with how often each ran.
+     */
+    public static Map<String, Integer> writes(StatementRecording recording) {
+        return recording.getExecutions().entrySet().stream()
+                .filter(entry -> isWrite(entry.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    public static int writeCount(StatementRecording recording) {
+        return writes(recording).values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private static boolean isWrite(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return statement.startsWith("insert") || statement.startsWith("update") || statement.startsWith("delete");
+    }
+
+    /**
+     * The request stayed within its declared budget and did not repeat a select more often than allowed.
+     */
+    public static ResultMatcher withinSqlBudget() {
+        return result -> {
+            StatementRecording recording = recording(result.getRequest().getAttribute(SqlStatementInterceptor.RECORDING_ATTRIBUTE));
+            assertFalse(recording.isOverBudget(), recording.getCount() + " statements, the budget is "
+                    + recording.getMaxStatements() + ": " + recording.getExecutions().keySet());
+            assertEquals(Map.of(), recording.getRepeatedSelects(), "Repeated selects");
+        };
+    }
+
+    public static ResultMatcher sqlStatementsAtMost(int maxStatements) {
+        return result -> {
+            StatementRecording recording = recording(result.getRequest().getAttribute(SqlStatementInterceptor.RECORDING_ATTRIBUTE));
+            assertTrue(recording.getCount() <= maxStatements, recording.getCount() + " statements, at most "
+                    + maxStatements + " expected: " + recording.getExecutions().keySet());
+        };
+    }
+
+    private static StatementRecording recording(Object attribute) {
+        assertNotNull(attribute, "The request was not recorded, is it mapped under /api?");
+        return (StatementRecording) attribute;
+    }
+}
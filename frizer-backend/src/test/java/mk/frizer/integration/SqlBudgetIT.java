@@ -0,0 +1,217 @@
+package mk.frizer.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletException;
+import mk.frizer.config.SqlBudget;
+import mk.frizer.config.StatementRecording;
+import mk.frizer.domain.Appointment;
+import mk.frizer.domain.BaseUser;
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.dto.AppointmentBookingDTO;
+import mk.frizer.domain.dto.EmployeeAddDTO;
+import mk.frizer.domain.dto.TreatmentAddDTO;
+import mk.frizer.domain.exceptions.SqlBudgetExceededException;
+import mk.frizer.repository.SalonRepository;
+import mk.frizer.service.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static mk.frizer.integration.SqlBudgetAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs requests against H2 with {@code frizer.sql.budget.mode=fail}, so a request that exceeds its
+ * {@link SqlBudget} or repeats a select fails at the offending statement.
+ */
+@SpringBootTest(properties = "frizer.sql.budget.mode=fail")
+@ActiveProfiles("it")
+@AutoConfigureMockMvc(addFilters = false)
+@Import({IntegrationFixtures.class, SqlBudgetIT.BudgetedController.class})
+public class SqlBudgetIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SalonService salonService;
+
+    @Autowired
+    private BusinessOwnerService businessOwnerService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private TreatmentService treatmentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    private BaseUser owner;
+    private Salon salon;
+    private Long employeeId;
+
+    @RestController
+    static class BudgetedController {
+        private final SalonRepository salonRepository;
+
+        BudgetedController(SalonRepository salonRepository) {
+            this.salonRepository = salonRepository;
+        }
+
+        @GetMapping("/api/budget-test/salons")
+        @SqlBudget(2)
+        public int countSalons() {
+            return salonRepository.findAll().size();
+        }
+
+        @GetMapping("/api/budget-test/salons-one-by-one")
+        @SqlBudget(value = 100, maxRepeatedSelects = 2)
+        public int loadSalonsOneByOne(@RequestParam List<Long> ids) {
+            ids.forEach(id -> salonRepository.findById(id).orElseThrow());
+            return ids.size();
+        }
+    }
+
+    /**
+     * A salon of a new owner, so loading it does not load other salons through the owner's salon list.
+     */
+    private Salon createSalon(BaseUser user) {
+        return fixtures.createSalon(businessOwnerService.createBusinessOwner(user.getId()).get().getId());
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.createUser();
+        salon = createSalon(owner);
+        employeeId = employeeService.createEmployee(new EmployeeAddDTO(fixtures.createUser().getId(), salon.getId())).get().getId();
+    }
+
+    /***
+     * Test Case for the export endpoints
+     * Streaming the rows is one query however many there are, so the export stays within the controller's budget
+     * */
+    @Test
+    void testExportsStayWithinBudget() throws Exception {
+        UsernamePasswordAuthenticationToken principal = new UsernamePasswordAuthenticationToken(owner.getEmail(), null);
+
+        mockMvc.perform(get("/api/export/salons/" + salon.getId() + "/appointments?from=2024-01-01&to=2024-12-31")
+                        .principal(principal))
+                .andExpect(status().isOk())
+                .andExpect(withinSqlBudget());
+        mockMvc.perform(get("/api/export/salons/" + salon.getId() + "/reviews?from=2024-01-01&to=2024-12-31&format=csv")
+                        .principal(principal))
+                .andExpect(status().isOk())
+                .andExpect(withinSqlBudget());
+    }
+
+    /***
+     * Test Case for streaming every appointment
+     * The stream is one query whatever the number of appointments, none of their associations is loaded per row
+     * */
+    @Test
+    void testAppointmentStreamIsOneQuery() throws Exception {
+        Long customerId = customerService.createCustomer(fixtures.createUser().getId()).get().getId();
+        Long cut = treatmentService.createTreatment(new TreatmentAddDTO("Шишање", salon.getId(), 300.0, 1)).get().getId();
+        Long wash = treatmentService.createTreatment(new TreatmentAddDTO("Миење", salon.getId(), 400.0, 1)).get().getId();
+        LocalDateTime from = LocalDate.now().plusDays(1).atTime(10, 0);
+        List<Appointment> booked = appointmentService.bookAppointments(
+                new AppointmentBookingDTO(from, List.of(cut, wash), salon.getId(), employeeId, customerId));
+
+        String body = mockMvc.perform(get("/api/appointments?stream=true"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(1))
+                .andReturn().getResponse().getContentAsString();
+
+        Map<Long, JsonNode> streamed = new HashMap<>();
+        objectMapper.readTree(body).forEach(node -> streamed.put(node.get("id").asLong(), node));
+        for (Appointment appointment : booked) {
+            assertEquals(objectMapper.writeValueAsString(appointment.toDto()), streamed.get(appointment.getId()).toString());
+        }
+    }
+
+    /***
+     * Test Case for endpoints without a declared budget
+     * */
+    @Test
+    void testDefaultBudget() throws Exception {
+        mockMvc.perform(get("/api/tags"))
+                .andExpect(status().isOk())
+                .andExpect(withinSqlBudget())
+                .andExpect(sqlStatementsAtMost(1));
+    }
+
+    /***
+     * Test Case for exceeding the budget
+     * With the fail mode the statement over the budget throws instead of running
+     * */
+    @Test
+    void testRequestOverBudgetFails() {
+        ServletException exception = assertThrows(ServletException.class,
+                () -> mockMvc.perform(get("/api/budget-test/salons")));
+
+        assertInstanceOf(SqlBudgetExceededException.class, exception.getCause());
+        assertTrue(exception.getCause().getMessage().startsWith("Statement 3 exceeds the budget of 2"));
+    }
+
+    /***
+     * Test Case for the N+1 detection
+     * Loading salons one by one runs the same select per salon, the third one fails
+     * */
+    @Test
+    void testRepeatedSelectFails() throws Exception {
+        Salon second = createSalon(fixtures.createUser());
+        Salon third = createSalon(fixtures.createUser());
+
+        mockMvc.perform(get("/api/budget-test/salons-one-by-one?ids=" + salon.getId() + "," + second.getId()))
+                .andExpect(status().isOk());
+        ServletException exception = assertThrows(ServletException.class,
+                () -> mockMvc.perform(get("/api/budget-test/salons-one-by-one?ids="
+                        + salon.getId() + "," + second.getId() + "," + third.getId())));
+
+        assertInstanceOf(SqlBudgetExceededException.class, exception.getCause());
+        assertTrue(exception.getCause().getMessage().startsWith("Select repeated 3 times, likely an N+1"));
+    }
+
+    /***
+     * Test Case for recording code called directly
+     * */
+    @Test
+    void testRecordFindsRepeatedSelects() {
+        createSalon(fixtures.createUser());
+
+        StatementRecording recording = record(() -> salonService.getSalons());
+
+        assertTrue(recording.getCount() > 0);
+        assertEquals(0, writeCount(recording));
+        assertFalse(recording.getRepeatedSelects().isEmpty(), "Loading every salon loads the collections of each one");
+    }
+}
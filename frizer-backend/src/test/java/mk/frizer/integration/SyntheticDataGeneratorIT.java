@@ -0,0 +1,108 @@
+package mk.frizer.integration;
+
+import mk.frizer.config.SyntheticDataGenerator;
+import mk.frizer.service.PasswordHashingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seeds a small synthetic dataset on startup and checks that it is consistent the way the application keeps it:
+ * salon ratings match their reviews and every appointment is in the active or the history list of its employee
+ * and customer.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "frizer.seed.mode=synthetic",
+        "frizer.seed.synthetic.cities=5",
+        "frizer.seed.synthetic.salons=12",
+        "frizer.seed.synthetic.employees-per-salon=2",
+        "frizer.seed.synthetic.customers=30",
+        "frizer.seed.synthetic.months=1",
+        "frizer.seed.synthetic.days-ahead=3",
+        "frizer.seed.synthetic.appointments-per-day=4",
+        "frizer.seed.synthetic.review-share=0.5"})
+@ActiveProfiles("it")
+public class SyntheticDataGeneratorIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    /**
+     * Test that the configured number of rows is generated, with a customer for every user like the application
+     * creates them, and that seeding again leaves the existing data alone.
+     */
+    @Test
+    void testGeneratesConfiguredSizes() {
+        assertEquals(12, count("salon"));
+        assertEquals(24, count("employee"));
+        assertEquals(2, count("business_owner"));
+        // Customers, employees and owners
+        assertEquals(30 + 24 + 2, count("base_user"));
+        assertEquals(count("base_user"), count("customer"));
+        assertTrue(jdbcTemplate.queryForObject("select count(distinct city_name) from salon", Long.class) <= 5);
+        assertTrue(count("appointment") > 0);
+        assertTrue(count("review") > 0);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from salon s where not exists " +
+                "(select 1 from salon_tags t where t.salons_with_tag_id = s.id)", Long.class));
+
+        assertTrue(syntheticDataGenerator.generate().isEmpty());
+        assertEquals(12, count("salon"));
+    }
+
+    /**
+     * Test that the generated users can log in with the documented password.
+     */
+    @Test
+    void testUsersShareThePassword() {
+        String hash = jdbcTemplate.queryForObject("select password from base_user where email = ?", String.class,
+                "customer0" + SyntheticDataGenerator.EMAIL_DOMAIN);
+        assertTrue(passwordHashingService.matches(SyntheticDataGenerator.PASSWORD, hash));
+    }
+
+    /**
+     * Test that each salon's rating and review count are those of the reviews of its employees.
+     */
+    @Test
+    void testSalonRatingsMatchReviews() {
+        List<Map<String, Object>> salons = jdbcTemplate.queryForList("select s.id, s.rating, s.number_of_reviews, " +
+                "(select count(*) from review r join employee e on e.id = r.employee_id where e.salon_id = s.id) as reviews, " +
+                "(select coalesce(avg(r.rating), 0) from review r join employee e on e.id = r.employee_id where e.salon_id = s.id) as average " +
+                "from salon s");
+        for (Map<String, Object> salon : salons) {
+            assertEquals(((Number) salon.get("reviews")).intValue(), ((Number) salon.get("number_of_reviews")).intValue());
+            assertEquals(((Number) salon.get("average")).doubleValue(), ((Number) salon.get("rating")).doubleValue(), 1e-9);
+        }
+    }
+
+    /**
+     * Test that past appointments are in the history of their employee and customer, and the others are active.
+     */
+    @Test
+    void testAppointmentsAreLinkedAsActiveOrHistory() {
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from appointment where " +
+                "not ((appointment_employee_history_id = employee_id and appointment_customer_history_id = customer_id " +
+                "and appointment_employee_active_id is null and appointment_customer_active_id is null) " +
+                "or (appointment_employee_active_id = employee_id and appointment_customer_active_id = customer_id " +
+                "and appointment_employee_history_id is null and appointment_customer_history_id is null))", Long.class));
+        assertTrue(jdbcTemplate.queryForObject("select count(*) from appointment where appointment_employee_history_id is not null", Long.class) > 0);
+        assertTrue(jdbcTemplate.queryForObject("select count(*) from appointment where appointment_employee_active_id is not null", Long.class) > 0);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from appointment where attended and date_to > current_timestamp", Long.class));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+}
@@ -8,6 +8,7 @@ import mk.frizer.domain.dto.simple.BaseUserSimpleDTO;
 import mk.frizer.service.BaseUserService;
 import mk.frizer.domain.exceptions.UserNotFoundException;
 import mk.frizer.web.rest.TreatmentRestController;
+import mk.frizer.utilities.JsonArrayWriter;
 import mk.frizer.web.rest.UserRestController;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +20,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
@@ -26,6 +28,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
@@ -34,6 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(UserRestController.class)
+@Import(JsonArrayWriter.class)
 @AutoConfigureMockMvc(addFilters = false)public class UserRestControllerIT {
 
     @Autowired
@@ -74,6 +78,36 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 .andExpect(jsonPath("$[0].roles[0]").value(userDTO.getRoles().get(0)));
     }
 
+    @Test
+    void testStreamUsers() throws Exception {
+        BaseUser second = new BaseUser("second@example.com", "password", "Second", "User", "0987654321");
+        second.setId(2L);
+
+        when(baseUserService.forEachBaseUser(any())).thenAnswer(invocation -> {
+            Consumer<BaseUser> action = invocation.getArgument(0);
+            action.accept(user);
+            action.accept(second);
+            return 2L;
+        });
+
+        mockMvc.perform(get("/api/users").param("stream", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].email").value(userDTO.getEmail()))
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(jsonPath("$[1].email").value("second@example.com"));
+    }
+
+    @Test
+    void testStreamNoUsers() throws Exception {
+        when(baseUserService.forEachBaseUser(any())).thenReturn(0L);
+
+        mockMvc.perform(get("/api/users").param("stream", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
     @Test
     void testGetUserById() throws Exception {
         // Arrange
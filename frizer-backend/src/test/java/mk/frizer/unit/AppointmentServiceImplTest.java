@@ -2,10 +2,13 @@ package mk.frizer.unit;
 
 import mk.frizer.domain.*;
 import mk.frizer.domain.dto.AppointmentAddDTO;
+import mk.frizer.domain.dto.AppointmentBookingDTO;
 import mk.frizer.domain.events.AppointmentCreatedEvent;
 import mk.frizer.domain.exceptions.*;
 import mk.frizer.repository.*;
+import mk.frizer.service.ScheduleService;
 import mk.frizer.service.impl.AppointmentServiceImpl;
+import mk.frizer.utilities.WeeklySchedule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +21,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,6 +43,8 @@ class AppointmentServiceImplTest {
     private EmployeeRepository employeeRepository;
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private ScheduleService scheduleService;
 
     @InjectMocks
     private AppointmentServiceImpl appointmentService;
@@ -116,16 +122,39 @@ class AppointmentServiceImplTest {
 
         when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
         when(salonRepository.findById(salon.getId())).thenReturn(Optional.of(salon));
-        when(appointmentRepository.save(any(Appointment.class))).thenReturn(appointment);
+        when(scheduleService.getSchedule(salon.getId(), employee.getId())).thenReturn(WeeklySchedule.DEFAULT);
+        when(employeeRepository.lockById(employee.getId())).thenReturn(Optional.of(employee.getId()));
 
         Optional<Appointment> createdAppointment = appointmentService.createAppointment(appointmentAddDTO);
 
         assertTrue(createdAppointment.isPresent());
         assertEquals(treatment, createdAppointment.get().getTreatment());
-        verify(appointmentRepository, times(1)).save(any(Appointment.class));
+        verify(appointmentRepository, times(1)).existsOverlapping(employee.getId(), startDateTime, endDateTime);
+        verify(appointmentRepository, times(1)).saveAll(List.of(createdAppointment.get()));
         verify(applicationEventPublisher, times(1)).publishEvent(any(AppointmentCreatedEvent.class));
     }
 
+    /**
+     * Test creating an appointment over an existing one.
+     * Like a booking, the employee is locked and the overlap check throws an AppointmentSlotTakenException.
+     */
+    @Test
+    void testCreateAppointment_SlotTaken() {
+        LocalDateTime startDateTime = LocalDateTime.of(LocalDate.now().plusDays(1), LocalTime.of(8, 0));
+        LocalDateTime endDateTime = startDateTime.plusMinutes(40);
+
+        when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
+        when(salonRepository.findById(salon.getId())).thenReturn(Optional.of(salon));
+        when(scheduleService.getSchedule(salon.getId(), employee.getId())).thenReturn(WeeklySchedule.DEFAULT);
+        when(employeeRepository.lockById(employee.getId())).thenReturn(Optional.of(employee.getId()));
+        when(appointmentRepository.existsOverlapping(employee.getId(), startDateTime, endDateTime)).thenReturn(true);
+
+        assertThrows(AppointmentSlotTakenException.class, () -> appointmentService.createAppointment(
+                new AppointmentAddDTO(startDateTime, endDateTime, treatment.getId(), salon.getId(), employee.getId(), customer.getId())));
+        verify(appointmentRepository, never()).saveAll(any());
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
     /**
      * Test creating an appointment with times not divisible by 20 minutes.
      * Verifies that an AppointmentNotDivisibleBy20Minutes exception is thrown.
@@ -139,10 +168,114 @@ class AppointmentServiceImplTest {
 
         when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
         when(salonRepository.findById(salon.getId())).thenReturn(Optional.of(salon));
+        when(scheduleService.getSchedule(salon.getId(), employee.getId())).thenReturn(WeeklySchedule.DEFAULT);
 
         assertThrows(AppointmentNotDivisibleBy20Minutes.class, () -> appointmentService.createAppointment(appointmentAddDTO));
     }
 
+    /**
+     * Test booking several treatments at once.
+     * Ensures they are saved back to back after one overlap check, with an event for each.
+     */
+    @Test
+    void testBookAppointments() {
+        Treatment wash = new Treatment("Wash", salon, 30.0, 2);
+        wash.setId(2L);
+        salon.setSalonTreatments(List.of(treatment, wash));
+        LocalDateTime startDateTime = LocalDateTime.of(LocalDate.now().plusDays(1), LocalTime.of(8, 0));
+
+        when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
+        when(salonRepository.findById(salon.getId())).thenReturn(Optional.of(salon));
+        when(scheduleService.getSchedule(salon.getId(), employee.getId())).thenReturn(WeeklySchedule.DEFAULT);
+        when(employeeRepository.lockById(employee.getId())).thenReturn(Optional.of(employee.getId()));
+
+        List<Appointment> appointments = appointmentService.bookAppointments(new AppointmentBookingDTO(startDateTime,
+                List.of(1L, 2L), salon.getId(), employee.getId(), customer.getId()));
+
+        assertEquals(2, appointments.size());
+        assertEquals(startDateTime.plusMinutes(20), appointments.get(0).getDateTo());
+        assertEquals(startDateTime.plusMinutes(20), appointments.get(1).getDateFrom());
+        assertEquals(wash, appointments.get(1).getTreatment());
+        verify(appointmentRepository, times(1)).existsOverlapping(employee.getId(), startDateTime, startDateTime.plusMinutes(60));
+        verify(appointmentRepository, times(1)).saveAll(appointments);
+        verify(applicationEventPublisher, times(2)).publishEvent(any(AppointmentCreatedEvent.class));
+    }
+
+    /**
+     * Test booking treatments over an existing appointment.
+     * Verifies that an AppointmentSlotTakenException is thrown and nothing is saved.
+     */
+    @Test
+    void testBookAppointments_SlotTaken() {
+        LocalDateTime startDateTime = LocalDateTime.of(LocalDate.now().plusDays(1), LocalTime.of(8, 0));
+
+        when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
+        when(salonRepository.findById(salon.getId())).thenReturn(Optional.of(salon));
+        when(scheduleService.getSchedule(salon.getId(), employee.getId())).thenReturn(WeeklySchedule.DEFAULT);
+        when(employeeRepository.lockById(employee.getId())).thenReturn(Optional.of(employee.getId()));
+        when(appointmentRepository.existsOverlapping(employee.getId(), startDateTime, startDateTime.plusMinutes(40))).thenReturn(true);
+
+        assertThrows(AppointmentSlotTakenException.class, () -> appointmentService.bookAppointments(
+                new AppointmentBookingDTO(startDateTime, List.of(1L, 1L), salon.getId(), employee.getId(), customer.getId())));
+        verify(appointmentRepository, never()).saveAll(any());
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    /**
+     * Test booking treatments that run past the salon's working hours.
+     * Verifies that an InvalidArgumentsException is thrown before the employee is locked.
+     */
+    @Test
+    void testBookAppointments_OutsideWorkingHours() {
+        LocalDateTime startDateTime = LocalDateTime.of(LocalDate.now().plusDays(1), LocalTime.of(19, 40));
+
+        when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
+        when(salonRepository.findById(salon.getId())).thenReturn(Optional.of(salon));
+        when(scheduleService.getSchedule(salon.getId(), employee.getId())).thenReturn(WeeklySchedule.DEFAULT);
+
+        assertThrows(InvalidArgumentsException.class, () -> appointmentService.bookAppointments(
+                new AppointmentBookingDTO(startDateTime, List.of(1L, 1L), salon.getId(), employee.getId(), customer.getId())));
+        verify(employeeRepository, never()).lockById(any());
+        verify(appointmentRepository, never()).saveAll(any());
+    }
+
+    /**
+     * Test booking treatments in the past, beyond the salon's booking days, or without a start.
+     * Verifies that an InvalidArgumentsException is thrown and nothing is saved.
+     */
+    @Test
+    void testBookAppointments_OutsideBookingDays() {
+        LocalDateTime yesterday = LocalDateTime.of(LocalDate.now().minusDays(1), LocalTime.of(10, 0));
+        LocalDateTime pastHorizon = LocalDateTime.of(LocalDate.now().plusDays(WeeklySchedule.DEFAULT_BOOKING_DAYS), LocalTime.of(10, 0));
+
+        when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
+        when(salonRepository.findById(salon.getId())).thenReturn(Optional.of(salon));
+        when(scheduleService.getSchedule(salon.getId(), employee.getId())).thenReturn(WeeklySchedule.DEFAULT);
+
+        for (LocalDateTime startDateTime : Arrays.asList(yesterday, pastHorizon, null)) {
+            assertThrows(InvalidArgumentsException.class, () -> appointmentService.bookAppointments(
+                    new AppointmentBookingDTO(startDateTime, List.of(1L), salon.getId(), employee.getId(), customer.getId())));
+        }
+        verify(employeeRepository, never()).lockById(any());
+        verify(appointmentRepository, never()).saveAll(any());
+    }
+
+    /**
+     * Test booking a treatment the salon does not offer.
+     * Verifies that a TreatmentNotFoundException is thrown before anything is checked or saved.
+     */
+    @Test
+    void testBookAppointments_UnknownTreatment() {
+        LocalDateTime startDateTime = LocalDateTime.of(LocalDate.now().plusDays(1), LocalTime.of(8, 0));
+
+        when(customerRepository.findById(customer.getId())).thenReturn(Optional.of(customer));
+        when(salonRepository.findById(salon.getId())).thenReturn(Optional.of(salon));
+
+        assertThrows(TreatmentNotFoundException.class, () -> appointmentService.bookAppointments(
+                new AppointmentBookingDTO(startDateTime, List.of(1L, 9L), salon.getId(), employee.getId(), customer.getId())));
+        verify(appointmentRepository, never()).saveAll(any());
+    }
+
     /**
      * Test updating an appointment by ID.
      * Ensures the appointment details are updated correctly.
@@ -4,17 +4,20 @@ import mk.frizer.domain.BaseUser;
 import mk.frizer.domain.Customer;
 import mk.frizer.domain.dto.BaseUserAddDTO;
 import mk.frizer.domain.dto.BaseUserUpdateDTO;
+import mk.frizer.domain.exceptions.InvalidUsernameOrPasswordException;
 import mk.frizer.domain.exceptions.UserNotFoundException;
 import mk.frizer.repository.BaseUserRepository;
 import mk.frizer.repository.CustomerRepository;
+import mk.frizer.service.PasswordHashingService;
 import mk.frizer.service.impl.BaseUserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -32,7 +35,10 @@ public class BaseUserServiceImplTest {
     private CustomerRepository customerRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordEncoder;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private BaseUserServiceImpl baseUserService;
@@ -103,6 +109,34 @@ public class BaseUserServiceImplTest {
         assertEquals("encodedPassword", user.get().getPassword());
         verify(baseUserRepository, times(1)).save(any(BaseUser.class));
         verify(customerRepository, times(1)).save(any(Customer.class));
+        // The password is hashed before the transaction begins
+        InOrder order = inOrder(passwordEncoder, transactionManager, baseUserRepository);
+        order.verify(passwordEncoder).encode("password");
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(baseUserRepository).save(any(BaseUser.class));
+        order.verify(transactionManager).commit(any());
+    }
+
+    /***
+     * Test Case for createBaseUsers Method
+     * This test checks that a batch of users is hashed in one call and every user gets a customer
+     * */
+    @Test
+    void testCreateBaseUsers() {
+        BaseUserAddDTO secondUser = new BaseUserAddDTO("second@example.com", "password2", "Jane", "Doe", "0987654321");
+        when(passwordEncoder.encodeAll(List.of("password", "password2"))).thenReturn(List.of("hash1", "hash2"));
+        when(baseUserRepository.save(any(BaseUser.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BaseUser> users = baseUserService.createBaseUsers(List.of(baseUserAddDTO, secondUser));
+
+        assertEquals(2, users.size());
+        assertEquals("hash1", users.get(0).getPassword());
+        assertEquals("hash2", users.get(1).getPassword());
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(customerRepository, times(2)).save(any(Customer.class));
+        InOrder order = inOrder(passwordEncoder, transactionManager);
+        order.verify(passwordEncoder).encodeAll(any());
+        order.verify(transactionManager).getTransaction(any());
     }
 
     /***
@@ -138,6 +172,9 @@ public class BaseUserServiceImplTest {
         assertTrue(user.isPresent());
         assertEquals("newEncodedPassword", user.get().getPassword());
         verify(baseUserRepository, times(1)).save(any(BaseUser.class));
+        InOrder order = inOrder(passwordEncoder, transactionManager);
+        order.verify(passwordEncoder).encode("newPassword");
+        order.verify(transactionManager).getTransaction(any());
     }
 
     /***
@@ -153,4 +190,54 @@ public class BaseUserServiceImplTest {
         assertTrue(user.isPresent());
         verify(baseUserRepository, times(1)).deleteById(1L);
     }
-}
\ No newline at end of file
+
+    /***
+     * Test Case for login Method
+     * These tests verify that a login performs a single password check and
+     * rejects unknown emails and wrong passwords with the same exception.
+     * */
+    @Test
+    void testLogin() {
+        when(baseUserRepository.findByEmail("test@example.com")).thenReturn(Optional.of(baseUser));
+        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
+
+        Optional<BaseUser> user = baseUserService.login("test@example.com", "password");
+
+        assertTrue(user.isPresent());
+        assertEquals(baseUser.getEmail(), user.get().getEmail());
+        verify(passwordEncoder, times(1)).matches("password", "encodedPassword");
+        verify(baseUserRepository, never()).updatePassword(anyLong(), anyString());
+    }
+
+    @Test
+    void testLogin_UpgradesOutdatedHash() {
+        when(baseUserRepository.findByEmail("test@example.com")).thenReturn(Optional.of(baseUser));
+        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("strongerPassword");
+        baseUser.setId(1L);
+
+        Optional<BaseUser> user = baseUserService.login("test@example.com", "password");
+
+        assertTrue(user.isPresent());
+        assertEquals("strongerPassword", user.get().getPassword());
+        verify(baseUserRepository, times(1)).updatePassword(1L, "strongerPassword");
+        verify(baseUserRepository, never()).save(any(BaseUser.class));
+    }
+
+    @Test
+    void testLogin_WrongPassword() {
+        when(baseUserRepository.findByEmail("test@example.com")).thenReturn(Optional.of(baseUser));
+        when(passwordEncoder.matches("wrong", "encodedPassword")).thenReturn(false);
+
+        assertThrows(InvalidUsernameOrPasswordException.class, () -> baseUserService.login("test@example.com", "wrong"));
+    }
+
+    @Test
+    void testLogin_UnknownEmail() {
+        when(baseUserRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(InvalidUsernameOrPasswordException.class, () -> baseUserService.login("unknown@example.com", "password"));
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+}
@@ -88,6 +88,23 @@ class BusinessOwnerServiceImplTest {
         assertThrows(UserNotFoundException.class, () -> businessOwnerService.getBusinessOwnerById(1L));
     }
 
+    @Test
+    void isUserBusinessOwner_shouldCheckEmailWithoutLoadingOwner() {
+        when(businessOwnerRepository.existsById(1L)).thenReturn(true);
+        when(businessOwnerRepository.existsByIdAndBaseUserEmail(1L, "test@example.com")).thenReturn(true);
+
+        assertTrue(businessOwnerService.isUserBusinessOwner(1L, "test@example.com"));
+        assertFalse(businessOwnerService.isUserBusinessOwner(1L, "other@example.com"));
+        verify(businessOwnerRepository, never()).findById(any());
+    }
+
+    @Test
+    void isUserBusinessOwner_shouldThrowUserNotFoundException() {
+        when(businessOwnerRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> businessOwnerService.isUserBusinessOwner(1L, "test@example.com"));
+    }
+
     @Test
     void createBusinessOwner_shouldCreateBusinessOwnerAndAssignRole() {
         when(baseUserRepository.findById(1L)).thenReturn(Optional.of(baseUser));
@@ -129,13 +146,14 @@ class BusinessOwnerServiceImplTest {
     @Test
     void addSalonToBusinessOwner_shouldAddSalon() {
         when(businessOwnerRepository.findById(1L)).thenReturn(Optional.of(businessOwner));
-        when(businessOwnerRepository.save(businessOwner)).thenReturn(businessOwner);
 
         Optional<BusinessOwner> owner = businessOwnerService.addSalonToBusinessOwner(1L, salon);
+        businessOwnerService.addSalonToBusinessOwner(1L, salon);
 
         assertTrue(owner.isPresent());
         assertEquals(1, owner.get().getSalonList().size());
         assertEquals(salon, owner.get().getSalonList().get(0));
+        verify(businessOwnerRepository, never()).save(any());
     }
 
     @Test
@@ -147,11 +165,13 @@ class BusinessOwnerServiceImplTest {
         updatedSalon.setOwner(businessOwner);
 
         when(businessOwnerRepository.findById(1L)).thenReturn(Optional.of(businessOwner));
-        when(businessOwnerRepository.save(any(BusinessOwner.class))).thenReturn(businessOwner);
 
+        List<Salon> salonList = businessOwner.getSalonList();
         Optional<BusinessOwner> owner = businessOwnerService.editSalonForBusinessOwner(updatedSalon);
 
         assertTrue(owner.isPresent());
         assertEquals("Updated Salon", owner.get().getSalonList().get(0).getName());
+        assertSame(salonList, owner.get().getSalonList());
+        verify(businessOwnerRepository, never()).save(any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+package mk.frizer.unit;
+
+import mk.frizer.domain.*;
+import mk.frizer.domain.dto.*;
+import mk.frizer.domain.enums.Role;
+import mk.frizer.domain.exceptions.UserNotFoundException;
+import mk.frizer.repository.*;
+import mk.frizer.service.SalonSearchService;
+import mk.frizer.service.ScheduleService;
+import mk.frizer.service.impl.ChainImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChainImportServiceImplTest {
+
+    @Mock
+    private BusinessOwnerRepository businessOwnerRepository;
+
+    @Mock
+    private CityRepository cityRepository;
+
+    @Mock
+    private BaseUserRepository baseUserRepository;
+
+    @Mock
+    private SalonRepository salonRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private TreatmentRepository treatmentRepository;
+
+    @Mock
+    private SalonSearchService salonSearchService;
+
+    @Mock
+    private ScheduleService scheduleService;
+
+    @InjectMocks
+    private ChainImportServiceImpl chainImportService;
+
+    private BusinessOwner owner;
+    private BaseUser user;
+
+    @BeforeEach
+    void setUp() {
+        owner = new BusinessOwner(new BaseUser("owner@example.com", "password", "Owner", "Owner", "071234567"));
+        owner.setId(1L);
+        user = new BaseUser("employee@example.com", "password", "Employee", "Employee", "071234568");
+        user.setId(10L);
+        user.setRoles(new HashSet<>(user.getRoles()));
+        lenient().when(businessOwnerRepository.existsById(1L)).thenReturn(true);
+        lenient().when(businessOwnerRepository.getReferenceById(1L)).thenReturn(owner);
+        lenient().when(cityRepository.findAllById(any())).thenReturn(List.of(new City("Скопје")));
+        lenient().when(baseUserRepository.findAllWithRolesByIdIn(any())).thenReturn(List.of(user));
+    }
+
+    private static SalonImportDTO salonRow(String name, String city, List<Long> employeeUserIds, List<TreatmentImportDTO> treatments) {
+        return new SalonImportDTO(name, "Description", "Location", city, "071234567", 42.0f, 21.4f, employeeUserIds, treatments);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> saved(ArgumentCaptor<Iterable> captor) {
+        List<T> entities = new ArrayList<>();
+        captor.getValue().forEach(entity -> entities.add((T) entity));
+        return entities;
+    }
+
+    /**
+     * Test importing a valid chain.
+     * Every row is saved with one saveAll per entity type and the collections of the new salons are filled in memory,
+     * without loading the owner or reloading the salons.
+     */
+    @Test
+    @SuppressWarnings("rawtypes")
+    void testImportChain() {
+        ChainImportDTO chain = new ChainImportDTO(1L, List.of(
+                salonRow("Salon A", "Скопје", List.of(10L), List.of(new TreatmentImportDTO("Haircut", 500.0, 1), new TreatmentImportDTO("Shave", 300.0, 1))),
+                salonRow("Salon B", "Скопје", List.of(), List.of())));
+
+        ImportResultDTO result = chainImportService.importChain(chain);
+
+        assertEquals(2, result.getSalonsCreated());
+        assertEquals(1, result.getEmployeesAssigned());
+        assertEquals(2, result.getTreatmentsCreated());
+        assertTrue(result.getErrors().isEmpty());
+
+        ArgumentCaptor<Iterable> salons = ArgumentCaptor.forClass(Iterable.class);
+        ArgumentCaptor<Iterable> employees = ArgumentCaptor.forClass(Iterable.class);
+        verify(salonRepository, times(1)).saveAll(salons.capture());
+        verify(treatmentRepository, times(1)).saveAll(any());
+        verify(employeeRepository, times(1)).saveAll(employees.capture());
+        List<Salon> savedSalons = saved(salons);
+        Salon salonA = savedSalons.get(0);
+        assertEquals(List.of("Salon A", "Salon B"), savedSalons.stream().map(Salon::getName).toList());
+        assertSame(owner, salonA.getOwner());
+        assertEquals(List.of("Haircut", "Shave"), salonA.getSalonTreatments().stream().map(Treatment::getName).toList());
+        assertSame(salonA, ((Employee) saved(employees).get(0)).getSalon());
+        assertEquals(1, salonA.getEmployees().size());
+        assertTrue(user.getRoles().contains(Role.ROLE_EMPLOYEE));
+        verify(salonSearchService).indexSalon(salonA);
+        verify(salonSearchService).indexSalon(savedSalons.get(1));
+        verify(businessOwnerRepository, never()).findById(any());
+        verify(businessOwnerRepository, never()).save(any());
+        verify(salonRepository, never()).findById(any());
+    }
+
+    /**
+     * Test importing a chain with invalid rows.
+     * Invalid rows are reported with their position and skipped, a rejected salon skips its children,
+     * and the valid rows are still imported.
+     */
+    @Test
+    void testImportChainReportsRowErrors() {
+        ChainImportDTO chain = new ChainImportDTO(1L, List.of(
+                salonRow("", "Скопје", List.of(10L), List.of(new TreatmentImportDTO("Haircut", 500.0, 1))),
+                salonRow("Salon B", "Атлантида", List.of(), List.of()),
+                salonRow("Salon C", "Скопје", List.of(10L, 99L, 10L),
+                        List.of(new TreatmentImportDTO("Haircut", -1.0, 1), new TreatmentImportDTO("Shave", 300.0, 0),
+                                new TreatmentImportDTO("Color", 900.0, 3)))));
+
+        ImportResultDTO result = chainImportService.importChain(chain);
+
+        assertEquals(1, result.getSalonsCreated());
+        assertEquals(1, result.getEmployeesAssigned());
+        assertEquals(1, result.getTreatmentsCreated());
+        assertEquals(List.of("salons[0]", "salons[1]", "salons[2].treatments[0]", "salons[2].treatments[1]",
+                        "salons[2].employeeUserIds[1]", "salons[2].employeeUserIds[2]"),
+                result.getErrors().stream().map(ImportErrorDTO::getRow).toList());
+        assertEquals("Unknown city: Атлантида", result.getErrors().get(1).getMessage());
+    }
+
+    /**
+     * Test importing for a user that is already an employee.
+     * Like createEmployee, the existing employee moves to the imported salon instead of being duplicated.
+     */
+    @Test
+    void testImportChainMovesExistingEmployee() {
+        Salon oldSalon = new Salon("Old", "Description", "Location", new City("Скопје"), "071234567", owner, 42.0f, 21.4f);
+        Employee existing = new Employee(user, oldSalon);
+        existing.setId(7L);
+        oldSalon.getEmployees().add(existing);
+        when(employeeRepository.findAllByBaseUserIdIn(Set.of(10L))).thenReturn(List.of(existing));
+
+        ImportResultDTO result = chainImportService.importChain(new ChainImportDTO(1L,
+                List.of(salonRow("Salon A", "Скопје", List.of(10L), List.of()))));
+
+        assertEquals(1, result.getEmployeesAssigned());
+        assertEquals("Salon A", existing.getSalon().getName());
+        assertTrue(oldSalon.getEmployees().isEmpty());
+        verify(scheduleService).evictEmployee(7L);
+    }
+
+    /**
+     * Test importing for a user that is an employee of another owner's salon.
+     * The employee stays where they are and the row is reported.
+     */
+    @Test
+    void testImportChainKeepsEmployeeOfAnotherOwner() {
+        BusinessOwner otherOwner = new BusinessOwner(new BaseUser("other@example.com", "password", "Other", "Owner", "071234569"));
+        otherOwner.setId(2L);
+        Salon otherSalon = new Salon("Other", "Description", "Location", new City("Скопје"), "071234567", otherOwner, 42.0f, 21.4f);
+        Employee existing = new Employee(user, otherSalon);
+        otherSalon.getEmployees().add(existing);
+        when(employeeRepository.findAllByBaseUserIdIn(Set.of(10L))).thenReturn(List.of(existing));
+
+        ImportResultDTO result = chainImportService.importChain(new ChainImportDTO(1L,
+                List.of(salonRow("Salon A", "Скопје", List.of(10L), List.of()))));
+
+        assertEquals(1, result.getSalonsCreated());
+        assertEquals(0, result.getEmployeesAssigned());
+        assertEquals(List.of("salons[0].employeeUserIds[0]"), result.getErrors().stream().map(ImportErrorDTO::getRow).toList());
+        assertEquals("User 10 is an employee of another owner's salon", result.getErrors().get(0).getMessage());
+        assertSame(otherSalon, existing.getSalon());
+        assertEquals(List.of(existing), otherSalon.getEmployees());
+    }
+
+    @Test
+    void testImportChain_OwnerNotFound() {
+        when(businessOwnerRepository.existsById(2L)).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class, () -> chainImportService.importChain(new ChainImportDTO(2L, List.of())));
+        verify(salonRepository, never()).saveAll(any());
+    }
+}
@@ -0,0 +1,102 @@
+package mk.frizer.unit;
+
+import mk.frizer.domain.dto.CitySummaryDTO;
+import mk.frizer.domain.dto.SalonDirectoryDTO;
+import mk.frizer.domain.dto.SalonNameDTO;
+import mk.frizer.utilities.CityDirectory;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CityDirectoryTest {
+
+    private static SalonDirectoryDTO salon(long id, String city, double rating, int reviews) {
+        return new SalonDirectoryDTO(id, "Салон " + id, city, rating, reviews);
+    }
+
+    /***
+     * Test Case for a city's summary
+     * Counts the salons and reviews, averages every review and lists the best rated salons first
+     * */
+    @Test
+    void testSummary() {
+        CityDirectory directory = new CityDirectory();
+        directory.put(salon(1, "Скопје", 4.0, 10));
+        directory.put(salon(2, "Скопје", 5.0, 2));
+        directory.put(salon(3, "Скопје", 4.0, 30));
+        directory.put(new SalonDirectoryDTO(4L, "Салон 4", "Скопје", null, null));
+        directory.put(salon(5, "Битола", 3.0, 1));
+
+        CitySummaryDTO skopje = directory.summary("скопје");
+
+        assertEquals("Скопје", skopje.getCity());
+        assertEquals(4, skopje.getSalons());
+        assertEquals(42, skopje.getNumberOfReviews());
+        assertEquals((40.0 + 10 + 120) / 42, skopje.getAverageRating(), 1e-9);
+        assertEquals(List.of(new SalonNameDTO(2L, "Салон 2"), new SalonNameDTO(3L, "Салон 3"),
+                new SalonNameDTO(1L, "Салон 1"), new SalonNameDTO(4L, "Салон 4")), skopje.getTopRated());
+        assertEquals(List.of(1L, 2L, 3L, 4L), directory.salonIds("СКОПЈЕ"));
+        assertEquals(List.of("Битола", "Скопје"), directory.summaries().stream().map(CitySummaryDTO::getCity).toList());
+    }
+
+    /***
+     * Test Case for changing and removing salons
+     * A salon moves with its rating and city, and a city without salons is gone
+     * */
+    @Test
+    void testPutReplacesAndRemoveDrops() {
+        CityDirectory directory = new CityDirectory();
+        directory.put(salon(1, "Скопје", 4.0, 10));
+        directory.put(salon(2, "Скопје", 3.0, 10));
+
+        directory.put(salon(2, "Скопје", 5.0, 11));
+        assertEquals(21, directory.summary("Скопје").getNumberOfReviews());
+        assertEquals(new SalonNameDTO(2L, "Салон 2"), directory.summary("Скопје").getTopRated().get(0));
+
+        directory.put(salon(1, "Охрид", 4.0, 10));
+        directory.remove(2);
+        assertEquals(new CitySummaryDTO("Скопје", 0, 0, 0, List.of()), directory.summary("Скопје"));
+        assertEquals(List.of(1L), directory.salonIds("Охрид"));
+        assertEquals(1, directory.summaries().size());
+
+        directory.put(salon(1, null, 4.0, 10));
+        assertEquals(List.of(), directory.summaries());
+        assertEquals(BitSet.valueOf(new long[]{0b10}), directory.salonsRated(null, 0));
+    }
+
+    /***
+     * Test Case for filtering by city and rating
+     * Only the city's salons rated high enough are set, or those of every city, including salons without one
+     * */
+    @Test
+    void testSalonsRated() {
+        CityDirectory directory = new CityDirectory();
+        directory.put(salon(1, "Скопје", 4.0, 10));
+        directory.put(salon(2, "Скопје", 2.5, 2));
+        directory.put(salon(3, "Битола", 5.0, 1));
+        directory.put(new SalonDirectoryDTO(4L, "Салон 4", null, null, null));
+
+        assertEquals(BitSet.valueOf(new long[]{0b10}), directory.salonsRated("скопје", 3));
+        assertEquals(BitSet.valueOf(new long[]{0b1010}), directory.salonsRated(null, 3));
+        assertEquals(BitSet.valueOf(new long[]{0b11110}), directory.salonsRated(null, 0));
+        assertEquals(new BitSet(), directory.salonsRated("Охрид", 0));
+    }
+
+    /***
+     * Test Case for the best rated salons
+     * At most five are listed
+     * */
+    @Test
+    void testTopRatedIsBounded() {
+        CityDirectory directory = new CityDirectory();
+        for (long id = 1; id <= 8; id++) {
+            directory.put(salon(id, "Скопје", id % 5, 1));
+        }
+
+        assertEquals(List.of(4L, 3L, 8L, 2L, 7L), directory.summary("Скопје").getTopRated().stream()
+                .map(SalonNameDTO::getId).toList());
+    }
+}
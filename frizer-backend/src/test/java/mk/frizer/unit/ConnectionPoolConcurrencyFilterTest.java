@@ -0,0 +1,69 @@
+package mk.frizer.unit;
+
+import mk.frizer.config.ConnectionPoolConcurrencyFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolConcurrencyFilterTest {
+
+    /***
+     * Test Case for a request that gets a permit
+     * The permit is released again once the request completes
+     * */
+    @Test
+    void testPermitReleasedAfterRequest() throws Exception {
+        ConnectionPoolConcurrencyFilter filter = new ConnectionPoolConcurrencyFilter(2, Duration.ofMillis(100));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/salons"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(2, filter.getAvailablePermits());
+    }
+
+    /***
+     * Test Case for a saturated pool
+     * A request that cannot get a permit within the timeout is rejected with 503 and never reaches the chain
+     * */
+    @Test
+    void testRejectedWhenAllPermitsAreTaken() throws Exception {
+        ConnectionPoolConcurrencyFilter filter = new ConnectionPoolConcurrencyFilter(1, Duration.ofMillis(50));
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger reachedChain = new AtomicInteger();
+
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/salons"), new MockHttpServletResponse(), (request, response) -> {
+                    inside.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        inside.await();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/salons"), response, (request, res) -> reachedChain.incrementAndGet());
+
+        assertEquals(503, response.getStatus());
+        assertEquals(0, reachedChain.get());
+
+        release.countDown();
+        holder.join();
+        assertEquals(1, filter.getAvailablePermits());
+    }
+}
@@ -0,0 +1,150 @@
+package mk.frizer.unit;
+
+import mk.frizer.utilities.BoundingBox;
+import mk.frizer.utilities.DistanceCalculator;
+import mk.frizer.utilities.GeoIndex;
+import mk.frizer.utilities.GeoPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistanceCalculatorTest {
+    private static final String SKOPJE = "41.9981,21.4254";
+
+    private final DistanceCalculator distanceCalculator = new DistanceCalculator();
+
+    /***
+     * Test Case for the distance from a "lat,lon" user location
+     * Skopje to Bitola, and no location at all is distance 0
+     * */
+    @Test
+    void testDistanceFromUserLocation() {
+        assertEquals(107.570, distanceCalculator.getDistance(SKOPJE, 41.0328, 21.3403), 0.001);
+        assertEquals(107.570, distanceCalculator.getDistance(GeoPoint.parse(SKOPJE), 41.0328, 21.3403), 0.001);
+        assertEquals(0, distanceCalculator.getDistance((String) null, 41.0328, 21.3403));
+    }
+
+    /***
+     * Test Case for parsing the user location
+     * Whitespace around the numbers is allowed, a missing longitude is not
+     * */
+    @Test
+    void testParsesUserLocation() {
+        GeoPoint point = GeoPoint.parse("41.9981, 21.4254");
+
+        assertEquals(41.9981, point.latitude());
+        assertEquals(21.4254, point.longitude());
+        assertEquals(Math.cos(Math.toRadians(41.9981)), point.cosLatitude());
+        assertThrows(NumberFormatException.class, () -> GeoPoint.parse("41.9981"));
+    }
+
+    /***
+     * Test Case for the radius check
+     * The equirectangular shortcut decides exactly like the haversine, close to the radius, at high latitudes,
+     * across the antimeridian and for radii where the shortcut is not used
+     * */
+    @Test
+    void testIsWithinAgreesWithHaversine() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 200_000; i++) {
+            GeoPoint user = GeoPoint.of(random.nextDouble(-85, 85), random.nextDouble(-180, 180));
+            double latitude = Math.max(-90, Math.min(90, user.latitude() + random.nextDouble(-8, 8)));
+            double shifted = user.longitude() + random.nextDouble(-15, 15);
+            double longitude = shifted > 180 ? shifted - 360 : shifted < -180 ? shifted + 360 : shifted;
+            double exact = distanceCalculator.getDistance(user, latitude, longitude);
+            // Half of the radii within 2% of the exact distance, the band where the shortcut must not decide
+            double radius = i % 2 == 0 ? exact * random.nextDouble(0.98, 1.02) : random.nextDouble(1, 2000);
+
+            assertEquals(exact <= radius, distanceCalculator.isWithin(user, latitude, longitude, radius),
+                    () -> user + " to " + latitude + "," + longitude + " within " + radius);
+        }
+        assertTrue(distanceCalculator.isWithin(GeoPoint.of(0, 179.5), 0, -179.5, 112));
+        assertFalse(distanceCalculator.isWithin(GeoPoint.of(0, 179.5), 0, -179.5, 111));
+    }
+
+    /***
+     * Test Case for the bounding box of a radius
+     * Every point within the radius is inside the box, which spans all longitudes when the circle reaches a pole
+     * or the antimeridian
+     * */
+    @Test
+    void testBoundingBoxContainsRadius() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 200_000; i++) {
+            GeoPoint user = GeoPoint.of(random.nextDouble(-89, 89), random.nextDouble(-180, 180));
+            double latitude = Math.max(-90, Math.min(90, user.latitude() + random.nextDouble(-5, 5)));
+            double shifted = user.longitude() + random.nextDouble(-30, 30);
+            double longitude = shifted > 180 ? shifted - 360 : shifted < -180 ? shifted + 360 : shifted;
+            double radius = random.nextDouble(1, 600);
+            BoundingBox box = DistanceCalculator.boundingBox(user, radius);
+
+            if (distanceCalculator.getDistance(user, latitude, longitude) <= radius) {
+                assertTrue(latitude >= box.minLatitude() && latitude <= box.maxLatitude()
+                        && longitude >= box.minLongitude() && longitude <= box.maxLongitude(),
+                        () -> user + " to " + latitude + "," + longitude + " within " + radius + " outside " + box);
+            }
+        }
+        assertEquals(new BoundingBox(85.5, 90, -180, 180), round(DistanceCalculator.boundingBox(GeoPoint.of(89, 0), 389.2)));
+        assertEquals(-180, DistanceCalculator.boundingBox(GeoPoint.of(0, 179.5), 112).minLongitude());
+    }
+
+    private static BoundingBox round(BoundingBox box) {
+        return new BoundingBox(Math.round(box.minLatitude() * 10) / 10.0, Math.round(box.maxLatitude() * 10) / 10.0,
+                box.minLongitude(), box.maxLongitude());
+    }
+
+    /***
+     * Test Case for the radius query over an index
+     * Ids come back in the order they were added, also after the index grew past its expected size
+     * */
+    @Test
+    void testGeoIndexReturnsSalonsWithinRadius() {
+        GeoIndex index = new GeoIndex(2)
+                .add(1, 41.0328, 21.3403)
+                .add(2, 42.0097, 20.9716)
+                .add(3, 41.9981, 21.4254);
+        for (int i = 0; i < 20; i++) {
+            index.add(100 + i, 45.0, 25.0);
+        }
+        List<Long> ids = new ArrayList<>();
+
+        index.forEachWithin(GeoPoint.parse(SKOPJE), 50, ids::add);
+
+        assertEquals(List.of(2L, 3L), ids);
+        assertEquals(23, index.size());
+        assertEquals(3, index.countWithin(GeoPoint.parse(SKOPJE), 110));
+    }
+
+    /***
+     * Test Case for keeping the index current
+     * A moved salon is found at its new coordinates only, and a removed salon not at all
+     * */
+    @Test
+    void testGeoIndexMovesAndRemovesSalons() {
+        GeoIndex index = new GeoIndex(2)
+                .add(1, 41.0328, 21.3403)
+                .add(2, 42.0097, 20.9716)
+                .add(3, 41.9981, 21.4254);
+
+        index.add(1, 41.99, 21.43);
+        index.remove(2);
+        index.remove(7);
+
+        assertEquals(2, index.size());
+        assertEquals(Set.of(1L, 3L), idsWithin(index, 50));
+        assertEquals(BitSet.valueOf(new long[]{0b1010}), index.salonsWithin(GeoPoint.parse(SKOPJE), 50));
+    }
+
+    private static Set<Long> idsWithin(GeoIndex index, double radiusKm) {
+        Set<Long> ids = new HashSet<>();
+        index.forEachWithin(GeoPoint.parse(SKOPJE), radiusKm, ids::add);
+        return ids;
+    }
+}
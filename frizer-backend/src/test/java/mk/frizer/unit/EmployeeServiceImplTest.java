@@ -3,7 +3,9 @@ package mk.frizer.unit;
 import mk.frizer.domain.*;
 import mk.frizer.domain.dto.EmployeeAddDTO;
 import mk.frizer.domain.exceptions.EmployeeNotFoundException;
+import mk.frizer.domain.exceptions.SalonNotFoundException;
 import mk.frizer.repository.*;
+import mk.frizer.service.ScheduleService;
 import mk.frizer.service.impl.EmployeeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,6 +32,9 @@ public class EmployeeServiceImplTest {
     @Mock
     private SalonRepository salonRepository;
 
+    @Mock
+    private ScheduleService scheduleService;
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -103,6 +109,29 @@ public class EmployeeServiceImplTest {
         verify(employeeRepository, times(1)).findById(anyLong());
     }
 
+    /***
+     * Test Case for `getEmployeesForSalon` Method
+     * The employees are queried by salon ID, an unknown salon is rejected before querying
+     */
+    @Test
+    void testGetEmployeesForSalon() {
+        when(salonRepository.existsById(1L)).thenReturn(true);
+        when(employeeRepository.findAllBySalonId(1L)).thenReturn(List.of(employee));
+
+        List<Employee> employees = employeeService.getEmployeesForSalon(1L);
+
+        assertEquals(List.of(employee), employees);
+        verify(employeeRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetEmployeesForSalon_SalonNotFound() {
+        when(salonRepository.existsById(anyLong())).thenReturn(false);
+
+        assertThrows(SalonNotFoundException.class, () -> employeeService.getEmployeesForSalon(1L));
+        verify(employeeRepository, never()).findAllBySalonId(anyLong());
+    }
+
     /***
      * Test Case for `createEmployee` Method
      */
@@ -127,6 +156,27 @@ public class EmployeeServiceImplTest {
         verify(employeeRepository, times(1)).save(any(Employee.class));
     }
 
+    /***
+     * Test Case for `createEmployee` Method with a user that is already an employee
+     * The employee moves to the new salon and the schedules cached for the old one are dropped
+     */
+    @Test
+    void testCreateEmployeeMovesExistingEmployee() {
+        Salon newSalon = new Salon();
+        newSalon.setId(2L);
+
+        when(employeeRepository.findAll()).thenReturn(List.of(employee));
+        when(salonRepository.findById(2L)).thenReturn(Optional.of(newSalon));
+        when(employeeRepository.save(employee)).thenReturn(employee);
+
+        Optional<Employee> movedEmployee = employeeService.createEmployee(new EmployeeAddDTO(1L, 2L));
+
+        assertTrue(movedEmployee.isPresent());
+        assertEquals(2L, movedEmployee.get().getSalon().getId());
+        verify(scheduleService).evictEmployee(1L);
+        verify(baseUserRepository, never()).save(any());
+    }
+
     /***
      * Test Case for `deleteEmployeeById` Method
      */
@@ -0,0 +1,162 @@
+package mk.frizer.unit;
+
+import mk.frizer.domain.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class EntityIdentityTest {
+
+    private static Salon salon(Long id) {
+        Salon salon = new Salon();
+        salon.setId(id);
+        salon.setEmployees(new ArrayList<>());
+        salon.setSalonTreatments(new ArrayList<>());
+        salon.setTags(new ArrayList<>());
+        return salon;
+    }
+
+    /***
+     * Test Case for two instances of the same row, e.g. loaded in different persistence contexts
+     * They are equal and hash alike even when their state differs
+     * */
+    @Test
+    void testSameIdIsEqual() {
+        Salon loaded = salon(1L);
+        Salon reloaded = salon(1L);
+        reloaded.setName("Renamed");
+        reloaded.getTags().add(new Tag("Haircut"));
+
+        assertEquals(loaded, reloaded);
+        assertEquals(loaded.hashCode(), reloaded.hashCode());
+        assertNotEquals(loaded, salon(2L));
+    }
+
+    /***
+     * Test Case for entities that are not persisted yet
+     * Without an id an entity only equals itself
+     * */
+    @Test
+    void testTransientEntitiesEqualOnlyThemselves() {
+        Salon first = salon(null);
+        Salon second = salon(null);
+
+        assertEquals(first, first);
+        assertNotEquals(first, second);
+        assertNotEquals(first, salon(1L));
+    }
+
+    /***
+     * Test Case for the hash code of an entity that gets its id while it is inside a hash based collection
+     * The hash code does not change, so the entity can still be found
+     * */
+    @Test
+    void testHashCodeStableWhenIdIsAssigned() {
+        Treatment treatment = new Treatment("Haircut", salon(1L), 500.0, 1);
+        int before = treatment.hashCode();
+
+        treatment.setId(10L);
+
+        assertEquals(before, treatment.hashCode());
+    }
+
+    /***
+     * Test Case for City whose id is its name
+     * */
+    @Test
+    void testCityEqualsByName() {
+        assertEquals(new City("Скопје"), new City("Скопје"));
+        assertEquals(new City("Скопје").hashCode(), new City("Скопје").hashCode());
+        assertNotEquals(new City("Скопје"), new City("Битола"));
+    }
+
+    /***
+     * Test Case for equals and hashCode on entities with associations
+     * Neither of them reads any association, so their cost does not depend on the size of the graph
+     * */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAssociationsAreNeverTraversed() {
+        Salon salon = new Salon();
+        salon.setId(1L);
+        List<Employee> employees = mock(List.class);
+        List<Treatment> treatments = mock(List.class);
+        List<Tag> tags = mock(List.class);
+        salon.setEmployees(employees);
+        salon.setSalonTreatments(treatments);
+        salon.setTags(tags);
+
+        Tag tag = new Tag("Haircut");
+        tag.setId(1L);
+        List<Salon> salonsWithTag = mock(List.class);
+        tag.setSalonsWithTag(salonsWithTag);
+
+        Employee employee = new Employee(new BaseUser(), salon);
+        employee.setId(1L);
+        List<Appointment> appointments = mock(List.class);
+        employee.setAppointmentsActive(appointments);
+        employee.setAppointmentsHistory(appointments);
+
+        salon.hashCode();
+        tag.hashCode();
+        employee.hashCode();
+        assertEquals(salon, salon(1L));
+        assertNotEquals(tag, new Tag("Haircut"));
+        assertNotEquals(employee, new Employee());
+
+        verifyNoInteractions(employees, treatments, tags, salonsWithTag, appointments);
+    }
+
+    /***
+     * Test Case for a bidirectional graph (salon <-> tag, salon <-> employee)
+     * Hashing and comparing the members of a cycle terminates and gives the same result at any graph size
+     * */
+    @Test
+    void testCyclicGraphOfAnySize() {
+        Salon small = salon(1L);
+        Salon large = salon(1L);
+        for (long i = 0; i < 100_000; i++) {
+            Tag tag = new Tag("Tag " + i);
+            tag.setId(i);
+            tag.getSalonsWithTag().add(large);
+            large.getTags().add(tag);
+            Employee employee = new Employee(new BaseUser(), large);
+            employee.setId(i);
+            large.getEmployees().add(employee);
+        }
+
+        assertEquals(small.hashCode(), large.hashCode());
+        assertEquals(small, large);
+        assertTrue(large.getTags().get(42).getSalonsWithTag().contains(small));
+    }
+
+    /***
+     * Test Case for collection operations used by the services (retainAll in the salon filter, remove of appointments)
+     * They match by id on instances that were loaded separately
+     * */
+    @Test
+    void testCollectionOperationsMatchById() {
+        List<Salon> byRating = new ArrayList<>(LongStream.range(0, 1_000).mapToObj(EntityIdentityTest::salon).toList());
+        List<Salon> byLocation = LongStream.range(500, 1_500).mapToObj(EntityIdentityTest::salon).toList();
+
+        byRating.retainAll(byLocation);
+
+        assertEquals(500, byRating.size());
+
+        Appointment active = new Appointment();
+        active.setId(7L);
+        Appointment reloaded = new Appointment();
+        reloaded.setId(7L);
+        Customer customer = new Customer(new BaseUser());
+        customer.getAppointmentsActive().add(active);
+
+        assertTrue(customer.getAppointmentsActive().remove(reloaded));
+        assertTrue(customer.getAppointmentsActive().isEmpty());
+    }
+}
@@ -0,0 +1,50 @@
+package mk.frizer.unit;
+
+import jakarta.persistence.EntityManager;
+import mk.frizer.utilities.EntityStreamer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class EntityStreamerTest {
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    /***
+     * Test Case for walking a result longer than the clear interval
+     * Every entity reaches the action in order and the persistence context is cleared once per full interval
+     * */
+    @Test
+    void testClearsPersistenceContextEveryInterval() {
+        EntityStreamer streamer = new EntityStreamer(entityManager, 3);
+        List<Long> seen = new ArrayList<>();
+
+        long count = streamer.forEach(LongStream.rangeClosed(1, 7).boxed(), seen::add);
+
+        assertEquals(7, count);
+        assertEquals(LongStream.rangeClosed(1, 7).boxed().toList(), seen);
+        verify(entityManager, times(2)).clear();
+    }
+
+    /***
+     * Test Case for the underlying cursor
+     * The stream is closed when the walk ends, also when the action fails
+     * */
+    @Test
+    void testClosesStream() {
+        EntityStreamer streamer = new EntityStreamer(entityManager, 500);
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Long> entities = Stream.of(1L, 2L).onClose(() -> closed.set(true));
+
+        assertThrows(IllegalStateException.class, () -> streamer.forEach(entities, id -> {
+            throw new IllegalStateException();
+        }));
+        assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,172 @@
+package mk.frizer.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import mk.frizer.domain.dto.AppointmentExportDTO;
+import mk.frizer.domain.enums.ExportFormat;
+import mk.frizer.utilities.ExportWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExportWriterTest {
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    private final ExportWriter exportWriter = new ExportWriter(OBJECT_MAPPER);
+
+    private static AppointmentExportDTO row(long id, String treatmentName, Long customerId) {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 8, 0).plusMinutes(20 * id);
+        return new AppointmentExportDTO(id, from, from.plusMinutes(20), 1L, treatmentName, 500.0, 2L, customerId, id % 2 == 0);
+    }
+
+    /***
+     * Test Case for newline-delimited JSON
+     * Every row is one JSON object on its own line and the target stream is left open
+     * */
+    @Test
+    void testWritesOneJsonObjectPerLine() throws IOException {
+        ClosingAwareStream out = new ClosingAwareStream();
+
+        long count = exportWriter.write(out, ExportFormat.NDJSON, AppointmentExportDTO.CSV_COLUMNS, rows -> {
+            rows.accept(row(1, "Haircut", 3L));
+            rows.accept(row(2, "Beard\ntrim", null));
+        });
+
+        assertEquals(2, count);
+        assertFalse(out.closed);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals(2, OBJECT_MAPPER.readTree(lines.get(1)).get("id").asLong());
+        assertEquals("Beard\ntrim", OBJECT_MAPPER.readTree(lines.get(1)).get("treatmentName").asText());
+        assertEquals("2024-01-01 08:40", OBJECT_MAPPER.readTree(lines.get(1)).get("dateFrom").asText());
+    }
+
+    /***
+     * Test Case for CSV
+     * The header comes first, values with separators, quotes or line breaks are quoted and null values stay empty
+     * */
+    @Test
+    void testWritesCsvWithQuoting() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportWriter.write(out, ExportFormat.CSV, AppointmentExportDTO.CSV_COLUMNS, rows -> {
+            rows.accept(row(1, "Cut, wash", 3L));
+            rows.accept(row(2, "The \"works\"\nspecial", null));
+        });
+
+        assertEquals(2, count);
+        assertEquals("id,dateFrom,dateTo,treatmentId,treatmentName,price,employeeId,customerId,attended\r\n" +
+                "1,2024-01-01 08:20,2024-01-01 08:40,1,\"Cut, wash\",500.0,2,3,false\r\n" +
+                "2,2024-01-01 08:40,2024-01-01 09:00,1,\"The \"\"works\"\"\nspecial\",500.0,2,,true\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    /***
+     * Test Case for CSV text that a spreadsheet would run as a formula
+     * Text starting with =, +, -, @ or a tab gets a leading quote, numbers keep their sign
+     * */
+    @Test
+    void testCsvNeutralisesFormulas() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportWriter.write(out, ExportFormat.CSV, List.of("a", "b", "c", "d", "e", "f"), rows -> rows.accept(
+                () -> new Object[]{"=HYPERLINK(\"http://example.com\",\"x\")", "+1", "-2", "@SUM(A1)", "\tcut", -3.5}));
+
+        assertEquals("a,b,c,d,e,f\r\n" +
+                        "\"'=HYPERLINK(\"\"http://example.com\"\",\"\"x\"\")\",'+1,'-2,'@SUM(A1),'\tcut,-3.5\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    /***
+     * Test Case for an export without rows
+     * CSV still has its header and NDJSON is empty
+     * */
+    @Test
+    void testEmptyExport() throws IOException {
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+
+        assertEquals(0, exportWriter.write(csv, ExportFormat.CSV, List.of("id", "name"), rows -> { }));
+        assertEquals(0, exportWriter.write(ndjson, ExportFormat.NDJSON, List.of("id", "name"), rows -> { }));
+
+        assertEquals("id,name\r\n", csv.toString(StandardCharsets.UTF_8));
+        assertEquals(0, ndjson.size());
+    }
+
+    /***
+     * Test Case for a failing client connection
+     * The IOException of the target reaches the caller instead of being wrapped
+     * */
+    @Test
+    void testPropagatesIOException() {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        IOException exception = assertThrows(IOException.class, () ->
+                exportWriter.write(broken, ExportFormat.CSV, AppointmentExportDTO.CSV_COLUMNS, rows -> {
+                    for (long id = 0; id < 10_000; id++) {
+                        rows.accept(row(id, "Haircut", 3L));
+                    }
+                }));
+        assertEquals("Broken pipe", exception.getMessage());
+    }
+
+    /***
+     * Test Case for exporting 1M rows under a fixed heap limit
+     * A separate JVM with a 32 MB heap writes 1M rows in both formats through gzip, which only succeeds if memory does
+     * not grow with the number of rows
+     * */
+    @Test
+    void testMillionRowsUnderFixedHeap() throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-Xmx32m", "-cp", System.getProperty("java.class.path"),
+                MillionRowExport.class.getName())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+        assertTrue(process.waitFor(2, TimeUnit.MINUTES));
+        assertEquals(0, process.exitValue(), output);
+        assertEquals(List.of("NDJSON 1000000", "CSV 1000000"), output.lines().toList());
+    }
+
+    public static class MillionRowExport {
+        public static void main(String[] args) throws IOException {
+            ExportWriter exportWriter = new ExportWriter(OBJECT_MAPPER);
+            for (ExportFormat format : ExportFormat.values()) {
+                try (GZIPOutputStream out = new GZIPOutputStream(OutputStream.nullOutputStream(), 8 * 1024)) {
+                    long count = exportWriter.write(out, format, AppointmentExportDTO.CSV_COLUMNS, rows -> {
+                        for (long id = 1; id <= 1_000_000; id++) {
+                            rows.accept(row(id, "Treatment " + id, id));
+                        }
+                    });
+                    System.out.println(format + " " + count);
+                }
+            }
+        }
+    }
+
+    private static class ClosingAwareStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
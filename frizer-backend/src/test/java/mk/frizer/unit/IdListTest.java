@@ -0,0 +1,56 @@
+package mk.frizer.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.Tag;
+import mk.frizer.domain.dto.simple.IdList;
+import mk.frizer.domain.dto.simple.TagSimpleDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdListTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Salon salon(Long id) {
+        Salon salon = new Salon();
+        salon.setId(id);
+        return salon;
+    }
+
+    /***
+     * Test Case for the JSON of a DTO holding an id view
+     * It is the same plain array of numbers a copied List<Long> produced
+     * */
+    @Test
+    void testSerializesLikeAList() throws Exception {
+        Tag tag = new Tag("Haircut");
+        tag.setId(1L);
+        tag.getSalonsWithTag().addAll(List.of(salon(3L), salon(1_000_000L), salon(null)));
+
+        String json = objectMapper.writeValueAsString(tag.toDto());
+
+        assertEquals("{\"id\":1,\"name\":\"Haircut\",\"salonsWithTagIds\":[3,1000000,null]}", json);
+        assertEquals(json, objectMapper.writeValueAsString(TagSimpleDTO.builder()
+                .id(1L).name("Haircut").salonsWithTagIds(Arrays.asList(3L, 1_000_000L, null)).build()));
+    }
+
+    /***
+     * Test Case for reading the ids through the List interface
+     * It behaves like an unmodifiable list of the entity ids
+     * */
+    @Test
+    void testListView() {
+        List<Salon> salons = new ArrayList<>(List.of(salon(1L), salon(2L)));
+        List<Long> ids = IdList.of(salons, Salon::getId);
+
+        assertEquals(List.of(1L, 2L), ids);
+        assertEquals(2L, ids.get(1));
+        assertThrows(UnsupportedOperationException.class, () -> ids.add(3L));
+        assertTrue(IdList.of(null, Salon::getId).isEmpty());
+    }
+}
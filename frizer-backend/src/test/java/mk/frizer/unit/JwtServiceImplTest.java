@@ -0,0 +1,79 @@
+package mk.frizer.unit;
+
+import io.jsonwebtoken.Claims;
+import mk.frizer.domain.BaseUser;
+import mk.frizer.domain.enums.Role;
+import mk.frizer.service.impl.JwtServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtServiceImplTest {
+    private static final String SECRET = "ZnJpemVyLXNraXQtdGVzdC1qd3Qtc2lnbmluZy1rZXktMzItYnl0ZXM=";
+
+    private JwtServiceImpl jwtService;
+    private BaseUser baseUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtServiceImpl(SECRET, Duration.ofMinutes(5), 100);
+        baseUser = new BaseUser("test@example.com", "encodedPassword", "John", "Doe", "1234567890", Role.ROLE_OWNER);
+        baseUser.setId(1L);
+    }
+
+    /***
+     * Test Case for `generateToken` and `getClaims` Methods
+     * Checks that a generated token round trips the subject, user id and roles
+     * */
+    @Test
+    void testGenerateTokenAndGetClaims() {
+        String token = jwtService.generateToken(baseUser);
+
+        Optional<Claims> claims = jwtService.getClaims(token);
+
+        assertTrue(claims.isPresent());
+        assertEquals("test@example.com", claims.get().getSubject());
+        assertEquals(1L, claims.get().get(JwtServiceImpl.USER_ID_CLAIM, Long.class));
+        assertEquals(List.of("ROLE_OWNER"), claims.get().get(JwtServiceImpl.ROLES_CLAIM, List.class));
+    }
+
+    /***
+     * Test Case for the claims cache
+     * Verifying the same token twice returns the cached claims instead of parsing again
+     * */
+    @Test
+    void testGetClaims_Cached() {
+        String token = jwtService.generateToken(baseUser);
+
+        Claims first = jwtService.getClaims(token).get();
+        Claims second = jwtService.getClaims(token).get();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void testGetClaims_InvalidSignature() {
+        JwtServiceImpl otherService = new JwtServiceImpl("b3RoZXItZnJpemVyLXNraXQtdGVzdC1qd3Qtc2lnbmluZy1rZXk=", Duration.ofMinutes(5), 100);
+        String token = otherService.generateToken(baseUser);
+
+        assertTrue(jwtService.getClaims(token).isEmpty());
+    }
+
+    @Test
+    void testGetClaims_Expired() {
+        JwtServiceImpl expiredService = new JwtServiceImpl(SECRET, Duration.ofMinutes(-1), 100);
+        String token = expiredService.generateToken(baseUser);
+
+        assertTrue(jwtService.getClaims(token).isEmpty());
+    }
+
+    @Test
+    void testGetClaims_Malformed() {
+        assertTrue(jwtService.getClaims("not-a-token").isEmpty());
+    }
+}
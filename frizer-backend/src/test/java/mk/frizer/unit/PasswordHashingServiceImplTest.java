@@ -0,0 +1,117 @@
+package mk.frizer.unit;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mk.frizer.domain.exceptions.PasswordHashingUnavailableException;
+import mk.frizer.service.impl.PasswordHashingServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingServiceImplTest {
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingServiceImpl passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        passwordHashingService = new PasswordHashingServiceImpl(4, 250, 2, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.destroy();
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    /***
+     * Test Case for `encode` and `matches` Methods
+     * Checks that hashes produced on the hashing pool verify against the raw password
+     * */
+    @Test
+    void testEncodeAndMatches() {
+        String hash = passwordHashingService.encode("password");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(passwordHashingService.matches("password", hash));
+        assertFalse(passwordHashingService.matches("wrong", hash));
+    }
+
+    @Test
+    void testEncodeAsync() {
+        CompletableFuture<String> hash = passwordHashingService.encodeAsync("password");
+
+        assertTrue(passwordHashingService.matches("password", hash.join()));
+    }
+
+    /***
+     * Test Case for `encodeAll` Method
+     * A batch larger than the queue is hashed in waves instead of being rejected
+     * */
+    @Test
+    void testEncodeAll_LargerThanQueue() {
+        List<String> passwords = IntStream.range(0, 40).mapToObj(i -> "password" + i).toList();
+
+        List<String> hashes = passwordHashingService.encodeAll(passwords);
+
+        assertEquals(40, hashes.size());
+        assertTrue(passwordHashingService.matches("password39", hashes.get(39)));
+    }
+
+    @Test
+    void testEncode_RejectedWhenQueueIsFull() {
+        PasswordHashingServiceImpl saturated = new PasswordHashingServiceImpl(12, 250, 1, 1);
+        try {
+            assertThrows(PasswordHashingUnavailableException.class, () -> {
+                for (int i = 0; i < 10; i++) {
+                    saturated.encodeAsync("password");
+                }
+            });
+        } finally {
+            saturated.destroy();
+        }
+    }
+
+    /***
+     * Test Case for `upgradeEncoding` Method
+     * Hashes with a lower cost than the configured one must be upgraded on the next login
+     * */
+    @Test
+    void testUpgradeEncoding() {
+        String weakHash = new BCryptPasswordEncoder(4).encode("password");
+        String strongHash = new BCryptPasswordEncoder(5).encode("password");
+        PasswordHashingServiceImpl stronger = new PasswordHashingServiceImpl(5, 250, 1, 4);
+        try {
+            assertTrue(stronger.upgradeEncoding(weakHash));
+            assertFalse(stronger.upgradeEncoding(strongHash));
+        } finally {
+            stronger.destroy();
+        }
+    }
+
+    @Test
+    void testCalibratedStrengthWithinBounds() {
+        PasswordHashingServiceImpl calibrated = new PasswordHashingServiceImpl(0, 1, 1, 4);
+        try {
+            assertEquals(10, calibrated.getStrength());
+        } finally {
+            calibrated.destroy();
+        }
+    }
+
+    @Test
+    void testHashLatencyMetric() {
+        passwordHashingService.encode("password");
+        passwordHashingService.encode("password");
+
+        assertEquals(2, meterRegistry.get("frizer.password.hash").tag("strength", "4").timer().count());
+    }
+}
@@ -0,0 +1,49 @@
+package mk.frizer.unit;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PooledSequencesMappingTest {
+
+    /***
+     * Test Case for the pooled sequences of the performance profile
+     * Every entity with a generated id is mapped, so none of them is left inserting one row per round trip
+     * */
+    @Test
+    void testEveryGeneratedIdIsMapped() throws Exception {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        Set<String> generated = new TreeSet<>();
+        for (BeanDefinition definition : scanner.findCandidateComponents("mk.frizer.domain")) {
+            Class<?> entity = Class.forName(definition.getBeanClassName());
+            if (Arrays.stream(entity.getDeclaredFields()).anyMatch(field -> field.isAnnotationPresent(GeneratedValue.class))) {
+                generated.add(entity.getName());
+            }
+        }
+
+        Set<String> mapped = new TreeSet<>();
+        try (InputStream mapping = getClass().getResourceAsStream("/META-INF/orm-pooled-sequences.xml")) {
+            NodeList entities = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(mapping)
+                    .getElementsByTagName("entity");
+            for (int i = 0; i < entities.getLength(); i++) {
+                mapped.add(((Element) entities.item(i)).getAttribute("class"));
+            }
+        }
+
+        assertEquals(generated, mapped);
+    }
+}
@@ -0,0 +1,51 @@
+package mk.frizer.unit;
+
+import mk.frizer.utilities.PrefixIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrefixIndexTest {
+
+    /***
+     * Test Case for suggestions
+     * Any word of a name completes it, in either alphabet, in the order of the text from that word on
+     * */
+    @Test
+    void testSuggestsNamesWithWordStartingWithQuery() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.add("1", "Фризерски салон Стил", "Фризерски салон Стил");
+        index.add("2", "Студио Шик", "Студио Шик");
+        index.add("3", "Hair Studio", "Hair Studio");
+        index.add("4", "Салон за убавина", "Салон за убавина");
+
+        assertEquals(List.of("Фризерски салон Стил", "Hair Studio", "Студио Шик"), index.suggest("st", 10));
+        assertEquals(List.of("Hair Studio", "Студио Шик"), index.suggest("СТУД", 10));
+        assertEquals(List.of("Фризерски салон Стил", "Салон за убавина"), index.suggest("salon", 10));
+        assertEquals(List.of("Студио Шик"), index.suggest("šik", 10));
+        assertEquals(List.of("Фризерски салон Стил"), index.suggest("st", 1));
+        assertEquals(List.of(), index.suggest("tudio", 10));
+        assertEquals(List.of(), index.suggest(" ", 10));
+    }
+
+    /***
+     * Test Case for entries added under the same identity
+     * A name stays until it has been removed as often as it was added
+     * */
+    @Test
+    void testCountsReferences() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.add("shishanje", "Шишање", "Шишање");
+        index.add("shishanje", "Шишање", "Шишање");
+
+        index.remove("shishanje");
+        assertEquals(List.of("Шишање"), index.suggest("ши", 10));
+        assertEquals(1, index.size());
+
+        index.remove("shishanje");
+        assertEquals(List.of(), index.suggest("ши", 10));
+        assertEquals(0, index.size());
+    }
+}
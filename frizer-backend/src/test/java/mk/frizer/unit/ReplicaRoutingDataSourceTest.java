@@ -0,0 +1,137 @@
+package mk.frizer.unit;
+
+import mk.frizer.config.ReadYourWritesTracker;
+import mk.frizer.config.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReplicaRoutingDataSourceTest {
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstReplicaConnection = mock(Connection.class);
+    private final Connection secondReplicaConnection = mock(Connection.class);
+
+    private ReplicaRoutingDataSource dataSource(Duration readYourWritesWindow) throws SQLException {
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(dataSourceFor(primaryConnection),
+                List.of(dataSourceFor(firstReplicaConnection), dataSourceFor(secondReplicaConnection)),
+                new ReadYourWritesTracker(readYourWritesWindow));
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    private static DataSource dataSourceFor(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void commitTransaction() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clear();
+    }
+
+    @BeforeEach
+    void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("customer@email.com", null, List.of()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    /***
+     * Test Case for work outside of a transaction
+     * It uses the primary
+     * */
+    @Test
+    void testNoTransactionUsesPrimary() throws SQLException {
+        assertSame(primaryConnection, dataSource(Duration.ofSeconds(5)).getConnection());
+    }
+
+    /***
+     * Test Case for read-only transactions
+     * They are spread over the replicas round robin
+     * */
+    @Test
+    void testReadOnlyTransactionsAlternateReplicas() throws SQLException {
+        ReplicaRoutingDataSource dataSource = dataSource(Duration.ofSeconds(5));
+
+        beginTransaction(true);
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        Connection third = dataSource.getConnection();
+
+        assertSame(firstReplicaConnection, first);
+        assertSame(secondReplicaConnection, second);
+        assertSame(firstReplicaConnection, third);
+    }
+
+    /***
+     * Test Case for a read-only transaction right after the same user's committed write
+     * It reads from the primary so the write is visible, other users still use the replicas
+     * */
+    @Test
+    void testReadYourWritesAfterCommit() throws SQLException {
+        ReplicaRoutingDataSource dataSource = dataSource(Duration.ofSeconds(5));
+
+        beginTransaction(false);
+        assertSame(primaryConnection, dataSource.getConnection());
+        commitTransaction();
+
+        beginTransaction(true);
+        assertSame(primaryConnection, dataSource.getConnection());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("other@email.com", null, List.of()));
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+    }
+
+    /***
+     * Test Case for a write that was rolled back or a window that has passed
+     * Reads go back to the replicas
+     * */
+    @Test
+    void testReplicasUsedAgainWithoutRecentCommit() throws SQLException {
+        ReplicaRoutingDataSource rolledBack = dataSource(Duration.ofSeconds(5));
+        beginTransaction(false);
+        rolledBack.getConnection();
+        TransactionSynchronizationManager.clear();
+
+        beginTransaction(true);
+        assertSame(firstReplicaConnection, rolledBack.getConnection());
+        TransactionSynchronizationManager.clear();
+
+        ReplicaRoutingDataSource expired = dataSource(Duration.ZERO);
+        beginTransaction(false);
+        expired.getConnection();
+        commitTransaction();
+
+        beginTransaction(true);
+        assertSame(firstReplicaConnection, expired.getConnection());
+    }
+}
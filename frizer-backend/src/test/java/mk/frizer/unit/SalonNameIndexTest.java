@@ -0,0 +1,110 @@
+package mk.frizer.unit;
+
+import mk.frizer.utilities.SalonNameIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalonNameIndexTest {
+    private SalonNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Map<Long, String> names = new LinkedHashMap<>();
+        names.put(1L, "Фризерски салон Стил");
+        names.put(2L, "Салон за убавина Елит");
+        names.put(3L, "Берберница Џентлмен");
+        names.put(4L, "Студио Шик");
+        names.put(5L, "Hair Studio Bliss");
+        names.put(6L, "Frizerski salon Gjorgji");
+        index = new SalonNameIndex();
+        index.rebuild(names);
+    }
+
+    /***
+     * Test Case for normalizing names and queries
+     * Cyrillic is transliterated, accents and háčeks are folded and punctuation becomes a single space
+     * */
+    @Test
+    void testNormalize() {
+        assertEquals("frizerski salon stil", SalonNameIndex.normalize("Фризерски  салон \"Стил\""));
+        assertEquals("berbernica dzhentlmen", SalonNameIndex.normalize("Берберница Џентлмен"));
+        assertEquals("studio shik", SalonNameIndex.normalize("Studio Šik"));
+        assertEquals("salon", SalonNameIndex.normalize("Salón!"));
+        assertEquals("", SalonNameIndex.normalize(null));
+    }
+
+    /***
+     * Test Case for searching in either alphabet
+     * A Cyrillic query finds Latin names and the other way around
+     * */
+    @Test
+    void testSearchAcrossAlphabets() {
+        assertEquals(List.of(1L, 6L), index.search("frizerski", 10));
+        assertEquals(List.of(1L, 6L), index.search("ФРИЗЕРСКИ", 10));
+        assertEquals(List.of(6L), index.search("Ѓорѓи", 10));
+        // Sharing only "studio" is enough of the query for a match, ranked after the full one
+        assertEquals(List.of(4L, 5L), index.search("studio shik", 10));
+        assertEquals(List.of(4L, 5L), index.search("studio šik", 10));
+    }
+
+    /***
+     * Test Case for prefixes, typos and ranking
+     * Names starting with the query rank first, then names where it starts a word, then names containing it, then
+     * close matches
+     * */
+    @Test
+    void testSearchRanksPrefixesBeforeTypos() {
+        assertEquals(List.of(3L, 5L), index.search("б", 10));
+        assertEquals(List.of(3L), index.search("бе", 10));
+        assertEquals(List.of(4L, 5L), index.search("stu", 10));
+        assertEquals(List.of(1L, 6L), index.search("frizersk", 10));
+        assertEquals(List.of(3L), index.search("berberica", 10));
+        // "salon" starts one name and a word in two more; "salonn" is a typo, equally close to all three
+        assertEquals(List.of(2L, 1L, 6L), index.search("salon", 10));
+        assertEquals(List.of(1L, 2L, 6L), index.search("salonn", 10));
+        assertEquals(List.of(1L, 6L), index.search("erski", 10));
+        assertEquals(List.of(2L), index.search("salon", 1));
+        assertEquals(List.of(), index.search("!?", 10));
+        assertEquals(List.of(), index.search("xyz", 10));
+    }
+
+    /***
+     * Test Case for keeping the index current
+     * A renamed salon is found by its new name only and a removed salon is not found at all
+     * */
+    @Test
+    void testPutAndRemove() {
+        index.put(4L, "Студио Лукс");
+        index.remove(5L);
+        index.put(7L, "Nova Hair Studio");
+
+        assertEquals(List.of(4L, 7L), index.search("studio", 10));
+        assertEquals(List.of(), index.search("shik", 10));
+        assertEquals(6, index.size());
+    }
+
+    /***
+     * Test Case for reusing the slots of removed salons
+     * A salon added into a freed slot is found by its own name only, never by the name that held the slot before
+     * */
+    @Test
+    void testFreedSlotsAreReused() {
+        for (int i = 0; i < 100; i++) {
+            index.put(4L, i % 2 == 0 ? "Студио Лукс" : "Студио Шик");
+        }
+        index.remove(1L);
+        index.put(8L, "Beauty Corner");
+
+        assertEquals(List.of(4L), index.search("shik", 10));
+        assertEquals(List.of(), index.search("stil", 10));
+        assertEquals(List.of(8L), index.search("corner", 10));
+        assertEquals(List.of(2L, 6L), index.search("salon", 10));
+        assertEquals(6, index.size());
+    }
+}
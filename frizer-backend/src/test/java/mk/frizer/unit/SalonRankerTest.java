@@ -0,0 +1,93 @@
+package mk.frizer.unit;
+
+import mk.frizer.domain.dto.SalonRankDTO;
+import mk.frizer.utilities.GeoPoint;
+import mk.frizer.utilities.SalonRanker;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalonRankerTest {
+
+    private static SalonRankDTO salon(long id, double rating, int reviews, float latitude, float longitude) {
+        return new SalonRankDTO(id, "Скопје", rating, reviews, latitude, longitude);
+    }
+
+    /***
+     * Test Case for the rating part of the score
+     * Few reviews weigh less than many, and a salon without reviews gets the mean of all of them
+     * */
+    @Test
+    void testBayesianRating() {
+        List<SalonRankDTO> salons = List.of(salon(1, 5.0, 1, 42f, 21.4f), salon(2, 4.8, 100, 42f, 21.4f),
+                salon(3, 0.0, 0, 42f, 21.4f), salon(4, 3.0, 19, 42f, 21.4f));
+
+        double mean = SalonRanker.meanRating(salons);
+
+        assertEquals((5.0 + 480 + 57) / 120, mean, 1e-9);
+        assertEquals(mean, SalonRanker.bayesianRating(salons.get(2), mean), 1e-9);
+        assertTrue(SalonRanker.bayesianRating(salons.get(1), mean) > SalonRanker.bayesianRating(salons.get(0), mean));
+        assertEquals(List.of(2L, 1L, 3L, 4L), new SalonRanker(null, List.of()).top(salons, 10));
+    }
+
+    /***
+     * Test Case for the distance part of the score
+     * Among equally rated salons the nearer one ranks first, and a far better one can outrank a near one
+     * */
+    @Test
+    void testDistanceDecay() {
+        GeoPoint user = GeoPoint.of(42.0, 21.4);
+        List<SalonRankDTO> salons = List.of(salon(1, 4.0, 10, 42.1f, 21.4f), salon(2, 4.0, 10, 42.01f, 21.4f),
+                salon(3, 2.0, 50, 42.0f, 21.4f), salon(4, 5.0, 50, 42.02f, 21.4f));
+
+        assertEquals(List.of(4L, 2L, 3L, 1L), new SalonRanker(user, List.of()).top(salons, 10));
+    }
+
+    /***
+     * Test Case for the tag part of the score
+     * A salon with more of the wanted tags ranks higher, all else equal
+     * */
+    @Test
+    void testTagMatch() {
+        BitSet coloring = new BitSet();
+        coloring.set(2);
+        coloring.set(3);
+        BitSet kids = new BitSet();
+        kids.set(3);
+        List<SalonRankDTO> salons = List.of(salon(1, 4.0, 10, 42f, 21.4f), salon(2, 4.0, 10, 42f, 21.4f),
+                salon(3, 4.0, 10, 42f, 21.4f));
+
+        assertEquals(List.of(3L, 2L, 1L), new SalonRanker(null, List.of(coloring, kids)).top(salons, 10));
+    }
+
+    /***
+     * Test Case for keeping only the best salons
+     * The top of a bounded heap is the start of the full ranking, ties going to the lower id
+     * */
+    @Test
+    void testTopMatchesFullSort() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<SalonRankDTO> salons = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            salons.add(salon(id, 1 + random.nextInt(5), random.nextInt(20),
+                    42f + (float) random.nextDouble(-0.1, 0.1), 21.4f + (float) random.nextDouble(-0.1, 0.1)));
+        }
+        SalonRanker ranker = new SalonRanker(GeoPoint.of(42.0, 21.4), List.of());
+        double mean = SalonRanker.meanRating(salons);
+        List<Long> sorted = salons.stream()
+                .sorted(Comparator.comparingDouble((SalonRankDTO salon) -> -ranker.score(salon, mean))
+                        .thenComparing(SalonRankDTO::getId))
+                .map(SalonRankDTO::getId)
+                .toList();
+
+        assertEquals(sorted.subList(0, 50), ranker.top(salons, 50));
+        assertEquals(sorted, ranker.top(salons, 5000));
+        assertEquals(List.of(), ranker.top(salons, 0));
+    }
+}
@@ -0,0 +1,66 @@
+package mk.frizer.unit;
+
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.dto.SalonNameDTO;
+import mk.frizer.repository.CityRepository;
+import mk.frizer.repository.SalonRepository;
+import mk.frizer.repository.TreatmentRepository;
+import mk.frizer.service.impl.SalonSearchServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SalonSearchServiceImplTest {
+
+    @Mock
+    private SalonRepository salonRepository;
+
+    @Mock
+    private TreatmentRepository treatmentRepository;
+
+    @Mock
+    private CityRepository cityRepository;
+
+    @InjectMocks
+    private SalonSearchServiceImpl salonSearchService;
+
+    /**
+     * Test that a salon indexed while the index is being built from an older read of the database is still found
+     * once the build is done.
+     */
+    @Test
+    void testIndexSalonDuringBuildIsKept() throws InterruptedException {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(salonRepository.findAllNames()).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await();
+            return List.of(new SalonNameDTO(1L, "Салон Стил"));
+        });
+        Salon salon = new Salon();
+        salon.setId(2L);
+        salon.setName("Студио Корона");
+
+        Thread search = Thread.ofPlatform().start(() -> salonSearchService.searchSalonIds("stil", 10));
+        reading.await();
+        Thread index = Thread.ofPlatform().start(() -> salonSearchService.indexSalon(salon));
+        while (index.getState() != Thread.State.WAITING && index.isAlive()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        search.join();
+        index.join();
+
+        assertEquals(List.of(2L), salonSearchService.searchSalonIds("korona", 10));
+        assertEquals(List.of(1L), salonSearchService.searchSalonIds("stil", 10));
+    }
+}
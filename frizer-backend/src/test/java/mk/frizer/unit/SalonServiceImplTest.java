@@ -7,6 +7,7 @@ import mk.frizer.domain.exceptions.CityNotFoundException;
 import mk.frizer.domain.exceptions.SalonNotFoundException;
 import mk.frizer.domain.exceptions.UserNotFoundException;
 import mk.frizer.repository.*;
+import mk.frizer.service.SalonSearchService;
 import mk.frizer.service.impl.SalonServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +37,9 @@ class SalonServiceImplTest {
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    @Mock
+    private SalonSearchService salonSearchService;
+
     @InjectMocks
     private SalonServiceImpl salonService;
 
@@ -151,6 +155,7 @@ class SalonServiceImplTest {
 
         assertTrue(deletedSalon.isPresent());
         verify(salonRepository, times(1)).deleteById(1L);
+        verify(salonSearchService).removeSalon(salon);
     }
 
     @Test
@@ -0,0 +1,88 @@
+package mk.frizer.unit;
+
+import mk.frizer.config.RequestStatementCounter;
+import mk.frizer.config.StatementRecording;
+import mk.frizer.domain.exceptions.SqlBudgetExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementRecordingTest {
+    private static final String SELECT_EMPLOYEES = "select e1_0.id from employee e1_0 where e1_0.salon_id=?";
+    private static final String INSERT_REVIEW = "insert into review (rating,id) values (?,?)";
+
+    private final RequestStatementCounter counter = new RequestStatementCounter();
+
+    @AfterEach
+    void tearDown() {
+        RequestStatementCounter.stop();
+    }
+
+    /**
+     * Test that statements are only recorded on the thread that started recording, and passed through unchanged.
+     */
+    @Test
+    void testRecordsStatementsOfTheCurrentThread() throws InterruptedException {
+        assertEquals(SELECT_EMPLOYEES, counter.inspect(SELECT_EMPLOYEES));
+
+        StatementRecording recording = new StatementRecording(10, 10, false);
+        RequestStatementCounter.start(recording);
+        counter.inspect(SELECT_EMPLOYEES);
+        Thread other = new Thread(() -> counter.inspect(SELECT_EMPLOYEES));
+        other.start();
+        other.join();
+        counter.inspect(INSERT_REVIEW);
+
+        assertSame(recording, RequestStatementCounter.stop());
+        assertEquals(2, recording.getCount());
+        assertEquals(Map.of(SELECT_EMPLOYEES, 1, INSERT_REVIEW, 1), recording.getExecutions());
+        assertNull(RequestStatementCounter.stop());
+    }
+
+    /**
+     * Test that exceeding the budget and repeating a select are reported after the fact when not failing fast.
+     * Repeated writes are not an N+1, e.g. unbatched inserts.
+     */
+    @Test
+    void testReportsViolations() {
+        StatementRecording recording = new StatementRecording(3, 2, false);
+        RequestStatementCounter.start(recording);
+        for (int i = 0; i < 3; i++) {
+            counter.inspect(SELECT_EMPLOYEES);
+            counter.inspect(INSERT_REVIEW);
+        }
+
+        assertEquals(6, recording.getCount());
+        assertTrue(recording.isOverBudget());
+        assertEquals(Map.of(SELECT_EMPLOYEES, 3), recording.getRepeatedSelects());
+    }
+
+    /**
+     * Test that failing fast throws from the statement over the budget.
+     */
+    @Test
+    void testFailsFastOverBudget() {
+        RequestStatementCounter.start(new StatementRecording(1, 10, true));
+        counter.inspect(INSERT_REVIEW);
+
+        SqlBudgetExceededException exception = assertThrows(SqlBudgetExceededException.class,
+                () -> counter.inspect(SELECT_EMPLOYEES));
+        assertEquals("Statement 2 exceeds the budget of 1: " + SELECT_EMPLOYEES, exception.getMessage());
+    }
+
+    /**
+     * Test that failing fast throws from the select repeated once too often.
+     */
+    @Test
+    void testFailsFastOnRepeatedSelect() {
+        RequestStatementCounter.start(new StatementRecording(10, 1, true));
+        counter.inspect(SELECT_EMPLOYEES);
+
+        SqlBudgetExceededException exception = assertThrows(SqlBudgetExceededException.class,
+                () -> counter.inspect(SELECT_EMPLOYEES));
+        assertTrue(exception.getMessage().startsWith("Select repeated 2 times, likely an N+1"));
+    }
+}
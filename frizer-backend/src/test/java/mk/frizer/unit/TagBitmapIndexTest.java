@@ -0,0 +1,88 @@
+package mk.frizer.unit;
+
+import mk.frizer.utilities.TagBitmapIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TagBitmapIndexTest {
+
+    private static BitSet salons(int... ids) {
+        BitSet salons = new BitSet();
+        for (int id : ids) {
+            salons.set(id);
+        }
+        return salons;
+    }
+
+    private static TagBitmapIndex index() {
+        TagBitmapIndex index = new TagBitmapIndex();
+        index.add(1, 10);
+        index.add(1, 11);
+        index.add(1, 12);
+        index.add(2, 11);
+        index.add(2, 13);
+        index.add(3, 12);
+        return index;
+    }
+
+    /***
+     * Test Case for filtering by tags
+     * All tags intersect, any tag unites, and a tag no salon has empties an intersection
+     * */
+    @Test
+    void testSalonsWithTags() {
+        TagBitmapIndex index = index();
+
+        assertEquals(salons(11), index.salonsWithTags(List.of(1L, 2L), true));
+        assertEquals(salons(10, 11, 12, 13), index.salonsWithTags(List.of(1L, 2L), false));
+        assertEquals(salons(), index.salonsWithTags(List.of(1L, 9L), true));
+        assertEquals(salons(12), index.salonsWithTags(List.of(9L, 3L), false));
+        assertEquals(salons(), index.salonsWithTags(List.of(), true));
+    }
+
+    /***
+     * Test Case for the result of a filter
+     * Changing the returned bitmap leaves the index as it was
+     * */
+    @Test
+    void testSalonsWithTagsReturnsCopy() {
+        TagBitmapIndex index = index();
+
+        index.salonsWithTags(List.of(1L), true).clear();
+
+        assertEquals(salons(10, 11, 12), index.salonsWithTags(List.of(1L), true));
+    }
+
+    /***
+     * Test Case for counting tags
+     * Only the given salons count, and tags none of them has are left out
+     * */
+    @Test
+    void testCountTags() {
+        TagBitmapIndex index = index();
+
+        assertEquals(Map.of(1L, 2, 2L, 2), index.countTags(salons(11, 13, 10)));
+        assertEquals(List.of(1L, 2L, 3L), List.copyOf(index.countTags(salons(10, 11, 12, 13)).keySet()));
+        assertEquals(Map.of(), index.countTags(salons()));
+    }
+
+    /***
+     * Test Case for removing tags and salons
+     * A deleted tag matches nothing, a deleted salon drops out of every tag
+     * */
+    @Test
+    void testRemove() {
+        TagBitmapIndex index = index();
+
+        index.removeTag(2);
+        index.removeSalon(12);
+
+        assertEquals(salons(), index.salonsWithTags(List.of(2L), false));
+        assertEquals(Map.of(1L, 2), index.countTags(salons(10, 11, 12, 13)));
+    }
+}
@@ -6,6 +6,7 @@ import mk.frizer.domain.exceptions.SalonNotFoundException;
 import mk.frizer.domain.exceptions.TagNotFoundException;
 import mk.frizer.repository.SalonRepository;
 import mk.frizer.repository.TagRepository;
+import mk.frizer.service.SalonSearchService;
 import mk.frizer.service.impl.TagServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +30,9 @@ class TagServiceImplTest {
     @Mock
     private SalonRepository salonRepository;
 
+    @Mock
+    private SalonSearchService salonSearchService;
+
     @InjectMocks
     private TagServiceImpl tagService;
 
@@ -95,32 +99,32 @@ class TagServiceImplTest {
 
     /**
      * Test retrieving tags for a specific salon.
-     * Verifies the service filters tags by the given salon.
+     * Verifies the service queries tags by the salon ID instead of scanning all tags.
      */
     @Test
     void testGetTagsForSalon() {
-        when(salonRepository.findById(1L)).thenReturn(Optional.of(salon));
-        when(tagRepository.findAll()).thenReturn(List.of(tag));
-        tag.getSalonsWithTag().add(salon); // Simulate that the tag is linked to the salon
+        when(salonRepository.existsById(1L)).thenReturn(true);
+        when(tagRepository.findAllBySalonsWithTagId(1L)).thenReturn(List.of(tag));
 
         List<Tag> tagsForSalon = tagService.getTagsForSalon(1L);
 
         assertEquals(1, tagsForSalon.size());
         assertTrue(tagsForSalon.contains(tag));
-        verify(salonRepository, times(1)).findById(1L);
-        verify(tagRepository, times(1)).findAll();
+        verify(tagRepository, times(1)).findAllBySalonsWithTagId(1L);
+        verify(tagRepository, never()).findAll();
     }
 
     @Test
     void testGetTagsForSalon_SalonNotFound() {
-        when(salonRepository.findById(anyLong())).thenThrow(new SalonNotFoundException());
+        when(salonRepository.existsById(anyLong())).thenReturn(false);
 
         assertThrows(SalonNotFoundException.class, () -> tagService.getTagsForSalon(1L));
+        verify(tagRepository, never()).findAllBySalonsWithTagId(anyLong());
     }
 
     /**
      * Test deleting a tag by ID.
-     * Ensures the tag is deleted from the repository.
+     * Ensures the tag is deleted from the repository and from the tag filters.
      */
     @Test
     void testDeleteTagById() {
@@ -130,5 +134,6 @@ class TagServiceImplTest {
 
         assertTrue(deletedTag.isPresent());
         verify(tagRepository, times(1)).deleteById(1L);
+        verify(salonSearchService, times(1)).removeTag(1L);
     }
 }
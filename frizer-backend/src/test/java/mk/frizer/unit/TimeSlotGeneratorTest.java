@@ -0,0 +1,82 @@
+package mk.frizer.unit;
+
+import mk.frizer.domain.Appointment;
+import mk.frizer.domain.AppointmentTimeSlot;
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.WorkingHours;
+import mk.frizer.utilities.TimeSlotGenerator;
+import mk.frizer.utilities.WeeklySchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeSlotGeneratorTest {
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+    private static final LocalDateTime BEFORE = MONDAY.minusDays(1).atStartOfDay();
+
+    private static LocalDateTime at(int hour, int minute) {
+        return LocalDateTime.of(MONDAY, LocalTime.of(hour, minute));
+    }
+
+    private static List<LocalTime> starts(List<AppointmentTimeSlot> slots) {
+        return slots.stream().map(slot -> slot.getFrom().toLocalTime()).toList();
+    }
+
+    private static Appointment taken(LocalDateTime from, LocalDateTime to) {
+        return new Appointment(from, to, null, null, null, null);
+    }
+
+    /***
+     * Test Case for the default schedule of a free day
+     * Every 20 minutes from 08:00 on, the last slot ending at 20:00
+     * */
+    @Test
+    void testFreeDay() {
+        List<AppointmentTimeSlot> slots = TimeSlotGenerator.getAvailableSlots(WeeklySchedule.DEFAULT, MONDAY, BEFORE, List.of(), 60);
+
+        assertEquals(34, slots.size());
+        assertEquals(at(8, 0), slots.get(0).getFrom());
+        assertEquals(at(9, 0), slots.get(0).getTo());
+        assertEquals(at(20, 0), slots.get(slots.size() - 1).getTo());
+    }
+
+    /***
+     * Test Case for a day with appointments, a break and a closing time off the slots
+     * Only starts on the grid with enough free minutes after them are slots
+     * */
+    @Test
+    void testTakenMinutesAndBreaks() {
+        WeeklySchedule schedule = WeeklySchedule.compile(List.of(
+                new WorkingHours(new Salon(), null, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(11, 0)),
+                new WorkingHours(new Salon(), null, DayOfWeek.MONDAY, LocalTime.of(12, 0), LocalTime.of(13, 10))),
+                null, List.of(), 30, null);
+        List<Appointment> appointments = List.of(taken(at(9, 30), at(10, 0)),
+                // Booked over midnight, it takes the first minutes of the day
+                taken(MONDAY.minusDays(1).atTime(23, 0), at(9, 10)));
+
+        List<AppointmentTimeSlot> slots = TimeSlotGenerator.getAvailableSlots(schedule, MONDAY, BEFORE, appointments, 40);
+
+        assertEquals(List.of(LocalTime.of(10, 0), LocalTime.of(12, 0), LocalTime.of(12, 30)), starts(slots));
+    }
+
+    /***
+     * Test Case for today
+     * Slots already started are left out
+     * */
+    @Test
+    void testSkipsThePast() {
+        List<AppointmentTimeSlot> slots = TimeSlotGenerator.getAvailableSlots(WeeklySchedule.DEFAULT, MONDAY,
+                at(19, 0).plusSeconds(1), List.of(), 20);
+
+        assertEquals(List.of(LocalTime.of(19, 20), LocalTime.of(19, 40)), starts(slots));
+        assertTrue(TimeSlotGenerator.getAvailableSlots(WeeklySchedule.DEFAULT, MONDAY.minusDays(1), at(8, 0),
+                List.of(), 20).isEmpty());
+    }
+}
@@ -6,6 +6,7 @@ import mk.frizer.domain.dto.*;
 import mk.frizer.domain.events.*;
 import mk.frizer.domain.exceptions.*;
 import mk.frizer.repository.*;
+import mk.frizer.service.SalonSearchService;
 import mk.frizer.service.impl.TreatmentServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,6 +34,9 @@ class TreatmentServiceImplTest {
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    @Mock
+    private SalonSearchService salonSearchService;
+
     @InjectMocks
     private TreatmentServiceImpl treatmentService;
 
@@ -62,18 +66,18 @@ class TreatmentServiceImplTest {
 
     /**
      * Test retrieving treatments by salon ID.
-     * Verifies that the service filters treatments by the correct salon.
+     * Verifies that the service queries treatments by the salon ID instead of scanning all treatments.
      */
     @Test
     void testGetTreatmentsForSalon() {
-        when(treatmentRepository.findAll()).thenReturn(List.of(treatment));
-        salon.setId(1L);
+        when(treatmentRepository.findAllBySalonId(1L)).thenReturn(List.of(treatment));
 
         List<Treatment> treatmentsForSalon = treatmentService.getTreatmentsForSalon(1L);
 
         assertEquals(1, treatmentsForSalon.size());
         assertEquals("Haircut", treatmentsForSalon.get(0).getName());
-        verify(treatmentRepository, times(1)).findAll();
+        verify(treatmentRepository, times(1)).findAllBySalonId(1L);
+        verify(treatmentRepository, never()).findAll();
     }
 
     @Test
@@ -157,5 +161,6 @@ class TreatmentServiceImplTest {
 
         assertTrue(deletedTreatment.isPresent());
         verify(treatmentRepository, times(1)).deleteById(1L);
+        verify(salonSearchService).removeTreatment(1L);
     }
 }
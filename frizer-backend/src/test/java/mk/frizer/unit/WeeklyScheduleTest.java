@@ -0,0 +1,118 @@
+package mk.frizer.unit;
+
+import mk.frizer.domain.ClosedDay;
+import mk.frizer.domain.Employee;
+import mk.frizer.domain.Salon;
+import mk.frizer.domain.WorkingHours;
+import mk.frizer.utilities.WeeklySchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeeklyScheduleTest {
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+
+    private static Employee employee(Long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        return employee;
+    }
+
+    private static WorkingHours hours(Employee employee, DayOfWeek day, int opens, int closes) {
+        return new WorkingHours(new Salon(), employee, day, LocalTime.of(opens, 0),
+                closes == 24 ? LocalTime.MIDNIGHT : LocalTime.of(closes, 0));
+    }
+
+    private static LocalDateTime at(LocalDate date, int hour, int minute) {
+        return LocalDateTime.of(date, LocalTime.of(hour, minute));
+    }
+
+    /***
+     * Test Case for a salon without working hours
+     * It is open from 08:00 to 20:00 every day, on 20 minute slots, 10 days ahead
+     * */
+    @Test
+    void testDefaultSchedule() {
+        WeeklySchedule schedule = WeeklySchedule.DEFAULT;
+
+        assertEquals(8 * 60, schedule.openMinutes(MONDAY).nextSetBit(0));
+        assertEquals(20 * 60, schedule.openMinutes(MONDAY.plusDays(6)).nextClearBit(8 * 60));
+        assertEquals(12 * 60, schedule.openMinutes(MONDAY).cardinality());
+        assertEquals(20, schedule.getSlotMinutes());
+        assertEquals(10, schedule.getBookingDays());
+        assertTrue(schedule.isOpen(at(MONDAY, 8, 0), at(MONDAY, 20, 0)));
+        assertFalse(schedule.isOpen(at(MONDAY, 19, 40), at(MONDAY, 20, 20)));
+        assertTrue(schedule.isOnGrid(at(MONDAY, 9, 40)));
+        assertFalse(schedule.isOnGrid(at(MONDAY, 9, 30)));
+    }
+
+    /***
+     * Test Case for working hours with a lunch break, split over two rows of a day
+     * The break and the days without hours are closed
+     * */
+    @Test
+    void testBreaksAndDaysOff() {
+        WeeklySchedule schedule = WeeklySchedule.compile(List.of(
+                hours(null, DayOfWeek.MONDAY, 9, 13),
+                hours(null, DayOfWeek.MONDAY, 14, 18),
+                hours(null, DayOfWeek.SATURDAY, 10, 24)), null, List.of(), 15, 5);
+
+        assertTrue(schedule.isOpen(at(MONDAY, 9, 0), at(MONDAY, 13, 0)));
+        assertFalse(schedule.isOpen(at(MONDAY, 12, 30), at(MONDAY, 13, 30)));
+        assertTrue(schedule.openMinutes(MONDAY.plusDays(1)).isEmpty());
+        assertTrue(schedule.isOpen(at(MONDAY.plusDays(5), 23, 0), MONDAY.plusDays(6).atStartOfDay()));
+        assertFalse(schedule.isOpen(at(MONDAY.plusDays(5), 23, 0), at(MONDAY.plusDays(6), 0, 20)));
+        assertTrue(schedule.isOnGrid(at(MONDAY, 9, 45)));
+        assertEquals(5, schedule.getBookingDays());
+    }
+
+    /***
+     * Test Case for an employee with working hours of their own
+     * They work only when both they and the salon do; other employees keep the salon's hours
+     * */
+    @Test
+    void testEmployeeHoursWithinSalonHours() {
+        Employee employee = employee(1L);
+        List<WorkingHours> hours = List.of(
+                hours(null, DayOfWeek.MONDAY, 9, 17),
+                hours(null, DayOfWeek.TUESDAY, 9, 17),
+                hours(employee, DayOfWeek.MONDAY, 12, 20));
+
+        WeeklySchedule own = WeeklySchedule.compile(hours, 1L, List.of(), null, null);
+        WeeklySchedule other = WeeklySchedule.compile(hours, 2L, List.of(), null, null);
+
+        assertEquals(12 * 60, own.openMinutes(MONDAY).nextSetBit(0));
+        assertEquals(17 * 60, own.openMinutes(MONDAY).nextClearBit(12 * 60));
+        assertTrue(own.openMinutes(MONDAY.plusDays(1)).isEmpty());
+        assertTrue(other.isOpen(at(MONDAY, 9, 0), at(MONDAY, 17, 0)));
+        assertTrue(other.isOpen(at(MONDAY.plusDays(1), 9, 0), at(MONDAY.plusDays(1), 17, 0)));
+    }
+
+    /***
+     * Test Case for closed days of the salon and of one employee
+     * The salon's close it for everyone, an employee's only for them
+     * */
+    @Test
+    void testClosedDays() {
+        Employee employee = employee(1L);
+        List<ClosedDay> closedDays = List.of(new ClosedDay(new Salon(), null, MONDAY),
+                new ClosedDay(new Salon(), employee, MONDAY.plusDays(1)));
+
+        WeeklySchedule own = WeeklySchedule.compile(List.of(), 1L, closedDays, null, null);
+        WeeklySchedule other = WeeklySchedule.compile(List.of(), 2L, closedDays, null, null);
+
+        assertTrue(own.openMinutes(MONDAY).isEmpty());
+        assertTrue(other.openMinutes(MONDAY).isEmpty());
+        assertTrue(own.openMinutes(MONDAY.plusDays(1)).isEmpty());
+        assertFalse(other.openMinutes(MONDAY.plusDays(1)).isEmpty());
+        assertFalse(own.isOpen(at(MONDAY.plusDays(1), 9, 0), at(MONDAY.plusDays(1), 9, 20)));
+        assertTrue(own.isOpen(at(MONDAY.plusDays(8), 9, 0), at(MONDAY.plusDays(8), 9, 20)));
+    }
+}